@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.TermIdVisitor;
+import org.trie4j.doublearray.AhoCorasick;
+import org.trie4j.doublearray.DoubleArray;
+
+/**
+ * Finds all keys in a text, by {@link AhoCorasick} and by
+ * commonPrefixSearch at each offset of the text.
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AhoCorasickBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		DoubleArray da = (DoubleArray)TrieType.DoubleArray.build(c.getKeys());
+		matcher = new AhoCorasick(da);
+		StringBuilder b = new StringBuilder();
+		for(String q : c.commonPrefixQueries(TEXT_QUERIES, 4)){
+			b.append(q);
+		}
+		text = b.toString();
+	}
+
+	@Benchmark
+	public int scan(){
+		counter.count = 0;
+		matcher.scan(text, counter);
+		return counter.count;
+	}
+
+	@Benchmark
+	public int commonPrefixSearchAtEachOffset(){
+		counter.count = 0;
+		DoubleArray da = matcher.getTrie();
+		int n = text.length();
+		for(int i = 0; i < n; i++){
+			da.commonPrefixSearch(text, i, n, counter);
+		}
+		return counter.count;
+	}
+
+	private static class Counter implements TermIdVisitor{
+		@Override
+		public boolean visit(CharSequence chars, int start, int end, int termId) {
+			count++;
+			return true;
+		}
+		private int count;
+	}
+
+	private AhoCorasick matcher;
+	private String text;
+	private Counter counter = new Counter();
+	private static final int TEXT_QUERIES = 1000;
+}
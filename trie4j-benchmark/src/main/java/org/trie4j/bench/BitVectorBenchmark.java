@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.bv.BytesSuccinctBitVector;
+import org.trie4j.bv.LongsSuccinctBitVector;
+import org.trie4j.bv.SuccinctBitVector;
+
+/**
+ * rank/select benchmark for succinct bit vectors on a random vector
+ * shaped like LOUDS bits (about half of the bits are 1).
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BitVectorBenchmark {
+	public static enum Impl{
+		Bytes{
+			@Override
+			public SuccinctBitVector newVector(int capacity) {
+				return new BytesSuccinctBitVector(capacity);
+			}
+		},
+		Longs{
+			@Override
+			public SuccinctBitVector newVector(int capacity) {
+				return new LongsSuccinctBitVector(capacity);
+			}
+		},
+		;
+		public abstract SuccinctBitVector newVector(int capacity);
+	}
+
+	@Param({"4000000"})
+	public int bits;
+
+	@Param({"Bytes", "Longs"})
+	public Impl impl;
+
+	@Setup(Level.Trial)
+	public void setup(){
+		Random r = new Random(0);
+		vector = impl.newVector(bits);
+		for(int i = 0; i < bits; i++){
+			if(r.nextBoolean()) vector.append1();
+			else vector.append0();
+		}
+		vector.trimToSize();
+		int zeros = bits - vector.rank1(bits - 1);
+		positions = new int[QUERY_COUNT];
+		zeroCounts = new int[QUERY_COUNT];
+		for(int i = 0; i < QUERY_COUNT; i++){
+			positions[i] = r.nextInt(bits);
+			zeroCounts[i] = r.nextInt(zeros) + 1;
+		}
+	}
+
+	@Benchmark
+	public int rank1(){
+		return vector.rank1(positions[index = (index + 1) & (QUERY_COUNT - 1)]);
+	}
+
+	@Benchmark
+	public int select0(){
+		return vector.select0(zeroCounts[index = (index + 1) & (QUERY_COUNT - 1)]);
+	}
+
+	/**
+	 * Same sequence of operations as LOUDSBvTree.getChildNodeIds.
+	 */
+	@Benchmark
+	public int childNodeIds(){
+		int s = vector.select0(zeroCounts[index = (index + 1) & (QUERY_COUNT - 1)]) + 1;
+		int e = vector.next0(s);
+		return vector.rank1(s) + e;
+	}
+
+	private SuccinctBitVector vector;
+	private int[] positions;
+	private int[] zeroCounts;
+	private int index;
+	private static final int QUERY_COUNT = 1 << 14;
+}
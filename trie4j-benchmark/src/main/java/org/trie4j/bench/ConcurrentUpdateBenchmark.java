@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.Trie;
+import org.trie4j.patricia.concurrent.ConcurrentPatriciaTrie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+/**
+ * Read throughput while a writer inserts keys: {@link ConcurrentPatriciaTrie}
+ * against {@link PatriciaTrie} shared behind a global lock. The trie holds
+ * every other key of the corpus at the start of each iteration and the
+ * writer inserts the rest.
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentUpdateBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Param({"ConcurrentPatriciaTrie", "LockedPatriciaTrie"})
+	public String type;
+
+	@State(Scope.Thread)
+	public static class ReaderIndex{
+		private int index;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		keys = c.getKeys();
+		queries = c.containsQueries(QUERY_COUNT, 1);
+		locked = type.equals("LockedPatriciaTrie");
+	}
+
+	@Setup(Level.Iteration)
+	public void fill(){
+		trie = locked ? new PatriciaTrie() : new ConcurrentPatriciaTrie();
+		List<String> rest = new ArrayList<String>();
+		for(int i = 0; i < keys.size(); i++){
+			if(i % 2 == 0) trie.insert(keys.get(i));
+			else rest.add(keys.get(i));
+		}
+		updates = rest.toArray(new String[rest.size()]);
+		index = 0;
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(3)
+	public boolean read(ReaderIndex r){
+		String q = queries[r.index = (r.index + 1) & (QUERY_COUNT - 1)];
+		if(locked){
+			synchronized(trie){
+				return trie.contains(q);
+			}
+		}
+		return trie.contains(q);
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public void write(){
+		String k = updates[index = (index + 1) % updates.length];
+		if(locked){
+			synchronized(trie){
+				trie.insert(k);
+			}
+			return;
+		}
+		trie.insert(k);
+	}
+
+	private List<String> keys;
+	private String[] queries;
+	private String[] updates;
+	private boolean locked;
+	private volatile Trie trie;
+	private int index;
+	private static final int QUERY_COUNT = 1 << 14;
+}
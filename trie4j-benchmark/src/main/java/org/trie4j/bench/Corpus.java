@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Key sets used by benchmarks. A corpus is specified by string:
+ * <ul>
+ * <li>"synthetic:N" - N random keys built from shared syllables so that
+ * keys share prefixes like natural words do.</li>
+ * <li>"wide:N" - N random keys over 5000 kanji with skewed frequency.
+ * Nodes have many children spread over a large alphabet as in Japanese
+ * dictionaries.</li>
+ * <li>"inflected:N" - N random keys made of a stem and one of the
+ * inflectional suffixes, so most keys share their suffixes as in the
+ * dictionaries of morphologically rich languages.</li>
+ * <li>"wikipedia:PATH" - one title per line, gzipped when PATH ends with ".gz"
+ * (e.g. jawiki-20120220-all-titles-in-ns0.gz).</li>
+ * </ul>
+ * Keys are sorted and unique.
+ * @author agent
+ */
+public class Corpus {
+	public static Corpus load(String spec) throws IOException{
+		int colon = spec.indexOf(':');
+		String kind = colon == -1 ? spec : spec.substring(0, colon);
+		String arg = colon == -1 ? "" : spec.substring(colon + 1);
+		if(kind.equals("synthetic")){
+			return synthetic(arg.length() == 0 ? 100000 : Integer.parseInt(arg), 0);
+		} else if(kind.equals("wide")){
+			return wide(arg.length() == 0 ? 100000 : Integer.parseInt(arg), 0);
+		} else if(kind.equals("inflected")){
+			return inflected(arg.length() == 0 ? 100000 : Integer.parseInt(arg), 0);
+		} else if(kind.equals("wikipedia")){
+			return wikipedia(arg);
+		}
+		throw new IllegalArgumentException("unknown corpus: " + spec);
+	}
+
+	public static Corpus synthetic(int count, long seed){
+		Random r = new Random(seed);
+		TreeSet<String> keys = new TreeSet<String>();
+		StringBuilder b = new StringBuilder();
+		while(keys.size() < count){
+			b.setLength(0);
+			int n = 1 + r.nextInt(6);
+			for(int i = 0; i < n; i++){
+				// skewed choice so that some syllables are far more frequent
+				int s = (int)(SYLLABLES.length * Math.pow(r.nextDouble(), 3));
+				b.append(SYLLABLES[s]);
+			}
+			keys.add(b.toString());
+		}
+		return new Corpus("synthetic:" + count, new ArrayList<String>(keys));
+	}
+
+	public static Corpus wide(int count, long seed){
+		Random r = new Random(seed);
+		TreeSet<String> keys = new TreeSet<String>();
+		StringBuilder b = new StringBuilder();
+		while(keys.size() < count){
+			b.setLength(0);
+			int n = 2 + r.nextInt(7);
+			for(int i = 0; i < n; i++){
+				b.append((char)('\u4e00' + (int)(5000 * Math.pow(r.nextDouble(), 3))));
+			}
+			keys.add(b.toString());
+		}
+		return new Corpus("wide:" + count, new ArrayList<String>(keys));
+	}
+
+	public static Corpus inflected(int count, long seed){
+		Random r = new Random(seed);
+		TreeSet<String> keys = new TreeSet<String>();
+		StringBuilder b = new StringBuilder();
+		while(keys.size() < count){
+			b.setLength(0);
+			int n = 1 + r.nextInt(3);
+			for(int i = 0; i < n; i++){
+				b.append(SYLLABLES[(int)(SYLLABLES.length * Math.pow(r.nextDouble(), 3))]);
+			}
+			int stemLength = b.length();
+			for(String s : SUFFIXES){
+				if(keys.size() == count) break;
+				b.setLength(stemLength);
+				keys.add(b.append(s).toString());
+			}
+		}
+		return new Corpus("inflected:" + count, new ArrayList<String>(keys));
+	}
+
+	public static Corpus wikipedia(String path) throws IOException{
+		InputStream is = new FileInputStream(path);
+		if(path.endsWith(".gz")) is = new GZIPInputStream(is);
+		TreeSet<String> keys = new TreeSet<String>();
+		BufferedReader r = new BufferedReader(new InputStreamReader(is, "UTF-8"));
+		try{
+			String line;
+			while((line = r.readLine()) != null){
+				if(line.length() == 0) continue;
+				keys.add(line);
+			}
+		} finally{
+			r.close();
+		}
+		return new Corpus("wikipedia:" + path, new ArrayList<String>(keys));
+	}
+
+	public Corpus(String name, List<String> keys){
+		this.name = name;
+		this.keys = keys;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public List<String> getKeys() {
+		return keys;
+	}
+
+	public int getCharCount(){
+		int c = 0;
+		for(String k : keys) c += k.length();
+		return c;
+	}
+
+	/**
+	 * Creates queries of which about half hit the corpus. Misses are made
+	 * by appending a char to existing keys so they walk deep into the trie
+	 * before failing.
+	 */
+	public String[] containsQueries(int count, long seed){
+		Random r = new Random(seed);
+		String[] ret = new String[count];
+		for(int i = 0; i < count; i++){
+			String k = keys.get(r.nextInt(keys.size()));
+			ret[i] = r.nextBoolean() ? k : k + 'あ';
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates queries which are keys followed by a random text, as used in
+	 * morphological analysis.
+	 */
+	public String[] commonPrefixQueries(int count, long seed){
+		Random r = new Random(seed);
+		String[] ret = new String[count];
+		for(int i = 0; i < count; i++){
+			ret[i] = keys.get(r.nextInt(keys.size())) + keys.get(r.nextInt(keys.size()));
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates short prefixes (1-3 chars) of existing keys.
+	 */
+	public String[] predictiveQueries(int count, long seed){
+		Random r = new Random(seed);
+		String[] ret = new String[count];
+		for(int i = 0; i < count; i++){
+			String k = keys.get(r.nextInt(keys.size()));
+			ret[i] = k.substring(0, Math.min(k.length(), 1 + r.nextInt(3)));
+		}
+		return ret;
+	}
+
+	public List<String> shuffledKeys(long seed){
+		List<String> ret = new ArrayList<String>(keys);
+		Collections.shuffle(ret, new Random(seed));
+		return ret;
+	}
+
+	private String name;
+	private List<String> keys;
+	private static final String[] SYLLABLES;
+	private static final String[] SUFFIXES = {
+		"", "s", "ed", "ing", "er", "ers", "est", "ly", "ness", "less", "able", "ment", "ments"
+	};
+	static{
+		List<String> s = new ArrayList<String>();
+		for(char c : "kstnhmyrwgzdbp".toCharArray()){
+			for(char v : "aiueo".toCharArray()){
+				s.add("" + c + v);
+			}
+		}
+		s.addAll(Arrays.asList("a", "i", "u", "e", "o", "n"));
+		for(char c = 'あ'; c < 'ゔ'; c += 3){
+			s.add(String.valueOf(c));
+		}
+		s.addAll(Arrays.asList("東京", "大阪", "学校", "駅"));
+		SYLLABLES = s.toArray(new String[s.size()]);
+	}
+}
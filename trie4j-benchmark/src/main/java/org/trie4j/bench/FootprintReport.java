@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.util.List;
+
+import org.trie4j.Trie;
+
+/**
+ * Reports build time and retained heap (bytes per key) of each
+ * {@link TrieType}. Retained heap is measured as the difference of used
+ * heap before and after building while the trie is reachable, so run
+ * with a fixed heap and no other load, e.g.
+ * <pre>
+ * java -Xms2g -Xmx2g -cp trie4j-benchmark/target/benchmarks.jar org.trie4j.bench.FootprintReport synthetic:1000000
+ * </pre>
+ * @author agent
+ */
+public class FootprintReport {
+	public static void main(String[] args) throws Exception{
+		Corpus corpus = Corpus.load(args.length > 0 ? args[0] : "synthetic:100000");
+		List<String> keys = corpus.getKeys();
+		int chars = corpus.getCharCount();
+		System.out.println(String.format("corpus: %s, %d keys, %d chars",
+				corpus.getName(), keys.size(), chars));
+		System.out.println(String.format("%-22s %10s %12s %10s %10s",
+				"class", "build(ms)", "heap(bytes)", "bytes/key", "bytes/char"));
+		for(TrieType type : TrieType.values()){
+			// warm up builder code
+			for(int i = 0; i < WARMUP_COUNT; i++){
+				type.build(keys);
+			}
+			Trie source = type.needsSource() ? TrieType.newSource(keys) : null;
+			long before = usedHeap();
+			long t = System.nanoTime();
+			Trie trie = type.convert(source, keys);
+			long buildMs = (System.nanoTime() - t) / 1000000;
+			long heap = usedHeap() - before;
+			// keeps source reachable until measured
+			if(trie.size() != keys.size() || (source != null && source.size() != trie.size())){
+				throw new RuntimeException(type + ": size mismatch " + trie.size());
+			}
+			source = null;
+			System.out.println(String.format("%-22s %10d %12d %10.2f %10.2f",
+					type, buildMs, heap, (double)heap / keys.size(), (double)heap / chars));
+		}
+	}
+
+	private static long usedHeap(){
+		Runtime rt = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for(int i = 0; i < 10; i++){
+			System.gc();
+			try{
+				Thread.sleep(50);
+			} catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+			}
+			used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+		}
+		return used;
+	}
+
+	private static final int WARMUP_COUNT = 3;
+}
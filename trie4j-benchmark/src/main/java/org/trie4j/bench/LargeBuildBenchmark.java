@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.Trie;
+
+/**
+ * Build time of double arrays for large key sets, where the search for
+ * empty slots dominates. synthetic:3000000 tracks ordinary keys and
+ * wide:1000000 a large alphabet. Needs about 5GB heap for 10M keys; use
+ * "-p corpus=wide:1000000" etc. for smaller machines.
+ * @author agent
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx5g"})
+@State(Scope.Benchmark)
+public class LargeBuildBenchmark {
+	@Param({"synthetic:3000000", "synthetic:10000000", "wide:1000000"})
+	public String corpus;
+
+	@Param({"DoubleArray", "TailDoubleArray"})
+	public TrieType type;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		List<String> keys = Corpus.load(corpus).getKeys();
+		source = TrieType.newSource(keys);
+	}
+
+	@Benchmark
+	public Trie build(){
+		return type.convert(source, null);
+	}
+
+	private Trie source;
+}
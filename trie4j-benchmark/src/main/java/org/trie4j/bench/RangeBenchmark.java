@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.trie4j.Trie;
+import org.trie4j.louds.AbstractTailLOUDSTrie;
+import org.trie4j.louds.TailLOUDSPPTrie;
+import org.trie4j.louds.TailLOUDSTrie;
+
+/**
+ * rank, keyAt and a page of rangeSearch on the tail LOUDS tries built
+ * with lexicographic term ids.
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RangeBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Param({"TailLOUDSTrie", "TailLOUDSPPTrie"})
+	public String type;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		Trie source = TrieType.newSource(c.getKeys());
+		trie = type.equals("TailLOUDSTrie") ?
+				new TailLOUDSTrie(source, true) : new TailLOUDSPPTrie(source, true);
+		queries = c.containsQueries(QUERY_COUNT, 1);
+		indexes = new int[QUERY_COUNT];
+		for(int i = 0; i < QUERY_COUNT; i++){
+			indexes[i] = (int)((long)i * trie.size() / QUERY_COUNT);
+		}
+	}
+
+	@Benchmark
+	public int rank(){
+		return trie.rank(queries[next()]);
+	}
+
+	@Benchmark
+	public String keyAt(){
+		return trie.keyAt(indexes[next()]);
+	}
+
+	@Benchmark
+	public void rangeSearchPage(Blackhole bh){
+		int n = 0;
+		for(String s : trie.rangeSearch(queries[next()], null)){
+			bh.consume(s);
+			if(++n == PAGE_SIZE) break;
+		}
+	}
+
+	private int next(){
+		return index = (index + 1) & (QUERY_COUNT - 1);
+	}
+
+	private AbstractTailLOUDSTrie trie;
+	private String[] queries;
+	private int[] indexes;
+	private int index;
+	private static final int QUERY_COUNT = 1 << 14;
+	private static final int PAGE_SIZE = 20;
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdTrie;
+
+/**
+ * getTermId, batch getTermIds and getKey benchmark for the {@link TrieType}s implementing
+ * {@link TermIdTrie}.
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TermIdTrieBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Param({"DoubleArray", "CompactDoubleArray", "Utf8DoubleArray", "DynamicDoubleArray", "MemoryMappedDoubleArray", "TailDoubleArray", "TailLOUDSTrie", "MemoryMappedTailLOUDSTrie", "TailLOUDSPPTrie", "DAWG", "FrontCodedDictionary"})
+	public TrieType type;
+
+	/**
+	 * "random" or "sorted". Sorted queries are the case where batch
+	 * lookups can share prefixes without sorting.
+	 */
+	@Param({"random", "sorted"})
+	public String queryOrder;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		trie = (TermIdTrie)type.build(c.getKeys());
+		queries = c.containsQueries(QUERY_COUNT, 1);
+		if(queryOrder.equals("sorted")) Arrays.sort(queries);
+		cursor = trie.newLookupCursor();
+		termIds = new int[QUERY_COUNT];
+		batchOut = new int[QUERY_COUNT];
+		pool = new ForkJoinPool();
+		for(int i = 0; i < QUERY_COUNT; i++){
+			termIds[i] = trie.getTermId(queries[i]);
+		}
+	}
+
+	@Benchmark
+	public int getTermId(){
+		return trie.getTermId(queries[index = (index + 1) & (QUERY_COUNT - 1)]);
+	}
+
+	@Benchmark
+	public int getTermIdWithCursor(){
+		String q = queries[index = (index + 1) & (QUERY_COUNT - 1)];
+		return cursor.getTermId(q, 0, q.length());
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public int[] getTermIdLoop(){
+		for(int i = 0; i < QUERY_COUNT; i++){
+			batchOut[i] = trie.getTermId(queries[i]);
+		}
+		return batchOut;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public int[] getTermIds(){
+		trie.getTermIds(queries, batchOut);
+		return batchOut;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(QUERY_COUNT)
+	public int[] getTermIdsParallel(){
+		trie.getTermIds(queries, batchOut, pool);
+		return batchOut;
+	}
+
+	@Benchmark
+	public int appendKey(){
+		buffer.setLength(0);
+		trie.appendKey(termIds[index = (index + 1) & (QUERY_COUNT - 1)], buffer);
+		return buffer.length();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown(){
+		pool.shutdown();
+	}
+
+	private TermIdTrie trie;
+	private LookupCursor cursor;
+	private String[] queries;
+	private int[] termIds;
+	private int[] batchOut;
+	private ForkJoinPool pool;
+	private StringBuilder buffer = new StringBuilder();
+	private int index;
+	private static final int QUERY_COUNT = 1 << 14;
+}
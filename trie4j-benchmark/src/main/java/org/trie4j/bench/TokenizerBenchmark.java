@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.trie4j.TermIdTrie;
+import org.trie4j.tokenizer.CostFunction;
+import org.trie4j.tokenizer.Tokenizer;
+import org.trie4j.util.Pair;
+
+/**
+ * Builds lattice of texts by {@link Tokenizer} and by
+ * commonPrefixSearchWithTermId at each position.
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Param({"DoubleArray", "TailLOUDSTrie"})
+	public TrieType type;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		trie = (TermIdTrie)type.build(c.getKeys());
+		tokenizer = new Tokenizer(trie);
+		texts = c.commonPrefixQueries(QUERY_COUNT, 4);
+	}
+
+	@Benchmark
+	public int buildLattice(){
+		return tokenizer.buildLattice(texts[next()]).size();
+	}
+
+	@Benchmark
+	public void commonPrefixSearchWithTermIdAtEachPosition(Blackhole bh){
+		String text = texts[next()];
+		for(int i = 0; i < text.length(); i++){
+			for(Pair<String, Integer> p : trie.commonPrefixSearchWithTermId(text.substring(i))){
+				bh.consume(p);
+			}
+		}
+	}
+
+	@Benchmark
+	public int tokenizeLongest(){
+		return tokenizer.tokenizeLongest(texts[next()]).size();
+	}
+
+	@Benchmark
+	public int tokenize(){
+		return tokenizer.tokenize(texts[next()], LENGTH_COST).size();
+	}
+
+	private int next(){
+		return index = (index + 1) & (QUERY_COUNT - 1);
+	}
+
+	private TermIdTrie trie;
+	private Tokenizer tokenizer;
+	private String[] texts;
+	private int index;
+	private static final int QUERY_COUNT = 1 << 14;
+	/** prefers longer words. */
+	private static final CostFunction LENGTH_COST = new CostFunction(){
+		@Override
+		public int getWordCost(int termId) {
+			return 100;
+		}
+		@Override
+		public int getConnectionCost(int leftTermId, int rightTermId) {
+			return 0;
+		}
+	};
+}
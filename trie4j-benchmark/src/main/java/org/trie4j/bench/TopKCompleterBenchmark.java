@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.TermIdTrie;
+import org.trie4j.completion.TopKCompleter;
+import org.trie4j.util.Pair;
+
+/**
+ * Top 10 completions by {@link TopKCompleter} and by predictiveSearch
+ * with a bounded heap.
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopKCompleterBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Param({"DoubleArray", "TailLOUDSTrie"})
+	public TrieType type;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		trie = (TermIdTrie)type.build(c.getKeys());
+		weights = new int[trie.size()];
+		Random r = new Random(5);
+		for(int i = 0; i < weights.length; i++){
+			weights[i] = r.nextInt(1000000);
+		}
+		completer = new TopKCompleter(trie, weights);
+		queries = c.predictiveQueries(QUERY_COUNT, 3);
+	}
+
+	@Benchmark
+	public int[] topK(){
+		return completer.topKTermIds(queries[next()], K);
+	}
+
+	@Benchmark
+	public PriorityQueue<Integer> predictiveSearch(){
+		PriorityQueue<Integer> ret = new PriorityQueue<Integer>();
+		for(Pair<String, Integer> p : trie.predictiveSearchWithTermId(queries[next()])){
+			ret.add(weights[p.getSecond()]);
+			if(ret.size() > K) ret.poll();
+		}
+		return ret;
+	}
+
+	private int next(){
+		return index = (index + 1) & (QUERY_COUNT - 1);
+	}
+
+	private TermIdTrie trie;
+	private int[] weights;
+	private TopKCompleter completer;
+	private String[] queries;
+	private int index;
+	private static final int K = 10;
+	private static final int QUERY_COUNT = 1 << 14;
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.trie4j.TermIdVisitor;
+import org.trie4j.Trie;
+import org.trie4j.automaton.DFA;
+
+/**
+ * Lookup benchmarks for all {@link TrieType}s. Each invocation runs one
+ * query; queries are cycled through a fixed, pre-generated array.
+ * <pre>
+ * java -jar trie4j-benchmark/target/benchmarks.jar TrieBenchmark -p corpus=wikipedia:data/jawiki-20120220-all-titles-in-ns0.gz
+ * </pre>
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrieBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Param
+	public TrieType type;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		trie = type.build(c.getKeys());
+		containsQueries = c.containsQueries(QUERY_COUNT, 1);
+		commonPrefixQueries = c.commonPrefixQueries(QUERY_COUNT, 2);
+		predictiveQueries = c.predictiveQueries(QUERY_COUNT, 3);
+		globQueries = new DFA[QUERY_COUNT];
+		for(int i = 0; i < QUERY_COUNT; i++){
+			// "ab" -> "a?b*": a wildcard near the root and a prefix below it.
+			String p = predictiveQueries[i];
+			globQueries[i] = DFA.compileGlob(p.charAt(0) + "?" + p.substring(1) + "*");
+		}
+	}
+
+	@Benchmark
+	public boolean contains(){
+		return trie.contains(containsQueries[next()]);
+	}
+
+	@Benchmark
+	public void commonPrefixSearch(Blackhole bh){
+		for(String s : trie.commonPrefixSearch(commonPrefixQueries[next()])){
+			bh.consume(s);
+		}
+	}
+
+	@Benchmark
+	public void predictiveSearch(Blackhole bh){
+		for(String s : trie.predictiveSearch(predictiveQueries[next()])){
+			bh.consume(s);
+		}
+	}
+
+	@Benchmark
+	public void predictiveSearchTop10(Blackhole bh){
+		for(String s : trie.predictiveSearch(predictiveQueries[next()], 10)){
+			bh.consume(s);
+		}
+	}
+
+	@Benchmark
+	public void commonPrefixSearchVisitor(final Blackhole bh){
+		String q = commonPrefixQueries[next()];
+		trie.commonPrefixSearch(q, 0, q.length(), new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				bh.consume(termId);
+				bh.consume(end);
+				return true;
+			}
+		});
+	}
+
+	@Benchmark
+	public void predictiveSearchVisitor(final Blackhole bh){
+		trie.predictiveSearch(predictiveQueries[next()], new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				bh.consume(termId);
+				bh.consume(end);
+				return true;
+			}
+		});
+	}
+
+	@Benchmark
+	public void fuzzySearch(final Blackhole bh){
+		trie.fuzzySearch(containsQueries[next()], 2, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				bh.consume(termId);
+				bh.consume(end);
+				return true;
+			}
+		});
+	}
+
+	@Benchmark
+	public void automatonSearch(Blackhole bh){
+		for(String s : trie.automatonSearch(globQueries[next()])){
+			bh.consume(s);
+		}
+	}
+
+	@Benchmark
+	public int findWord(){
+		String q = commonPrefixQueries[next()];
+		return trie.findWord(q, 0, q.length(), null);
+	}
+
+	private int next(){
+		return index = (index + 1) & (QUERY_COUNT - 1);
+	}
+
+	private Trie trie;
+	private String[] containsQueries;
+	private String[] commonPrefixQueries;
+	private String[] predictiveQueries;
+	private DFA[] globQueries;
+	private int index;
+	private static final int QUERY_COUNT = 1 << 14;
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.trie4j.Trie;
+import org.trie4j.doublearray.DoubleArray;
+import org.trie4j.doublearray.ParallelDoubleArrayBuilder;
+import org.trie4j.doublearray.TailDoubleArray;
+import org.trie4j.louds.InlinedTailLOUDSTrie;
+import org.trie4j.louds.TailLOUDSPPTrie;
+import org.trie4j.louds.TailLOUDSTrie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+import org.trie4j.patricia.tail.TailPatriciaTrie;
+import org.trie4j.tail.builder.ConcatTailBuilder;
+
+/**
+ * Trie implementations under benchmark. Immutable tries are converted
+ * from TailPatriciaTrie as in the tests.
+ * @author agent
+ */
+public enum TrieType {
+	PatriciaTrie(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return insertAll(new PatriciaTrie(), keys);
+		}
+	},
+	ConcurrentPatriciaTrie(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return insertAll(new org.trie4j.patricia.concurrent.ConcurrentPatriciaTrie(), keys);
+		}
+	},
+	TailPatriciaTrie(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return insertAll(new TailPatriciaTrie(new ConcatTailBuilder()), keys);
+		}
+	},
+	SortedKeysTrie(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new org.trie4j.sorted.SortedKeysTrie(keys.iterator());
+		}
+	},
+	DAWG(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new org.trie4j.dawg.DAWG(keys.iterator());
+		}
+	},
+	FrontCodedDictionary(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new org.trie4j.sorted.FrontCodedDictionary(keys.iterator());
+		}
+	},
+	DynamicDoubleArray(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return insertAll(new org.trie4j.doublearray.DynamicDoubleArray(), keys);
+		}
+	},
+	DoubleArray(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new DoubleArray(source);
+		}
+	},
+	FrequencyCodeDoubleArray(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new DoubleArray(source, true);
+		}
+	},
+	CompactDoubleArray(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new org.trie4j.doublearray.CompactDoubleArray(source);
+		}
+	},
+	Utf8DoubleArray(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new org.trie4j.doublearray.Utf8DoubleArray(source);
+		}
+	},
+	ParallelDoubleArray(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new ParallelDoubleArrayBuilder().build(source);
+		}
+	},
+	MemoryMappedDoubleArray(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			try{
+				File f = File.createTempFile("trie4j-bench", ".da");
+				f.deleteOnExit();
+				org.trie4j.doublearray.MemoryMappedDoubleArray.save(new DoubleArray(source), f);
+				return org.trie4j.doublearray.MemoryMappedDoubleArray.map(f);
+			} catch(IOException e){
+				throw new RuntimeException(e);
+			}
+		}
+	},
+	TailDoubleArray(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new TailDoubleArray(source);
+		}
+	},
+	TailLOUDSTrie(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new TailLOUDSTrie(source);
+		}
+	},
+	SortedKeysTailLOUDSTrie(false){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new TailLOUDSTrie(keys.iterator());
+		}
+	},
+	MemoryMappedTailLOUDSTrie(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			try{
+				File f = File.createTempFile("trie4j-bench", ".louds");
+				f.deleteOnExit();
+				org.trie4j.louds.MemoryMappedTailLOUDSTrie.save(new TailLOUDSTrie(source), f);
+				return org.trie4j.louds.MemoryMappedTailLOUDSTrie.map(f);
+			} catch(IOException e){
+				throw new RuntimeException(e);
+			}
+		}
+	},
+	TailLOUDSPPTrie(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new TailLOUDSPPTrie(source);
+		}
+	},
+	InlinedTailLOUDSTrie(true){
+		@Override
+		public Trie convert(Trie source, List<String> keys) {
+			return new InlinedTailLOUDSTrie(source);
+		}
+	},
+	;
+
+	private TrieType(boolean needsSource){
+		this.needsSource = needsSource;
+	}
+
+	/**
+	 * Builds trie from keys. For immutable tries, this includes building
+	 * the source trie.
+	 */
+	public Trie build(List<String> keys){
+		return convert(needsSource() ? newSource(keys) : null, keys);
+	}
+
+	/**
+	 * Builds trie from source trie (immutable tries) or keys (mutable tries).
+	 */
+	public abstract Trie convert(Trie source, List<String> keys);
+
+	public boolean needsSource(){
+		return needsSource;
+	}
+
+	public static Trie newSource(List<String> keys){
+		Trie ret = insertAll(new TailPatriciaTrie(new ConcatTailBuilder()), keys);
+		ret.freeze();
+		return ret;
+	}
+
+	private static Trie insertAll(Trie trie, List<String> keys){
+		for(String k : keys){
+			trie.insert(k);
+		}
+		return trie;
+	}
+
+	private final boolean needsSource;
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.doublearray.DynamicDoubleArray;
+
+/**
+ * In place updates of {@link DynamicDoubleArray}. The trie holds every
+ * other key of the corpus and each invocation inserts one of the rest
+ * and removes it again. Compare with the DoubleArray build time of
+ * {@link BuildBenchmark}, which every update costs without it.
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpdateBenchmark {
+	@Param({"synthetic:100000"})
+	public String corpus;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		List<String> keys = Corpus.load(corpus).getKeys();
+		trie = new DynamicDoubleArray();
+		List<String> rest = new ArrayList<String>();
+		for(int i = 0; i < keys.size(); i++){
+			if(i % 2 == 0) trie.insert(keys.get(i));
+			else rest.add(keys.get(i));
+		}
+		updates = rest.toArray(new String[rest.size()]);
+	}
+
+	@Benchmark
+	public boolean insertAndRemove(){
+		String k = updates[index = (index + 1) % updates.length];
+		trie.insert(k);
+		return trie.remove(k);
+	}
+
+	@Benchmark
+	public int insertAndLookup(){
+		String k = updates[index = (index + 1) % updates.length];
+		trie.insert(k);
+		int ret = trie.getTermId(k);
+		trie.remove(k);
+		return ret;
+	}
+
+	private DynamicDoubleArray trie;
+	private String[] updates;
+	private int index;
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.trie4j.Trie;
+import org.trie4j.doublearray.DoubleArray;
+import org.trie4j.doublearray.Utf8DoubleArray;
+
+/**
+ * Lookup of UTF-8 encoded keys held in a direct {@link ByteBuffer}:
+ * decoding them to String for {@link DoubleArray} against walking the
+ * bytes by {@link Utf8DoubleArray}.
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Utf8LookupBenchmark {
+	@Param({"synthetic:100000", "wide:100000"})
+	public String corpus;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException{
+		Corpus c = Corpus.load(corpus);
+		Trie source = TrieType.PatriciaTrie.build(c.getKeys());
+		da = new DoubleArray(source);
+		utf8da = new Utf8DoubleArray(source);
+		String[] queries = c.containsQueries(QUERY_COUNT, 1);
+		starts = new int[QUERY_COUNT + 1];
+		byte[][] encoded = new byte[QUERY_COUNT][];
+		for(int i = 0; i < QUERY_COUNT; i++){
+			encoded[i] = queries[i].getBytes(UTF8);
+			starts[i + 1] = starts[i] + encoded[i].length;
+		}
+		buffer = ByteBuffer.allocateDirect(starts[QUERY_COUNT]);
+		for(byte[] e : encoded){
+			buffer.put(e);
+		}
+	}
+
+	@Benchmark
+	public int decodeAndGetTermId(){
+		int i = index = (index + 1) & (QUERY_COUNT - 1);
+		buffer.limit(starts[i + 1]).position(starts[i]);
+		return da.getTermId(UTF8.decode(buffer).toString());
+	}
+
+	@Benchmark
+	public int getTermIdFromBytes(){
+		int i = index = (index + 1) & (QUERY_COUNT - 1);
+		buffer.limit(starts[i + 1]).position(starts[i]);
+		return utf8da.getTermId(buffer);
+	}
+
+	private DoubleArray da;
+	private Utf8DoubleArray utf8da;
+	private ByteBuffer buffer;
+	private int[] starts;
+	private int index;
+	private static final int QUERY_COUNT = 1 << 14;
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+}
@@ -36,10 +36,13 @@ import java.util.TreeMap;
 
 import org.trie4j.AbstractTrie;
 import org.trie4j.Node;
+import org.trie4j.TermIdVisitor;
 import org.trie4j.Trie;
+import org.trie4j.automaton.Automaton;
 import org.trie4j.tail.TailBuilder;
 import org.trie4j.tail.TailCharIterator;
 import org.trie4j.tail.builder.SuffixTrieTailBuilder;
+import org.trie4j.util.LevenshteinAutomaton;
 import org.trie4j.util.Pair;
 
 public class OptimizedTailDoubleArray extends AbstractTrie implements Trie{
@@ -270,6 +273,90 @@ public class OptimizedTailDoubleArray extends AbstractTrie implements Trie{
 		return ret;
 //*/	}
 
+	@Override
+	public void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor) {
+		LevenshteinAutomaton la = new LevenshteinAutomaton(query, maxEdits);
+		TailCharIterator it = new TailCharIterator(tails,  -1);
+		Deque<Pair<Integer, char[]>> q = new LinkedList<Pair<Integer,char[]>>();
+		q.push(Pair.create(0, new char[]{}));
+		outer: while(!q.isEmpty()){
+			Pair<Integer, char[]> p = q.pop();
+			int ni = p.getFirst();
+			char[] letters = p.getSecond();
+			int depth = letters.length;
+			if(depth > 0 && !la.step(depth - 1, letters[depth - 1])) continue;
+			StringBuilder buff = new StringBuilder().append(letters);
+			int ti = tail[ni];
+			if(ti != -1){
+				it.setIndex(ti);
+				while(it.hasNext()){
+					char c = it.next();
+					if(!la.step(buff.length(), c)) continue outer;
+					buff.append(c);
+				}
+			}
+			if(term.get(ni) && la.isMatch(buff.length()) &&
+					!visitor.visit(buff, 0, buff.length(), -1)){
+				return;
+			}
+			for(Map.Entry<Character, Integer> e : charCodes.entrySet()){
+				int b = base[ni];
+				if(b == BASE_EMPTY) continue;
+				if(b == (BASE_EMPTY - 1)) continue;
+				int next = b + e.getValue();
+				if(check.length <= next) continue;
+				if(next + check[next] == ni){
+					StringBuilder bu = new StringBuilder(buff);
+					bu.append(e.getKey());
+					q.push(Pair.create(next, bu.toString().toCharArray()));
+				}
+			}
+		}
+	}
+
+	@Override
+	public Iterable<String> automatonSearch(Automaton automaton) {
+		List<String> ret = new ArrayList<String>();
+		TailCharIterator it = new TailCharIterator(tails,  -1);
+		Deque<Pair<Integer, String>> q = new LinkedList<Pair<Integer, String>>();
+		Deque<Integer> states = new LinkedList<Integer>();
+		q.push(Pair.create(0, ""));
+		states.push(automaton.getInitialState());
+		outer: while(!q.isEmpty()){
+			Pair<Integer, String> p = q.pop();
+			int state = states.pop();
+			int ni = p.getFirst();
+			StringBuilder buff = new StringBuilder(p.getSecond());
+			int ti = tail[ni];
+			if(ti != -1){
+				it.setIndex(ti);
+				while(it.hasNext()){
+					char c = it.next();
+					state = automaton.step(state, c);
+					if(state == -1) continue outer;
+					buff.append(c);
+				}
+			}
+			if(term.get(ni) && automaton.isAccept(state)){
+				ret.add(buff.toString());
+			}
+			for(Map.Entry<Character, Integer> e : charCodes.entrySet()){
+				int b = base[ni];
+				if(b == BASE_EMPTY) continue;
+				if(b == (BASE_EMPTY - 1)) continue;
+				int next = b + e.getValue();
+				if(check.length <= next) continue;
+				if(next + check[next] == ni){
+					int s = automaton.step(state, e.getKey());
+					if(s == -1) continue;
+					q.push(Pair.create(next, buff.toString() + e.getKey()));
+					states.push(s);
+				}
+			}
+		}
+		return ret;
+	}
+
 	/**
 	 * Double Array currently not support dynamic construction.
 	 */
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j;
+
+/**
+ * Implements lookups of whole keys by {@link #reset()}, {@link #next(char)},
+ * {@link #isTerminate()} and {@link #getTermId()}.
+ * @author agent
+ */
+public abstract class AbstractLookupCursor implements LookupCursor{
+	@Override
+	public boolean contains(CharSequence chars, int offset, int length) {
+		return walk(chars, offset, length) && isTerminate();
+	}
+
+	@Override
+	public boolean contains(char[] chars, int offset, int length) {
+		return walk(chars, offset, length) && isTerminate();
+	}
+
+	@Override
+	public int getTermId(CharSequence chars, int offset, int length) {
+		return walk(chars, offset, length) ? getTermId() : -1;
+	}
+
+	@Override
+	public int getTermId(char[] chars, int offset, int length) {
+		return walk(chars, offset, length) ? getTermId() : -1;
+	}
+
+	/**
+	 * Resets cursor and walks chars. Subclasses can override this with
+	 * a loop on local variables.
+	 * @return false if no key starts with chars.
+	 */
+	protected boolean walk(CharSequence chars, int offset, int length){
+		reset();
+		int end = offset + length;
+		for(int i = offset; i < end; i++){
+			if(!next(chars.charAt(i))) return false;
+		}
+		return true;
+	}
+
+	protected boolean walk(char[] chars, int offset, int length){
+		reset();
+		int end = offset + length;
+		for(int i = offset; i < end; i++){
+			if(!next(chars[i])) return false;
+		}
+		return true;
+	}
+}
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 
+import org.trie4j.automaton.Automaton;
 import org.trie4j.util.Pair;
 
 public abstract class AbstractTermIdMapTrie<T>
@@ -56,6 +57,37 @@ implements Externalizable, MapTrie<T>{
 		return trie.predictiveSearch(prefix);
 	}
 
+	@Override
+	public Iterable<String> predictiveSearch(String prefix, int limit) {
+		return trie.predictiveSearch(prefix, limit);
+	}
+
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		trie.commonPrefixSearch(chars, start, end, visitor);
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		trie.predictiveSearch(prefix, visitor);
+	}
+
+	@Override
+	public Iterable<String> fuzzySearch(String query, int maxEdits) {
+		return trie.fuzzySearch(query, maxEdits);
+	}
+
+	@Override
+	public void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor) {
+		trie.fuzzySearch(query, maxEdits, visitor);
+	}
+
+	@Override
+	public Iterable<String> automatonSearch(Automaton automaton) {
+		return trie.automatonSearch(automaton);
+	}
+
 	@Override
 	public void insert(String word) {
 		trie.insert(word);
@@ -15,7 +15,11 @@
  */
 package org.trie4j;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.trie4j.util.IterableAdapter;
+import org.trie4j.util.LimitedIterable;
 import org.trie4j.util.Pair;
 
 public abstract class AbstractTermIdTrie extends AbstractTrie implements TermIdTrie{
@@ -43,4 +47,212 @@ public abstract class AbstractTermIdTrie extends AbstractTrie implements TermIdT
 	public Iterable<String> predictiveSearch(String prefix) {
 		return new StringIterableAdapter(predictiveSearchWithTermId(prefix));
 	}
+
+	@Override
+	public Iterable<String> predictiveSearch(String prefix, int limit) {
+		return new StringIterableAdapter(predictiveSearchWithTermId(prefix, limit));
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
+			String prefix, int limit) {
+		return new LimitedIterable<Pair<String, Integer>>(
+				predictiveSearchWithTermId(prefix), limit);
+	}
+
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		for(Pair<String, Integer> p : commonPrefixSearchWithTermId(chars.subSequence(start, end).toString())){
+			if(!visitor.visit(chars, start, start + p.getFirst().length(), p.getSecond())) return;
+		}
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		for(Pair<String, Integer> p : predictiveSearchWithTermId(prefix.toString())){
+			String w = p.getFirst();
+			if(!visitor.visit(w, 0, w.length(), p.getSecond())) return;
+		}
+	}
+
+	@Override
+	public String getKey(int termId) {
+		StringBuilder b = new StringBuilder();
+		return appendKey(termId, b) ? b.toString() : null;
+	}
+
+	/**
+	 * Searches termId through all keys. Subclasses should override this
+	 * to restore the key from the structure.
+	 */
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size()) return false;
+		for(Pair<String, Integer> p : predictiveSearchWithTermId("")){
+			if(p.getSecond() == termId){
+				buffer.append(p.getFirst());
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void getTermIds(CharSequence[] keys, int[] out) {
+		getTermIds(keys, identityOrder(keys.length), 0, keys.length, out);
+	}
+
+	@Override
+	public void getTermIds(CharSequence[] keys, int[] out, ForkJoinPool pool) {
+		pool.invoke(new BatchLookupTask(keys, identityOrder(keys.length), 0, keys.length, out));
+	}
+
+	/**
+	 * Looks up keys[order[start]] ... keys[order[end - 1]], which may be in
+	 * any order. Implementations may permute order[start, end). Called from
+	 * multiple threads for distinct ranges.
+	 * This implementation uses a cursor for each key. Subclasses should
+	 * override this to resume each walk from the common prefix with the
+	 * previous key.
+	 */
+	protected void getTermIds(CharSequence[] keys, int[] order, int start, int end, int[] out){
+		LookupCursor c = newLookupCursor();
+		for(int i = start; i < end; i++){
+			CharSequence key = keys[order[i]];
+			out[order[i]] = c.getTermId(key, 0, key.length());
+		}
+	}
+
+	/**
+	 * Returns the length of the common prefix of a and b.
+	 */
+	protected static int commonPrefixLength(CharSequence a, CharSequence b){
+		int n = Math.min(a.length(), b.length());
+		int i = 0;
+		while(i < n && a.charAt(i) == b.charAt(i)) i++;
+		return i;
+	}
+
+	/**
+	 * Stably reorders order[start, end) so that keys sharing the first char
+	 * are adjacent, by two counting passes over the low and the high byte.
+	 * Much cheaper than sorting, and enough for the tries whose child
+	 * lookups are expensive to share the walks of the first chars.
+	 */
+	protected static void groupByFirstChar(CharSequence[] keys, int[] order, int start, int end){
+		int n = end - start;
+		if(n < 2) return;
+		// first char + 1, or 0 for the empty key. read once as keys are
+		// scattered over the heap.
+		int[] heads = new int[n];
+		for(int i = 0; i < n; i++){
+			CharSequence key = keys[order[start + i]];
+			heads[i] = key.length() == 0 ? 0 : key.charAt(0) + 1;
+		}
+		int[] tmpHeads = new int[n];
+		int[] tmpOrder = new int[n];
+		countingPass(heads, order, start, tmpHeads, tmpOrder, 0, n, 0, 0xff);
+		countingPass(tmpHeads, tmpOrder, 0, heads, order, start, n, 8, 0x1ff);
+	}
+
+	private static void countingPass(int[] srcHeads, int[] srcOrder, int srcStart,
+			int[] dstHeads, int[] dstOrder, int dstStart, int n, int shift, int mask){
+		int[] pos = new int[mask + 2];
+		for(int i = 0; i < n; i++) pos[((srcHeads[i] >>> shift) & mask) + 1]++;
+		for(int b = 1; b < pos.length; b++) pos[b] += pos[b - 1];
+		for(int i = 0; i < n; i++){
+			int p = pos[(srcHeads[i] >>> shift) & mask]++;
+			dstHeads[p] = srcHeads[i];
+			dstOrder[dstStart + p] = srcOrder[srcStart + i];
+		}
+	}
+
+	private static int[] identityOrder(int n){
+		int[] order = new int[n];
+		for(int i = 0; i < n; i++) order[i] = i;
+		return order;
+	}
+
+	private class BatchLookupTask extends RecursiveAction{
+		public BatchLookupTask(CharSequence[] keys, int[] order, int start, int end, int[] out){
+			this.keys = keys;
+			this.order = order;
+			this.start = start;
+			this.end = end;
+			this.out = out;
+		}
+
+		@Override
+		protected void compute() {
+			if(end - start <= BATCH_CHUNK_SIZE){
+				getTermIds(keys, order, start, end, out);
+				return;
+			}
+			int m = (start + end) >>> 1;
+			invokeAll(new BatchLookupTask(keys, order, start, m, out),
+					new BatchLookupTask(keys, order, m, end, out));
+		}
+
+		private CharSequence[] keys;
+		private int[] order;
+		private int start;
+		private int end;
+		private int[] out;
+		private static final long serialVersionUID = 1L;
+	}
+
+	/**
+	 * Creates cursor that walks nodes from {@link #getRoot()}. Subclasses
+	 * should override this to avoid allocating nodes.
+	 */
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new NodeLookupCursor();
+	}
+
+	private class NodeLookupCursor extends AbstractLookupCursor{
+		public NodeLookupCursor() {
+			reset();
+		}
+
+		@Override
+		public void reset() {
+			node = getRoot();
+			letters = node != null ? node.getLetters() : EMPTY_LETTERS;
+			letterIndex = letters.length;
+		}
+
+		@Override
+		public boolean next(char c) {
+			if(node == null) return false;
+			if(letterIndex < letters.length){
+				if(letters[letterIndex++] == c) return true;
+				node = null;
+				return false;
+			}
+			node = node.getChild(c);
+			if(node == null) return false;
+			letters = node.getLetters();
+			letterIndex = 1;
+			return true;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return node != null && letterIndex == letters.length && node.isTerminate();
+		}
+
+		@Override
+		public int getTermId() {
+			return isTerminate() ? node.getTermId() : -1;
+		}
+
+		private TermIdNode node;
+		private char[] letters;
+		private int letterIndex;
+	}
+
+	private static final char[] EMPTY_LETTERS = {};
+	private static final int BATCH_CHUNK_SIZE = 4096;
 }
@@ -17,7 +17,15 @@ package org.trie4j;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.trie4j.automaton.Automaton;
+import org.trie4j.util.LevenshteinAutomaton;
+import org.trie4j.util.LimitedIterable;
 
 public abstract class AbstractTrie implements Trie{
 	@Override
@@ -32,6 +40,164 @@ public abstract class AbstractTrie implements Trie{
 		return -1;
 	}
 
+	@Override
+	public Iterable<String> predictiveSearch(String prefix, int limit) {
+		return new LimitedIterable<String>(predictiveSearch(prefix), limit);
+	}
+
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		for(String w : commonPrefixSearch(chars.subSequence(start, end).toString())){
+			if(!visitor.visit(chars, start, start + w.length(), -1)) return;
+		}
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		for(String w : predictiveSearch(prefix.toString())){
+			if(!visitor.visit(w, 0, w.length(), -1)) return;
+		}
+	}
+
+	@Override
+	public Iterable<String> fuzzySearch(String query, int maxEdits) {
+		final List<String> ret = new ArrayList<String>();
+		fuzzySearch(query, maxEdits, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				ret.add(chars.subSequence(start, end).toString());
+				return true;
+			}
+		});
+		return ret;
+	}
+
+	/**
+	 * Walks nodes from {@link #getRoot()} with Levenshtein automaton.
+	 * Subclasses should override this if their nodes are expensive.
+	 */
+	@Override
+	public void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor) {
+		Node root = getRoot();
+		if(root == null) return;
+		fuzzySearch(root, new LevenshteinAutomaton(query, maxEdits), 0,
+				new StringBuilder(), visitor);
+	}
+
+	private static boolean fuzzySearch(Node node, LevenshteinAutomaton la, int depth,
+			StringBuilder b, TermIdVisitor visitor){
+		char[] letters = node.getLetters();
+		if(letters != null){
+			for(char c : letters){
+				if(!la.step(depth, c)) return true;
+				b.append(c);
+				depth++;
+			}
+		}
+		if(node.isTerminate() && la.isMatch(depth)){
+			int termId = node instanceof TermIdNode ? ((TermIdNode)node).getTermId() : -1;
+			if(!visitor.visit(b, 0, depth, termId)) return false;
+		}
+		Node[] children = node.getChildren();
+		if(children != null){
+			for(Node c : children){
+				if(!fuzzySearch(c, la, depth, b, visitor)) return false;
+				b.setLength(depth);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns lazy Iterable that walks nodes from {@link #getRoot()}
+	 * with automaton.
+	 */
+	@Override
+	public Iterable<String> automatonSearch(final Automaton automaton) {
+		return new Iterable<String>(){
+			@Override
+			public Iterator<String> iterator() {
+				return new AutomatonSearchIterator(getRoot(), automaton);
+			}
+		};
+	}
+
+	private static class AutomatonSearchIterator implements Iterator<String>{
+		public AutomatonSearchIterator(Node root, Automaton automaton){
+			this.automaton = automaton;
+			if(root != null) push(root, automaton.getInitialState(), 0);
+			findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public String next() {
+			String ret = next;
+			if(ret == null) throw new NoSuchElementException();
+			findNext();
+			return ret;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void findNext(){
+			next = null;
+			outer: while(sp > 0){
+				sp--;
+				Node node = nodes[sp];
+				int state = states[sp];
+				b.setLength(lengths[sp]);
+				nodes[sp] = null;
+				char[] letters = node.getLetters();
+				if(letters != null){
+					for(char c : letters){
+						state = automaton.step(state, c);
+						if(state == -1) continue outer;
+						b.append(c);
+					}
+				}
+				Node[] children = node.getChildren();
+				if(children != null){
+					// push children in descending order to visit them in ascending order.
+					for(int i = children.length - 1; i >= 0; i--){
+						push(children[i], state, b.length());
+					}
+				}
+				if(node.isTerminate() && automaton.isAccept(state)){
+					next = b.toString();
+					return;
+				}
+			}
+		}
+
+		private void push(Node node, int state, int length){
+			if(sp == nodes.length){
+				nodes = Arrays.copyOf(nodes, sp * 2);
+				states = Arrays.copyOf(states, sp * 2);
+				lengths = Arrays.copyOf(lengths, sp * 2);
+			}
+			nodes[sp] = node; states[sp] = state; lengths[sp] = length;
+			sp++;
+		}
+
+		private Automaton automaton;
+		private String next;
+		private StringBuilder b = new StringBuilder();
+		// stack of (node, state before letters of node, length of b before letters of node)
+		private Node[] nodes = new Node[16];
+		private int[] states = new int[16];
+		private int[] lengths = new int[16];
+		private int sp;
+	}
+
 	@Override
 	public void dump(Writer writer) throws IOException{
 		writer.write("-- dump " + getClass().getName() + " --\n");
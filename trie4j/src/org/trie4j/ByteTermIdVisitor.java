@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j;
+
+/**
+ * Callback for the searches on UTF-8 bytes such as
+ * {@link org.trie4j.doublearray.Utf8DoubleArray#commonPrefixSearch(byte[], int, int, ByteTermIdVisitor)}.
+ * @author agent
+ */
+public interface ByteTermIdVisitor {
+	/**
+	 * Called for each found key, which is bytes[start, end).
+	 * bytes may be a buffer of the trie, so it is valid only in this call.
+	 * @return false to stop the search.
+	 */
+	boolean visit(byte[] bytes, int start, int end, int termId);
+}
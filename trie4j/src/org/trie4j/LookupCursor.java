@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j;
+
+/**
+ * Reusable cursor for lookups that allocate no objects. A cursor keeps the
+ * state of a walk from the root of the trie and is not thread safe. Create
+ * one for each thread by {@link TermIdTrie#newLookupCursor()} and reuse it.
+ *
+ * Prefix walk:
+ * <pre>
+ * cursor.reset();
+ * for(int i = start; i &lt; end &amp;&amp; cursor.next(chars[i]); i++){
+ *     int id = cursor.getTermId(); // chars[start, i] is a key if id != -1.
+ * }
+ * </pre>
+ * @author agent
+ */
+public interface LookupCursor {
+	/**
+	 * Moves the cursor to the root (empty prefix).
+	 */
+	void reset();
+
+	/**
+	 * Extends the current prefix by c.
+	 * @return false if no key starts with the extended prefix. The cursor
+	 *         stays in that state until {@link #reset()}.
+	 */
+	boolean next(char c);
+
+	/**
+	 * Returns true if the current prefix is a key.
+	 */
+	boolean isTerminate();
+
+	/**
+	 * Returns the term id of the current prefix or -1 if it is not a key.
+	 */
+	int getTermId();
+
+	boolean contains(CharSequence chars, int offset, int length);
+
+	boolean contains(char[] chars, int offset, int length);
+
+	/**
+	 * Returns the term id of chars[offset, offset + length) or -1.
+	 */
+	int getTermId(CharSequence chars, int offset, int length);
+
+	/**
+	 * Returns the term id of chars[offset, offset + length) or -1.
+	 */
+	int getTermId(char[] chars, int offset, int length);
+}
@@ -15,6 +15,8 @@
  */
 package org.trie4j;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.trie4j.util.Pair;
 
 /**
@@ -56,4 +58,53 @@ public interface TermIdTrie extends Trie{
 	 * @return Iterable of found pairs (key and key id).
 	 */
 	Iterable<Pair<String, Integer>> predictiveSearchWithTermId(String prefix);
+
+	/**
+	 * Search texts that is begin with prefix and returns at most limit
+	 * found keys with key id.
+	 * @param prefix
+	 * @param limit max count of keys
+	 * @return Iterable of found pairs (key and key id).
+	 */
+	Iterable<Pair<String, Integer>> predictiveSearchWithTermId(String prefix, int limit);
+
+	/**
+	 * Creates cursor for lookups without allocation. The cursor
+	 * must not be shared between threads.
+	 * @return new cursor.
+	 */
+	LookupCursor newLookupCursor();
+
+	/**
+	 * Returns the key for termId.
+	 * @param termId ID of key
+	 * @return key or null if termId is out of range.
+	 */
+	String getKey(int termId);
+
+	/**
+	 * Appends the key for termId to buffer.
+	 * @param termId ID of key
+	 * @param buffer buffer to append the key
+	 * @return false if termId is out of range.
+	 */
+	boolean appendKey(int termId, StringBuilder buffer);
+
+	/**
+	 * Looks up term ids of keys at once. Consecutive lookups share the walk
+	 * of their common prefix, so sorted keys are looked up faster than by
+	 * {@link #getTermId(String)} each.
+	 * @param keys keys to look up
+	 * @param out out[i] is set to the term id of keys[i] or -1.
+	 */
+	void getTermIds(CharSequence[] keys, int[] out);
+
+	/**
+	 * Looks up term ids of keys at once on pool. Keys are split into chunks
+	 * and each chunk is looked up by a task.
+	 * @param keys keys to look up
+	 * @param out out[i] is set to the term id of keys[i] or -1.
+	 * @param pool pool to run tasks
+	 */
+	void getTermIds(CharSequence[] keys, int[] out, ForkJoinPool pool);
 }
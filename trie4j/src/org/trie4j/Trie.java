@@ -18,6 +18,8 @@ package org.trie4j;
 import java.io.IOException;
 import java.io.Writer;
 
+import org.trie4j.automaton.Automaton;
+
 public interface Trie{
 	/**
 	 * returns inserted word count(equals to terminal node count)
@@ -67,6 +69,62 @@ public interface Trie{
 	 */
 	Iterable<String> predictiveSearch(String prefix);
 
+	/**
+	 * search trie for words starting prefix. At most limit words are
+	 * iterated.
+	 * @param prefix prefix
+	 * @param limit max count of words
+	 * @return Iterable object which iterates found words.
+	 */
+	Iterable<String> predictiveSearch(String prefix, int limit);
+
+	/**
+	 * search trie for words that are prefixes of chars[start, end) and
+	 * call visitor for each word from shorter one. Search stops when
+	 * visitor returns false.
+	 * @param chars chars
+	 * @param start start position
+	 * @param end end position
+	 * @param visitor visitor called with found range of chars
+	 */
+	void commonPrefixSearch(CharSequence chars, int start, int end, TermIdVisitor visitor);
+
+	/**
+	 * search trie for words starting prefix and call visitor for each word.
+	 * Search stops when visitor returns false.
+	 * @param prefix prefix
+	 * @param visitor visitor called with found word
+	 */
+	void predictiveSearch(CharSequence prefix, TermIdVisitor visitor);
+
+	/**
+	 * search trie for words whose edit distance (Levenshtein distance)
+	 * to query is at most maxEdits.
+	 * @param query query
+	 * @param maxEdits max count of insertions, deletions and substitutions
+	 * @return Iterable object which iterates found words.
+	 */
+	Iterable<String> fuzzySearch(String query, int maxEdits);
+
+	/**
+	 * search trie for words whose edit distance (Levenshtein distance)
+	 * to query is at most maxEdits and call visitor for each word.
+	 * Search stops when visitor returns false.
+	 * @param query query
+	 * @param maxEdits max count of insertions, deletions and substitutions
+	 * @param visitor visitor called with found word
+	 */
+	void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor);
+
+	/**
+	 * search trie for words accepted by automaton. Subtrees whose path
+	 * the automaton rejects are not visited and words are found while
+	 * iterating.
+	 * @param automaton automaton such as {@link org.trie4j.automaton.DFA}
+	 * @return Iterable object which iterates found words.
+	 */
+	Iterable<String> automatonSearch(Automaton automaton);
+
 	/**
 	 * insert word.
 	 * @param word word to insert.
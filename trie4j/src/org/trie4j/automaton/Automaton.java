@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.automaton;
+
+/**
+ * Deterministic automaton over chars used by
+ * {@link org.trie4j.Trie#automatonSearch(Automaton)}. States are
+ * represented by non negative ints.
+ * @author agent
+ */
+public interface Automaton {
+	int getInitialState();
+
+	/**
+	 * Returns the state after reading c at state or -1 if no input
+	 * that starts with the input read can be accepted.
+	 */
+	int step(int state, char c);
+
+	boolean isAccept(int state);
+}
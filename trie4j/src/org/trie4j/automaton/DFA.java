@@ -0,0 +1,416 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.automaton;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * DFA compiled from a glob or a regular expression. The pattern must
+ * match the whole key.
+ * The NFA built from the pattern by Thompson's construction is
+ * converted by subset construction over the disjoint char intervals
+ * that the pattern distinguishes, so the transition table has
+ * (count of states) * (count of intervals) entries.
+ * @author agent
+ */
+public class DFA implements Automaton{
+	/**
+	 * Compiles glob. ? matches any char, * matches any chars,
+	 * [abc], [a-z] and [!a-z] match a char in (not in) the class and \
+	 * escapes the next char.
+	 */
+	public static DFA compileGlob(String pattern){
+		return new DFA(new Parser(pattern, true).parse());
+	}
+
+	/**
+	 * Compiles regular expression. Supported syntax is literal chars,
+	 * ., [...] and [^...] classes, \ escape, grouping by (), alternation
+	 * by | and the quantifiers *, + and ?.
+	 */
+	public static DFA compileRegex(String pattern){
+		return new DFA(new Parser(pattern, false).parse());
+	}
+
+	@Override
+	public int getInitialState() {
+		return 0;
+	}
+
+	@Override
+	public int step(int state, char c) {
+		int i = Arrays.binarySearch(intervalStarts, c);
+		if(i < 0) i = -i - 2;
+		return table[state * intervalStarts.length + i];
+	}
+
+	@Override
+	public boolean isAccept(int state) {
+		return accepts.get(state);
+	}
+
+	/**
+	 * Returns the count of states.
+	 */
+	public int size(){
+		return table.length / intervalStarts.length;
+	}
+
+	private DFA(Nfa nfa){
+		// disjoint intervals split at the bounds of all ranges.
+		TreeSet<Integer> bounds = new TreeSet<Integer>();
+		bounds.add(0);
+		for(int[] e : nfa.edges){
+			if(e[1] == -1) continue;
+			bounds.add(e[1]);
+			if(e[2] < Character.MAX_VALUE) bounds.add(e[2] + 1);
+		}
+		intervalStarts = new char[bounds.size()];
+		int n = 0;
+		for(int b : bounds) intervalStarts[n++] = (char)b;
+		int ic = intervalStarts.length;
+
+		List<List<int[]>> outs = new ArrayList<List<int[]>>();
+		for(int i = 0; i < nfa.stateCount; i++) outs.add(new ArrayList<int[]>());
+		for(int[] e : nfa.edges) outs.get(e[0]).add(e);
+
+		Map<BitSet, Integer> ids = new HashMap<BitSet, Integer>();
+		List<BitSet> states = new ArrayList<BitSet>();
+		BitSet init = new BitSet();
+		init.set(nfa.start);
+		closure(init, outs);
+		ids.put(init, 0);
+		states.add(init);
+		int[] t = new int[ic * 4];
+		accepts = new BitSet();
+		for(int s = 0; s < states.size(); s++){
+			BitSet cur = states.get(s);
+			if(cur.get(nfa.accept)) accepts.set(s);
+			if((s + 1) * ic > t.length) t = Arrays.copyOf(t, t.length * 2);
+			for(int i = 0; i < ic; i++){
+				char c = intervalStarts[i];
+				BitSet next = new BitSet();
+				for(int q = cur.nextSetBit(0); q >= 0; q = cur.nextSetBit(q + 1)){
+					for(int[] e : outs.get(q)){
+						if(e[1] != -1 && e[1] <= c && c <= e[2]) next.set(e[3]);
+					}
+				}
+				if(next.isEmpty()){
+					t[s * ic + i] = -1;
+					continue;
+				}
+				closure(next, outs);
+				Integer id = ids.get(next);
+				if(id == null){
+					if(states.size() == MAX_STATES){
+						throw new IllegalArgumentException("pattern too complex.");
+					}
+					id = states.size();
+					ids.put(next, id);
+					states.add(next);
+				}
+				t[s * ic + i] = id;
+			}
+		}
+		table = Arrays.copyOf(t, states.size() * ic);
+	}
+
+	private static void closure(BitSet set, List<List<int[]>> outs){
+		int[] stack = new int[16];
+		int sp = 0;
+		for(int q = set.nextSetBit(0); q >= 0; q = set.nextSetBit(q + 1)){
+			if(sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+			stack[sp++] = q;
+		}
+		while(sp > 0){
+			int q = stack[--sp];
+			for(int[] e : outs.get(q)){
+				if(e[1] != -1 || set.get(e[3])) continue;
+				set.set(e[3]);
+				if(sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+				stack[sp++] = e[3];
+			}
+		}
+	}
+
+	/**
+	 * NFA of Thompson's construction. Each edge is {from, lo, hi, to}
+	 * and lo is -1 for epsilon edge.
+	 */
+	private static class Nfa{
+		int newState(){
+			return stateCount++;
+		}
+
+		void epsilon(int from, int to){
+			edges.add(new int[]{from, -1, -1, to});
+		}
+
+		void range(int from, int lo, int hi, int to){
+			edges.add(new int[]{from, lo, hi, to});
+		}
+
+		private List<int[]> edges = new ArrayList<int[]>();
+		private int stateCount;
+		private int start;
+		private int accept;
+	}
+
+	/**
+	 * Recursive descent parser that builds NFA. Fragments are
+	 * {start state, end state}.
+	 */
+	private static class Parser{
+		Parser(String pattern, boolean glob){
+			this.pattern = pattern;
+			this.glob = glob;
+		}
+
+		Nfa parse(){
+			int[] f = glob ? parseGlob() : parseAlternation();
+			if(pos < pattern.length()){
+				throw error("unexpected '" + pattern.charAt(pos) + "'");
+			}
+			nfa.start = f[0];
+			nfa.accept = f[1];
+			return nfa;
+		}
+
+		private int[] parseGlob(){
+			int[] f = empty();
+			while(pos < pattern.length()){
+				char c = pattern.charAt(pos++);
+				int[] a;
+				if(c == '*'){
+					a = star(any());
+				} else if(c == '?'){
+					a = any();
+				} else if(c == '['){
+					a = parseClass('!');
+				} else{
+					if(c == '\\') c = escaped();
+					a = chars(c, c);
+				}
+				f = concat(f, a);
+			}
+			return f;
+		}
+
+		private int[] parseAlternation(){
+			int[] f = parseConcatenation();
+			while(pos < pattern.length() && pattern.charAt(pos) == '|'){
+				pos++;
+				int[] g = parseConcatenation();
+				int s = nfa.newState();
+				int e = nfa.newState();
+				nfa.epsilon(s, f[0]);
+				nfa.epsilon(s, g[0]);
+				nfa.epsilon(f[1], e);
+				nfa.epsilon(g[1], e);
+				f = new int[]{s, e};
+			}
+			return f;
+		}
+
+		private int[] parseConcatenation(){
+			int[] f = empty();
+			while(pos < pattern.length()){
+				char c = pattern.charAt(pos);
+				if(c == '|' || c == ')') break;
+				f = concat(f, parseRepetition());
+			}
+			return f;
+		}
+
+		private int[] parseRepetition(){
+			int[] f = parseAtom();
+			while(pos < pattern.length()){
+				char c = pattern.charAt(pos);
+				if(c == '*') f = star(f);
+				else if(c == '+') f = concat(f, star(copy(f)));
+				else if(c == '?') f = optional(f);
+				else break;
+				pos++;
+			}
+			return f;
+		}
+
+		private int[] parseAtom(){
+			char c = pattern.charAt(pos++);
+			switch(c){
+				case '(':
+					int[] f = parseAlternation();
+					if(pos == pattern.length() || pattern.charAt(pos) != ')'){
+						throw error("missing ')'");
+					}
+					pos++;
+					return f;
+				case '[':
+					return parseClass('^');
+				case '.':
+					return any();
+				case '*':
+				case '+':
+				case '?':
+					throw error("nothing to repeat");
+				case '\\':
+					c = escaped();
+					return chars(c, c);
+				default:
+					return chars(c, c);
+			}
+		}
+
+		/**
+		 * Parses char class after '['.
+		 */
+		private int[] parseClass(char negation){
+			boolean negate = false;
+			if(pos < pattern.length() && pattern.charAt(pos) == negation){
+				negate = true;
+				pos++;
+			}
+			// ranges as {lo, hi} sorted and merged later.
+			List<int[]> ranges = new ArrayList<int[]>();
+			boolean first = true;
+			while(true){
+				if(pos == pattern.length()) throw error("missing ']'");
+				char c = pattern.charAt(pos++);
+				if(c == ']' && !first) break;
+				first = false;
+				if(c == '\\') c = escaped();
+				char hi = c;
+				if(pos + 1 < pattern.length() && pattern.charAt(pos) == '-' && pattern.charAt(pos + 1) != ']'){
+					pos++;
+					hi = pattern.charAt(pos++);
+					if(hi == '\\') hi = escaped();
+					if(hi < c) throw error("invalid range");
+				}
+				ranges.add(new int[]{c, hi});
+			}
+			int s = nfa.newState();
+			int e = nfa.newState();
+			if(!negate){
+				for(int[] r : ranges) nfa.range(s, r[0], r[1], e);
+				return new int[]{s, e};
+			}
+			boolean[] excluded = new boolean[Character.MAX_VALUE + 1];
+			for(int[] r : ranges){
+				for(int i = r[0]; i <= r[1]; i++) excluded[i] = true;
+			}
+			for(int i = 0; i <= Character.MAX_VALUE; i++){
+				if(excluded[i]) continue;
+				int lo = i;
+				while(i < Character.MAX_VALUE && !excluded[i + 1]) i++;
+				nfa.range(s, lo, i, e);
+			}
+			return new int[]{s, e};
+		}
+
+		private char escaped(){
+			if(pos == pattern.length()) throw error("trailing '\\'");
+			return pattern.charAt(pos++);
+		}
+
+		private int[] empty(){
+			int s = nfa.newState();
+			return new int[]{s, s};
+		}
+
+		private int[] any(){
+			return chars(0, Character.MAX_VALUE);
+		}
+
+		private int[] chars(int lo, int hi){
+			int s = nfa.newState();
+			int e = nfa.newState();
+			nfa.range(s, lo, hi, e);
+			return new int[]{s, e};
+		}
+
+		private int[] concat(int[] f, int[] g){
+			nfa.epsilon(f[1], g[0]);
+			return new int[]{f[0], g[1]};
+		}
+
+		private int[] star(int[] f){
+			int s = nfa.newState();
+			int e = nfa.newState();
+			nfa.epsilon(s, f[0]);
+			nfa.epsilon(s, e);
+			nfa.epsilon(f[1], f[0]);
+			nfa.epsilon(f[1], e);
+			return new int[]{s, e};
+		}
+
+		private int[] optional(int[] f){
+			int s = nfa.newState();
+			int e = nfa.newState();
+			nfa.epsilon(s, f[0]);
+			nfa.epsilon(s, e);
+			nfa.epsilon(f[1], e);
+			return new int[]{s, e};
+		}
+
+		/**
+		 * Copies the states and edges reachable from the start of f.
+		 */
+		private int[] copy(int[] f){
+			Map<Integer, Integer> map = new HashMap<Integer, Integer>();
+			List<Integer> queue = new ArrayList<Integer>();
+			map.put(f[0], nfa.newState());
+			queue.add(f[0]);
+			int edgeCount = nfa.edges.size();
+			for(int i = 0; i < queue.size(); i++){
+				int q = queue.get(i);
+				if(q == f[1]) continue;
+				for(int j = 0; j < edgeCount; j++){
+					int[] e = nfa.edges.get(j);
+					if(e[0] != q) continue;
+					Integer to = map.get(e[3]);
+					if(to == null){
+						to = nfa.newState();
+						map.put(e[3], to);
+						queue.add(e[3]);
+					}
+					nfa.edges.add(new int[]{map.get(q), e[1], e[2], to});
+				}
+			}
+			if(!map.containsKey(f[1])) map.put(f[1], nfa.newState());
+			return new int[]{map.get(f[0]), map.get(f[1])};
+		}
+
+		private IllegalArgumentException error(String message){
+			return new IllegalArgumentException(message + " at " + pos + " in " + pattern);
+		}
+
+		private String pattern;
+		private boolean glob;
+		private int pos;
+		private Nfa nfa = new Nfa();
+	}
+
+	private char[] intervalStarts;
+	private int[] table;
+	private BitSet accepts;
+	private static final int MAX_STATES = 10000;
+}
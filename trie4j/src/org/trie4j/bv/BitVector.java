@@ -23,4 +23,5 @@ public interface BitVector extends BitSet {
 	boolean isOne(int pos);
 	void append0();
 	void append1();
+	void trimToSize();
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bv;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+import org.trie4j.util.BitSet;
+
+/**
+ * Read-only succinct bit vector that works directly on a ByteBuffer
+ * (typically a MappedByteBuffer) written by {@link #write(BitSet, DataOutput)}.
+ * Nothing but the small header is copied onto the heap.
+ *
+ * Image layout (little endian, every section starts at 8 byte boundary
+ * relative to the image start):
+ * <pre>
+ * int size, int ones
+ * long[(size + 63) / 64] bits (bit i is (bits[i / 64] &gt;&gt;&gt; (i % 64)) &amp; 1)
+ * int[blocks + 1] ones before each 512 bits block
+ * int[] block index of every 512th one (1st, 513th, ...)
+ * int[] block index of every 512th zero
+ * </pre>
+ * @author agent
+ */
+public class ByteBufferSuccinctBitVector
+implements SuccinctBitVector{
+	/**
+	 * Writes the image of bits.
+	 * @return written bytes
+	 */
+	public static int write(BitSet bits, DataOutput out) throws IOException{
+		int size = bits.size();
+		int wordCount = wordCount(size);
+		int blockCount = blockCount(size);
+		long[] words = new long[wordCount];
+		for(int i = 0; i < size; i++){
+			if(bits.get(i)) words[i >>> 6] |= 1L << (i & 63);
+		}
+		int[] ranks = new int[blockCount + 1];
+		int ones = 0;
+		for(int i = 0; i < wordCount; i++){
+			if(i % WORDS_PER_BLOCK == 0) ranks[i / WORDS_PER_BLOCK] = ones;
+			ones += Long.bitCount(words[i]);
+		}
+		ranks[blockCount] = ones;
+		int zeros = size - ones;
+		int[] samples1 = new int[sampleCount(ones)];
+		int[] samples0 = new int[sampleCount(zeros)];
+		for(int b = 0; b < blockCount; b++){
+			int o = ranks[b];
+			int on = ranks[b + 1];
+			// samples whose target (k * SAMPLE_WIDTH + 1)th bit is in this block
+			for(int k = (o + SAMPLE_WIDTH - 1) / SAMPLE_WIDTH; k < samples1.length && k * SAMPLE_WIDTH < on; k++){
+				samples1[k] = b;
+			}
+			int z = b * BLOCK_WIDTH - o;
+			int zn = Math.min((b + 1) * BLOCK_WIDTH, size) - on;
+			for(int k = (z + SAMPLE_WIDTH - 1) / SAMPLE_WIDTH; k < samples0.length && k * SAMPLE_WIDTH < zn; k++){
+				samples0[k] = b;
+			}
+		}
+
+		out.writeInt(Integer.reverseBytes(size));
+		out.writeInt(Integer.reverseBytes(ones));
+		for(long w : words) out.writeLong(Long.reverseBytes(w));
+		int written = 8 + wordCount * 8;
+		for(int v : ranks) out.writeInt(Integer.reverseBytes(v));
+		for(int v : samples1) out.writeInt(Integer.reverseBytes(v));
+		for(int v : samples0) out.writeInt(Integer.reverseBytes(v));
+		written += (ranks.length + samples1.length + samples0.length) * 4;
+		return written + pad(written, out);
+	}
+
+	/**
+	 * Writes zeros to align the next section to 8 bytes.
+	 * @return written bytes
+	 */
+	public static int pad(int written, DataOutput out) throws IOException{
+		int n = (8 - written % 8) % 8;
+		for(int i = 0; i < n; i++) out.writeByte(0);
+		return n;
+	}
+
+	/**
+	 * Creates bit vector on the image starting at buffer's current position.
+	 * The position of buffer is advanced to the end of the image.
+	 */
+	public ByteBufferSuccinctBitVector(ByteBuffer buffer){
+		int start = buffer.position();
+		ByteBuffer b = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		this.size = b.getInt(start);
+		this.ones = b.getInt(start + 4);
+		int wordCount = wordCount(size);
+		int p = start + 8;
+		this.words = slice(b, p, wordCount * 8).asLongBuffer();
+		p += wordCount * 8;
+		int rankCount = blockCount(size) + 1;
+		this.ranks = slice(b, p, rankCount * 4).asIntBuffer();
+		p += rankCount * 4;
+		int s1 = sampleCount(ones);
+		this.samples1 = slice(b, p, s1 * 4).asIntBuffer();
+		p += s1 * 4;
+		int s0 = sampleCount(size - ones);
+		this.samples0 = slice(b, p, s0 * 4).asIntBuffer();
+		p += s0 * 4;
+		p += (8 - (p - start) % 8) % 8;
+		buffer.position(p);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		int n = Math.min(size, 32);
+		for(int i = 0; i < n; i++){
+			b.append(isOne(i) ? "1" : "0");
+		}
+		return b.toString();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean get(int pos) {
+		return isOne(pos);
+	}
+
+	@Override
+	public boolean isOne(int pos) {
+		if(pos < 0 || pos >= size) return false;
+		return ((words.get(pos >>> 6) >>> (pos & 63)) & 1) != 0;
+	}
+
+	@Override
+	public boolean isZero(int pos) {
+		return !isOne(pos);
+	}
+
+	@Override
+	public void append0() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void append1() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void trimToSize() {
+	}
+
+	/**
+	 * Returns the count of 1 in [0, pos].
+	 */
+	@Override
+	public int rank1(int pos) {
+		int w = pos >>> 6;
+		int ret = ranks.get(w / WORDS_PER_BLOCK);
+		for(int i = w & ~(WORDS_PER_BLOCK - 1); i < w; i++){
+			ret += Long.bitCount(words.get(i));
+		}
+		return ret + Long.bitCount(words.get(w) & (-1L >>> (63 - (pos & 63))));
+	}
+
+	/**
+	 * Returns the count of 0 in [0, pos].
+	 */
+	@Override
+	public int rank0(int pos) {
+		return pos + 1 - rank1(pos);
+	}
+
+	/**
+	 * Returns the position of count-th 1 (count starts from 1).
+	 */
+	@Override
+	public int select1(int count) {
+		if(count <= 0 || count > ones) return -1;
+		int s = (count - 1) / SAMPLE_WIDTH;
+		int lo = samples1.get(s);
+		int hi = s + 1 < samples1.limit() ? samples1.get(s + 1) : ranks.limit() - 2;
+		// last block b in [lo, hi] that has less than count ones before it.
+		while(lo < hi){
+			int m = (lo + hi + 1) >>> 1;
+			if(ranks.get(m) < count) lo = m;
+			else hi = m - 1;
+		}
+		int rem = count - ranks.get(lo);
+		int w = lo * WORDS_PER_BLOCK;
+		while(true){
+			long word = words.get(w);
+			int c = Long.bitCount(word);
+			if(rem <= c) return w * 64 + selectInWord(word, rem);
+			rem -= c;
+			w++;
+		}
+	}
+
+	/**
+	 * Returns the position of count-th 0 (count starts from 1).
+	 */
+	@Override
+	public int select0(int count) {
+		if(count <= 0 || count > size - ones) return -1;
+		int s = (count - 1) / SAMPLE_WIDTH;
+		int lo = samples0.get(s);
+		int hi = s + 1 < samples0.limit() ? samples0.get(s + 1) : ranks.limit() - 2;
+		while(lo < hi){
+			int m = (lo + hi + 1) >>> 1;
+			if(m * BLOCK_WIDTH - ranks.get(m) < count) lo = m;
+			else hi = m - 1;
+		}
+		int rem = count - (lo * BLOCK_WIDTH - ranks.get(lo));
+		int w = lo * WORDS_PER_BLOCK;
+		while(true){
+			long word = ~words.get(w);
+			int c = Long.bitCount(word);
+			if(rem <= c) return w * 64 + selectInWord(word, rem);
+			rem -= c;
+			w++;
+		}
+	}
+
+	/**
+	 * Returns the position of first 0 at or after pos. -1 if no such 0.
+	 */
+	@Override
+	public int next0(int pos){
+		if(pos >= size) return -1;
+		int w = pos >>> 6;
+		long word = ~words.get(w) & (-1L << (pos & 63));
+		int n = words.limit();
+		while(word == 0){
+			if(++w == n) return -1;
+			word = ~words.get(w);
+		}
+		int ret = w * 64 + Long.numberOfTrailingZeros(word);
+		return ret < size ? ret : -1;
+	}
+
+	private static int selectInWord(long word, int count){
+		for(int i = 1; i < count; i++){
+			word &= word - 1;
+		}
+		return Long.numberOfTrailingZeros(word);
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int offset, int length){
+		ByteBuffer b = buffer.duplicate();
+		b.limit(offset + length);
+		b.position(offset);
+		return b.slice().order(buffer.order());
+	}
+
+	private static int wordCount(int bits){
+		return (bits + 63) / 64;
+	}
+
+	private static int blockCount(int bits){
+		return (bits + BLOCK_WIDTH - 1) / BLOCK_WIDTH;
+	}
+
+	private static int sampleCount(int n){
+		return (n + SAMPLE_WIDTH - 1) / SAMPLE_WIDTH;
+	}
+
+	private final int size;
+	private final int ones;
+	private final LongBuffer words;
+	private final IntBuffer ranks;
+	private final IntBuffer samples1;
+	private final IntBuffer samples0;
+	private static final int WORDS_PER_BLOCK = 8;
+	private static final int BLOCK_WIDTH = WORDS_PER_BLOCK * 64;
+	private static final int SAMPLE_WIDTH = 512;
+}
@@ -93,6 +93,7 @@ implements Externalizable, SuccinctBitVector{
 		return this.size;
 	}
 
+	@Override
 	public void trimToSize(){
 		int vectorSize = size / 8 + 1;
 		vector = Arrays.copyOf(vector, Math.min(vector.length, vectorSize));
@@ -326,6 +327,7 @@ implements Externalizable, SuccinctBitVector{
 		else return select0(count);
 	}
 
+	@Override
 	public int next0(int pos){
 		if(pos >= size) return -1;
 		if(pos <= node3pos){
@@ -373,7 +375,15 @@ implements Externalizable, SuccinctBitVector{
 
 	@Override
 	public void readExternal(ObjectInput in) throws IOException{
-		size = in.readInt();
+		readExternal(in.readInt(), in);
+	}
+
+	/**
+	 * Reads the fields following the size, for the readers which read the
+	 * size to tell the format.
+	 */
+	public void readExternal(int size, ObjectInput in) throws IOException{
+		this.size = size;
 		size0 = in.readInt();
 		node1pos = in.readInt();
 		node2pos = in.readInt();
@@ -381,14 +391,14 @@ implements Externalizable, SuccinctBitVector{
 		int vectorSize = in.readInt();
 		vector = new byte[vectorSize];
 		in.readFully(vector, 0, vectorSize);
-		int size = in.readInt();
-		countCache0 = new int[size];
-		for(int i = 0; i < size; i++){
+		int n = in.readInt();
+		countCache0 = new int[n];
+		for(int i = 0; i < n; i++){
 			countCache0[i] = in.readInt();
 		}
-		size = in.readInt();
-		indexCache0 = new int[size];
-		for(int i = 0; i < size; i++){
+		n = in.readInt();
+		indexCache0 = new int[n];
+		for(int i = 0; i < n; i++){
 			indexCache0[i] = in.readInt();
 		}
 	}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bv;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Succinct bit vector which allows to set and clear bits at any position.
+ * Counts of 1s of each 512 bits block are held in a Fenwick tree (binary
+ * indexed tree), so set, rank and select take O(log n) and the vector
+ * needs no rebuild after updates. Used for the terminal flags of mutable
+ * tries.
+ * @author agent
+ */
+public class DynamicSuccinctBitVector
+implements Serializable, SuccinctBitVector{
+	public DynamicSuccinctBitVector(){
+		this(16);
+	}
+
+	public DynamicSuccinctBitVector(int initialCapacity){
+		words = new long[blockCount(initialCapacity) * BLOCK_WORDS];
+		tree = new int[words.length / BLOCK_WORDS + 1];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		int n = Math.min(size, 32);
+		for(int i = 0; i < n; i++){
+			b.append(isOne(i) ? "1" : "0");
+		}
+		return b.toString();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean get(int pos) {
+		return isOne(pos);
+	}
+
+	@Override
+	public boolean isOne(int pos) {
+		return pos < size && (words[pos >>> 6] & (1L << pos)) != 0;
+	}
+
+	@Override
+	public boolean isZero(int pos) {
+		return !isOne(pos);
+	}
+
+	@Override
+	public void append1() {
+		set(size, true);
+	}
+
+	@Override
+	public void append0() {
+		set(size, false);
+	}
+
+	/**
+	 * Sets the bit at pos. The size is extended to pos + 1 if pos is out
+	 * of range.
+	 */
+	public void set(int pos, boolean bit){
+		if(pos >= size){
+			int w = pos >>> 6;
+			if(w >= words.length) extend(pos);
+			size = pos + 1;
+		}
+		long mask = 1L << pos;
+		long word = words[pos >>> 6];
+		if(((word & mask) != 0) == bit) return;
+		words[pos >>> 6] = word ^ mask;
+		int delta = bit ? 1 : -1;
+		ones += delta;
+		for(int i = (pos >>> 9) + 1; i < tree.length; i += i & -i){
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * Returns the count of 1 in [0, pos].
+	 */
+	@Override
+	public int rank1(int pos) {
+		if(pos < 0) return 0;
+		if(pos >= size) return ones;
+		int block = pos >>> 9;
+		int r = 0;
+		for(int i = block; i > 0; i -= i & -i){
+			r += tree[i];
+		}
+		int w = pos >>> 6;
+		for(int i = block * BLOCK_WORDS; i < w; i++){
+			r += Long.bitCount(words[i]);
+		}
+		return r + Long.bitCount(words[w] & (-1L >>> (63 - (pos & 63))));
+	}
+
+	/**
+	 * Returns the count of 0 in [0, pos].
+	 */
+	@Override
+	public int rank0(int pos) {
+		if(pos >= size) pos = size - 1;
+		return pos + 1 - rank1(pos);
+	}
+
+	/**
+	 * Returns the position of count-th 1 (count starts from 1).
+	 */
+	@Override
+	public int select1(int count) {
+		if(count <= 0 || count > ones) return -1;
+		// descend the tree to the block that holds the count-th 1.
+		int block = 0;
+		int rest = count;
+		for(int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>>= 1){
+			int i = block + step;
+			if(i < tree.length && tree[i] < rest){
+				block = i;
+				rest -= tree[i];
+			}
+		}
+		int w = block * BLOCK_WORDS;
+		for(int c; (c = Long.bitCount(words[w])) < rest; w++){
+			rest -= c;
+		}
+		return (w << 6) + LongsSuccinctBitVector.selectInWord(words[w], rest - 1);
+	}
+
+	/**
+	 * Returns the position of count-th 0 (count starts from 1).
+	 */
+	@Override
+	public int select0(int count) {
+		if(count <= 0 || count > size - ones) return -1;
+		int block = 0;
+		int rest = count;
+		for(int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>>= 1){
+			int i = block + step;
+			// the node i covers step blocks.
+			if(i < tree.length && step * BLOCK_BITS - tree[i] < rest){
+				block = i;
+				rest -= step * BLOCK_BITS - tree[i];
+			}
+		}
+		int w = block * BLOCK_WORDS;
+		for(int c; (c = 64 - Long.bitCount(words[w])) < rest; w++){
+			rest -= c;
+		}
+		return (w << 6) + LongsSuccinctBitVector.selectInWord(~words[w], rest - 1);
+	}
+
+	/**
+	 * Returns the position of first 0 at or after pos. -1 if no such 0.
+	 */
+	@Override
+	public int next0(int pos) {
+		if(pos >= size) return -1;
+		int w = pos >>> 6;
+		long word = ~words[w] & (-1L << pos);
+		int n = (size + 63) >>> 6;
+		while(word == 0){
+			if(++w == n) return -1;
+			word = ~words[w];
+		}
+		int ret = (w << 6) + Long.numberOfTrailingZeros(word);
+		return ret < size ? ret : -1;
+	}
+
+	@Override
+	public void trimToSize() {
+		resize(blockCount(size));
+	}
+
+	private void extend(int pos){
+		resize(Math.max(blockCount(pos + 1), tree.length * 3 / 2));
+	}
+
+	/**
+	 * Resizes words to blocks blocks and rebuilds the tree in O(blocks).
+	 */
+	private void resize(int blocks){
+		words = Arrays.copyOf(words, blocks * BLOCK_WORDS);
+		tree = new int[blocks + 1];
+		for(int b = 0; b < blocks; b++){
+			int c = 0;
+			for(int i = b * BLOCK_WORDS, e = i + BLOCK_WORDS; i < e; i++){
+				c += Long.bitCount(words[i]);
+			}
+			tree[b + 1] += c;
+			int parent = (b + 1) + ((b + 1) & -(b + 1));
+			if(parent <= blocks) tree[parent] += tree[b + 1];
+		}
+	}
+
+	private static int blockCount(int bits){
+		return Math.max(1, (bits + BLOCK_BITS - 1) / BLOCK_BITS);
+	}
+
+	private int size;
+	private int ones;
+	private long[] words;
+	// tree[i] holds the count of 1s in blocks (i - (i & -i), i].
+	private int[] tree;
+	private static final int BLOCK_BITS = 512;
+	private static final int BLOCK_WORDS = BLOCK_BITS / 64;
+	private static final long serialVersionUID = -3528107734916045571L;
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bv;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+
+/**
+ * Succinct bit vector backed by long[].
+ * Rank uses rank9 style directory: for every 512 bits block, one long holds
+ * the count of 1s before the block and the next long holds seven 9 bit
+ * counts of 1s before each word in the block. Select searches the blocks
+ * between sampled positions (every 512th 0 and 1) and finishes in the word
+ * by broadword select. The directory is maintained while appending, so
+ * the vector is queryable at any time.
+ * @author agent
+ */
+public class LongsSuccinctBitVector
+implements Externalizable, SuccinctBitVector{
+	public LongsSuccinctBitVector(){
+		this(16);
+	}
+
+	public LongsSuccinctBitVector(int initialCapacity){
+		words = new long[Math.max(1, (initialCapacity + 63) / 64)];
+		counts = new long[Math.max(2, (words.length + 7) / 8 * 2)];
+		samples0 = new int[4];
+		samples1 = new int[4];
+	}
+
+	/**
+	 * Creates bit vector from MSB first bytes such as FastBitSet.getBytes().
+	 */
+	public LongsSuccinctBitVector(byte[] bytes, int bits){
+		this(bits);
+		for(int i = 0; i < bits; i++){
+			if((bytes[i / 8] & (0x80 >> (i % 8))) != 0) append1();
+			else append0();
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		int n = Math.min(size, 32);
+		for(int i = 0; i < n; i++){
+			b.append(isOne(i) ? "1" : "0");
+		}
+		return b.toString();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean get(int pos) {
+		return isOne(pos);
+	}
+
+	@Override
+	public boolean isOne(int pos) {
+		return pos < size && (words[pos >>> 6] & (1L << pos)) != 0;
+	}
+
+	@Override
+	public boolean isZero(int pos) {
+		return !isOne(pos);
+	}
+
+	@Override
+	public void append1() {
+		prepareAppend();
+		words[size >>> 6] |= 1L << size;
+		if(ones % SAMPLE_WIDTH == 0){
+			int i = ones / SAMPLE_WIDTH;
+			if(i == samples1.length) samples1 = Arrays.copyOf(samples1, i * 2);
+			samples1[i] = size >>> 9;
+		}
+		ones++;
+		size++;
+	}
+
+	@Override
+	public void append0() {
+		prepareAppend();
+		int zeros = size - ones;
+		if(zeros % SAMPLE_WIDTH == 0){
+			int i = zeros / SAMPLE_WIDTH;
+			if(i == samples0.length) samples0 = Arrays.copyOf(samples0, i * 2);
+			samples0[i] = size >>> 9;
+		}
+		size++;
+	}
+
+	public void append(boolean bit){
+		if(bit) append1();
+		else append0();
+	}
+
+	/**
+	 * Returns the count of 1 in [0, pos].
+	 */
+	@Override
+	public int rank1(int pos) {
+		int w = pos >>> 6;
+		int b = w >>> 3 << 1;
+		// t == -1 for the first word of block shifts by 63 and reads 0.
+		long t = (w & 7) - 1;
+		long r = counts[b] + (counts[b + 1] >>> ((t + (t >>> 60 & 8)) * 9) & 0x1ff);
+		return (int)r + Long.bitCount(words[w] & (-1L >>> (63 - (pos & 63))));
+	}
+
+	/**
+	 * Returns the count of 0 in [0, pos].
+	 */
+	@Override
+	public int rank0(int pos) {
+		return pos + 1 - rank1(pos);
+	}
+
+	/**
+	 * Returns the position of count-th 1 (count starts from 1).
+	 */
+	@Override
+	public int select1(int count) {
+		if(count <= 0 || count > ones) return -1;
+		int rank = count - 1;
+		int s = rank / SAMPLE_WIDTH;
+		int lo = samples1[s];
+		int hi = s + 1 < sampleCount(ones) ? samples1[s + 1] : lastBlock();
+		while(lo < hi){
+			int m = (lo + hi + 1) >>> 1;
+			if(counts[m << 1] <= rank) lo = m;
+			else hi = m - 1;
+		}
+		rank -= (int)counts[lo << 1];
+		long sub = counts[(lo << 1) + 1];
+		int w = countLessOrEqual(sub, rank, wordsInBlock(lo));
+		if(w > 0) rank -= (int)(sub >>> ((w - 1) * 9) & 0x1ff);
+		w += lo << 3;
+		return (w << 6) + selectInWord(words[w], rank);
+	}
+
+	/**
+	 * Returns the position of count-th 0 (count starts from 1).
+	 */
+	@Override
+	public int select0(int count) {
+		if(count <= 0 || count > size - ones) return -1;
+		int rank = count - 1;
+		int s = rank / SAMPLE_WIDTH;
+		int lo = samples0[s];
+		int hi = s + 1 < sampleCount(size - ones) ? samples0[s + 1] : lastBlock();
+		while(lo < hi){
+			int m = (lo + hi + 1) >>> 1;
+			if(((long)m << 9) - counts[m << 1] <= rank) lo = m;
+			else hi = m - 1;
+		}
+		rank -= (lo << 9) - (int)counts[lo << 1];
+		// zeros before each word. no borrow occurs since ones <= bits in each field.
+		long sub = ZERO_SUBCOUNTS - counts[(lo << 1) + 1];
+		int w = countLessOrEqual(sub, rank, wordsInBlock(lo));
+		if(w > 0) rank -= (int)(sub >>> ((w - 1) * 9) & 0x1ff);
+		w += lo << 3;
+		return (w << 6) + selectInWord(~words[w], rank);
+	}
+
+	/**
+	 * Returns the position of first 0 at or after pos. -1 if no such 0.
+	 */
+	@Override
+	public int next0(int pos) {
+		if(pos >= size) return -1;
+		int w = pos >>> 6;
+		long word = ~words[w] & (-1L << pos);
+		int n = (size + 63) >>> 6;
+		while(word == 0){
+			if(++w == n) return -1;
+			word = ~words[w];
+		}
+		int ret = (w << 6) + Long.numberOfTrailingZeros(word);
+		return ret < size ? ret : -1;
+	}
+
+	@Override
+	public void trimToSize() {
+		int wc = Math.max(1, (size + 63) >>> 6);
+		words = Arrays.copyOf(words, wc);
+		counts = Arrays.copyOf(counts, Math.max(2, (wc + 7) / 8 * 2));
+		samples0 = Arrays.copyOf(samples0, Math.max(1, sampleCount(size - ones)));
+		samples1 = Arrays.copyOf(samples1, Math.max(1, sampleCount(ones)));
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		trimToSize();
+		out.writeInt(size);
+		out.writeInt(ones);
+		out.writeInt(words.length);
+		for(long w : words) out.writeLong(w);
+		out.writeInt(counts.length);
+		for(long c : counts) out.writeLong(c);
+		out.writeInt(samples0.length);
+		for(int s : samples0) out.writeInt(s);
+		out.writeInt(samples1.length);
+		for(int s : samples1) out.writeInt(s);
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		size = in.readInt();
+		ones = in.readInt();
+		words = new long[in.readInt()];
+		for(int i = 0; i < words.length; i++) words[i] = in.readLong();
+		counts = new long[in.readInt()];
+		for(int i = 0; i < counts.length; i++) counts[i] = in.readLong();
+		samples0 = new int[in.readInt()];
+		for(int i = 0; i < samples0.length; i++) samples0[i] = in.readInt();
+		samples1 = new int[in.readInt()];
+		for(int i = 0; i < samples1.length; i++) samples1[i] = in.readInt();
+	}
+
+	/**
+	 * Returns the position of the rank-th (starts from 0) 1 in word.
+	 * Broadword implementation from Vigna, "Broadword Implementation of
+	 * Rank/Select Queries".
+	 */
+	static int selectInWord(long x, int rank){
+		long byteSums = x - ((x >>> 1) & 0x5555555555555555L);
+		byteSums = (byteSums & 0x3333333333333333L) + ((byteSums >>> 2) & 0x3333333333333333L);
+		byteSums = (byteSums + (byteSums >>> 4)) & 0x0f0f0f0f0f0f0f0fL;
+		byteSums *= L8;
+		long rankStep8 = rank * L8;
+		int byteOffset = (int)(((((rankStep8 | H8) - byteSums) & H8) >>> 7) * L8 >>> 53) & ~7;
+		int byteRank = rank - (int)(((byteSums << 8) >>> byteOffset) & 0xff);
+		return byteOffset + SELECT_IN_BYTE[(int)((x >>> byteOffset) & 0xff) | byteRank << 8];
+	}
+
+	/**
+	 * Returns the count of the first n 9 bit fields of sub that are
+	 * less than or equal to rank. Fields are compared in parallel.
+	 */
+	private static int countLessOrEqual(long sub, int rank, int n){
+		long y = rank * L9;
+		long le = ((((y | H9) - (sub & ~H9)) | (sub ^ y)) ^ (sub & ~y)) & H9;
+		return Long.bitCount(le & ((1L << (n * 9)) - 1));
+	}
+
+	private void prepareAppend(){
+		if((size & 63) != 0) return;
+		int w = size >>> 6;
+		if(w == words.length){
+			words = Arrays.copyOf(words, Math.max(w + 1, (int)(w * 1.5)));
+		}
+		int b = (w >>> 3) << 1;
+		if(b + 1 >= counts.length){
+			counts = Arrays.copyOf(counts, Math.max(b + 2, (int)(counts.length * 1.5) & ~1));
+		}
+		int sub = w & 7;
+		if(sub == 0){
+			counts[b] = ones;
+			counts[b + 1] = 0;
+		} else{
+			counts[b + 1] |= (ones - counts[b]) << ((sub - 1) * 9);
+		}
+	}
+
+	/**
+	 * Returns the count of words in block minus 1, which is the count of
+	 * valid sub counts.
+	 */
+	private int wordsInBlock(int block){
+		return Math.min(7, ((size - 1) >>> 6) - (block << 3));
+	}
+
+	private int lastBlock(){
+		return size == 0 ? 0 : (size - 1) >>> 9;
+	}
+
+	private static int sampleCount(int n){
+		return (n + SAMPLE_WIDTH - 1) / SAMPLE_WIDTH;
+	}
+
+	private int size;
+	private int ones;
+	private long[] words;
+	private long[] counts;
+	private int[] samples0;
+	private int[] samples1;
+	private static final int SAMPLE_WIDTH = 512;
+	private static final long L8 = 0x0101010101010101L;
+	private static final long H8 = 0x8080808080808080L;
+	private static final long L9 = 0x40201008040201L;
+	private static final long H9 = L9 << 8;
+	private static final long ZERO_SUBCOUNTS;
+	private static final byte[] SELECT_IN_BYTE = new byte[2048];
+	static{
+		long z = 0;
+		for(int i = 0; i < 7; i++){
+			z |= (long)((i + 1) * 64) << (i * 9);
+		}
+		ZERO_SUBCOUNTS = z;
+		for(int v = 0; v < 256; v++){
+			int r = 0;
+			for(int i = 0; i < 8; i++){
+				if((v & (1 << i)) != 0){
+					SELECT_IN_BYTE[v | (r << 8)] = (byte)i;
+					r++;
+				}
+			}
+		}
+	}
+	private static final long serialVersionUID = 4312818437424577442L;
+}
@@ -72,6 +72,7 @@ implements Externalizable, BitVector{
 		return this.size;
 	}
 
+	@Override
 	public void trimToSize(){
 		int vectorSize = size / 8 + 1;
 		vector = Arrays.copyOf(vector, Math.min(vector.length, vectorSize));
@@ -78,6 +78,7 @@ implements Serializable, SuccinctBitVector{
 		return this.size;
 	}
 
+	@Override
 	public void trimToSize(){
 		int vectorSize = size / 8 + 1;
 		vector = Arrays.copyOf(vector, Math.min(vector.length, vectorSize));
@@ -119,6 +120,11 @@ implements Serializable, SuccinctBitVector{
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public int next0(int pos) {
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	public int rank1(int pos){
 		int ret = 0;
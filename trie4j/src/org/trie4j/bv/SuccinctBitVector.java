@@ -20,4 +20,5 @@ public interface SuccinctBitVector extends BitVector {
 	int select1(int num);
 	int rank0(int pos);
 	int rank1(int pos);
+	int next0(int pos);
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.completion;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.trie4j.TermIdTrie;
+import org.trie4j.util.Pair;
+
+/**
+ * Answers the k completions of a prefix that have the highest weights.
+ * Terms are numbered in the lexicographic order (depth first order of
+ * the trie), so the terms of each subtree are a contiguous range and the
+ * max weight of the subtree is a range max query on a tournament tree.
+ * {@link #topK(String, int)} finds the range of prefix by binary search
+ * with {@link TermIdTrie#appendKey(int, StringBuilder)} and repeatedly
+ * splits it at the position of the max weight (best first), so the cost
+ * is O(k log n) regardless of the size of the subtree.
+ * @author agent
+ */
+public class TopKCompleter implements Serializable{
+	/**
+	 * @param trie trie of terms.
+	 * @param weights weight of each term indexed by term id.
+	 */
+	public TopKCompleter(TermIdTrie trie, int[] weights){
+		int n = trie.size();
+		if(weights.length < n){
+			throw new IllegalArgumentException("weights for " + n + " terms required.");
+		}
+		this.trie = trie;
+		List<Pair<String, Integer>> terms = new ArrayList<Pair<String, Integer>>(n);
+		for(Pair<String, Integer> p : trie.predictiveSearchWithTermId("")){
+			terms.add(p);
+		}
+		Collections.sort(terms, new Comparator<Pair<String, Integer>>(){
+			@Override
+			public int compare(Pair<String, Integer> o1, Pair<String, Integer> o2) {
+				return o1.getFirst().compareTo(o2.getFirst());
+			}
+		});
+		this.termIds = new int[n];
+		this.ranks = new int[n];
+		for(int i = 0; i < n; i++){
+			int id = terms.get(i).getSecond();
+			termIds[i] = id;
+			ranks[id] = i;
+		}
+		terms = null;
+		leafStart = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+		this.weights = new int[n];
+		for(int i = 0; i < n; i++){
+			this.weights[i] = weights[termIds[i]];
+		}
+		maxRanks = new int[leafStart * 2];
+		Arrays.fill(maxRanks, -1);
+		for(int i = 0; i < n; i++){
+			maxRanks[leafStart + i] = i;
+		}
+		for(int i = leafStart - 1; i > 0; i--){
+			maxRanks[i] = better(maxRanks[i * 2], maxRanks[i * 2 + 1]);
+		}
+	}
+
+	public TermIdTrie getTrie(){
+		return trie;
+	}
+
+	/**
+	 * Returns the term ids of k completions of prefix that have the
+	 * highest weights, in descending order of weight. Completions of the
+	 * same weight are in lexicographic order.
+	 */
+	public int[] topKTermIds(String prefix, int k){
+		int[] range = findRange(prefix);
+		if(range == null || k <= 0) return new int[0];
+		int[] ret = new int[Math.min(k, range[1] - range[0])];
+		PriorityQueue<Candidate> queue = new PriorityQueue<Candidate>();
+		queue.add(new Candidate(range[0], range[1]));
+		for(int i = 0; i < ret.length; i++){
+			Candidate c = queue.poll();
+			ret[i] = termIds[c.max];
+			if(c.start < c.max) queue.add(new Candidate(c.start, c.max));
+			if(c.max + 1 < c.end) queue.add(new Candidate(c.max + 1, c.end));
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns k completions of prefix that have the highest weights.
+	 * @see #topKTermIds(String, int)
+	 */
+	public List<String> topK(String prefix, int k){
+		int[] ids = topKTermIds(prefix, k);
+		List<String> ret = new ArrayList<String>(ids.length);
+		for(int id : ids){
+			ret.add(trie.getKey(id));
+		}
+		return ret;
+	}
+
+	public int getWeight(int termId){
+		return weights[ranks[termId]];
+	}
+
+	private class Candidate implements Comparable<Candidate>{
+		public Candidate(int start, int end){
+			this.start = start;
+			this.end = end;
+			this.max = rangeMax(start, end);
+		}
+
+		@Override
+		public int compareTo(Candidate o) {
+			return better(max, o.max) == max ? -1 : 1;
+		}
+
+		private int start;
+		private int end;
+		private int max;
+	}
+
+	/**
+	 * Returns the range of ranks of the terms that start with prefix or
+	 * null if no such term.
+	 */
+	private int[] findRange(String prefix){
+		StringBuilder key = new StringBuilder();
+		// first rank whose key is not less than prefix.
+		int lo = 0;
+		int hi = termIds.length;
+		while(lo < hi){
+			int m = (lo + hi) >>> 1;
+			if(compare(m, prefix, key) < 0) lo = m + 1;
+			else hi = m;
+		}
+		int start = lo;
+		// first rank whose key is greater than prefix and doesn't start with it.
+		hi = termIds.length;
+		while(lo < hi){
+			int m = (lo + hi) >>> 1;
+			if(compare(m, prefix, key) == 0) lo = m + 1;
+			else hi = m;
+		}
+		return start < lo ? new int[]{start, lo} : null;
+	}
+
+	/**
+	 * Compares the key of rank with prefix. Returns 0 if the key starts
+	 * with prefix.
+	 */
+	private int compare(int rank, String prefix, StringBuilder key){
+		key.setLength(0);
+		trie.appendKey(termIds[rank], key);
+		int n = Math.min(key.length(), prefix.length());
+		for(int i = 0; i < n; i++){
+			int d = key.charAt(i) - prefix.charAt(i);
+			if(d != 0) return d;
+		}
+		return key.length() < prefix.length() ? -1 : 0;
+	}
+
+	/**
+	 * Returns the rank that has the max weight in [start, end).
+	 */
+	private int rangeMax(int start, int end){
+		int ret = -1;
+		for(int l = start + leafStart, r = end + leafStart; l < r; l >>= 1, r >>= 1){
+			if((l & 1) != 0) ret = better(ret, maxRanks[l++]);
+			if((r & 1) != 0) ret = better(ret, maxRanks[--r]);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the rank of higher weight. Lower rank wins the tie.
+	 */
+	private int better(int rank1, int rank2){
+		if(rank1 == -1) return rank2;
+		if(rank2 == -1) return rank1;
+		int w1 = weights[rank1];
+		int w2 = weights[rank2];
+		if(w1 != w2) return w1 > w2 ? rank1 : rank2;
+		return Math.min(rank1, rank2);
+	}
+
+	private TermIdTrie trie;
+	/** term ids in lexicographic order. */
+	private int[] termIds;
+	/** lexicographic rank of each term id. */
+	private int[] ranks;
+	/** weights in lexicographic order. */
+	private int[] weights;
+	/** tournament tree of the ranks that have the max weight. */
+	private int[] maxRanks;
+	private int leafStart;
+	private static final long serialVersionUID = 2431066155651284417L;
+}
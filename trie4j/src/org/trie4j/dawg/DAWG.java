@@ -0,0 +1,467 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.dawg;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.trie4j.AbstractLookupCursor;
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.bv.LongsSuccinctBitVector;
+import org.trie4j.util.Pair;
+
+/**
+ * Directed acyclic word graph (minimal acyclic automaton) built in one
+ * pass from keys sorted in ascending order (String.compareTo order) by
+ * the algorithm of Daciuk et al., "Incremental Construction of Minimal
+ * Acyclic Finite-State Automata". States reached by the same set of
+ * suffixes are merged, so shared suffixes such as inflections are stored
+ * once, while PatriciaTrie and DoubleArray store them for each key.
+ * <p>
+ * Each transition keeps the count of keys which are less than the keys
+ * reached through it from its state, so term ids are the lexicographic
+ * order of keys (minimal perfect hash) and keys can be restored from them.
+ * Since a state is shared by many keys, nodes returned by
+ * {@link #getRoot()} carry the term id of the path walked.
+ * </p>
+ * @author agent
+ */
+public class DAWG
+extends AbstractTermIdTrie
+implements Serializable, TermIdTrie{
+	/**
+	 * Builds DAWG from the keys of orig.
+	 */
+	public DAWG(Trie orig){
+		this(sortedKeys(orig));
+	}
+
+	/**
+	 * Builds DAWG from keys. Duplicated keys are ignored.
+	 * @param keys keys sorted in ascending order
+	 * @throws IllegalArgumentException if keys are not sorted.
+	 */
+	public DAWG(Iterator<? extends CharSequence> keys){
+		while(keys.hasNext()){
+			add(keys.next());
+		}
+		finish();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the count of states after minimization.
+	 */
+	public int getStateCount(){
+		return transStarts.length - 1;
+	}
+
+	public int getTransitionCount(){
+		return transLabels.length;
+	}
+
+	@Override
+	public TermIdNode getRoot() {
+		return new DAWGNode(root, null, 0);
+	}
+
+	@Override
+	public int getTermId(String text) {
+		int state = root;
+		int id = 0;
+		int n = text.length();
+		for(int i = 0; i < n; i++){
+			int t = findTransition(state, text.charAt(i));
+			if(t == -1) return -1;
+			id += transCounts[t];
+			state = transTargets[t];
+		}
+		return finals.isOne(state) ? id : -1;
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		int state = root;
+		int rest = termId;
+		while(!(rest == 0 && finals.isOne(state))){
+			// the last transition whose count is less than or equal to rest.
+			int lo = transStarts[state];
+			int hi = transStarts[state + 1] - 1;
+			while(lo < hi){
+				int m = (lo + hi + 1) >>> 1;
+				if(transCounts[m] <= rest) lo = m;
+				else hi = m - 1;
+			}
+			buffer.append(transLabels[lo]);
+			rest -= transCounts[lo];
+			state = transTargets[lo];
+		}
+		return true;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(String query) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int state = root;
+		int id = 0;
+		int n = query.length();
+		for(int i = 0; ; i++){
+			if(finals.isOne(state)) ret.add(Pair.create(query.substring(0, i), id));
+			if(i == n) return ret;
+			int t = findTransition(state, query.charAt(i));
+			if(t == -1) return ret;
+			id += transCounts[t];
+			state = transTargets[t];
+		}
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(String prefix) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int state = root;
+		int id = 0;
+		int n = prefix.length();
+		for(int i = 0; i < n; i++){
+			int t = findTransition(state, prefix.charAt(i));
+			if(t == -1) return ret;
+			id += transCounts[t];
+			state = transTargets[t];
+		}
+		enumerate(state, id, new StringBuilder(prefix), ret);
+		return ret;
+	}
+
+	/**
+	 * Keeps the state and term id of each depth of the previous key and
+	 * resumes the walk from the common prefix. Keys are grouped by their
+	 * first char first as each transition is found by a search.
+	 */
+	@Override
+	protected void getTermIds(CharSequence[] keys, int[] order, int start, int end, int[] out) {
+		groupByFirstChar(keys, order, start, end);
+		// states[d] and ids[d] are reached by the first d chars of prev. [0, valid] are walked.
+		int[] states = new int[16];
+		int[] ids = new int[16];
+		states[0] = root;
+		int valid = 0;
+		CharSequence prev = "";
+		for(int i = start; i < end; i++){
+			CharSequence key = keys[order[i]];
+			int n = key.length();
+			if(n >= states.length){
+				int sz = Math.max(n + 1, states.length * 2);
+				states = Arrays.copyOf(states, sz);
+				ids = Arrays.copyOf(ids, sz);
+			}
+			int d = Math.min(valid, commonPrefixLength(prev, key));
+			while(d < n){
+				int t = findTransition(states[d], key.charAt(d));
+				if(t == -1) break;
+				ids[d + 1] = ids[d] + transCounts[t];
+				states[++d] = transTargets[t];
+			}
+			valid = d;
+			out[order[i]] = d == n && finals.isOne(states[d]) ? ids[d] : -1;
+			prev = key;
+		}
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new DAWGLookupCursor();
+	}
+
+	private class DAWGLookupCursor extends AbstractLookupCursor{
+		@Override
+		public void reset() {
+			state = root;
+			id = 0;
+		}
+
+		@Override
+		public boolean next(char c) {
+			if(state == -1) return false;
+			int t = findTransition(state, c);
+			if(t == -1){
+				state = -1;
+				return false;
+			}
+			id += transCounts[t];
+			state = transTargets[t];
+			return true;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return state != -1 && finals.isOne(state);
+		}
+
+		@Override
+		public int getTermId() {
+			return isTerminate() ? id : -1;
+		}
+
+		private int state;
+		private int id;
+	}
+
+	@Override
+	public void trimToSize() {
+	}
+
+	private class DAWGNode implements TermIdNode{
+		public DAWGNode(int state, char[] letters, int id){
+			this.state = state;
+			this.letters = letters;
+			this.id = id;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return letters == null ? new char[]{} : letters;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return finals.isOne(state);
+		}
+
+		@Override
+		public int getTermId() {
+			return finals.isOne(state) ? id : -1;
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			int t = findTransition(state, c);
+			return t == -1 ? null : newChild(t);
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			int s = transStarts[state];
+			int e = transStarts[state + 1];
+			TermIdNode[] ret = new TermIdNode[e - s];
+			for(int i = s; i < e; i++){
+				ret[i - s] = newChild(i);
+			}
+			return ret;
+		}
+
+		private TermIdNode newChild(int t){
+			return new DAWGNode(transTargets[t], new char[]{transLabels[t]}, id + transCounts[t]);
+		}
+
+		private int state;
+		private char[] letters;
+		private int id;
+	}
+
+	private static Iterator<String> sortedKeys(Trie orig){
+		List<String> keys = new ArrayList<String>(orig.size());
+		for(String k : orig.predictiveSearch("")){
+			keys.add(k);
+		}
+		Collections.sort(keys);
+		return keys.iterator();
+	}
+
+	/**
+	 * Adds key. Keys must be added in ascending order.
+	 */
+	private void add(CharSequence key){
+		int len = key.length();
+		int pl = path.length();
+		int n = Math.min(len, pl);
+		int lcp = 0;
+		while(lcp < n && key.charAt(lcp) == path.charAt(lcp)) lcp++;
+		if(lcp == len){
+			if(lcp < pl){
+				throw new IllegalArgumentException("keys must be sorted: " + key);
+			}
+			if(!pathFinals[len]){
+				// only the empty key at first.
+				pathFinals[len] = true;
+				size++;
+			}
+			return;
+		}
+		if(lcp < pl && key.charAt(lcp) < path.charAt(lcp)){
+			throw new IllegalArgumentException("keys must be sorted: " + key);
+		}
+		replaceOrRegister(lcp);
+		path.setLength(lcp);
+		path.append(key, lcp, len);
+		if(len >= pathFinals.length){
+			int sz = Math.max(len + 1, pathFinals.length * 2);
+			pathFinals = Arrays.copyOf(pathFinals, sz);
+			pathTransCounts = Arrays.copyOf(pathTransCounts, sz);
+		}
+		for(int i = lcp + 1; i <= len; i++){
+			pathFinals[i] = false;
+			pathTransCounts[i] = 0;
+		}
+		pathFinals[len] = true;
+		size++;
+	}
+
+	/**
+	 * Registers the states on the path deeper than lcp. Position i of the
+	 * path is the state reached by the first i chars of the last key.
+	 */
+	private void replaceOrRegister(int lcp){
+		for(int i = path.length(); i > lcp; i--){
+			int state = register(i);
+			if(pendingsSize + 2 > pendings.length){
+				pendings = Arrays.copyOf(pendings, pendings.length * 2);
+			}
+			pendings[pendingsSize++] = path.charAt(i - 1);
+			pendings[pendingsSize++] = state;
+			pathTransCounts[i - 1]++;
+		}
+	}
+
+	/**
+	 * Finishes building. No keys can be added after this.
+	 */
+	private void finish(){
+		replaceOrRegister(0);
+		root = register(0);
+		transStarts[stateCount] = transSize;
+		transStarts = Arrays.copyOf(transStarts, stateCount + 1);
+		transLabels = Arrays.copyOf(transLabels, transSize);
+		transTargets = Arrays.copyOf(transTargets, transSize);
+		transCounts = Arrays.copyOf(transCounts, transSize);
+		finals.trimToSize();
+		path = null;
+		pathFinals = null;
+		pathTransCounts = null;
+		pendings = null;
+		registry = null;
+		stateKeyCounts = null;
+	}
+
+	/**
+	 * Returns the state equivalent to the path position pos. The state is
+	 * written if no such state is registered. The transitions of pos are
+	 * taken from pendings.
+	 */
+	private int register(int pos){
+		int cn = pathTransCounts[pos];
+		int ps = pendingsSize - cn * 2;
+		// final flag followed by (label, target) of each transition.
+		StringBuilder b = new StringBuilder(1 + cn * 3);
+		b.append(pathFinals[pos] ? '1' : '0');
+		for(int i = ps; i < pendingsSize; i += 2){
+			int target = pendings[i + 1];
+			b.append((char)pendings[i]).append((char)(target >>> 16)).append((char)target);
+		}
+		String signature = b.toString();
+		pendingsSize = ps;
+		Integer registered = registry.get(signature);
+		if(registered != null) return registered;
+
+		int state = stateCount++;
+		if(stateCount >= transStarts.length){
+			int sz = transStarts.length * 2;
+			transStarts = Arrays.copyOf(transStarts, sz);
+			stateKeyCounts = Arrays.copyOf(stateKeyCounts, sz);
+		}
+		if(transSize + cn > transLabels.length){
+			int sz = Math.max(transSize + cn, transLabels.length * 2);
+			transLabels = Arrays.copyOf(transLabels, sz);
+			transTargets = Arrays.copyOf(transTargets, sz);
+			transCounts = Arrays.copyOf(transCounts, sz);
+		}
+		transStarts[state] = transSize;
+		int count = pathFinals[pos] ? 1 : 0;
+		for(int i = ps; i < ps + cn * 2; i += 2){
+			int target = pendings[i + 1];
+			transLabels[transSize] = (char)pendings[i];
+			transTargets[transSize] = target;
+			transCounts[transSize] = count;
+			transSize++;
+			count += stateKeyCounts[target];
+		}
+		stateKeyCounts[state] = count;
+		if(pathFinals[pos]) finals.append1();
+		else finals.append0();
+		registry.put(signature, state);
+		return state;
+	}
+
+	private int findTransition(int state, char c){
+		int lo = transStarts[state];
+		int hi = transStarts[state + 1] - 1;
+		while(lo <= hi){
+			int m = (lo + hi) >>> 1;
+			char v = transLabels[m];
+			if(v < c) lo = m + 1;
+			else if(v > c) hi = m - 1;
+			else return m;
+		}
+		return -1;
+	}
+
+	private void enumerate(int state, int id, StringBuilder b, List<Pair<String, Integer>> ret){
+		if(finals.isOne(state)){
+			ret.add(Pair.create(b.toString(), id));
+		}
+		int len = b.length();
+		for(int t = transStarts[state]; t < transStarts[state + 1]; t++){
+			b.append(transLabels[t]);
+			enumerate(transTargets[t], id + transCounts[t], b, ret);
+			b.setLength(len);
+		}
+	}
+
+	private int size;
+	private int root;
+	private int stateCount;
+	private int[] transStarts = new int[256];
+	private char[] transLabels = new char[256];
+	private int[] transTargets = new int[256];
+	// count of keys less than the keys reached through the transition.
+	private int[] transCounts = new int[256];
+	private int transSize;
+	private LongsSuccinctBitVector finals = new LongsSuccinctBitVector();
+
+	// the last key and the state of each position of it while building.
+	private transient StringBuilder path = new StringBuilder();
+	private transient boolean[] pathFinals = new boolean[16];
+	private transient int[] pathTransCounts = new int[16];
+	// (label, target) of registered transitions whose state is not registered yet.
+	private transient int[] pendings = new int[32];
+	private transient int pendingsSize;
+	private transient Map<String, Integer> registry = new HashMap<String, Integer>();
+	private transient int[] stateKeyCounts = new int[256];
+	private static final long serialVersionUID = 2465329130412271652L;
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import org.trie4j.TermIdVisitor;
+import org.trie4j.Trie;
+import org.trie4j.bv.SuccinctBitVector;
+
+/**
+ * Aho-Corasick multi pattern matcher on DoubleArray.
+ * Failure links and output links are added for each node of the
+ * double array, so all occurrences of the keys in a text are found in
+ * a single pass over it. The term ids reported are those of
+ * {@link #getTrie()}.
+ * @author agent
+ */
+public class AhoCorasick {
+	/**
+	 * Creates matcher for the keys of trie. Unless trie is DoubleArray,
+	 * DoubleArray is built from it.
+	 */
+	public AhoCorasick(Trie trie){
+		this(trie instanceof DoubleArray ? (DoubleArray)trie : new DoubleArray(trie));
+	}
+
+	public AhoCorasick(DoubleArray trie){
+		this.trie = trie;
+		this.base = trie.getBase();
+		this.check = trie.getCheck();
+		this.charToCode = trie.getCharToCode();
+		build();
+	}
+
+	public DoubleArray getTrie(){
+		return trie;
+	}
+
+	/**
+	 * Finds all keys in text. visitor is called with chars[start, end)
+	 * of each occurrence in ascending order of end, and in descending
+	 * order of length for the same end.
+	 */
+	public void scan(CharSequence text, TermIdVisitor visitor){
+		scan(text, 0, text.length(), visitor);
+	}
+
+	public void scan(char[] text, int start, int end, TermIdVisitor visitor){
+		scan(CharBuffer.wrap(text), start, end, visitor);
+	}
+
+	public void scan(CharSequence text, int start, int end, TermIdVisitor visitor){
+		int state = 0;
+		for(int i = start; i < end; i++){
+			state = next(state, text.charAt(i));
+			for(int t = output[state]; t != -1; t = nextOutput[t]){
+				if(!visitor.visit(text, i + 1 - lengths[t], i + 1, t)) return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the state after reading c from state, following failure
+	 * links.
+	 */
+	private int next(int state, char c){
+		int code = c < charToCode.length ? charToCode[c] : 0;
+		if(code == 0) return 0;
+		while(true){
+			int t = child(state, code);
+			if(t != -1) return t;
+			if(state == 0) return 0;
+			state = failure[state];
+		}
+	}
+
+	private int child(int nodeIndex, int code){
+		int b = base[nodeIndex];
+		if(b == DoubleArray.BASE_EMPTY) return -1;
+		int next = b + code;
+		if(next < 0 || next >= check.length || check[next] != nodeIndex) return -1;
+		return next;
+	}
+
+	private void build(){
+		SuccinctBitVector term = trie.getTermVector();
+		int len = check.length;
+		// list children of each node (offsets indexed by parent).
+		int[] offsets = new int[len + 1];
+		int nodeCount = 0;
+		for(int i = 1; i < len; i++){
+			if(check[i] < 0) continue;
+			offsets[check[i] + 1]++;
+			nodeCount++;
+		}
+		for(int i = 0; i < len; i++){
+			offsets[i + 1] += offsets[i];
+		}
+		int[] children = new int[nodeCount];
+		int[] pos = new int[len];
+		for(int i = 1; i < len; i++){
+			if(check[i] < 0) continue;
+			int p = check[i];
+			children[offsets[p] + pos[p]++] = i;
+		}
+		pos = null;
+
+		failure = new int[len];
+		output = new int[len];
+		Arrays.fill(output, -1);
+		nextOutput = new int[trie.size()];
+		lengths = new int[trie.size()];
+		int[] depth = new int[len];
+		// breadth first order so that failure links point to processed nodes.
+		int[] queue = new int[nodeCount + 1];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = 0;
+		while(head < tail){
+			int parent = queue[head++];
+			for(int j = offsets[parent]; j < offsets[parent + 1]; j++){
+				int node = children[j];
+				queue[tail++] = node;
+				depth[node] = depth[parent] + 1;
+				int f = 0;
+				if(parent != 0){
+					int code = node - base[parent];
+					f = failure[parent];
+					int t;
+					while((t = child(f, code)) == -1 && f != 0){
+						f = failure[f];
+					}
+					f = t == -1 ? 0 : t;
+				}
+				failure[node] = f;
+				// output of node is the chain of the keys which are suffixes of node.
+				if(term.get(node)){
+					int termId = term.rank1(node) - 1;
+					lengths[termId] = depth[node];
+					nextOutput[termId] = output[f];
+					output[node] = termId;
+				} else{
+					output[node] = output[f];
+				}
+			}
+		}
+	}
+
+	private DoubleArray trie;
+	private int[] base;
+	private int[] check;
+	private char[] charToCode;
+	private int[] failure;
+	/** term id of the longest key which is suffix of the state or -1. */
+	private int[] output;
+	/** term id of the next shorter key which is suffix of the key. */
+	private int[] nextOutput;
+	/** length of the key for each term id. */
+	private int[] lengths;
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.trie4j.AbstractLookupCursor;
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.TermIdVisitor;
+import org.trie4j.Trie;
+import org.trie4j.bv.SuccinctBitVector;
+import org.trie4j.util.Pair;
+
+/**
+ * Read-only double array which interleaves base and check of each slot in
+ * one int[] (units[2 * i] is base and units[2 * i + 1] is check), so a
+ * transition reads one cache line instead of one in each of base[] and
+ * check[] of {@link DoubleArray}. The check unit holds the parent index
+ * plus one (0 for empty slots) and the terminal flag in its sign bit, so
+ * lookups test the flag without the term bit vector, which is used only
+ * for term ids. Trailing empty slots are dropped.
+ * @author agent
+ */
+public class CompactDoubleArray
+extends AbstractTermIdTrie
+implements Serializable, TermIdTrie{
+	public CompactDoubleArray(Trie orig){
+		this(new DoubleArray(orig));
+	}
+
+	public CompactDoubleArray(DoubleArray da){
+		int[] base = da.getBase();
+		int[] check = da.getCheck();
+		SuccinctBitVector term = da.getTermVector();
+		int len = base.length;
+		while(len > 1 && base[len - 1] == BASE_EMPTY && check[len - 1] < 0) len--;
+		units = new int[len * 2];
+		for(int i = 0; i < len; i++){
+			units[i * 2] = base[i];
+			int c = i != 0 && check[i] >= 0 ? check[i] + 1 : 0;
+			units[i * 2 + 1] = term.get(i) ? c | TERM_BIT : c;
+		}
+		this.size = da.size();
+		this.term = term;
+		this.charToCode = Arrays.copyOf(da.getCharToCode(), CHAR_TABLE_SIZE);
+		this.chars = new char[da.getChars().size()];
+		int i = 0;
+		int max = 0;
+		for(char c : da.getChars()){
+			chars[i++] = c;
+			max = Math.max(max, charToCode[c]);
+		}
+		codeToChar = new char[max + 1];
+		for(char c : chars){
+			codeToChar[charToCode[c]] = c;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the count of slots including empty ones.
+	 */
+	public int getSlotCount(){
+		return units.length / 2;
+	}
+
+	@Override
+	public TermIdNode getRoot() {
+		return new CompactNode(0, (char)0);
+	}
+
+	private class CompactNode implements TermIdNode{
+		public CompactNode(int nodeId, char letter){
+			this.nodeId = nodeId;
+			this.letter = letter;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return nodeId == 0 ? new char[]{} : new char[]{letter};
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return isTerminal(nodeId);
+		}
+
+		@Override
+		public int getTermId() {
+			return termId(nodeId);
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			int next = getChildIndex(nodeId, c);
+			return next == -1 ? null : new CompactNode(next, c);
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			List<TermIdNode> ret = new ArrayList<TermIdNode>();
+			for(char c : chars){
+				int next = getChildIndex(nodeId, c);
+				if(next != -1) ret.add(new CompactNode(next, c));
+			}
+			return ret.toArray(new TermIdNode[ret.size()]);
+		}
+
+		private int nodeId;
+		private char letter;
+	}
+
+	@Override
+	public boolean contains(String text) {
+		int ni = getNodeIndex(text);
+		return ni != -1 && isTerminal(ni);
+	}
+
+	@Override
+	public int getTermId(String text) {
+		int ni = getNodeIndex(text);
+		return ni == -1 ? -1 : termId(ni);
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		int start = buffer.length();
+		// walk up to root via check and append letters in reverse order.
+		for(int idx = term.select1(termId + 1); idx != 0; ){
+			int parent = (units[idx * 2 + 1] & ~TERM_BIT) - 1;
+			buffer.append(codeToChar[idx - units[parent * 2]]);
+			idx = parent;
+		}
+		for(int i = start, j = buffer.length() - 1; i < j; i++, j--){
+			char c = buffer.charAt(i);
+			buffer.setCharAt(i, buffer.charAt(j));
+			buffer.setCharAt(j, c);
+		}
+		return true;
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new AbstractLookupCursor(){
+			@Override
+			public void reset() {
+				nodeIndex = 0;
+			}
+
+			@Override
+			public boolean next(char c) {
+				if(nodeIndex == -1) return false;
+				nodeIndex = getChildIndex(nodeIndex, c);
+				return nodeIndex != -1;
+			}
+
+			@Override
+			public boolean isTerminate() {
+				return nodeIndex != -1 && isTerminal(nodeIndex);
+			}
+
+			@Override
+			public int getTermId() {
+				return nodeIndex == -1 ? -1 : termId(nodeIndex);
+			}
+
+			private int nodeIndex;
+		};
+	}
+
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		int ni = 0;
+		for(int i = start; i < end; i++){
+			ni = getChildIndex(ni, chars.charAt(i));
+			if(ni == -1) return;
+			if(isTerminal(ni) && !visitor.visit(chars, start, i + 1, term.rank1(ni) - 1)) return;
+		}
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(
+			String query) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int ni = 0;
+		int n = query.length();
+		for(int i = 0; i < n; i++){
+			ni = getChildIndex(ni, query.charAt(i));
+			if(ni == -1) break;
+			if(isTerminal(ni)) ret.add(Pair.create(query.substring(0, i + 1), term.rank1(ni) - 1));
+		}
+		return ret;
+	}
+
+	@Override
+	public int findWord(CharSequence chars, int start, int end, StringBuilder word) {
+		for(int i = start; i < end; i++){
+			int ni = 0;
+			for(int j = i; j < end; j++){
+				ni = getChildIndex(ni, chars.charAt(j));
+				if(ni == -1) break;
+				if(isTerminal(ni)){
+					if(word != null) word.append(chars, i, j + 1);
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
+			String prefix) {
+		final List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		predictiveSearch(prefix, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				ret.add(Pair.create(chars.subSequence(start, end).toString(), termId));
+				return true;
+			}
+		});
+		return ret;
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		int ni = 0;
+		int n = prefix.length();
+		for(int i = 0; i < n; i++){
+			ni = getChildIndex(ni, prefix.charAt(i));
+			if(ni == -1) return;
+		}
+		StringBuilder b = new StringBuilder(prefix);
+		// stack of (node index, letter, length of b before letter)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = ni; stack[sp++] = -1; stack[sp++] = n;
+		while(sp > 0){
+			int len = stack[--sp];
+			int c = stack[--sp];
+			ni = stack[--sp];
+			b.setLength(len);
+			if(c != -1) b.append((char)c);
+			if(isTerminal(ni) && !visitor.visit(b, 0, b.length(), term.rank1(ni) - 1)) return;
+			if(units[ni * 2] == BASE_EMPTY) continue;
+			// push children in descending order to visit them in ascending order.
+			for(int i = chars.length - 1; i >= 0; i--){
+				int next = getChildIndex(ni, chars[i]);
+				if(next == -1) continue;
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = next; stack[sp++] = chars[i]; stack[sp++] = b.length();
+			}
+		}
+	}
+
+	private int getNodeIndex(String text){
+		int ni = 0;
+		int n = text.length();
+		for(int i = 0; i < n; i++){
+			ni = getChildIndex(ni, text.charAt(i));
+			if(ni == -1) return -1;
+		}
+		return ni;
+	}
+
+	private int getChildIndex(int nodeIndex, char c){
+		int code = charToCode[c];
+		if(code == 0) return -1;
+		int b = units[nodeIndex * 2];
+		if(b == BASE_EMPTY) return -1;
+		int next = b + code;
+		if(next < 0 || next * 2 >= units.length ||
+				(units[next * 2 + 1] & ~TERM_BIT) != nodeIndex + 1) return -1;
+		return next;
+	}
+
+	private boolean isTerminal(int nodeIndex){
+		return units[nodeIndex * 2 + 1] < 0;
+	}
+
+	private int termId(int nodeIndex){
+		return isTerminal(nodeIndex) ? term.rank1(nodeIndex) - 1 : -1;
+	}
+
+	private int size;
+	private int[] units;
+	private SuccinctBitVector term;
+	private char[] charToCode;
+	private char[] chars;
+	private char[] codeToChar;
+	private static final int BASE_EMPTY = DoubleArray.BASE_EMPTY;
+	private static final int TERM_BIT = 0x80000000;
+	private static final int CHAR_TABLE_SIZE = 0x10000;
+	private static final long serialVersionUID = -1822744089560932186L;
+}
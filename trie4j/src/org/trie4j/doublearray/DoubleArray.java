@@ -28,23 +28,28 @@ import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
+import org.trie4j.AbstractLookupCursor;
 import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
 import org.trie4j.Node;
 import org.trie4j.TermIdNode;
 import org.trie4j.TermIdTrie;
+import org.trie4j.TermIdVisitor;
 import org.trie4j.Trie;
-import org.trie4j.bv.Rank1OnlySuccinctBitVector;
+import org.trie4j.automaton.Automaton;
+import org.trie4j.bv.LongsSuccinctBitVector;
 import org.trie4j.bv.SuccinctBitVector;
 import org.trie4j.util.BitSet;
 import org.trie4j.util.FastBitSet;
+import org.trie4j.util.LevenshteinAutomaton;
 import org.trie4j.util.Pair;
 
 public class DoubleArray
@@ -69,16 +74,75 @@ implements Externalizable, TermIdTrie{
 		});
 	}
 
+	/**
+	 * @param frequencyCharCodes assign char codes by frequency (see
+	 * {@link FrequencyCharCodes}) instead of the order of appearance.
+	 */
+	public DoubleArray(Trie trie, boolean frequencyCharCodes){
+		this(trie, trie.size() * 2, new TermNodeListener(){
+			@Override
+			public void listen(Node node, int nodeIndex) {
+			}
+		}, frequencyCharCodes);
+	}
+
 	public DoubleArray(Trie trie, int arraySize, TermNodeListener listener){
+		this(trie, arraySize, listener, false);
+	}
+
+	public DoubleArray(Trie trie, int arraySize, TermNodeListener listener,
+			boolean frequencyCharCodes){
 		if(arraySize <= 1) arraySize = 2;
 		size = trie.size();
+		if(frequencyCharCodes){
+			FrequencyCharCodes.assign(trie.getRoot(), false, chars, charToCode);
+		}
 		base = new int[arraySize];
 		Arrays.fill(base, BASE_EMPTY);
 		check = new int[arraySize];
 		Arrays.fill(check, -1);
 		FastBitSet bs = new FastBitSet();
+		emptySlots = new EmptySlotList();
+		addEmptySlotBlock();
+		emptySlots.use(0);
 		build(trie.getRoot(), 0, bs, listener);
-		term = new Rank1OnlySuccinctBitVector(bs.getBytes(), bs.size());
+		emptySlots = null;
+		term = new LongsSuccinctBitVector(bs.getBytes(), bs.size());
+	}
+
+	/**
+	 * Builds the subtree under root into this array using the shared,
+	 * already assigned char codes. Used by ParallelDoubleArrayBuilder.
+	 */
+	DoubleArray(Node root, int arraySize, Set<Character> chars, char[] charToCode,
+			FastBitSet bs, TermNodeListener listener){
+		if(arraySize <= 1) arraySize = 2;
+		base = new int[arraySize];
+		Arrays.fill(base, BASE_EMPTY);
+		check = new int[arraySize];
+		Arrays.fill(check, -1);
+		this.chars = chars;
+		this.charToCode = charToCode;
+		emptySlots = new EmptySlotList();
+		addEmptySlotBlock();
+		emptySlots.use(0);
+		build(root, 0, bs, listener);
+		emptySlots = null;
+	}
+
+	/**
+	 * Creates DoubleArray from the arrays stitched by ParallelDoubleArrayBuilder.
+	 */
+	DoubleArray(int size, int[] base, int[] check, FastBitSet bs,
+			Set<Character> chars, char[] charToCode, int firstEmptyCheck, int last){
+		this.size = size;
+		this.base = base;
+		this.check = check;
+		this.term = new LongsSuccinctBitVector(bs.getBytes(), bs.size());
+		this.chars = chars;
+		this.charToCode = charToCode;
+		this.firstEmptyCheck = firstEmptyCheck;
+		this.last = last;
 	}
 
 	@Override
@@ -103,6 +167,22 @@ implements Externalizable, TermIdTrie{
 		return term;
 	}
 
+	SuccinctBitVector getTermVector(){
+		return term;
+	}
+
+	Set<Character> getChars(){
+		return chars;
+	}
+
+	char[] getCharToCode(){
+		return charToCode;
+	}
+
+	int getLast(){
+		return last;
+	}
+
 	protected class DoubleArrayNode implements TermIdNode{
 		public DoubleArrayNode(int nodeId){
 			this.nodeId = nodeId;
@@ -207,11 +287,8 @@ implements Externalizable, TermIdTrie{
 		int nodeIndex = 0; // root
 		int n = text.length();
 		for(int i = 0; i < n; i++){
-			char cid = charToCode[text.charAt(i)];
-			if(cid == 0) return false;
-			int next = base[nodeIndex] + cid;
-			if(next < 0 || check[next] != nodeIndex) return false;
-			nodeIndex = next;
+			nodeIndex = getChildIndex(nodeIndex, text.charAt(i));
+			if(nodeIndex == -1) return false;
 		}
 		return term.get(nodeIndex);
 	}
@@ -220,11 +297,8 @@ implements Externalizable, TermIdTrie{
 		int nodeIndex = 0; // root
 		int n = text.length();
 		for(int i = 0; i < n; i++){
-			char cid = charToCode[text.charAt(i)];
-			if(cid == 0) return -1;
-			int next = base[nodeIndex] + cid;
-			if(next < 0 || check[next] != nodeIndex) return -1;
-			nodeIndex = next;
+			nodeIndex = getChildIndex(nodeIndex, text.charAt(i));
+			if(nodeIndex == -1) return -1;
 		}
 		return nodeIndex;
 	}
@@ -232,25 +306,296 @@ implements Externalizable, TermIdTrie{
 	@Override
 	public int getTermId(String text) {
 		int nid = getNodeId(text);
+		if(nid == -1) return -1;
 		return term.get(nid) ? term.rank1(nid) - 1 : -1;
 	}
 
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		char[] codeToChar = getCodeToChar();
+		int start = buffer.length();
+		// walk up to root via check and append letters in reverse order.
+		for(int idx = term.select1(termId + 1); idx != 0; idx = check[idx]){
+			buffer.append(codeToChar[idx - base[check[idx]]]);
+		}
+		reverse(buffer, start);
+		return true;
+	}
+
+	private static void reverse(StringBuilder buffer, int start){
+		for(int i = start, j = buffer.length() - 1; i < j; i++, j--){
+			char c = buffer.charAt(i);
+			buffer.setCharAt(i, buffer.charAt(j));
+			buffer.setCharAt(j, c);
+		}
+	}
+
+	private char[] getCodeToChar(){
+		char[] ret = codeToChar;
+		if(ret != null) return ret;
+		int max = 0;
+		for(char c : chars){
+			max = Math.max(max, charToCode[c]);
+		}
+		ret = new char[max + 1];
+		for(char c : chars){
+			ret[charToCode[c]] = c;
+		}
+		codeToChar = ret;
+		return ret;
+	}
+
+	/**
+	 * Keeps the node of each depth of the previous key and resumes the
+	 * walk from the common prefix. Keys are taken as given since a child
+	 * lookup costs less than grouping them.
+	 */
+	@Override
+	protected void getTermIds(CharSequence[] keys, int[] order, int start, int end, int[] out) {
+		// nodes[d] is the node reached by the first d chars of prev. [0, valid] are walked.
+		int[] nodes = new int[16];
+		int valid = 0;
+		CharSequence prev = "";
+		for(int i = start; i < end; i++){
+			CharSequence key = keys[order[i]];
+			int n = key.length();
+			if(n >= nodes.length) nodes = Arrays.copyOf(nodes, Math.max(n + 1, nodes.length * 2));
+			int d = Math.min(valid, commonPrefixLength(prev, key));
+			int ni = nodes[d];
+			while(d < n){
+				ni = getChildIndex(ni, key.charAt(d));
+				if(ni == -1) break;
+				nodes[++d] = ni;
+			}
+			valid = d;
+			out[order[i]] = ni != -1 && term.get(ni) ? term.rank1(ni) - 1 : -1;
+			prev = key;
+		}
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new DoubleArrayLookupCursor();
+	}
+
+	private class DoubleArrayLookupCursor extends AbstractLookupCursor{
+		@Override
+		public void reset() {
+			nodeIndex = 0;
+		}
+
+		@Override
+		public boolean next(char c) {
+			if(nodeIndex == -1) return false;
+			nodeIndex = getChildIndex(nodeIndex, c);
+			return nodeIndex != -1;
+		}
+
+		@Override
+		protected boolean walk(CharSequence chars, int offset, int length) {
+			int ni = 0;
+			int end = offset + length;
+			for(int i = offset; i < end; i++){
+				ni = getChildIndex(ni, chars.charAt(i));
+				if(ni == -1) break;
+			}
+			nodeIndex = ni;
+			return ni != -1;
+		}
+
+		@Override
+		protected boolean walk(char[] chars, int offset, int length) {
+			int ni = 0;
+			int end = offset + length;
+			for(int i = offset; i < end; i++){
+				ni = getChildIndex(ni, chars[i]);
+				if(ni == -1) break;
+			}
+			nodeIndex = ni;
+			return ni != -1;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return nodeIndex != -1 && term.get(nodeIndex);
+		}
+
+		@Override
+		public int getTermId() {
+			return isTerminate() ? term.rank1(nodeIndex) - 1 : -1;
+		}
+
+		private int nodeIndex;
+	}
+
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		int nodeIndex = 0;
+		for(int i = start; i < end; i++){
+			nodeIndex = getChildIndex(nodeIndex, chars.charAt(i));
+			if(nodeIndex == -1) return;
+			if(term.get(nodeIndex) &&
+					!visitor.visit(chars, start, i + 1, term.rank1(nodeIndex) - 1)){
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		int nodeIndex = 0;
+		int n = prefix.length();
+		for(int i = 0; i < n; i++){
+			nodeIndex = getChildIndex(nodeIndex, prefix.charAt(i));
+			if(nodeIndex == -1) return;
+		}
+		char[] cs = listupChars();
+		StringBuilder b = new StringBuilder(prefix);
+		// stack of (node index, letter, length of b before letter)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = nodeIndex; stack[sp++] = -1; stack[sp++] = n;
+		while(sp > 0){
+			int len = stack[--sp];
+			int c = stack[--sp];
+			int ni = stack[--sp];
+			b.setLength(len);
+			if(c != -1) b.append((char)c);
+			if(term.get(ni) && !visitor.visit(b, 0, b.length(), term.rank1(ni) - 1)) return;
+			int bs = base[ni];
+			if(bs == BASE_EMPTY) continue;
+			// push children in descending order to visit them in ascending order.
+			for(int i = cs.length - 1; i >= 0; i--){
+				int next = bs + charToCode[cs[i]];
+				if(next < 0 || next >= check.length || check[next] != ni) continue;
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = next; stack[sp++] = cs[i]; stack[sp++] = b.length();
+			}
+		}
+	}
+
+	@Override
+	public void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor) {
+		LevenshteinAutomaton la = new LevenshteinAutomaton(query, maxEdits);
+		char[] cs = listupChars();
+		StringBuilder b = new StringBuilder();
+		// stack of (node index, letter, length of b before letter)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = 0; stack[sp++] = -1; stack[sp++] = 0;
+		while(sp > 0){
+			int len = stack[--sp];
+			int c = stack[--sp];
+			int ni = stack[--sp];
+			b.setLength(len);
+			if(c != -1){
+				if(!la.step(len, (char)c)) continue;
+				b.append((char)c);
+			}
+			if(term.get(ni) && la.isMatch(b.length()) &&
+					!visitor.visit(b, 0, b.length(), term.rank1(ni) - 1)){
+				return;
+			}
+			int bs = base[ni];
+			if(bs == BASE_EMPTY) continue;
+			// push children in descending order to visit them in ascending order.
+			for(int i = cs.length - 1; i >= 0; i--){
+				int next = bs + charToCode[cs[i]];
+				if(next < 0 || next >= check.length || check[next] != ni) continue;
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = next; stack[sp++] = cs[i]; stack[sp++] = b.length();
+			}
+		}
+	}
+
+	/**
+	 * Returns lazy Iterable. Children are visited only when the automaton
+	 * accepts their letter.
+	 */
+	@Override
+	public Iterable<String> automatonSearch(final Automaton automaton) {
+		return new Iterable<String>(){
+			@Override
+			public Iterator<String> iterator() {
+				return new AutomatonSearchIterator(automaton);
+			}
+		};
+	}
+
+	private class AutomatonSearchIterator implements Iterator<String>{
+		public AutomatonSearchIterator(Automaton automaton){
+			this.automaton = automaton;
+			cs = listupChars();
+			stack[sp++] = 0; stack[sp++] = -1; stack[sp++] = automaton.getInitialState(); stack[sp++] = 0;
+			findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public String next() {
+			String ret = next;
+			if(ret == null) throw new NoSuchElementException();
+			findNext();
+			return ret;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void findNext(){
+			next = null;
+			while(sp > 0){
+				int len = stack[--sp];
+				int state = stack[--sp];
+				int c = stack[--sp];
+				int ni = stack[--sp];
+				b.setLength(len);
+				if(c != -1) b.append((char)c);
+				int bs = base[ni];
+				if(bs != BASE_EMPTY){
+					// push children in descending order to visit them in ascending order.
+					for(int i = cs.length - 1; i >= 0; i--){
+						int child = bs + charToCode[cs[i]];
+						if(child < 0 || child >= check.length || check[child] != ni) continue;
+						int s = automaton.step(state, cs[i]);
+						if(s == -1) continue;
+						if(sp + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+						stack[sp++] = child; stack[sp++] = cs[i]; stack[sp++] = s; stack[sp++] = b.length();
+					}
+				}
+				if(term.get(ni) && automaton.isAccept(state)){
+					next = b.toString();
+					return;
+				}
+			}
+		}
+
+		private Automaton automaton;
+		private String next;
+		private char[] cs;
+		private StringBuilder b = new StringBuilder();
+		// stack of (node index, letter, state after letter, length of b before letter)
+		private int[] stack = new int[64];
+		private int sp;
+	}
+
 	@Override
 	public Iterable<String> commonPrefixSearch(String query) {
 		List<String> ret = new ArrayList<String>();
-		char[] chars = query.toCharArray();
-		int charsLen = chars.length;
-		int checkLen = check.length;
+		int charsLen = query.length();
 		int nodeIndex = 0;
 		for(int i = 0; i < charsLen; i++){
-			int cid = findCharId(chars[i]);
-			if(cid == -1) return ret;
-			int b = base[nodeIndex];
-			if(b == BASE_EMPTY) return ret;
-			int next = b + cid;
-			if(next >= checkLen || check[next] != nodeIndex) return ret;
-			nodeIndex = next;
-			if(term.get(nodeIndex)) ret.add(new String(chars, 0, i + 1));
+			nodeIndex = getChildIndex(nodeIndex, query.charAt(i));
+			if(nodeIndex == -1) return ret;
+			if(term.get(nodeIndex)) ret.add(query.substring(0, i + 1));
 		}
 		return ret;
 	}
@@ -259,21 +604,14 @@ implements Externalizable, TermIdTrie{
 	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(
 			String query) {
 		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
-		char[] chars = query.toCharArray();
-		int charsLen = chars.length;
-		int checkLen = check.length;
+		int charsLen = query.length();
 		int nodeIndex = 0;
 		for(int i = 0; i < charsLen; i++){
-			int cid = findCharId(chars[i]);
-			if(cid == -1) return ret;
-			int b = base[nodeIndex];
-			if(b == BASE_EMPTY) return ret;
-			int next = b + cid;
-			if(next >= checkLen || check[next] != nodeIndex) return ret;
-			nodeIndex = next;
+			nodeIndex = getChildIndex(nodeIndex, query.charAt(i));
+			if(nodeIndex == -1) return ret;
 			if(term.get(nodeIndex)){
 				ret.add(Pair.create(
-					new String(chars, 0, i + 1),
+					query.substring(0, i + 1),
 					term.rank1(nodeIndex) - 1
 					));
 			}
@@ -285,109 +623,106 @@ implements Externalizable, TermIdTrie{
 	public int findWord(CharSequence chars, int start, int end, StringBuilder word) {
 		for(int i = start; i < end; i++){
 			int nodeIndex = 0;
-			try{
-				for(int j = i; j < end; j++){
-					int cid = findCharId(chars.charAt(j));
-					if(cid == -1) break;
-					int b = base[nodeIndex];
-					if(b == BASE_EMPTY) break;
-					int next = b + cid;
-					if(nodeIndex != check[next]) break;
-					nodeIndex = next;
-					if(term.get(nodeIndex)){
-						if(word != null) word.append(chars, i, j + 1);
-						return i;
-					}
+			for(int j = i; j < end; j++){
+				nodeIndex = getChildIndex(nodeIndex, chars.charAt(j));
+				if(nodeIndex == -1) break;
+				if(term.get(nodeIndex)){
+					if(word != null) word.append(chars, i, j + 1);
+					return i;
 				}
-			} catch(ArrayIndexOutOfBoundsException e){
-				break;
 			}
 		}
 		return -1;
 	}
 
 	@Override
-	public Iterable<String> predictiveSearch(String prefix) {
-		List<String> ret = new ArrayList<String>();
-		char[] chars = prefix.toCharArray();
-		int charsLen = chars.length;
-		int checkLen = check.length;
-		int nodeIndex = 0;
-		for(int i = 0; i < charsLen; i++){
-			int cid = findCharId(chars[i]);
-			if(cid == -1) return ret;
-			int next = base[nodeIndex] + cid;
-			if(next < 0 || next >= checkLen || check[next] != nodeIndex) return ret;
-			nodeIndex = next;
-		}
-		if(term.get(nodeIndex)){
-			ret.add(prefix);
-		}
-		Deque<Pair<Integer, String>> q = new LinkedList<Pair<Integer, String>>();
-		q.add(Pair.create(nodeIndex, prefix));
-		while(!q.isEmpty()){
-			Pair<Integer, String> p = q.pop();
-			int ni = p.getFirst();
-			int b = base[ni];
-			if(b == BASE_EMPTY) continue;
-			String c = p.getSecond();
-			for(char v : this.chars){
-				int next = b + charToCode[v];
-				if(next < 0 || next >= checkLen) continue;
-				if(check[next] == ni){
-					String n = new StringBuilder(c).append(v).toString();
-					if(term.get(next)){
-						ret.add(n);
-					}
-					q.push(Pair.create(next, n));
-				}
-			}
-		}
-		return ret;
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
+			String prefix) {
+		return predictiveSearchWithTermId(prefix, Integer.MAX_VALUE);
 	}
 
+	/**
+	 * Returns lazy Iterable. The subtree of prefix is expanded while
+	 * iterating, so the cost is proportional to the keys consumed.
+	 */
 	@Override
 	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
-			String prefix) {
-		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
-		char[] chars = prefix.toCharArray();
-		int charsLen = chars.length;
-		int checkLen = check.length;
-		int nodeIndex = 0;
-		for(int i = 0; i < charsLen; i++){
-			int cid = findCharId(chars[i]);
-			if(cid == -1) return ret;
-			int next = base[nodeIndex] + cid;
-			if(next < 0 || next >= checkLen || check[next] != nodeIndex) return ret;
-			nodeIndex = next;
-		}
-		if(term.get(nodeIndex)){
-			ret.add(Pair.create(prefix, nodeIndex));
-		}
-		Deque<Pair<Integer, String>> q = new LinkedList<Pair<Integer, String>>();
-		q.add(Pair.create(nodeIndex, prefix));
-		while(!q.isEmpty()){
-			Pair<Integer, String> p = q.pop();
-			int ni = p.getFirst();
-			int b = base[ni];
-			if(b == BASE_EMPTY) continue;
-			String c = p.getSecond();
-			for(char v : this.chars){
-				int next = b + charToCode[v];
-				if(next < 0 || next >= checkLen) continue;
-				if(check[next] == ni){
-					String n = new StringBuilder(c).append(v).toString();
-					if(term.get(next)){
-						ret.add(Pair.create(
-								n,
-								term.rank1(next) - 1
-								));
+			final String prefix, final int limit) {
+		return new Iterable<Pair<String, Integer>>(){
+			@Override
+			public Iterator<Pair<String, Integer>> iterator() {
+				return new PredictiveSearchIterator(prefix, limit);
+			}
+		};
+	}
+
+	private class PredictiveSearchIterator implements Iterator<Pair<String, Integer>>{
+		public PredictiveSearchIterator(String prefix, int limit){
+			this.rest = limit;
+			int nodeIndex = 0;
+			int n = prefix.length();
+			for(int i = 0; i < n; i++){
+				nodeIndex = getChildIndex(nodeIndex, prefix.charAt(i));
+				if(nodeIndex == -1) return;
+			}
+			cs = listupChars();
+			b.append(prefix);
+			stack[sp++] = nodeIndex; stack[sp++] = -1; stack[sp++] = n;
+			findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Pair<String, Integer> next() {
+			Pair<String, Integer> ret = next;
+			if(ret == null) throw new NoSuchElementException();
+			findNext();
+			return ret;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void findNext(){
+			next = null;
+			if(rest <= 0) return;
+			while(sp > 0){
+				int len = stack[--sp];
+				int c = stack[--sp];
+				int ni = stack[--sp];
+				b.setLength(len);
+				if(c != -1) b.append((char)c);
+				int bs = base[ni];
+				if(bs != BASE_EMPTY){
+					// push children in descending order to visit them in ascending order.
+					for(int i = cs.length - 1; i >= 0; i--){
+						int child = bs + charToCode[cs[i]];
+						if(child < 0 || child >= check.length || check[child] != ni) continue;
+						if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+						stack[sp++] = child; stack[sp++] = cs[i]; stack[sp++] = b.length();
 					}
-					q.push(Pair.create(next, n));
+				}
+				if(term.get(ni)){
+					next = Pair.create(b.toString(), term.rank1(ni) - 1);
+					rest--;
+					return;
 				}
 			}
 		}
-		return ret;
+
+		private int rest;
+		private Pair<String, Integer> next;
+		private char[] cs;
+		private StringBuilder b = new StringBuilder();
+		// stack of (node index, letter, length of b before letter)
+		private int[] stack = new int[48];
+		private int sp;
 	}
 
 	@Override
@@ -517,7 +852,7 @@ implements Externalizable, TermIdTrie{
 		for(int i = 1; i < lettersLen; i++){
 			bs.unsetIfLE(nodeIndex);
 			int cid = getCharId(letters[i]);
-			int empty = findFirstEmptyCheck();
+			int empty = findFirstEmptyCheck(1);
 			setCheck(empty, nodeIndex);
 			base[nodeIndex] = empty - cid;
 			nodeIndex = empty;
@@ -588,14 +923,27 @@ implements Externalizable, TermIdTrie{
 		return new DoubleArrayNode(id, s);
 	}
 
-	private int findCharId(char c){
-		char v = charToCode[c];
-		if(v != 0) return v;
-		return -1;
+	private char[] listupChars(){
+		char[] ret = new char[chars.size()];
+		int i = 0;
+		for(char c : chars){
+			ret[i++] = c;
+		}
+		return ret;
+	}
+
+	private int getChildIndex(int nodeIndex, char c){
+		int cid = charToCode[c];
+		if(cid == 0) return -1;
+		int b = base[nodeIndex];
+		if(b == BASE_EMPTY) return -1;
+		int next = b + cid;
+		if(next < 0 || next >= check.length || check[next] != nodeIndex) return -1;
+		return next;
 	}
 
 	private int findInsertOffset(int[] heads, int minHead, int maxHead){
-		for(int empty = findFirstEmptyCheck(); ; empty = findNextEmptyCheck(empty)){
+		for(int empty = findFirstEmptyCheck(heads.length); ; empty = findNextEmptyCheck(empty, heads.length)){
 			int offset = empty - minHead;
 			if((offset + maxHead) >= check.length){
 				extend(offset + maxHead);
@@ -631,52 +979,31 @@ implements Externalizable, TermIdTrie{
 		Arrays.fill(check, sz, nsz, -1);
 	}
 
-	private int findFirstEmptyCheck(){
-		int i = firstEmptyCheck;
-		while(check[i] >= 0 || base[i] != BASE_EMPTY){
-			i++;
+	private int findFirstEmptyCheck(int childrenCount){
+		int i = emptySlots.first(childrenCount);
+		while(i == -1){
+			i = addEmptySlotBlock();
 		}
-		firstEmptyCheck = i;
+		if(childrenCount == 1) firstEmptyCheck = i;
 		return i;
 	}
 
-	private int findNextEmptyCheck(int i){
-/*
-		for(i++; i < check.length; i++){
-			if(check[i] < 0) return i;
-		}
-		extend(i);
-		return i;
-/*/
-		int d = check[i] * -1;
-		if(d <= 0){
-			throw new RuntimeException();
-		}
-		int prev = i;
-		i += d;
-		if(check.length <= i){
-			extend(i);
-			return i;
-		}
-		if(check[i] < 0){
-			return i;
-		}
-		for(i++; i < check.length; i++){
-			if(check[i] < 0){
-				check[prev] = prev - i;
-				return i;
-			}
+	private int findNextEmptyCheck(int i, int childrenCount){
+		int n = emptySlots.next(i, childrenCount);
+		while(n == -1){
+			n = addEmptySlotBlock();
 		}
-		extend(i);
-		check[prev] = prev - i;
-		return i;
-//*/
+		return n;
+	}
+
+	private int addEmptySlotBlock(){
+		int end = emptySlots.capacity() + EmptySlotList.BLOCK_SIZE;
+		if(end > check.length) extend(end);
+		return emptySlots.addBlock(check, base, BASE_EMPTY);
 	}
 
 	private void setCheck(int index, int id){
-		if(firstEmptyCheck == index){
-			firstEmptyCheck = findNextEmptyCheck(firstEmptyCheck);
-		}
+		emptySlots.use(index);
 		check[index] = id;
 		last = Math.max(last, index);
 	}
@@ -686,9 +1013,12 @@ implements Externalizable, TermIdTrie{
 	private int[] check;
 	private int firstEmptyCheck = 1;
 	private int last;
+	private EmptySlotList emptySlots;
 	private SuccinctBitVector term;
 	private Set<Character> chars = new TreeSet<Character>();
 	private char[] charToCode = new char[Character.MAX_VALUE];
-	private static final int BASE_EMPTY = Integer.MAX_VALUE;
+	// built lazily by getCodeToChar() and published to other threads.
+	private volatile char[] codeToChar;
+	static final int BASE_EMPTY = Integer.MAX_VALUE;
 	private static final DoubleArrayNode[] emptyNodes = {};
 }
@@ -0,0 +1,513 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.trie4j.AbstractLookupCursor;
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.bv.DynamicSuccinctBitVector;
+import org.trie4j.util.Pair;
+
+/**
+ * Double array which supports insert and remove in place, similar to
+ * cedar (Yoshinaga and Kitsuregawa, "A Self-adaptive Classifier for
+ * Efficient Text-stream Processing").
+ * <p>
+ * Each node holds the first letter of its children and the next letter of
+ * its siblings, so children are listed without scanning all chars. When
+ * the slot of a new child is used by another node, the children of
+ * whichever of the two parents has fewer children are moved to a new base.
+ * Released slots are returned to the empty slot list and reused. Terminal
+ * flags are held in {@link DynamicSuccinctBitVector}, which is updated for
+ * each change instead of rebuilt.
+ * </p>
+ * <p>
+ * Term ids are the ranks of terminal nodes in the array as in
+ * {@link DoubleArray}, so they are valid only until the next insert or
+ * remove. Use {@link DoubleArray} for the tries which are not updated.
+ * </p>
+ * @author agent
+ */
+public class DynamicDoubleArray
+extends AbstractTermIdTrie
+implements Serializable, TermIdTrie{
+	public DynamicDoubleArray(){
+		this(INITIAL_CAPACITY);
+	}
+
+	public DynamicDoubleArray(int arraySize){
+		arraySize = Math.max(arraySize, 2);
+		base = new int[arraySize];
+		Arrays.fill(base, BASE_EMPTY);
+		check = new int[arraySize];
+		Arrays.fill(check, -1);
+		child = new int[arraySize];
+		Arrays.fill(child, -1);
+		sibling = new int[arraySize];
+		Arrays.fill(sibling, -1);
+		// root is the parent of itself, so its slot is never treated as empty.
+		check[0] = 0;
+		term = new DynamicSuccinctBitVector(arraySize);
+		emptySlots = new EmptySlotList();
+	}
+
+	/**
+	 * Creates DynamicDoubleArray which contains the keys of orig.
+	 */
+	public DynamicDoubleArray(Trie orig){
+		this(orig.size() * 2);
+		for(String k : orig.predictiveSearch("")){
+			insert(k);
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public TermIdNode getRoot() {
+		return new DynamicDoubleArrayNode(0, -1);
+	}
+
+	@Override
+	public void insert(String word) {
+		int ni = 0;
+		int n = word.length();
+		for(int i = 0; i < n; i++){
+			char c = word.charAt(i);
+			int next = getChildIndex(ni, c);
+			ni = next != -1 ? next : addChild(ni, c);
+		}
+		if(!term.isOne(ni)){
+			term.set(ni, true);
+			size++;
+		}
+	}
+
+	/**
+	 * Removes word. Nodes which no longer lead to any word are released.
+	 * @return false if word is not contained.
+	 */
+	public boolean remove(String word){
+		int ni = getNodeId(word);
+		if(ni == -1 || !term.isOne(ni)) return false;
+		term.set(ni, false);
+		size--;
+		while(ni != 0 && base[ni] == BASE_EMPTY && !term.isOne(ni)){
+			int parent = check[ni];
+			unlink(parent, ni);
+			release(ni);
+			ni = parent;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean contains(String text) {
+		int ni = getNodeId(text);
+		return ni != -1 && term.isOne(ni);
+	}
+
+	@Override
+	public int getTermId(String text) {
+		int ni = getNodeId(text);
+		return ni != -1 && term.isOne(ni) ? term.rank1(ni) - 1 : -1;
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		int start = buffer.length();
+		// walk up to root via check and append letters in reverse order.
+		for(int idx = term.select1(termId + 1); idx != 0; idx = check[idx]){
+			buffer.append(codeToChar[idx - base[check[idx]]]);
+		}
+		for(int i = start, j = buffer.length() - 1; i < j; i++, j--){
+			char c = buffer.charAt(i);
+			buffer.setCharAt(i, buffer.charAt(j));
+			buffer.setCharAt(j, c);
+		}
+		return true;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(String query) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int ni = 0;
+		int n = query.length();
+		for(int i = 0; i < n; i++){
+			ni = getChildIndex(ni, query.charAt(i));
+			if(ni == -1) break;
+			if(term.isOne(ni)) ret.add(Pair.create(query.substring(0, i + 1), term.rank1(ni) - 1));
+		}
+		return ret;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(String prefix) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int ni = getNodeId(prefix);
+		if(ni == -1) return ret;
+		StringBuilder b = new StringBuilder(prefix);
+		// stack of (node index, letter, length of b before letter)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = ni; stack[sp++] = -1; stack[sp++] = b.length();
+		while(sp > 0){
+			int len = stack[--sp];
+			int c = stack[--sp];
+			ni = stack[--sp];
+			b.setLength(len);
+			if(c != -1) b.append((char)c);
+			if(term.isOne(ni)) ret.add(Pair.create(b.toString(), term.rank1(ni) - 1));
+			int bs = base[ni];
+			if(bs == BASE_EMPTY) continue;
+			int first = sp;
+			for(int l = child[ni]; l != -1; l = sibling[bs + charToCode[l]]){
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = bs + charToCode[l]; stack[sp++] = l; stack[sp++] = b.length();
+			}
+			// reverse pushed children to visit them in ascending order.
+			for(int i = first, j = sp - 3; i < j; i += 3, j -= 3){
+				for(int k = 0; k < 3; k++){
+					int v = stack[i + k];
+					stack[i + k] = stack[j + k];
+					stack[j + k] = v;
+				}
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new DynamicDoubleArrayLookupCursor();
+	}
+
+	private class DynamicDoubleArrayLookupCursor extends AbstractLookupCursor{
+		@Override
+		public void reset() {
+			nodeIndex = 0;
+		}
+
+		@Override
+		public boolean next(char c) {
+			if(nodeIndex == -1) return false;
+			nodeIndex = getChildIndex(nodeIndex, c);
+			return nodeIndex != -1;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return nodeIndex != -1 && term.isOne(nodeIndex);
+		}
+
+		@Override
+		public int getTermId() {
+			return isTerminate() ? term.rank1(nodeIndex) - 1 : -1;
+		}
+
+		private int nodeIndex;
+	}
+
+	private class DynamicDoubleArrayNode implements TermIdNode{
+		public DynamicDoubleArrayNode(int nodeIndex, int letter){
+			this.nodeIndex = nodeIndex;
+			this.letter = letter;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return letter == -1 ? new char[]{} : new char[]{(char)letter};
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return term.isOne(nodeIndex);
+		}
+
+		@Override
+		public int getTermId() {
+			return term.isOne(nodeIndex) ? term.rank1(nodeIndex) - 1 : -1;
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			int ni = getChildIndex(nodeIndex, c);
+			return ni == -1 ? null : new DynamicDoubleArrayNode(ni, c);
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			List<TermIdNode> ret = new ArrayList<TermIdNode>();
+			int bs = base[nodeIndex];
+			if(bs != BASE_EMPTY){
+				for(int l = child[nodeIndex]; l != -1; l = sibling[bs + charToCode[l]]){
+					ret.add(new DynamicDoubleArrayNode(bs + charToCode[l], l));
+				}
+			}
+			return ret.toArray(new TermIdNode[ret.size()]);
+		}
+
+		private int nodeIndex;
+		private int letter;
+	}
+
+	private int getNodeId(String text){
+		int ni = 0;
+		int n = text.length();
+		for(int i = 0; i < n && ni != -1; i++){
+			ni = getChildIndex(ni, text.charAt(i));
+		}
+		return ni;
+	}
+
+	private int getChildIndex(int nodeIndex, char c){
+		int code = charToCode[c];
+		if(code == 0) return -1;
+		int b = base[nodeIndex];
+		if(b == BASE_EMPTY) return -1;
+		int next = b + code;
+		// slot 0 is root, which is never a child.
+		if(next <= 0 || next >= check.length || check[next] != nodeIndex) return -1;
+		return next;
+	}
+
+	/**
+	 * Adds child c to parent and returns the index of the child.
+	 */
+	private int addChild(int parent, char c){
+		int code = getCharId(c);
+		int b = base[parent];
+		if(b == BASE_EMPTY){
+			b = findBase(new int[]{code});
+			base[parent] = b;
+		} else if(b + code <= 0 || b + code >= check.length || check[b + code] >= 0){
+			int t = b + code;
+			int other = t > 0 && t < check.length ? check[t] : -1;
+			if(other != -1 && childCount(other) < childCount(parent) + 1){
+				// moving the children of other is cheaper. parent moves if it is one of them.
+				int otherBase = base[other];
+				boolean moves = parent != 0 && check[parent] == other;
+				int nb = relocate(other, 0);
+				if(moves) parent = nb + (parent - otherBase);
+				b = base[parent];
+			} else{
+				b = relocate(parent, code);
+			}
+		}
+		int t = b + code;
+		use(t, parent);
+		// link t in ascending order of letters.
+		int first = child[parent];
+		if(first == -1 || c < first){
+			sibling[t] = first;
+			child[parent] = c;
+		} else{
+			int s = b + charToCode[first];
+			while(sibling[s] != -1 && sibling[s] < c){
+				s = b + charToCode[sibling[s]];
+			}
+			sibling[t] = sibling[s];
+			sibling[s] = c;
+		}
+		return t;
+	}
+
+	/**
+	 * Removes node from the siblings of parent.
+	 */
+	private void unlink(int parent, int node){
+		int b = base[parent];
+		int c = codeToChar[node - b];
+		if(child[parent] == c){
+			child[parent] = sibling[node];
+		} else{
+			int s = b + charToCode[child[parent]];
+			while(sibling[s] != c){
+				s = b + charToCode[sibling[s]];
+			}
+			sibling[s] = sibling[node];
+		}
+		if(child[parent] == -1) base[parent] = BASE_EMPTY;
+	}
+
+	private int childCount(int node){
+		int b = base[node];
+		if(b == BASE_EMPTY) return 0;
+		int ret = 0;
+		for(int l = child[node]; l != -1; l = sibling[b + charToCode[l]]){
+			ret++;
+		}
+		return ret;
+	}
+
+	/**
+	 * Moves the children of node to the base where the children and
+	 * extraCode (if not 0) fit, and returns the new base.
+	 */
+	private int relocate(int node, int extraCode){
+		int oldBase = base[node];
+		int n = childCount(node);
+		int[] codes = new int[extraCode == 0 ? n : n + 1];
+		int i = 0;
+		for(int l = child[node]; l != -1; l = sibling[oldBase + charToCode[l]]){
+			codes[i++] = charToCode[l];
+		}
+		if(extraCode != 0) codes[i] = extraCode;
+		int newBase = findBase(codes);
+		for(int j = 0; j < n; j++){
+			int from = oldBase + codes[j];
+			int to = newBase + codes[j];
+			use(to, node);
+			int b = base[from];
+			base[to] = b;
+			child[to] = child[from];
+			sibling[to] = sibling[from];
+			if(term.isOne(from)){
+				term.set(from, false);
+				term.set(to, true);
+			}
+			if(b != BASE_EMPTY){
+				for(int l = child[from]; l != -1; l = sibling[b + charToCode[l]]){
+					check[b + charToCode[l]] = to;
+				}
+			}
+			release(from);
+		}
+		base[node] = newBase;
+		return newBase;
+	}
+
+	/**
+	 * Finds the base where all codes are empty.
+	 */
+	private int findBase(int[] codes){
+		int min = Integer.MAX_VALUE;
+		int max = 0;
+		for(int c : codes){
+			min = Math.min(min, c);
+			max = Math.max(max, c);
+		}
+		for(int empty = findFirstEmptyCheck(codes.length); ; empty = findNextEmptyCheck(empty, codes.length)){
+			int offset = empty - min;
+			if(offset + max >= check.length) extend(offset + max);
+			boolean found = true;
+			for(int c : codes){
+				if(check[offset + c] >= 0){
+					found = false;
+					break;
+				}
+			}
+			if(found) return offset;
+		}
+	}
+
+	private int getCharId(char c){
+		int v = charToCode[c];
+		if(v != 0) return v;
+		v = ++codeCount;
+		if(v == codeToChar.length) codeToChar = Arrays.copyOf(codeToChar, v * 2);
+		codeToChar[v] = c;
+		charToCode[c] = (char)v;
+		return v;
+	}
+
+	private void use(int index, int parent){
+		emptySlots.use(index);
+		check[index] = parent;
+	}
+
+	private void release(int index){
+		check[index] = -1;
+		base[index] = BASE_EMPTY;
+		child[index] = -1;
+		sibling[index] = -1;
+		if(term.isOne(index)) term.set(index, false);
+		emptySlots.free(index);
+	}
+
+	private void extend(int i){
+		int sz = base.length;
+		int nsz = Math.max(i + 1, sz * 2);
+		base = Arrays.copyOf(base, nsz);
+		Arrays.fill(base, sz, nsz, BASE_EMPTY);
+		check = Arrays.copyOf(check, nsz);
+		Arrays.fill(check, sz, nsz, -1);
+		child = Arrays.copyOf(child, nsz);
+		Arrays.fill(child, sz, nsz, -1);
+		sibling = Arrays.copyOf(sibling, nsz);
+		Arrays.fill(sibling, sz, nsz, -1);
+	}
+
+	private int findFirstEmptyCheck(int childrenCount){
+		int i = emptySlots.first(childrenCount);
+		while(i == -1){
+			i = addEmptySlotBlock();
+		}
+		return i;
+	}
+
+	private int findNextEmptyCheck(int i, int childrenCount){
+		int n = emptySlots.next(i, childrenCount);
+		while(n == -1){
+			n = addEmptySlotBlock();
+		}
+		return n;
+	}
+
+	private int addEmptySlotBlock(){
+		int end = emptySlots.capacity() + EmptySlotList.BLOCK_SIZE;
+		if(end > check.length) extend(end);
+		return emptySlots.addBlock(check, base, BASE_EMPTY);
+	}
+
+	private void readObject(ObjectInputStream in)
+	throws IOException, ClassNotFoundException{
+		in.defaultReadObject();
+		emptySlots = new EmptySlotList();
+		while(emptySlots.capacity() < check.length){
+			addEmptySlotBlock();
+		}
+	}
+
+	private int size;
+	private int[] base;
+	private int[] check;
+	// first letter of children and next letter of siblings. -1 if none.
+	private int[] child;
+	private int[] sibling;
+	private DynamicSuccinctBitVector term;
+	private char[] charToCode = new char[Character.MAX_VALUE + 1];
+	private char[] codeToChar = new char[256];
+	private int codeCount;
+	private transient EmptySlotList emptySlots;
+	private static final int BASE_EMPTY = Integer.MAX_VALUE;
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final long serialVersionUID = 6140273953290641987L;
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.util.Arrays;
+
+/**
+ * Lists of empty check slots used while building double arrays.
+ * Slots are managed in blocks of {@link #BLOCK_SIZE}. Each block that has
+ * empty slots holds them in a doubly linked list and the blocks are also
+ * doubly linked in index order (similar to darts-clone and cedar).
+ * Fully occupied blocks are marked in a bitmap and unlinked, so the search
+ * never visits them. When the search for a node which has n children fails
+ * in a block, the block is skipped by later searches for n or more children.
+ * For nodes which have more than {@link #EXACT_REJECT_LIMIT} children it is
+ * skipped for n / 2 + 1 or more children instead. Halving keeps the number of
+ * failures per block logarithmic on very wide alphabets, while small nodes,
+ * which make up most of the nodes, keep the density of exact rejects.
+ * Slots released by mutable double arrays are returned by {@link #free(int)}.
+ * @author agent
+ */
+class EmptySlotList {
+	public EmptySlotList(){
+		next = new int[BLOCK_SIZE * 4];
+		prev = new int[BLOCK_SIZE * 4];
+		heads = new int[4];
+		emptyCounts = new int[4];
+		rejects = new int[4];
+		nextBlocks = new int[4];
+		prevBlocks = new int[4];
+		full = new long[1];
+	}
+
+	/**
+	 * Returns the end of the slots managed by this list.
+	 */
+	public int capacity(){
+		return blocks * BLOCK_SIZE;
+	}
+
+	/**
+	 * Returns the first empty slot to try for the node that has
+	 * childrenCount children, or -1 if no such slot.
+	 */
+	public int first(int childrenCount){
+		if(firstBlock == -1) return -1;
+		return firstIn(firstBlock, childrenCount);
+	}
+
+	/**
+	 * Returns the empty slot to try next to slot, or -1 if no such slot.
+	 */
+	public int next(int slot, int childrenCount){
+		int n = next[slot];
+		int b = slot / BLOCK_SIZE;
+		if(n != heads[b]) return n;
+		rejects[b] = childrenCount <= EXACT_REJECT_LIMIT ?
+				childrenCount : (childrenCount >> 1) + 1;
+		b = nextBlocks[b];
+		if(b == firstBlock) return -1;
+		return firstIn(b, childrenCount);
+	}
+
+	/**
+	 * Appends next block. Slots where check is not negative or base is not
+	 * emptyBase are treated as used. check and base must cover the new block.
+	 * @return first empty slot of the new block or -1 if block is full.
+	 */
+	public int addBlock(int[] check, int[] base, int emptyBase){
+		int b = blocks++;
+		int start = b * BLOCK_SIZE;
+		int end = start + BLOCK_SIZE;
+		if(end > next.length){
+			int n = Math.max(end, next.length * 2);
+			next = Arrays.copyOf(next, n);
+			prev = Arrays.copyOf(prev, n);
+		}
+		if(b >= heads.length){
+			int n = heads.length * 2;
+			heads = Arrays.copyOf(heads, n);
+			emptyCounts = Arrays.copyOf(emptyCounts, n);
+			rejects = Arrays.copyOf(rejects, n);
+			nextBlocks = Arrays.copyOf(nextBlocks, n);
+			prevBlocks = Arrays.copyOf(prevBlocks, n);
+		}
+		if((b >>> 6) >= full.length){
+			full = Arrays.copyOf(full, full.length * 2);
+		}
+		int head = -1;
+		int count = 0;
+		for(int i = start; i < end; i++){
+			if(check[i] >= 0 || base[i] != emptyBase) continue;
+			if(head == -1){
+				head = i;
+				next[i] = i;
+				prev[i] = i;
+			} else{
+				int tail = prev[head];
+				next[tail] = i;
+				prev[i] = tail;
+				next[i] = head;
+				prev[head] = i;
+			}
+			count++;
+		}
+		heads[b] = head;
+		emptyCounts[b] = count;
+		rejects[b] = Integer.MAX_VALUE;
+		if(count == 0){
+			full[b >>> 6] |= 1L << b;
+		} else if(firstBlock == -1){
+			firstBlock = b;
+			nextBlocks[b] = b;
+			prevBlocks[b] = b;
+		} else{
+			int last = prevBlocks[firstBlock];
+			nextBlocks[last] = b;
+			prevBlocks[b] = last;
+			nextBlocks[b] = firstBlock;
+			prevBlocks[firstBlock] = b;
+		}
+		return head;
+	}
+
+	/**
+	 * Notifies that slot is used.
+	 */
+	public void use(int slot){
+		int b = slot / BLOCK_SIZE;
+		if(b >= blocks || (full[b >>> 6] & (1L << b)) != 0) return;
+		int n = next[slot];
+		if(n == slot){
+			heads[b] = -1;
+		} else{
+			int p = prev[slot];
+			next[p] = n;
+			prev[n] = p;
+			if(heads[b] == slot) heads[b] = n;
+		}
+		if(--emptyCounts[b] > 0) return;
+		full[b >>> 6] |= 1L << b;
+		int nb = nextBlocks[b];
+		if(nb == b){
+			firstBlock = -1;
+		} else{
+			int pb = prevBlocks[b];
+			nextBlocks[pb] = nb;
+			prevBlocks[nb] = pb;
+			if(firstBlock == b) firstBlock = nb;
+		}
+	}
+
+	/**
+	 * Notifies that slot is released. A block which was full is linked
+	 * again at the end of the blocks, and the block is tried again for
+	 * any count of children.
+	 */
+	public void free(int slot){
+		int b = slot / BLOCK_SIZE;
+		if(b >= blocks) return;
+		int head = heads[b];
+		if(head == -1){
+			heads[b] = slot;
+			next[slot] = slot;
+			prev[slot] = slot;
+		} else{
+			int tail = prev[head];
+			next[tail] = slot;
+			prev[slot] = tail;
+			next[slot] = head;
+			prev[head] = slot;
+		}
+		rejects[b] = Integer.MAX_VALUE;
+		if(emptyCounts[b]++ > 0) return;
+		full[b >>> 6] &= ~(1L << b);
+		if(firstBlock == -1){
+			firstBlock = b;
+			nextBlocks[b] = b;
+			prevBlocks[b] = b;
+		} else{
+			int last = prevBlocks[firstBlock];
+			nextBlocks[last] = b;
+			prevBlocks[b] = last;
+			nextBlocks[b] = firstBlock;
+			prevBlocks[firstBlock] = b;
+		}
+	}
+
+	private int firstIn(int block, int childrenCount){
+		int b = block;
+		do{
+			if(rejects[b] > childrenCount) return heads[b];
+			b = nextBlocks[b];
+		} while(b != firstBlock);
+		return -1;
+	}
+
+	private int[] next;
+	private int[] prev;
+	private int blocks;
+	private int firstBlock = -1;
+	private int[] heads;
+	private int[] emptyCounts;
+	private int[] rejects;
+	private int[] nextBlocks;
+	private int[] prevBlocks;
+	private long[] full;
+	static final int BLOCK_SIZE = 256;
+	static final int EXACT_REJECT_LIMIT = 128;
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.trie4j.Node;
+
+/**
+ * Assigns char codes of double arrays in descending order of the count of
+ * nodes labeled with each char, instead of the order of appearance.
+ * Frequent chars get small and dense codes, so the children of most nodes
+ * fit in narrow ranges of slots and fewer slots are left empty. Chars of
+ * the same count are ordered by their values, so rare chars of the same
+ * script get adjacent codes.
+ * @author agent
+ */
+class FrequencyCharCodes {
+	/**
+	 * Counts chars under root and adds them to chars and charToCode.
+	 * @param firstLetterOnly count only the first letter of each node, for
+	 * the double arrays which hold the rest of letters in tails.
+	 */
+	public static void assign(Node root, boolean firstLetterOnly,
+			Set<Character> chars, char[] charToCode){
+		final int[] counts = new int[Character.MAX_VALUE + 1];
+		Node[] stack = new Node[64];
+		int sp = 0;
+		stack[sp++] = root;
+		while(sp > 0){
+			Node node = stack[--sp];
+			for(Node child : node.getChildren()){
+				char[] letters = child.getLetters();
+				int n = firstLetterOnly ? 1 : letters.length;
+				for(int i = 0; i < n; i++){
+					counts[letters[i]]++;
+				}
+				if(sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+				stack[sp++] = child;
+			}
+		}
+		// pack (count, char) in long to sort by count descending, char ascending.
+		long[] order = new long[counts.length];
+		int n = 0;
+		for(int c = 0; c < counts.length; c++){
+			if(counts[c] > 0) order[n++] = ((long)(Integer.MAX_VALUE - counts[c]) << 16) | c;
+		}
+		Arrays.sort(order, 0, n);
+		for(int i = 0; i < n; i++){
+			char c = (char)order[i];
+			chars.add(c);
+			charToCode[c] = (char)(i + 1);
+		}
+	}
+}
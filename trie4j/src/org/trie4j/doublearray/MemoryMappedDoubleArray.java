@@ -0,0 +1,418 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.trie4j.AbstractLookupCursor;
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.bv.ByteBufferSuccinctBitVector;
+import org.trie4j.bv.SuccinctBitVector;
+import org.trie4j.util.Pair;
+
+/**
+ * Read-only DoubleArray that works directly on the image written by
+ * {@link #save(DoubleArray, OutputStream)}. The image can be mapped by
+ * {@link #map(File)} so that no arrays are copied onto the heap and
+ * the pages are shared between JVMs through the OS page cache.
+ *
+ * Image layout (little endian, every section starts at 8 byte boundary):
+ * <pre>
+ * int magic, int version, int size, int arrayLength, int charCount, int padding
+ * char[65536] charToCode
+ * char[charCount] chars (ascending)
+ * int[arrayLength] base
+ * int[arrayLength] check
+ * term ({@link ByteBufferSuccinctBitVector})
+ * </pre>
+ * Since a ByteBuffer is indexed by int, the image must be smaller than 2GB.
+ * @author agent
+ */
+public class MemoryMappedDoubleArray
+extends AbstractTermIdTrie
+implements TermIdTrie{
+	public static void save(DoubleArray da, File file) throws IOException{
+		OutputStream os = new BufferedOutputStream(new FileOutputStream(file));
+		try{
+			save(da, os);
+		} finally{
+			os.close();
+		}
+	}
+
+	public static void save(DoubleArray da, OutputStream os) throws IOException{
+		int[] base = da.getBase();
+		int[] check = da.getCheck();
+		int len = base.length;
+		while(len > 1 && base[len - 1] == BASE_EMPTY && check[len - 1] < 0) len--;
+		char[] charToCode = da.getCharToCode();
+		DataOutputStream dos = new DataOutputStream(os);
+		writeInt(dos, MAGIC);
+		writeInt(dos, VERSION);
+		writeInt(dos, da.size());
+		writeInt(dos, len);
+		writeInt(dos, da.getChars().size());
+		writeInt(dos, 0);
+		for(int i = 0; i < CHAR_TABLE_SIZE; i++){
+			writeChar(dos, i < charToCode.length ? charToCode[i] : 0);
+		}
+		for(char c : da.getChars()){
+			writeChar(dos, c);
+		}
+		ByteBufferSuccinctBitVector.pad(da.getChars().size() * 2, dos);
+		for(int i = 0; i < len; i++){
+			writeInt(dos, base[i]);
+		}
+		ByteBufferSuccinctBitVector.pad(len * 4, dos);
+		for(int i = 0; i < len; i++){
+			writeInt(dos, check[i]);
+		}
+		ByteBufferSuccinctBitVector.pad(len * 4, dos);
+		ByteBufferSuccinctBitVector.write(da.getTerm(), dos);
+		dos.flush();
+	}
+
+	/**
+	 * Maps the file read-only and creates DoubleArray on it.
+	 */
+	public static MemoryMappedDoubleArray map(File file) throws IOException{
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try{
+			FileChannel ch = raf.getChannel();
+			long size = ch.size();
+			if(size > Integer.MAX_VALUE){
+				throw new IOException("image too large to map: " + size + " bytes.");
+			}
+			// mapping stays valid after the channel is closed.
+			return new MemoryMappedDoubleArray(ch.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		} finally{
+			raf.close();
+		}
+	}
+
+	/**
+	 * Creates DoubleArray on the image starting at buffer's current position.
+	 */
+	public MemoryMappedDoubleArray(ByteBuffer buffer) throws IOException{
+		ByteBuffer b = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int start = b.position();
+		if(b.getInt(start) != MAGIC){
+			throw new IOException("not a DoubleArray image.");
+		}
+		int version = b.getInt(start + 4);
+		if(version != VERSION){
+			throw new IOException("unsupported DoubleArray image version: " + version);
+		}
+		size = b.getInt(start + 8);
+		int len = b.getInt(start + 12);
+		int charCount = b.getInt(start + 16);
+		int p = start + HEADER_SIZE;
+		charToCode = slice(b, p, CHAR_TABLE_SIZE * 2).asCharBuffer();
+		p += CHAR_TABLE_SIZE * 2;
+		chars = slice(b, p, charCount * 2).asCharBuffer();
+		p += align(charCount * 2);
+		base = slice(b, p, len * 4).asIntBuffer();
+		p += align(len * 4);
+		check = slice(b, p, len * 4).asIntBuffer();
+		p += align(len * 4);
+		b.position(p);
+		term = new ByteBufferSuccinctBitVector(b);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public TermIdNode getRoot() {
+		return new MappedNode(0, (char)0);
+	}
+
+	private class MappedNode implements TermIdNode{
+		public MappedNode(int nodeId, char letter){
+			this.nodeId = nodeId;
+			this.letter = letter;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return nodeId == 0 ? new char[]{} : new char[]{letter};
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return term.get(nodeId);
+		}
+
+		@Override
+		public int getTermId() {
+			return term.get(nodeId) ? term.rank1(nodeId) - 1 : -1;
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			int next = getChildId(nodeId, c);
+			return next == -1 ? null : new MappedNode(next, c);
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			List<TermIdNode> ret = new ArrayList<TermIdNode>();
+			int n = chars.limit();
+			for(int i = 0; i < n; i++){
+				char c = chars.get(i);
+				int next = getChildId(nodeId, c);
+				if(next != -1) ret.add(new MappedNode(next, c));
+			}
+			return ret.toArray(new TermIdNode[ret.size()]);
+		}
+
+		private int nodeId;
+		private char letter;
+	}
+
+	@Override
+	public boolean contains(String text) {
+		int nid = getNodeId(text);
+		return nid != -1 && term.get(nid);
+	}
+
+	@Override
+	public int getTermId(String text) {
+		int nid = getNodeId(text);
+		if(nid == -1) return -1;
+		return term.get(nid) ? term.rank1(nid) - 1 : -1;
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		char[] codeToChar = getCodeToChar();
+		int start = buffer.length();
+		// walk up to root via check and append letters in reverse order.
+		for(int idx = term.select1(termId + 1); idx != 0; ){
+			int parent = check.get(idx);
+			buffer.append(codeToChar[idx - base.get(parent)]);
+			idx = parent;
+		}
+		for(int i = start, j = buffer.length() - 1; i < j; i++, j--){
+			char c = buffer.charAt(i);
+			buffer.setCharAt(i, buffer.charAt(j));
+			buffer.setCharAt(j, c);
+		}
+		return true;
+	}
+
+	/**
+	 * Builds reverse table of charToCode on heap. Its size is bounded by
+	 * the count of distinct chars.
+	 */
+	private char[] getCodeToChar(){
+		char[] ret = codeToChar;
+		if(ret != null) return ret;
+		int n = chars.limit();
+		int max = 0;
+		for(int i = 0; i < n; i++){
+			max = Math.max(max, charToCode.get(chars.get(i)));
+		}
+		ret = new char[max + 1];
+		for(int i = 0; i < n; i++){
+			char c = chars.get(i);
+			ret[charToCode.get(c)] = c;
+		}
+		codeToChar = ret;
+		return ret;
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new AbstractLookupCursor(){
+			@Override
+			public void reset() {
+				nodeIndex = 0;
+			}
+
+			@Override
+			public boolean next(char c) {
+				if(nodeIndex == -1) return false;
+				nodeIndex = getChildId(nodeIndex, c);
+				return nodeIndex != -1;
+			}
+
+			@Override
+			public boolean isTerminate() {
+				return nodeIndex != -1 && term.get(nodeIndex);
+			}
+
+			@Override
+			public int getTermId() {
+				return isTerminate() ? term.rank1(nodeIndex) - 1 : -1;
+			}
+
+			private int nodeIndex;
+		};
+	}
+
+	public int getNodeId(String text){
+		int nodeIndex = 0; // root
+		int n = text.length();
+		for(int i = 0; i < n; i++){
+			nodeIndex = getChildId(nodeIndex, text.charAt(i));
+			if(nodeIndex == -1) return -1;
+		}
+		return nodeIndex;
+	}
+
+	@Override
+	public Iterable<String> commonPrefixSearch(String query) {
+		List<String> ret = new ArrayList<String>();
+		int nodeIndex = 0;
+		int n = query.length();
+		for(int i = 0; i < n; i++){
+			nodeIndex = getChildId(nodeIndex, query.charAt(i));
+			if(nodeIndex == -1) break;
+			if(term.get(nodeIndex)) ret.add(query.substring(0, i + 1));
+		}
+		return ret;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(
+			String query) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int nodeIndex = 0;
+		int n = query.length();
+		for(int i = 0; i < n; i++){
+			nodeIndex = getChildId(nodeIndex, query.charAt(i));
+			if(nodeIndex == -1) break;
+			if(term.get(nodeIndex)){
+				ret.add(Pair.create(query.substring(0, i + 1), term.rank1(nodeIndex) - 1));
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public int findWord(CharSequence chars, int start, int end, StringBuilder word) {
+		for(int i = start; i < end; i++){
+			int nodeIndex = 0;
+			for(int j = i; j < end; j++){
+				nodeIndex = getChildId(nodeIndex, chars.charAt(j));
+				if(nodeIndex == -1) break;
+				if(term.get(nodeIndex)){
+					if(word != null) word.append(chars, i, j + 1);
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
+			String prefix) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int nodeIndex = getNodeId(prefix);
+		if(nodeIndex == -1) return ret;
+		StringBuilder b = new StringBuilder(prefix);
+		// stack of (node id, letter, length of b before letter)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = nodeIndex; stack[sp++] = -1; stack[sp++] = b.length();
+		while(sp > 0){
+			int len = stack[--sp];
+			int c = stack[--sp];
+			int ni = stack[--sp];
+			b.setLength(len);
+			if(c != -1) b.append((char)c);
+			if(term.get(ni)) ret.add(Pair.create(b.toString(), term.rank1(ni) - 1));
+			// push children in descending order to pop them in ascending order.
+			for(int i = chars.limit() - 1; i >= 0; i--){
+				char ch = chars.get(i);
+				int next = getChildId(ni, ch);
+				if(next == -1) continue;
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = next; stack[sp++] = ch; stack[sp++] = b.length();
+			}
+		}
+		return ret;
+	}
+
+	public SuccinctBitVector getTerm(){
+		return term;
+	}
+
+	private int getChildId(int nodeIndex, char c){
+		int code = charToCode.get(c);
+		if(code == 0) return -1;
+		int b = base.get(nodeIndex);
+		if(b == BASE_EMPTY) return -1;
+		int next = b + code;
+		if(next < 0 || next >= check.limit() || check.get(next) != nodeIndex) return -1;
+		return next;
+	}
+
+	private static void writeInt(DataOutputStream out, int v) throws IOException{
+		out.writeInt(Integer.reverseBytes(v));
+	}
+
+	private static void writeChar(DataOutputStream out, int v) throws IOException{
+		out.writeChar(Character.reverseBytes((char)v));
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int offset, int length){
+		ByteBuffer b = buffer.duplicate();
+		b.limit(offset + length);
+		b.position(offset);
+		return b.slice().order(buffer.order());
+	}
+
+	private static int align(int bytes){
+		return (bytes + 7) & ~7;
+	}
+
+	private int size;
+	private CharBuffer charToCode;
+	private CharBuffer chars;
+	// built lazily by getCodeToChar() and published to other threads.
+	private volatile char[] codeToChar;
+	private IntBuffer base;
+	private IntBuffer check;
+	private ByteBufferSuccinctBitVector term;
+	private static final int MAGIC = 0x54344441; // "T4DA"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 24;
+	private static final int CHAR_TABLE_SIZE = 0x10000;
+	private static final int BASE_EMPTY = Integer.MAX_VALUE;
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.trie4j.Node;
+import org.trie4j.Trie;
+import org.trie4j.doublearray.DoubleArray.TermNodeListener;
+import org.trie4j.util.FastBitSet;
+
+/**
+ * Builds DoubleArray using multiple threads.
+ * The first level children of the source trie are split into partitions
+ * and the subtrees of each partition are placed into separate arrays
+ * concurrently. The arrays are stitched into one base/check array
+ * afterward. The resulting DoubleArray is functionally same as the one
+ * built by {@link DoubleArray#DoubleArray(Trie)} but its node indexes and
+ * term ids differ.
+ * The source trie must not be modified while building.
+ * @author agent
+ */
+public class ParallelDoubleArrayBuilder {
+	/**
+	 * Creates builder that uses new ForkJoinPool for each build.
+	 */
+	public ParallelDoubleArrayBuilder(){
+	}
+
+	public ParallelDoubleArrayBuilder(ForkJoinPool pool){
+		this.pool = pool;
+	}
+
+	public DoubleArray build(Trie trie){
+		return build(trie, null);
+	}
+
+	public DoubleArray build(Trie trie, TermNodeListener listener){
+		if(pool != null) return build(trie, listener, pool);
+		ForkJoinPool p = new ForkJoinPool();
+		try{
+			return build(trie, listener, p);
+		} finally{
+			p.shutdown();
+		}
+	}
+
+	private DoubleArray build(Trie trie, TermNodeListener listener, ForkJoinPool pool){
+		Node root = trie.getRoot();
+		Node[] children = root.getChildren();
+		if(root.getLetters().length > 0 || children.length == 0){
+			if(listener == null) return new DoubleArray(trie);
+			return new DoubleArray(trie, trie.size() * 2, listener);
+		}
+
+		// collect chars and subtree weights.
+		int pc = Math.min(children.length, pool.getParallelism() * 4);
+		final long[] weights = new long[children.length];
+		ScanTask[] scans = new ScanTask[pc];
+		for(int i = 0; i < pc; i++){
+			scans[i] = new ScanTask(children, weights,
+					(int)((long)children.length * i / pc), (int)((long)children.length * (i + 1) / pc));
+		}
+		pool.invoke(new InvokeAllTask(scans));
+
+		// first level chars get codes 1..n so that root's base can be 0.
+		Set<Character> chars = new TreeSet<Character>();
+		char[] charToCode = new char[Character.MAX_VALUE];
+		long[] allChars = new long[1024];
+		for(int i = 0; i < children.length; i++){
+			char c = children[i].getLetters()[0];
+			chars.add(c);
+			charToCode[c] = (char)chars.size();
+		}
+		for(ScanTask st : scans){
+			for(int j = 0; j < allChars.length; j++){
+				allChars[j] |= st.chars[j];
+			}
+		}
+		int firstLevelCount = children.length;
+		for(int c = 0; c < Character.MAX_VALUE; c++){
+			if((allChars[c >>> 6] & (1L << c)) == 0 || charToCode[c] != 0) continue;
+			chars.add((char)c);
+			charToCode[c] = (char)chars.size();
+		}
+
+		// partition first level children by weight.
+		List<List<Node>> partitions = new ArrayList<List<Node>>(pc);
+		long[] loads = new long[pc];
+		for(int i = 0; i < pc; i++){
+			partitions.add(new ArrayList<Node>());
+		}
+		Integer[] order = new Integer[children.length];
+		for(int i = 0; i < order.length; i++) order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>(){
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return Long.compare(weights[o2], weights[o1]);
+			}
+		});
+		for(int i : order){
+			int min = 0;
+			for(int j = 1; j < pc; j++){
+				if(loads[j] < loads[min]) min = j;
+			}
+			partitions.get(min).add(children[i]);
+			loads[min] += weights[i];
+		}
+
+		// place each partition concurrently.
+		PlaceTask[] places = new PlaceTask[pc];
+		for(int i = 0; i < pc; i++){
+			places[i] = new PlaceTask(partitions.get(i), (int)Math.min(loads[i] * 2, Integer.MAX_VALUE - 8),
+					chars, charToCode, listener != null);
+		}
+		pool.invoke(new InvokeAllTask(places));
+
+		// stitch. first level children are placed at [1, firstLevelCount],
+		// partitions follow in order.
+		int[] offsets = new int[pc];
+		long total = firstLevelCount + 1;
+		for(int i = 0; i < pc; i++){
+			offsets[i] = (int)total;
+			total += places[i].da.getLast() + 1;
+		}
+		if(total + 0xFFFF > Integer.MAX_VALUE - 8){
+			throw new IllegalStateException("too large to build: " + total);
+		}
+		int len = (int)total + 0xFFFF;
+		int[] base = new int[len];
+		Arrays.fill(base, DoubleArray.BASE_EMPTY);
+		int[] check = new int[len];
+		Arrays.fill(check, -1);
+		FastBitSet bs = new FastBitSet(len / 8 + 1);
+		base[0] = 0;
+		if(root.isTerminate()){
+			bs.set(0);
+			if(listener != null) listener.listen(root, 0);
+		}
+		int last = firstLevelCount;
+		for(int p = 0; p < pc; p++){
+			PlaceTask pt = places[p];
+			int[] lb = pt.da.getBase();
+			int[] lc = pt.da.getCheck();
+			int rootBase = lb[0];
+			int offset = offsets[p];
+			int n = pt.da.getLast();
+			for(int j = 1; j <= n; j++){
+				if(lc[j] < 0) continue;
+				int g = lc[j] == 0 ? j - rootBase : j + offset;
+				int b = lb[j];
+				base[g] = b == DoubleArray.BASE_EMPTY ? DoubleArray.BASE_EMPTY : b + offset;
+				int pj = lc[j];
+				check[g] = pj == 0 ? 0 : lc[pj] == 0 ? pj - rootBase : pj + offset;
+				if(j < pt.bs.size() && pt.bs.get(j)) bs.set(g);
+				last = Math.max(last, g);
+			}
+			if(listener != null){
+				for(int i = 0; i < pt.termNodes.size(); i++){
+					int j = pt.termIndexes[i];
+					listener.listen(pt.termNodes.get(i), lc[j] == 0 ? j - rootBase : j + offset);
+				}
+			}
+			places[p] = null;
+		}
+		bs.unsetIfLE(last);
+		int firstEmptyCheck = 1;
+		while(check[firstEmptyCheck] >= 0) firstEmptyCheck++;
+		return new DoubleArray(trie.size(), base, check, bs,
+				chars, charToCode, firstEmptyCheck, last);
+	}
+
+	private static class InvokeAllTask extends RecursiveTask<Void>{
+		public InvokeAllTask(RecursiveTask<?>[] tasks){
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected Void compute() {
+			invokeAll(tasks);
+			return null;
+		}
+
+		private RecursiveTask<?>[] tasks;
+		private static final long serialVersionUID = -4137381380416457271L;
+	}
+
+	private static class ScanTask extends RecursiveTask<Void>{
+		public ScanTask(Node[] nodes, long[] weights, int from, int to){
+			this.nodes = nodes;
+			this.weights = weights;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Void compute() {
+			for(int i = from; i < to; i++){
+				weights[i] = scan(nodes[i]);
+			}
+			return null;
+		}
+
+		private long scan(Node node){
+			char[] letters = node.getLetters();
+			for(char c : letters){
+				chars[c >>> 6] |= 1L << c;
+			}
+			long ret = letters.length;
+			for(Node c : node.getChildren()){
+				ret += scan(c);
+			}
+			return ret;
+		}
+
+		private Node[] nodes;
+		private long[] weights;
+		private int from;
+		private int to;
+		private long[] chars = new long[1024];
+		private static final long serialVersionUID = 2425462016587478592L;
+	}
+
+	private static class PlaceTask extends RecursiveTask<Void>{
+		public PlaceTask(List<Node> children, int arraySize,
+				Set<Character> chars, char[] charToCode, boolean recordTermNodes){
+			this.children = children.toArray(new Node[children.size()]);
+			this.arraySize = arraySize;
+			this.chars = chars;
+			this.charToCode = charToCode;
+			this.recordTermNodes = recordTermNodes;
+		}
+
+		@Override
+		protected Void compute() {
+			TermNodeListener l = new TermNodeListener(){
+				@Override
+				public void listen(Node node, int nodeIndex) {
+					if(!recordTermNodes) return;
+					if(termNodes.size() == termIndexes.length){
+						termIndexes = Arrays.copyOf(termIndexes, termIndexes.length * 2);
+					}
+					termIndexes[termNodes.size()] = nodeIndex;
+					termNodes.add(node);
+				}
+			};
+			da = new DoubleArray(new PartitionRoot(children), arraySize, chars, charToCode, bs, l);
+			return null;
+		}
+
+		private Node[] children;
+		private int arraySize;
+		private Set<Character> chars;
+		private char[] charToCode;
+		private boolean recordTermNodes;
+		private DoubleArray da;
+		private FastBitSet bs = new FastBitSet();
+		private List<Node> termNodes = new ArrayList<Node>();
+		private int[] termIndexes = new int[16];
+		private static final long serialVersionUID = -2519364424658817658L;
+	}
+
+	/**
+	 * Root node of the partition that has a part of first level children.
+	 */
+	private static class PartitionRoot implements Node{
+		public PartitionRoot(Node[] children){
+			this.children = children;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return emptyChars;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return false;
+		}
+
+		@Override
+		public Node getChild(char c) {
+			for(Node n : children){
+				if(n.getLetters()[0] == c) return n;
+			}
+			return null;
+		}
+
+		@Override
+		public Node[] getChildren() {
+			return children;
+		}
+
+		private Node[] children;
+	}
+
+	private ForkJoinPool pool;
+	private static final char[] emptyChars = {};
+}
@@ -29,19 +29,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
+import org.trie4j.AbstractLookupCursor;
 import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
 import org.trie4j.Node;
 import org.trie4j.TermIdNode;
 import org.trie4j.TermIdTrie;
+import org.trie4j.TermIdVisitor;
 import org.trie4j.Trie;
-import org.trie4j.bv.Rank1OnlySuccinctBitVector;
+import org.trie4j.automaton.Automaton;
+import org.trie4j.bv.LongsSuccinctBitVector;
 import org.trie4j.bv.SuccinctBitVector;
 import org.trie4j.tail.FastTailCharIterator;
 import org.trie4j.tail.TailBuilder;
@@ -50,6 +56,7 @@ import org.trie4j.tail.TailUtil;
 import org.trie4j.tail.builder.SuffixTrieTailBuilder;
 import org.trie4j.util.BitSet;
 import org.trie4j.util.FastBitSet;
+import org.trie4j.util.LevenshteinAutomaton;
 import org.trie4j.util.Pair;
 
 public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, Externalizable{
@@ -72,7 +79,24 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 		});
 	}
 
+	/**
+	 * @param frequencyCharCodes assign char codes by frequency (see
+	 * {@link FrequencyCharCodes}) instead of the order of appearance.
+	 */
+	public TailDoubleArray(Trie orig, TailBuilder tb, boolean frequencyCharCodes){
+		this(orig, tb, new TermNodeListener(){
+			@Override
+			public void listen(Node node, int nodeIndex) {
+			}
+		}, frequencyCharCodes);
+	}
+
 	public TailDoubleArray(Trie orig, TailBuilder tb, TermNodeListener listener){
+		this(orig, tb, listener, false);
+	}
+
+	public TailDoubleArray(Trie orig, TailBuilder tb, TermNodeListener listener,
+			boolean frequencyCharCodes){
 		size = orig.size();
 		int as = size;
 		if(as <= 1) as = 2;
@@ -83,10 +107,17 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 		tail = new int[as];
 		Arrays.fill(tail, -1);
 		Arrays.fill(charToCode, (char)0);
+		if(frequencyCharCodes){
+			FrequencyCharCodes.assign(orig.getRoot(), true, chars, charToCode);
+		}
 
 		FastBitSet bs = new FastBitSet(65536);
+		emptySlots = new EmptySlotList();
+		addEmptySlotBlock();
+		emptySlots.use(0);
 		build(orig.getRoot(), 0, tb, bs, listener);
-		term = new Rank1OnlySuccinctBitVector(bs.getBytes(), bs.size());
+		emptySlots = null;
+		term = new LongsSuccinctBitVector(bs.getBytes(), bs.size());
 		tails = tb.getTails();
 	}
 
@@ -173,11 +204,8 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
 		int n = text.length();
 		for(int i = 0; i < n; i++){
-			char cid = charToCode[text.charAt(i)];
-			if(cid == 0) return -1;
-			int next = base[nodeIndex] + cid;
-			if(next < 0 || check[next] != nodeIndex) return -1;
-			nodeIndex = next;
+			nodeIndex = getChildIndex(nodeIndex, text.charAt(i));
+			if(nodeIndex == -1) return -1;
 			int ti = tail[nodeIndex];
 			if(ti == -1) continue;
 			it.setIndex(ti);
@@ -191,6 +219,299 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 		return term.get(nodeIndex) ? term.rank1(nodeIndex) - 1 : -1;
 	}
 
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		char[] codeToChar = getCodeToChar();
+		// collect node indexes from the node to root, then append letters from root.
+		int[] path = new int[16];
+		int n = 0;
+		for(int idx = term.select1(termId + 1); ; idx = check[idx]){
+			if(n == path.length) path = Arrays.copyOf(path, n * 2);
+			path[n++] = idx;
+			if(idx == 0) break;
+		}
+		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+		while(n > 0){
+			int idx = path[--n];
+			if(idx != 0) buffer.append(codeToChar[idx - base[check[idx]]]);
+			int ti = tail[idx];
+			if(ti == -1) continue;
+			it.setIndex(ti);
+			char c;
+			while((c = it.getNext()) != '\0'){
+				buffer.append(c);
+			}
+		}
+		return true;
+	}
+
+	private char[] getCodeToChar(){
+		char[] ret = codeToChar;
+		if(ret != null) return ret;
+		int max = 0;
+		for(char c : chars){
+			max = Math.max(max, charToCode[c]);
+		}
+		ret = new char[max + 1];
+		for(char c : chars){
+			ret[charToCode[c]] = c;
+		}
+		codeToChar = ret;
+		return ret;
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new TailDoubleArrayLookupCursor();
+	}
+
+	private class TailDoubleArrayLookupCursor extends AbstractLookupCursor{
+		@Override
+		public void reset() {
+			nodeIndex = 0;
+			tailChar = '\0';
+		}
+
+		@Override
+		public boolean next(char c) {
+			if(nodeIndex == -1) return false;
+			if(tailChar != '\0'){
+				if(tailChar != c){
+					nodeIndex = -1;
+					return false;
+				}
+				tailChar = it.getNext();
+				return true;
+			}
+			nodeIndex = getChildIndex(nodeIndex, c);
+			if(nodeIndex == -1) return false;
+			int ti = tail[nodeIndex];
+			if(ti != -1){
+				it.setIndex(ti);
+				tailChar = it.getNext();
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return nodeIndex != -1 && tailChar == '\0' && term.get(nodeIndex);
+		}
+
+		@Override
+		public int getTermId() {
+			return isTerminate() ? term.rank1(nodeIndex) - 1 : -1;
+		}
+
+		private int nodeIndex;
+		private char tailChar;
+		private FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+	}
+
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		int ni = 0;
+		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+		for(int i = start; i < end; i++){
+			ni = getChildIndex(ni, chars.charAt(i));
+			if(ni == -1) return;
+			int ti = tail[ni];
+			if(ti != -1){
+				it.setIndex(ti);
+				char c;
+				while((c = it.getNext()) != '\0'){
+					i++;
+					if(i == end || c != chars.charAt(i)) return;
+				}
+			}
+			if(term.get(ni) && !visitor.visit(chars, start, i + 1, term.rank1(ni) - 1)) return;
+		}
+	}
+
+	@Override
+	public void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor) {
+		LevenshteinAutomaton la = new LevenshteinAutomaton(query, maxEdits);
+		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+		char[] cs = listupChars();
+		StringBuilder b = new StringBuilder();
+		// stack of (node index, letter, length of b before letter)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = 0; stack[sp++] = -1; stack[sp++] = 0;
+		outer: while(sp > 0){
+			int len = stack[--sp];
+			int c = stack[--sp];
+			int nid = stack[--sp];
+			b.setLength(len);
+			if(c != -1){
+				if(!la.step(len, (char)c)) continue;
+				b.append((char)c);
+			}
+			int ti = tail[nid];
+			if(ti != -1){
+				it.setIndex(ti);
+				char tc;
+				while((tc = it.getNext()) != '\0'){
+					if(!la.step(b.length(), tc)) continue outer;
+					b.append(tc);
+				}
+			}
+			if(term.get(nid) && la.isMatch(b.length()) &&
+					!visitor.visit(b, 0, b.length(), term.rank1(nid) - 1)){
+				return;
+			}
+			int bs = base[nid];
+			if(bs == BASE_EMPTY) continue;
+			// push children in descending order to visit them in ascending order.
+			for(int i = cs.length - 1; i >= 0; i--){
+				int next = bs + charToCode[cs[i]];
+				if(next < 0 || next >= check.length || check[next] != nid) continue;
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = next; stack[sp++] = cs[i]; stack[sp++] = b.length();
+			}
+		}
+	}
+
+	/**
+	 * Returns lazy Iterable. Children are visited only when the automaton
+	 * accepts their letter and tail.
+	 */
+	@Override
+	public Iterable<String> automatonSearch(final Automaton automaton) {
+		return new Iterable<String>(){
+			@Override
+			public Iterator<String> iterator() {
+				return new AutomatonSearchIterator(automaton);
+			}
+		};
+	}
+
+	private class AutomatonSearchIterator implements Iterator<String>{
+		public AutomatonSearchIterator(Automaton automaton){
+			this.automaton = automaton;
+			cs = listupChars();
+			stack[sp++] = 0; stack[sp++] = -1; stack[sp++] = automaton.getInitialState(); stack[sp++] = 0;
+			findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public String next() {
+			String ret = next;
+			if(ret == null) throw new NoSuchElementException();
+			findNext();
+			return ret;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void findNext(){
+			next = null;
+			outer: while(sp > 0){
+				int len = stack[--sp];
+				int state = stack[--sp];
+				int c = stack[--sp];
+				int nid = stack[--sp];
+				b.setLength(len);
+				if(c != -1) b.append((char)c);
+				int ti = tail[nid];
+				if(ti != -1){
+					it.setIndex(ti);
+					char tc;
+					while((tc = it.getNext()) != '\0'){
+						state = automaton.step(state, tc);
+						if(state == -1) continue outer;
+						b.append(tc);
+					}
+				}
+				int bs = base[nid];
+				if(bs != BASE_EMPTY){
+					// push children in descending order to visit them in ascending order.
+					for(int i = cs.length - 1; i >= 0; i--){
+						int child = bs + charToCode[cs[i]];
+						if(child < 0 || child >= check.length || check[child] != nid) continue;
+						int s = automaton.step(state, cs[i]);
+						if(s == -1) continue;
+						if(sp + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+						stack[sp++] = child; stack[sp++] = cs[i]; stack[sp++] = s; stack[sp++] = b.length();
+					}
+				}
+				if(term.get(nid) && automaton.isAccept(state)){
+					next = b.toString();
+					return;
+				}
+			}
+		}
+
+		private Automaton automaton;
+		private String next;
+		private char[] cs;
+		private StringBuilder b = new StringBuilder();
+		private FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+		// stack of (node index, letter, state after letter, length of b before letter)
+		private int[] stack = new int[64];
+		private int sp;
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		int ni = 0;
+		int keyLen = 0;
+		int n = prefix.length();
+		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+		for(int i = 0; i < n; i++){
+			ni = getChildIndex(ni, prefix.charAt(i));
+			if(ni == -1) return;
+			keyLen = i + 1;
+			int ti = tail[ni];
+			if(ti == -1) continue;
+			// prefix may end inside the tail.
+			it.setIndex(ti);
+			char c;
+			while(i + 1 < n && (c = it.getNext()) != '\0'){
+				if(c != prefix.charAt(++i)) return;
+			}
+		}
+		char[] cs = listupChars();
+		StringBuilder b = new StringBuilder(prefix.subSequence(0, keyLen));
+		// stack of (node index, letter, length of b before letter)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = ni; stack[sp++] = -1; stack[sp++] = keyLen;
+		while(sp > 0){
+			int len = stack[--sp];
+			int c = stack[--sp];
+			int nid = stack[--sp];
+			b.setLength(len);
+			if(c != -1) b.append((char)c);
+			int ti = tail[nid];
+			if(ti != -1){
+				it.setIndex(ti);
+				char tc;
+				while((tc = it.getNext()) != '\0') b.append(tc);
+			}
+			if(term.get(nid) && !visitor.visit(b, 0, b.length(), term.rank1(nid) - 1)) return;
+			int bs = base[nid];
+			if(bs == BASE_EMPTY) continue;
+			// push children in descending order to visit them in ascending order.
+			for(int i = cs.length - 1; i >= 0; i--){
+				int next = bs + charToCode[cs[i]];
+				if(next < 0 || next >= check.length || check[next] != nid) continue;
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = next; stack[sp++] = cs[i]; stack[sp++] = b.length();
+			}
+		}
+	}
+
 	@Override
 	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(String query) {
 		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
@@ -199,13 +520,8 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 		int ni = 0;
 		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
 		for(; ci < charsLen; ci++){
-			int cid = findCharId(query.charAt(ci));
-			if(cid == -1) return ret;
-			int b = base[ni];
-			if(b == BASE_EMPTY) return ret;
-			int next = b + cid;
-			if(check.length <= next || check[next] != ni) return ret;
-			ni = next;
+			ni = getChildIndex(ni, query.charAt(ci));
+			if(ni == -1) return ret;
 			int ti = tail[ni];
 			if(ti != -1){
 				it.setIndex(ti);
@@ -254,11 +570,8 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 				if(i >= charsLen) break;
 				current.append(chars, first, i - first);
 			}
-			int cid = findCharId(chars[i]);
-			if(cid == -1) return ret;
-			int next = base[nodeIndex] + cid;
-			if(next < 0 || checkLen <= next || check[next] != nodeIndex) return ret;
-			nodeIndex = next;
+			nodeIndex = getChildIndex(nodeIndex, chars[i]);
+			if(nodeIndex == -1) return ret;
 			current.append(chars[i]);
 		}
 		Deque<Pair<Integer, char[]>> q = new LinkedList<Pair<Integer,char[]>>();
@@ -283,7 +596,7 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 			if(b == BASE_EMPTY) continue;
 			for(char v : this.chars){
 				int next = b + charToCode[v];
-				if(next >= checkLen) continue;
+				if(next < 0 || next >= checkLen) continue;
 				if(check[next] == ni){
 					StringBuilder bu = new StringBuilder(buff);
 					bu.append(v);
@@ -571,7 +884,7 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 	}
 
 	private int findInsertOffset(int[] heads, int minHead, int maxHead){
-		for(int empty = findFirstEmptyCheck(); ; empty = findNextEmptyCheck(empty)){
+		for(int empty = findFirstEmptyCheck(heads.length); ; empty = findNextEmptyCheck(empty, heads.length)){
 			int offset = empty - minHead;
 			if((offset + maxHead) >= check.length){
 				extend(offset + maxHead);
@@ -597,10 +910,23 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 		return v;
 	}
 
-	private int findCharId(char c){
-		char v = charToCode[c];
-		if(v != 0) return v;
-		return -1;
+	private char[] listupChars(){
+		char[] ret = new char[chars.size()];
+		int i = 0;
+		for(char c : chars){
+			ret[i++] = c;
+		}
+		return ret;
+	}
+
+	private int getChildIndex(int nodeIndex, char c){
+		int cid = charToCode[c];
+		if(cid == 0) return -1;
+		int b = base[nodeIndex];
+		if(b == BASE_EMPTY) return -1;
+		int next = b + cid;
+		if(next < 0 || next >= check.length || check[next] != nodeIndex) return -1;
+		return next;
 	}
 
 	private void extend(int i){
@@ -615,52 +941,31 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 		Arrays.fill(tail, sz, nsz, -1);
 	}
 
-	private int findFirstEmptyCheck(){
-		int i = firstEmptyCheck;
-		while(check[i] >= 0 || base[i] != BASE_EMPTY){
-			i++;
+	private int findFirstEmptyCheck(int childrenCount){
+		int i = emptySlots.first(childrenCount);
+		while(i == -1){
+			i = addEmptySlotBlock();
 		}
-		firstEmptyCheck = i;
+		if(childrenCount == 1) firstEmptyCheck = i;
 		return i;
 	}
 
-	private int findNextEmptyCheck(int i){
-/*
-		for(i++; i < check.length; i++){
-			if(check[i] < 0) return i;
-		}
-		extend(i);
-		return i;
-/*/
-		int d = check[i] * -1;
-		if(d <= 0){
-			throw new RuntimeException();
-		}
-		int prev = i;
-		i += d;
-		if(i >= check.length){
-			extend(i);
-			return i;
+	private int findNextEmptyCheck(int i, int childrenCount){
+		int n = emptySlots.next(i, childrenCount);
+		while(n == -1){
+			n = addEmptySlotBlock();
 		}
-		if(check[i] < 0){
-			return i;
-		}
-		for(i++; i < check.length; i++){
-			if(check[i] < 0){
-				check[prev] = prev - i;
-				return i;
-			}
-		}
-		extend(i);
-		check[prev] = prev - i;
-		return i;
-//*/
+		return n;
+	}
+
+	private int addEmptySlotBlock(){
+		int end = emptySlots.capacity() + EmptySlotList.BLOCK_SIZE;
+		if(end > check.length) extend(end);
+		return emptySlots.addBlock(check, base, BASE_EMPTY);
 	}
 
 	private void setCheck(int index, int value){
-		if(firstEmptyCheck == index){
-			firstEmptyCheck = findNextEmptyCheck(firstEmptyCheck);
-		}
+		emptySlots.use(index);
 		check[index] = value;
 		last = Math.max(last, index);
 	}
@@ -671,10 +976,13 @@ public class TailDoubleArray extends AbstractTermIdTrie implements TermIdTrie, E
 	private int[] tail;
 	private int firstEmptyCheck = 1;
 	private int last;
+	private EmptySlotList emptySlots;
 	private SuccinctBitVector term;
 	private CharSequence tails;
 	private Set<Character> chars = new TreeSet<Character>();
 	private char[] charToCode = new char[Character.MAX_VALUE];
+	// built lazily by getCodeToChar() and published to other threads.
+	private volatile char[] codeToChar;
 	private static final TermIdNode[] emptyNodes = {};
 	private static final int BASE_EMPTY = Integer.MAX_VALUE;
 
@@ -0,0 +1,676 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.trie4j.AbstractLookupCursor;
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.ByteTermIdVisitor;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.TermIdVisitor;
+import org.trie4j.Trie;
+import org.trie4j.bv.LongsSuccinctBitVector;
+import org.trie4j.bv.SuccinctBitVector;
+import org.trie4j.util.FastBitSet;
+import org.trie4j.util.Pair;
+
+/**
+ * Read-only double array whose transitions are the UTF-8 bytes of keys, so
+ * keys held in byte[] or {@link ByteBuffer} (e.g. read from files or
+ * sockets) are looked up without decoding them to String. The alphabet is
+ * at most 256 codes, so the arrays are denser than {@link DoubleArray}
+ * for keys having many distinct chars. String methods encode queries
+ * while walking. Unpaired surrogates are stored as their 3 byte forms, so
+ * any String can be a key.
+ * Term ids are the same as {@link DoubleArray}: the rank of the slot.
+ * @author agent
+ */
+public class Utf8DoubleArray
+extends AbstractTermIdTrie
+implements Serializable, TermIdTrie{
+	public Utf8DoubleArray(Trie orig){
+		List<byte[]> keys = new ArrayList<byte[]>(orig.size());
+		for(String k : orig.predictiveSearch("")){
+			keys.add(encode(k));
+		}
+		Collections.sort(keys, new Comparator<byte[]>(){
+			@Override
+			public int compare(byte[] a, byte[] b) {
+				int n = Math.min(a.length, b.length);
+				for(int i = 0; i < n; i++){
+					int d = (a[i] & 0xff) - (b[i] & 0xff);
+					if(d != 0) return d;
+				}
+				return a.length - b.length;
+			}
+		});
+		size = keys.size();
+		int arraySize = Math.max(size * 2, 2);
+		base = new int[arraySize];
+		Arrays.fill(base, BASE_EMPTY);
+		check = new int[arraySize];
+		Arrays.fill(check, -1);
+		FastBitSet bs = new FastBitSet();
+		emptySlots = new EmptySlotList();
+		addEmptySlotBlock();
+		emptySlots.use(0);
+		boolean[] used = new boolean[CODE_COUNT + 1];
+		if(size > 0) build(keys, 0, size, 0, 0, bs, used);
+		bs.unsetIfLE(last);
+		emptySlots = null;
+		base = Arrays.copyOf(base, last + 1);
+		check = Arrays.copyOf(check, last + 1);
+		term = new LongsSuccinctBitVector(bs.getBytes(), bs.size());
+		int n = 0;
+		for(boolean u : used) if(u) n++;
+		codes = new int[n];
+		n = 0;
+		for(int i = 1; i <= CODE_COUNT; i++){
+			if(used[i]) codes[n++] = i;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the count of slots including empty ones.
+	 */
+	public int getSlotCount(){
+		return base.length;
+	}
+
+	@Override
+	public TermIdNode getRoot() {
+		return new Utf8Node(0, EMPTY_LETTERS);
+	}
+
+	/**
+	 * Node of chars. A child whose letter is a supplementary char has the
+	 * surrogate pair as its letters.
+	 */
+	private class Utf8Node implements TermIdNode{
+		public Utf8Node(int nodeId, char[] letters){
+			this.nodeId = nodeId;
+			this.letters = letters;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return letters;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return term.get(nodeId);
+		}
+
+		@Override
+		public int getTermId() {
+			return termId(nodeId);
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			if(Character.isSurrogate(c)){
+				for(TermIdNode n : getChildren()){
+					if(n.getLetters()[0] == c) return n;
+				}
+				return null;
+			}
+			int next = stepCodePoint(nodeId, c);
+			return next == -1 ? null : new Utf8Node(next, new char[]{c});
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			List<TermIdNode> ret = new ArrayList<TermIdNode>();
+			listupChildren(nodeId, 0, 0, ret);
+			return ret.toArray(new TermIdNode[ret.size()]);
+		}
+
+		/**
+		 * Lists up the nodes after the rest bytes of current code point.
+		 */
+		private void listupChildren(int ni, int rest, int cp, List<TermIdNode> ret){
+			for(int code : codes){
+				int b = code - 1;
+				if(rest > 0 && (b & 0xc0) != 0x80) continue;
+				int next = step(ni, b);
+				if(next == -1) continue;
+				if(rest > 0){
+					int v = cp << 6 | b & 0x3f;
+					if(rest == 1) ret.add(new Utf8Node(next, Character.toChars(v)));
+					else listupChildren(next, rest - 1, v, ret);
+				} else if(b < 0x80){
+					ret.add(new Utf8Node(next, new char[]{(char)b}));
+				} else if(b < 0xe0){
+					listupChildren(next, 1, b & 0x1f, ret);
+				} else if(b < 0xf0){
+					listupChildren(next, 2, b & 0x0f, ret);
+				} else{
+					listupChildren(next, 3, b & 0x07, ret);
+				}
+			}
+		}
+
+		private int nodeId;
+		private char[] letters;
+	}
+
+	@Override
+	public int getTermId(String text) {
+		return termId(walk(0, text, 0, text.length()));
+	}
+
+	/**
+	 * Returns the term id of the key bytes[offset, offset + length), or -1
+	 * if it is not in this trie.
+	 */
+	public int getTermId(byte[] bytes, int offset, int length){
+		int ni = 0;
+		for(int i = offset, end = offset + length; i < end && ni != -1; i++){
+			ni = step(ni, bytes[i]);
+		}
+		return termId(ni);
+	}
+
+	/**
+	 * Returns the term id of the key between the position and the limit of
+	 * buffer, or -1 if it is not in this trie. The position of buffer is
+	 * not changed.
+	 */
+	public int getTermId(ByteBuffer buffer){
+		int ni = 0;
+		for(int i = buffer.position(), end = buffer.limit(); i < end && ni != -1; i++){
+			ni = step(ni, buffer.get(i));
+		}
+		return termId(ni);
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		byte[] bytes = getKeyBytes(termId);
+		if(bytes == null) return false;
+		decode(bytes, 0, bytes.length, buffer);
+		return true;
+	}
+
+	/**
+	 * Returns the UTF-8 bytes of the key of termId, or null if termId is
+	 * out of range.
+	 */
+	public byte[] getKeyBytes(int termId){
+		if(termId < 0 || termId >= size) return null;
+		byte[] ret = new byte[16];
+		int n = 0;
+		// walk up to root via check and append bytes in reverse order.
+		for(int idx = term.select1(termId + 1); idx != 0; ){
+			int parent = check[idx];
+			if(n == ret.length) ret = Arrays.copyOf(ret, n * 2);
+			ret[n++] = (byte)(idx - base[parent] - 1);
+			idx = parent;
+		}
+		for(int i = 0, j = n - 1; i < j; i++, j--){
+			byte b = ret[i];
+			ret[i] = ret[j];
+			ret[j] = b;
+		}
+		return Arrays.copyOf(ret, n);
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new AbstractLookupCursor(){
+			@Override
+			public void reset() {
+				nodeIndex = 0;
+				highSurrogate = 0;
+			}
+
+			@Override
+			public boolean next(char c) {
+				if(nodeIndex == -1) return false;
+				if(highSurrogate != 0){
+					char h = highSurrogate;
+					highSurrogate = 0;
+					if(Character.isLowSurrogate(c)){
+						nodeIndex = stepCodePoint(nodeIndex, Character.toCodePoint(h, c));
+						return nodeIndex != -1;
+					}
+					nodeIndex = stepCodePoint(nodeIndex, h);
+					if(nodeIndex == -1) return false;
+				}
+				if(Character.isHighSurrogate(c)){
+					// wait for the next char which may be the low surrogate.
+					highSurrogate = c;
+					return true;
+				}
+				nodeIndex = stepCodePoint(nodeIndex, c);
+				return nodeIndex != -1;
+			}
+
+			@Override
+			public boolean isTerminate() {
+				return getTermId() != -1;
+			}
+
+			@Override
+			public int getTermId() {
+				int ni = highSurrogate != 0 ? stepCodePoint(nodeIndex, highSurrogate) : nodeIndex;
+				return termId(ni);
+			}
+
+			private int nodeIndex;
+			private char highSurrogate;
+		};
+	}
+
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		int ni = 0;
+		for(int i = start; i < end; i++){
+			int cp = chars.charAt(i);
+			if(Character.isHighSurrogate((char)cp) && i + 1 < end && Character.isLowSurrogate(chars.charAt(i + 1))){
+				cp = Character.toCodePoint((char)cp, chars.charAt(++i));
+			}
+			ni = stepCodePoint(ni, cp);
+			if(ni == -1) return;
+			if(term.get(ni) && !visitor.visit(chars, start, i + 1, term.rank1(ni) - 1)) return;
+		}
+	}
+
+	/**
+	 * Calls visitor for each key which is a prefix of bytes[offset, offset + length).
+	 * The visitor receives bytes itself.
+	 */
+	public void commonPrefixSearch(byte[] bytes, int offset, int length,
+			ByteTermIdVisitor visitor){
+		int ni = 0;
+		for(int i = offset, end = offset + length; i < end; i++){
+			ni = step(ni, bytes[i]);
+			if(ni == -1) return;
+			if(term.get(ni) && !visitor.visit(bytes, offset, i + 1, term.rank1(ni) - 1)) return;
+		}
+	}
+
+	/**
+	 * Calls visitor for each key which is a prefix of the bytes between the
+	 * position and the limit of buffer. The position of buffer is not
+	 * changed. The visitor receives the backing array of buffer if it has
+	 * one, or a copy of the found key.
+	 */
+	public void commonPrefixSearch(ByteBuffer buffer, ByteTermIdVisitor visitor){
+		if(buffer.hasArray()){
+			commonPrefixSearch(buffer.array(), buffer.arrayOffset() + buffer.position(),
+					buffer.remaining(), visitor);
+			return;
+		}
+		int start = buffer.position();
+		byte[] b = null;
+		int ni = 0;
+		for(int i = start, end = buffer.limit(); i < end; i++){
+			ni = step(ni, buffer.get(i));
+			if(ni == -1) return;
+			if(!term.get(ni)) continue;
+			int n = i + 1 - start;
+			if(b == null) b = new byte[buffer.remaining()];
+			for(int j = 0; j < n; j++){
+				b[j] = buffer.get(start + j);
+			}
+			if(!visitor.visit(b, 0, n, term.rank1(ni) - 1)) return;
+		}
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(
+			String query) {
+		final List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		commonPrefixSearch(query, 0, query.length(), new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				ret.add(Pair.create(chars.subSequence(start, end).toString(), termId));
+				return true;
+			}
+		});
+		return ret;
+	}
+
+	@Override
+	public int findWord(CharSequence chars, int start, int end, StringBuilder word) {
+		for(int i = start; i < end; i++){
+			int ni = 0;
+			for(int j = i; j < end; j++){
+				int cp = chars.charAt(j);
+				if(Character.isHighSurrogate((char)cp) && j + 1 < end && Character.isLowSurrogate(chars.charAt(j + 1))){
+					cp = Character.toCodePoint((char)cp, chars.charAt(++j));
+				}
+				ni = stepCodePoint(ni, cp);
+				if(ni == -1) break;
+				if(term.get(ni)){
+					if(word != null) word.append(chars, i, j + 1);
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
+			String prefix) {
+		final List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		byte[] p = encode(prefix);
+		final StringBuilder b = new StringBuilder();
+		predictiveSearch(p, 0, p.length, new ByteTermIdVisitor(){
+			@Override
+			public boolean visit(byte[] bytes, int start, int end, int termId) {
+				b.setLength(0);
+				decode(bytes, start, end, b);
+				ret.add(Pair.create(b.toString(), termId));
+				return true;
+			}
+		});
+		return ret;
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, final TermIdVisitor visitor) {
+		byte[] p = encode(prefix);
+		final StringBuilder b = new StringBuilder();
+		predictiveSearch(p, 0, p.length, new ByteTermIdVisitor(){
+			@Override
+			public boolean visit(byte[] bytes, int start, int end, int termId) {
+				b.setLength(0);
+				decode(bytes, start, end, b);
+				return visitor.visit(b, 0, b.length(), termId);
+			}
+		});
+	}
+
+	/**
+	 * Calls visitor for each key which starts with bytes[offset, offset + length)
+	 * in ascending order of bytes, which is the order of code points. The
+	 * visitor receives a buffer shared by all keys found in this call.
+	 */
+	public void predictiveSearch(byte[] bytes, int offset, int length,
+			ByteTermIdVisitor visitor){
+		int ni = 0;
+		for(int i = offset, end = offset + length; i < end && ni != -1; i++){
+			ni = step(ni, bytes[i]);
+		}
+		if(ni == -1) return;
+		byte[] b = Arrays.copyOfRange(bytes, offset, offset + Math.max(length, 16));
+		predictiveSearch(ni, b, length, visitor);
+	}
+
+	/**
+	 * Calls visitor for each key which starts with the bytes between the
+	 * position and the limit of buffer. The position of buffer is not
+	 * changed.
+	 */
+	public void predictiveSearch(ByteBuffer buffer, ByteTermIdVisitor visitor){
+		int start = buffer.position();
+		int length = buffer.remaining();
+		int ni = 0;
+		for(int i = start, end = buffer.limit(); i < end && ni != -1; i++){
+			ni = step(ni, buffer.get(i));
+		}
+		if(ni == -1) return;
+		byte[] b = new byte[Math.max(length, 16)];
+		for(int i = 0; i < length; i++){
+			b[i] = buffer.get(start + i);
+		}
+		predictiveSearch(ni, b, length, visitor);
+	}
+
+	/**
+	 * Visits the keys under nodeIndex. b[0, length) holds the bytes to
+	 * nodeIndex and is extended as needed.
+	 */
+	private void predictiveSearch(int nodeIndex, byte[] b, int length,
+			ByteTermIdVisitor visitor){
+		// stack of (node index, code, length of b before code)
+		int[] stack = new int[48];
+		int sp = 0;
+		stack[sp++] = nodeIndex; stack[sp++] = 0; stack[sp++] = length;
+		while(sp > 0){
+			int len = stack[--sp];
+			int code = stack[--sp];
+			int ni = stack[--sp];
+			if(code != 0){
+				if(len == b.length) b = Arrays.copyOf(b, len * 2);
+				b[len++] = (byte)(code - 1);
+			}
+			if(term.get(ni) && !visitor.visit(b, 0, len, term.rank1(ni) - 1)) return;
+			int bs = base[ni];
+			if(bs == BASE_EMPTY) continue;
+			// push children in descending order to visit them in ascending order.
+			for(int i = codes.length - 1; i >= 0; i--){
+				int next = bs + codes[i];
+				if(next < 0 || next >= check.length || check[next] != ni) continue;
+				if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = next; stack[sp++] = codes[i]; stack[sp++] = len;
+			}
+		}
+	}
+
+	private void build(List<byte[]> keys, int start, int end, int depth, int nodeIndex,
+			FastBitSet bs, boolean[] used){
+		if(keys.get(start).length == depth){
+			bs.set(nodeIndex);
+			start++;
+		} else{
+			bs.unsetIfLE(nodeIndex);
+		}
+		if(start == end) return;
+
+		// keys are sorted, so the keys having the same byte at depth are adjacent.
+		int[] heads = new int[Math.min(end - start, CODE_COUNT)];
+		int[] starts = new int[heads.length + 1];
+		int n = 0;
+		for(int i = start; i < end; i++){
+			int code = (keys.get(i)[depth] & 0xff) + 1;
+			if(n == 0 || heads[n - 1] != code){
+				heads[n] = code;
+				starts[n++] = i;
+			}
+		}
+		starts[n] = end;
+		heads = Arrays.copyOf(heads, n);
+		int offset = findInsertOffset(heads, heads[0], heads[n - 1]);
+		base[nodeIndex] = offset;
+		for(int code : heads){
+			setCheck(offset + code, nodeIndex);
+			used[code] = true;
+		}
+		for(int i = 0; i < n; i++){
+			build(keys, starts[i], starts[i + 1], depth + 1, offset + heads[i], bs, used);
+		}
+	}
+
+	private int findInsertOffset(int[] heads, int minHead, int maxHead){
+		for(int empty = findFirstEmptyCheck(heads.length); ; empty = findNextEmptyCheck(empty, heads.length)){
+			int offset = empty - minHead;
+			if((offset + maxHead) >= check.length){
+				extend(offset + maxHead);
+			}
+			boolean found = true;
+			for(int code : heads){
+				if(check[offset + code] >= 0){
+					found = false;
+					break;
+				}
+			}
+			if(found) return offset;
+		}
+	}
+
+	private void extend(int i){
+		int sz = base.length;
+		int nsz = Math.max(i + 0xFFFF, (int)(sz * 1.5));
+		base = Arrays.copyOf(base, nsz);
+		Arrays.fill(base, sz, nsz, BASE_EMPTY);
+		check = Arrays.copyOf(check, nsz);
+		Arrays.fill(check, sz, nsz, -1);
+	}
+
+	private int findFirstEmptyCheck(int childrenCount){
+		int i = emptySlots.first(childrenCount);
+		while(i == -1){
+			i = addEmptySlotBlock();
+		}
+		return i;
+	}
+
+	private int findNextEmptyCheck(int i, int childrenCount){
+		int n = emptySlots.next(i, childrenCount);
+		while(n == -1){
+			n = addEmptySlotBlock();
+		}
+		return n;
+	}
+
+	private int addEmptySlotBlock(){
+		int end = emptySlots.capacity() + EmptySlotList.BLOCK_SIZE;
+		if(end > check.length) extend(end);
+		return emptySlots.addBlock(check, base, BASE_EMPTY);
+	}
+
+	private void setCheck(int index, int id){
+		emptySlots.use(index);
+		check[index] = id;
+		last = Math.max(last, index);
+	}
+
+	private int walk(int nodeIndex, CharSequence chars, int start, int end){
+		for(int i = start; i < end && nodeIndex != -1; i++){
+			int cp = chars.charAt(i);
+			if(Character.isHighSurrogate((char)cp) && i + 1 < end && Character.isLowSurrogate(chars.charAt(i + 1))){
+				cp = Character.toCodePoint((char)cp, chars.charAt(++i));
+			}
+			nodeIndex = stepCodePoint(nodeIndex, cp);
+		}
+		return nodeIndex;
+	}
+
+	/**
+	 * Walks the UTF-8 bytes of cp, which is a code point or an unpaired
+	 * surrogate.
+	 */
+	private int stepCodePoint(int nodeIndex, int cp){
+		if(cp < 0x80) return step(nodeIndex, cp);
+		if(cp < 0x800){
+			return step(step(nodeIndex, 0xc0 | cp >> 6), 0x80 | cp & 0x3f);
+		}
+		if(cp < 0x10000){
+			return step(step(step(nodeIndex, 0xe0 | cp >> 12),
+					0x80 | cp >> 6 & 0x3f), 0x80 | cp & 0x3f);
+		}
+		return step(step(step(step(nodeIndex, 0xf0 | cp >> 18),
+				0x80 | cp >> 12 & 0x3f), 0x80 | cp >> 6 & 0x3f), 0x80 | cp & 0x3f);
+	}
+
+	/**
+	 * Returns the child of nodeIndex by byte b, or -1 if nodeIndex is -1
+	 * or there is no such child.
+	 */
+	private int step(int nodeIndex, int b){
+		if(nodeIndex == -1) return -1;
+		int bs = base[nodeIndex];
+		if(bs == BASE_EMPTY) return -1;
+		int next = bs + (b & 0xff) + 1;
+		if(next < 0 || next >= check.length || check[next] != nodeIndex) return -1;
+		return next;
+	}
+
+	private int termId(int nodeIndex){
+		return nodeIndex != -1 && term.get(nodeIndex) ? term.rank1(nodeIndex) - 1 : -1;
+	}
+
+	private static byte[] encode(CharSequence chars){
+		int n = chars.length();
+		byte[] ret = new byte[n * 3];
+		int len = 0;
+		for(int i = 0; i < n; i++){
+			int cp = chars.charAt(i);
+			if(Character.isHighSurrogate((char)cp) && i + 1 < n && Character.isLowSurrogate(chars.charAt(i + 1))){
+				cp = Character.toCodePoint((char)cp, chars.charAt(++i));
+			}
+			if(cp < 0x80){
+				ret[len++] = (byte)cp;
+			} else if(cp < 0x800){
+				ret[len++] = (byte)(0xc0 | cp >> 6);
+				ret[len++] = (byte)(0x80 | cp & 0x3f);
+			} else if(cp < 0x10000){
+				ret[len++] = (byte)(0xe0 | cp >> 12);
+				ret[len++] = (byte)(0x80 | cp >> 6 & 0x3f);
+				ret[len++] = (byte)(0x80 | cp & 0x3f);
+			} else{
+				// 4 bytes from 2 chars, so ret never overflows.
+				ret[len++] = (byte)(0xf0 | cp >> 18);
+				ret[len++] = (byte)(0x80 | cp >> 12 & 0x3f);
+				ret[len++] = (byte)(0x80 | cp >> 6 & 0x3f);
+				ret[len++] = (byte)(0x80 | cp & 0x3f);
+			}
+		}
+		return Arrays.copyOf(ret, len);
+	}
+
+	private static void decode(byte[] bytes, int start, int end, StringBuilder buffer){
+		for(int i = start; i < end;){
+			int b = bytes[i] & 0xff;
+			if(b < 0x80){
+				buffer.append((char)b);
+				i++;
+			} else if(b < 0xe0){
+				buffer.append((char)((b & 0x1f) << 6 | bytes[i + 1] & 0x3f));
+				i += 2;
+			} else if(b < 0xf0){
+				buffer.append((char)((b & 0x0f) << 12 | (bytes[i + 1] & 0x3f) << 6 | bytes[i + 2] & 0x3f));
+				i += 3;
+			} else{
+				buffer.appendCodePoint((b & 0x07) << 18 | (bytes[i + 1] & 0x3f) << 12 |
+						(bytes[i + 2] & 0x3f) << 6 | bytes[i + 3] & 0x3f);
+				i += 4;
+			}
+		}
+	}
+
+	private int size;
+	private int[] base;
+	private int[] check;
+	private int last;
+	private int[] codes;
+	private transient EmptySlotList emptySlots;
+	private SuccinctBitVector term;
+	private static final int BASE_EMPTY = DoubleArray.BASE_EMPTY;
+	private static final int CODE_COUNT = 256;
+	private static final char[] EMPTY_LETTERS = {};
+	private static final long serialVersionUID = 4017613275342609845L;
+}
@@ -15,23 +15,30 @@
  */
 package org.trie4j.louds;
 
+import java.io.EOFException;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.OptionalDataException;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+import org.trie4j.AbstractLookupCursor;
 import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
 import org.trie4j.Node;
 import org.trie4j.TermIdNode;
 import org.trie4j.TermIdTrie;
+import org.trie4j.TermIdVisitor;
 import org.trie4j.Trie;
-import org.trie4j.bv.Rank1OnlySuccinctBitVector;
+import org.trie4j.automaton.Automaton;
+import org.trie4j.bv.LongsSuccinctBitVector;
 import org.trie4j.bv.SuccinctBitVector;
 import org.trie4j.louds.bvtree.BvTree;
 import org.trie4j.louds.bvtree.LOUDSBvTree;
@@ -40,6 +47,7 @@ import org.trie4j.tail.TailArray;
 import org.trie4j.tail.TailCharIterator;
 import org.trie4j.util.BitSet;
 import org.trie4j.util.FastBitSet;
+import org.trie4j.util.LevenshteinAutomaton;
 import org.trie4j.util.Pair;
 import org.trie4j.util.Range;
 
@@ -58,14 +66,53 @@ implements Externalizable, TermIdTrie{
 	}
 
 	public AbstractTailLOUDSTrie(Trie orig, BvTree bvtree, TailArray tailArray){
+		this(orig, bvtree, tailArray, false);
+	}
+
+	public AbstractTailLOUDSTrie(Trie orig, BvTree bvtree, TailArray tailArray, boolean lexicographicTermIds){
 		this(orig, bvtree, tailArray,
-				new NodeListener(){ public void listen(Node node, int id){}});
+				new NodeListener(){ public void listen(Node node, int id){}},
+				lexicographicTermIds);
 	}
 
 	public AbstractTailLOUDSTrie(Trie orig, BvTree bvtree, TailArray tailArray, NodeListener listener){
+		this(orig, bvtree, tailArray, listener, false);
+	}
+
+	/**
+	 * If lexicographicTermIds is true, term ids are assigned in
+	 * lexicographic order of keys instead of the order of nodes and
+	 * {@link #rank(String)}, {@link #countRange(String, String)},
+	 * {@link #keyAt(int)} and {@link #rangeSearch(String, String)} are
+	 * available. This costs an int per node.
+	 * Note that ids given to listener are node ids.
+	 */
+	public AbstractTailLOUDSTrie(Trie orig, BvTree bvtree, TailArray tailArray, NodeListener listener,
+			boolean lexicographicTermIds){
 		FastBitSet bs = new FastBitSet(orig.size());
 		build(orig, bvtree, tailArray, bs, listener);
-		this.term = new Rank1OnlySuccinctBitVector(bs.getBytes(), bs.size());
+		this.term = new LongsSuccinctBitVector(bs.getBytes(), bs.size());
+		if(lexicographicTermIds) buildLexIds();
+	}
+
+	/**
+	 * Builds trie from keys sorted in ascending order (String.compareTo
+	 * order) without a source trie. Only the levels of nodes written so
+	 * far and the last key are kept while reading keys. Duplicated keys are
+	 * ignored.
+	 * @throws IllegalArgumentException if keys are not sorted.
+	 */
+	public AbstractTailLOUDSTrie(Iterator<? extends CharSequence> sortedKeys, BvTree bvtree, TailArray tailArray,
+			boolean lexicographicTermIds){
+		SortedKeysLOUDSBuilder nodes = new SortedKeysLOUDSBuilder();
+		while(sortedKeys.hasNext()){
+			nodes.add(sortedKeys.next());
+		}
+		nodes.finish();
+		FastBitSet bs = new FastBitSet(nodes.size());
+		build(nodes, bvtree, tailArray, bs);
+		this.term = new LongsSuccinctBitVector(bs.getBytes(), bs.size());
+		if(lexicographicTermIds) buildLexIds();
 	}
 
 	@Override
@@ -109,7 +156,224 @@ implements Externalizable, TermIdTrie{
 	public int getTermId(String text){
 		int nodeId = getNodeId(text);
 		if(nodeId == -1) return -1;
-		return term.get(nodeId) ? term.rank1(nodeId) - 1 : -1;
+		return term.get(nodeId) ? termId(nodeId) : -1;
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		if(lexIds != null){
+			descend(termId, buffer);
+			return true;
+		}
+		int nodeId = term.select1(termId + 1);
+		// collect node ids from the node to root, then append letters from root.
+		int[] path = new int[16];
+		int n = 0;
+		for(; nodeId != -1; nodeId = bvtree.getParentNodeId(nodeId)){
+			if(n == path.length) path = Arrays.copyOf(path, n * 2);
+			path[n++] = nodeId;
+		}
+		TailCharIterator it = tailArray.newIterator();
+		while(n > 0){
+			int nid = path[--n];
+			char label = labels[nid];
+			if(label != 0xffff) buffer.append(label);
+			it.setOffset(tailArray.getIteratorOffset(nid));
+			while(it.hasNext()) buffer.append(it.next());
+		}
+		return true;
+	}
+
+	public boolean isLexicographicTermIds(){
+		return lexIds != null;
+	}
+
+	/**
+	 * Returns the count of keys less than key. Available if term ids are
+	 * lexicographic.
+	 * @throws IllegalStateException if term ids are not lexicographic.
+	 */
+	public int rank(String key){
+		checkLexIds();
+		if(nodeSize == 0) return 0;
+		int nodeId = 0; // root
+		int end = size; // end of term ids in the subtree of nodeId
+		Range r = new Range();
+		TailCharIterator it = tailArray.newIterator();
+		int n = key.length();
+		int i = 0;
+		while(i < n){
+			char c = key.charAt(i++);
+			bvtree.getChildNodeIds(nodeId, r);
+			int child = lowerChild(r, c);
+			if(child == r.getEnd()) return end;
+			if(labels[child] != c) return lexIds[child];
+			if(child + 1 < r.getEnd()) end = lexIds[child + 1];
+			nodeId = child;
+			it.setOffset(tailArray.getIteratorOffset(nodeId));
+			while(it.hasNext()){
+				// key ends inside the tail or differs from the tail.
+				if(i == n) return lexIds[nodeId];
+				char tc = it.next();
+				char kc = key.charAt(i++);
+				if(kc < tc) return lexIds[nodeId];
+				if(kc > tc) return end;
+			}
+		}
+		return lexIds[nodeId];
+	}
+
+	/**
+	 * Returns the count of keys k such that from &lt;= k &lt; to.
+	 * Null means no bound. Available if term ids are lexicographic.
+	 * @throws IllegalStateException if term ids are not lexicographic.
+	 */
+	public int countRange(String from, String to){
+		checkLexIds();
+		int lo = from == null ? 0 : rank(from);
+		int hi = to == null ? size : rank(to);
+		return Math.max(0, hi - lo);
+	}
+
+	/**
+	 * Returns the index-th key in lexicographic order. Available if term
+	 * ids are lexicographic, then this is same as getKey(index).
+	 * @throws IllegalStateException if term ids are not lexicographic.
+	 */
+	public String keyAt(int index){
+		checkLexIds();
+		if(index < 0 || index >= size) return null;
+		StringBuilder b = new StringBuilder();
+		descend(index, b);
+		return b.toString();
+	}
+
+	/**
+	 * Returns lazy Iterable of keys k such that from &lt;= k &lt; to in
+	 * lexicographic order. Null means no bound. Available if term ids are
+	 * lexicographic.
+	 * @throws IllegalStateException if term ids are not lexicographic.
+	 */
+	public Iterable<String> rangeSearch(String from, String to){
+		checkLexIds();
+		final int lo = from == null ? 0 : rank(from);
+		final int hi = Math.max(lo, to == null ? size : rank(to));
+		return new Iterable<String>(){
+			@Override
+			public Iterator<String> iterator() {
+				return new Iterator<String>(){
+					@Override
+					public boolean hasNext() {
+						return index < hi;
+					}
+
+					@Override
+					public String next() {
+						if(index >= hi) throw new NoSuchElementException();
+						b.setLength(0);
+						descend(index++, b);
+						return b.toString();
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+
+					private int index = lo;
+					private StringBuilder b = new StringBuilder();
+				};
+			}
+		};
+	}
+
+	/**
+	 * Keeps the node and the tail position of each depth of the previous
+	 * key and resumes the walk from the common prefix. Keys are grouped by
+	 * their first char first as each child lookup costs select and rank.
+	 */
+	@Override
+	protected void getTermIds(CharSequence[] keys, int[] order, int start, int end, int[] out) {
+		groupByFirstChar(keys, order, start, end);
+		// nodes[d] and offsets[d] (offset of the next tail char or -1) are
+		// reached by the first d chars of prev. [0, valid] are walked.
+		int[] nodes = new int[16];
+		int[] offsets = new int[16];
+		offsets[0] = -1;
+		int valid = 0;
+		CharSequence prev = "";
+		Range r = new Range();
+		TailCharIterator it = tailArray.newIterator();
+		for(int i = start; i < end; i++){
+			CharSequence key = keys[order[i]];
+			int n = key.length();
+			if(n >= nodes.length){
+				int sz = Math.max(n + 1, nodes.length * 2);
+				nodes = Arrays.copyOf(nodes, sz);
+				offsets = Arrays.copyOf(offsets, sz);
+			}
+			int d = Math.min(valid, commonPrefixLength(prev, key));
+			int nodeId = nodes[d];
+			it.setOffset(offsets[d]);
+			while(d < n){
+				char c = key.charAt(d);
+				if(it.hasNext()){
+					if(it.next() != c) break;
+				} else{
+					nodeId = getChildNode(nodeId, c, r);
+					if(nodeId == -1) break;
+					it.setOffset(tailArray.getIteratorOffset(nodeId));
+				}
+				d++;
+				nodes[d] = nodeId;
+				offsets[d] = it.getNextIndex();
+			}
+			valid = d;
+			out[order[i]] = d == n && !it.hasNext() && term.get(nodeId) ? termId(nodeId) : -1;
+			prev = key;
+		}
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new LOUDSLookupCursor();
+	}
+
+	private class LOUDSLookupCursor extends AbstractLookupCursor{
+		@Override
+		public void reset() {
+			nodeId = 0;
+			it.setOffset(-1);
+		}
+
+		@Override
+		public boolean next(char c) {
+			if(nodeId == -1) return false;
+			if(it.hasNext()){
+				if(it.next() == c) return true;
+				nodeId = -1;
+				return false;
+			}
+			nodeId = getChildNode(nodeId, c, r);
+			if(nodeId == -1) return false;
+			it.setOffset(tailArray.getIteratorOffset(nodeId));
+			return true;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return nodeId != -1 && !it.hasNext() && term.get(nodeId);
+		}
+
+		@Override
+		public int getTermId() {
+			return isTerminate() ? termId(nodeId) : -1;
+		}
+
+		private int nodeId;
+		private Range r = new Range();
+		private TailCharIterator it = tailArray.newIterator();
 	}
 
 	@Override
@@ -160,6 +424,39 @@ implements Externalizable, TermIdTrie{
 		tailArray.freeze();
 	}
 
+	private void build(SortedKeysLOUDSBuilder nodes, BvTree bvtree, TailArray tailArray,
+			FastBitSet termBs){
+		this.tailArray = tailArray;
+		this.bvtree = bvtree;
+		this.size = nodes.size();
+		this.labels = new char[size];
+		int count = 0;
+		while(nodes.next()){
+			int index = count++;
+			if(index >= labels.length){
+				extend();
+			}
+			if(nodes.isTerminate()){
+				termBs.set(index);
+			} else if(termBs.size() <= index){
+				termBs.ensureCapacity(index);
+			}
+			for(int i = nodes.getChildrenCount(); i > 0; i--){
+				bvtree.appendChild();
+			}
+			bvtree.appendSelf();
+			labels[index] = nodes.getLabel();
+			int n = nodes.getTailLength();
+			if(n == 0){
+				tailArray.appendEmpty();
+			} else{
+				tailArray.append(nodes.getTailChars(), nodes.getTailStart(), n);
+			}
+		}
+		nodeSize = count;
+		tailArray.freeze();
+	}
+
 	public BvTree getBvTree() {
 		return bvtree;
 	}
@@ -214,7 +511,7 @@ implements Externalizable, TermIdTrie{
 			if(term.get(child)){
 				ret.add(Pair.create(
 						new String(chars, 0, charsIndex + 1),
-						child));
+						termId(child)));
 			}
 			nodeId = child;
 		}
@@ -222,47 +519,278 @@ implements Externalizable, TermIdTrie{
 	}
 
 	@Override
-	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(String query) {
-		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
-		char[] chars = query.toCharArray();
-		int charsLen = chars.length;
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
 		int nodeId = 0; // root
-		Range r = new Range();
 		TailCharIterator tci = tailArray.newIterator();
-		String pfx = null;
-		int charsIndexBack = 0;
-		for(int charsIndex = 0; charsIndex < charsLen; charsIndex++){
-			charsIndexBack = charsIndex;
-			int child = getChildNode(nodeId, chars[charsIndex], r);
-			if(child == -1) return ret;
-			tci.setOffset(tailArray.getIteratorOffset(child));
+		Range r = new Range();
+		for(int i = start; i < end; i++){
+			nodeId = getChildNode(nodeId, chars.charAt(i), r);
+			if(nodeId == -1) return;
+			tci.setOffset(tailArray.getIteratorOffset(nodeId));
 			while(tci.hasNext()){
-				charsIndex++;
-				if(charsIndex >= charsLen) break;
-				if(chars[charsIndex] != tci.next()) return ret;
+				i++;
+				if(i == end || chars.charAt(i) != tci.next()) return;
 			}
-			nodeId = child;
+			if(term.get(nodeId) && !visitor.visit(chars, start, i + 1, termId(nodeId))) return;
 		}
-		pfx = new String(chars, 0, charsIndexBack);
-
-		Deque<Pair<Integer, String>> queue = new LinkedList<Pair<Integer,String>>();
-		queue.offerLast(Pair.create(nodeId, pfx));
-		while(queue.size() > 0){
-			Pair<Integer, String> element = queue.pollFirst();
-			int nid = element.getFirst();
+	}
 
-			StringBuilder b = new StringBuilder(element.getSecond());
-			b.append(labels[nid]);
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		int nodeId = 0; // root
+		int labelIndex = 0;
+		int n = prefix.length();
+		Range r = new Range();
+		TailCharIterator tci = tailArray.newIterator();
+		for(int i = 0; i < n; i++){
+			nodeId = getChildNode(nodeId, prefix.charAt(i), r);
+			if(nodeId == -1) return;
+			labelIndex = i;
+			// prefix may end inside the tail.
+			tci.setOffset(tailArray.getIteratorOffset(nodeId));
+			while(i + 1 < n && tci.hasNext()){
+				if(prefix.charAt(++i) != tci.next()) return;
+			}
+		}
+		StringBuilder b = new StringBuilder(prefix.subSequence(0, labelIndex));
+		// stack of (node id, length of b before letters of node)
+		int[] stack = new int[32];
+		int sp = 0;
+		stack[sp++] = nodeId; stack[sp++] = labelIndex;
+		while(sp > 0){
+			int len = stack[--sp];
+			int nid = stack[--sp];
+			b.setLength(len);
+			char label = labels[nid];
+			if(label != 0xffff) b.append(label);
 			tci.setOffset(tailArray.getIteratorOffset(nid));
 			while(tci.hasNext()) b.append(tci.next());
-			String letter = b.toString();
-			if(term.get(nid)) ret.add(Pair.create(letter, nid));
+			if(term.get(nid) && !visitor.visit(b, 0, b.length(), termId(nid))) return;
 			bvtree.getChildNodeIds(nid, r);
-			for(int i = (r.getEnd() - 1); i >= r.getStart(); i--){
-				queue.offerFirst(Pair.create(i, letter));
+			// push children in descending order to visit them in ascending order.
+			for(int i = r.getEnd() - 1; i >= r.getStart(); i--){
+				if(sp + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = i; stack[sp++] = b.length();
 			}
 		}
-		return ret;
+	}
+
+	@Override
+	public void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor) {
+		if(nodeSize == 0) return;
+		LevenshteinAutomaton la = new LevenshteinAutomaton(query, maxEdits);
+		Range r = new Range();
+		TailCharIterator tci = tailArray.newIterator();
+		StringBuilder b = new StringBuilder();
+		// stack of (node id, length of b before letters of node)
+		int[] stack = new int[32];
+		int sp = 0;
+		stack[sp++] = 0; stack[sp++] = 0;
+		outer: while(sp > 0){
+			int len = stack[--sp];
+			int nid = stack[--sp];
+			b.setLength(len);
+			char label = labels[nid];
+			if(label != 0xffff){
+				if(!la.step(b.length(), label)) continue;
+				b.append(label);
+			}
+			tci.setOffset(tailArray.getIteratorOffset(nid));
+			while(tci.hasNext()){
+				char c = tci.next();
+				if(!la.step(b.length(), c)) continue outer;
+				b.append(c);
+			}
+			if(term.get(nid) && la.isMatch(b.length()) &&
+					!visitor.visit(b, 0, b.length(), termId(nid))){
+				return;
+			}
+			bvtree.getChildNodeIds(nid, r);
+			// push children in descending order to visit them in ascending order.
+			for(int i = r.getEnd() - 1; i >= r.getStart(); i--){
+				if(sp + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = i; stack[sp++] = b.length();
+			}
+		}
+	}
+
+	/**
+	 * Returns lazy Iterable. Children are visited only when the automaton
+	 * accepts their label and tail.
+	 */
+	@Override
+	public Iterable<String> automatonSearch(final Automaton automaton) {
+		return new Iterable<String>(){
+			@Override
+			public Iterator<String> iterator() {
+				return new AutomatonSearchIterator(automaton);
+			}
+		};
+	}
+
+	private class AutomatonSearchIterator implements Iterator<String>{
+		public AutomatonSearchIterator(Automaton automaton){
+			this.automaton = automaton;
+			if(nodeSize > 0){
+				stack[sp++] = 0; stack[sp++] = automaton.getInitialState(); stack[sp++] = 0;
+			}
+			findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public String next() {
+			String ret = next;
+			if(ret == null) throw new NoSuchElementException();
+			findNext();
+			return ret;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void findNext(){
+			next = null;
+			outer: while(sp > 0){
+				int len = stack[--sp];
+				int state = stack[--sp];
+				int nid = stack[--sp];
+				b.setLength(len);
+				char label = labels[nid];
+				if(label != 0xffff){
+					state = automaton.step(state, label);
+					if(state == -1) continue;
+					b.append(label);
+				}
+				tci.setOffset(tailArray.getIteratorOffset(nid));
+				while(tci.hasNext()){
+					char c = tci.next();
+					state = automaton.step(state, c);
+					if(state == -1) continue outer;
+					b.append(c);
+				}
+				bvtree.getChildNodeIds(nid, r);
+				// push children in descending order to visit them in ascending order.
+				for(int i = r.getEnd() - 1; i >= r.getStart(); i--){
+					if(sp + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+					stack[sp++] = i; stack[sp++] = state; stack[sp++] = b.length();
+				}
+				if(term.get(nid) && automaton.isAccept(state)){
+					next = b.toString();
+					return;
+				}
+			}
+		}
+
+		private Automaton automaton;
+		private String next;
+		private StringBuilder b = new StringBuilder();
+		private Range r = new Range();
+		private TailCharIterator tci = tailArray.newIterator();
+		// stack of (node id, state before letters of node, length of b before letters of node)
+		private int[] stack = new int[48];
+		private int sp;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(String query) {
+		return predictiveSearchWithTermId(query, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns lazy Iterable. The subtree of prefix is expanded while
+	 * iterating, so the cost is proportional to the keys consumed.
+	 */
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
+			final String prefix, final int limit) {
+		return new Iterable<Pair<String, Integer>>(){
+			@Override
+			public Iterator<Pair<String, Integer>> iterator() {
+				return new PredictiveSearchIterator(prefix, limit);
+			}
+		};
+	}
+
+	private class PredictiveSearchIterator implements Iterator<Pair<String, Integer>>{
+		public PredictiveSearchIterator(String prefix, int limit){
+			this.rest = limit;
+			int nodeId = 0; // root
+			int labelIndex = 0;
+			int n = prefix.length();
+			for(int i = 0; i < n; i++){
+				nodeId = getChildNode(nodeId, prefix.charAt(i), r);
+				if(nodeId == -1) return;
+				labelIndex = i;
+				// prefix may end inside the tail.
+				tci.setOffset(tailArray.getIteratorOffset(nodeId));
+				while(i + 1 < n && tci.hasNext()){
+					if(prefix.charAt(++i) != tci.next()) return;
+				}
+			}
+			b.append(prefix, 0, labelIndex);
+			stack[sp++] = nodeId; stack[sp++] = labelIndex;
+			findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Pair<String, Integer> next() {
+			Pair<String, Integer> ret = next;
+			if(ret == null) throw new NoSuchElementException();
+			findNext();
+			return ret;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void findNext(){
+			next = null;
+			if(rest <= 0) return;
+			while(sp > 0){
+				int len = stack[--sp];
+				int nid = stack[--sp];
+				b.setLength(len);
+				char label = labels[nid];
+				if(label != 0xffff) b.append(label);
+				tci.setOffset(tailArray.getIteratorOffset(nid));
+				while(tci.hasNext()) b.append(tci.next());
+				bvtree.getChildNodeIds(nid, r);
+				// push children in descending order to visit them in ascending order.
+				for(int i = r.getEnd() - 1; i >= r.getStart(); i--){
+					if(sp + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+					stack[sp++] = i; stack[sp++] = b.length();
+				}
+				if(term.get(nid)){
+					next = Pair.create(b.toString(), termId(nid));
+					rest--;
+					return;
+				}
+			}
+		}
+
+		private int rest;
+		private Pair<String, Integer> next;
+		private StringBuilder b = new StringBuilder();
+		private Range r = new Range();
+		private TailCharIterator tci = tailArray.newIterator();
+		// stack of (node id, length of b before letters of node)
+		private int[] stack = new int[32];
+		private int sp;
 	}
 
 	public class LOUDSNode implements TermIdNode{
@@ -277,7 +805,7 @@ implements Externalizable, TermIdTrie{
 			if(!term.get(nodeId)){
 				return -1;
 			} else{
-				return term.rank1(nodeId) - 1;
+				return termId(nodeId);
 			}
 		}
 		@Override
@@ -338,6 +866,7 @@ implements Externalizable, TermIdTrie{
 		}
 		out.writeObject(tailArray);
 		out.writeObject(term);
+		out.writeObject(lexIds);
 	}
 
 	@Override
@@ -352,12 +881,98 @@ implements Externalizable, TermIdTrie{
 		}
 		tailArray = (TailArray)in.readObject();
 		term = (SuccinctBitVector)in.readObject();
+		// earlier versions end here.
+		try{
+			lexIds = (int[])in.readObject();
+		} catch(OptionalDataException e){
+			if(!e.eof) throw e;
+			lexIds = null;
+		} catch(EOFException e){
+			lexIds = null;
+		}
 	}
 
 	public void setBvtree(BvTree bvtree) {
 		this.bvtree = bvtree;
 	}
 
+	private int termId(int nodeId){
+		return lexIds != null ? lexIds[nodeId] : term.rank1(nodeId) - 1;
+	}
+
+	private void checkLexIds(){
+		if(lexIds == null){
+			throw new IllegalStateException("term ids are not lexicographic.");
+		}
+	}
+
+	/**
+	 * Counts terms in preorder. lexIds[nodeId] is the term id of the node
+	 * or the first term id in its subtree.
+	 */
+	private void buildLexIds(){
+		lexIds = new int[nodeSize];
+		if(nodeSize == 0) return;
+		Range r = new Range();
+		int[] stack = new int[32];
+		int sp = 0;
+		stack[sp++] = 0;
+		int count = 0;
+		while(sp > 0){
+			int nid = stack[--sp];
+			lexIds[nid] = count;
+			if(term.get(nid)) count++;
+			bvtree.getChildNodeIds(nid, r);
+			// push children in descending order to visit them in ascending order.
+			for(int i = r.getEnd() - 1; i >= r.getStart(); i--){
+				if(sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+				stack[sp++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Finds the node of lexicographic term id from root and appends its
+	 * letters to buffer.
+	 */
+	private void descend(int termId, StringBuilder buffer){
+		int nodeId = 0; // root
+		Range r = new Range();
+		TailCharIterator it = tailArray.newIterator();
+		while(true){
+			char label = labels[nodeId];
+			if(label != 0xffff) buffer.append(label);
+			it.setOffset(tailArray.getIteratorOffset(nodeId));
+			while(it.hasNext()) buffer.append(it.next());
+			if(lexIds[nodeId] == termId && term.get(nodeId)) return;
+			// the last child whose first term id is less than or equal to termId.
+			bvtree.getChildNodeIds(nodeId, r);
+			int lo = r.getStart();
+			int hi = r.getEnd() - 1;
+			while(lo < hi){
+				int m = (lo + hi + 1) >>> 1;
+				if(lexIds[m] <= termId) lo = m;
+				else hi = m - 1;
+			}
+			nodeId = lo;
+		}
+	}
+
+	/**
+	 * Returns the first child in r whose label is greater than or equal to
+	 * c or r.getEnd() if no such child.
+	 */
+	private int lowerChild(Range r, char c){
+		int lo = r.getStart();
+		int hi = r.getEnd();
+		while(lo < hi){
+			int m = (lo + hi) >>> 1;
+			if(labels[m] < c) lo = m + 1;
+			else hi = m;
+		}
+		return lo;
+	}
+
 	private int getChildNode(int nodeId, char c, Range r){
 		bvtree.getChildNodeIds(nodeId, r);
 		int start = r.getStart();
@@ -398,5 +1013,6 @@ implements Externalizable, TermIdTrie{
 	private TailArray tailArray;
 	private SuccinctBitVector term;
 	private int nodeSize;
+	private int[] lexIds;
 	private static final long serialVersionUID = 8376289953859608479L;
 }
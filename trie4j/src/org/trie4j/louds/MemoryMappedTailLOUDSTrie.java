@@ -0,0 +1,505 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.louds;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.trie4j.AbstractLookupCursor;
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.bv.ByteBufferSuccinctBitVector;
+import org.trie4j.louds.bvtree.BvTree;
+import org.trie4j.tail.AbstractTailArray;
+import org.trie4j.tail.TailArray;
+import org.trie4j.tail.TailCharIterator;
+import org.trie4j.util.FastBitSet;
+import org.trie4j.util.Pair;
+import org.trie4j.util.Range;
+
+/**
+ * Read-only LOUDS trie that works directly on the image written by
+ * {@link #save(AbstractTailLOUDSTrie, OutputStream)}. Labels, LOUDS bits
+ * with their rank/select directories, tail chars, tail index and term
+ * bits all live in the (typically mapped) buffer, so no heap is used
+ * for the dictionary itself.
+ *
+ * Image layout (little endian, every section starts at 8 byte boundary):
+ * <pre>
+ * int magic, int version, int size, int nodeSize, int tailsLength, int padding
+ * LOUDS bits ({@link ByteBufferSuccinctBitVector})
+ * char[nodeSize] labels
+ * int[nodeSize] tail offsets (-1 for no tail)
+ * char[tailsLength] tails
+ * term ({@link ByteBufferSuccinctBitVector})
+ * </pre>
+ * The LOUDS bits are rebuilt from {@link BvTree#getChildNodeIds(int, Range)},
+ * so tries with any BvTree can be saved. Since a ByteBuffer is indexed by
+ * int, the image must be smaller than 2GB.
+ * @author agent
+ */
+public class MemoryMappedTailLOUDSTrie
+extends AbstractTermIdTrie
+implements TermIdTrie{
+	public static void save(AbstractTailLOUDSTrie trie, File file) throws IOException{
+		OutputStream os = new BufferedOutputStream(new FileOutputStream(file));
+		try{
+			save(trie, os);
+		} finally{
+			os.close();
+		}
+	}
+
+	public static void save(AbstractTailLOUDSTrie trie, OutputStream os) throws IOException{
+		if(trie.isLexicographicTermIds()){
+			throw new IllegalArgumentException("lexicographic term ids are not supported.");
+		}
+		BvTree bvtree = trie.getBvTree();
+		char[] labels = trie.getLabels();
+		TailArray tailArray = trie.getTailArray();
+
+		// rebuild LOUDS bits: 1 for each child followed by 0 for each node.
+		FastBitSet louds = new FastBitSet();
+		Range r = new Range();
+		int nodeSize = 1;
+		int pos = 0;
+		for(int nid = 0; nid < nodeSize; nid++){
+			bvtree.getChildNodeIds(nid, r);
+			int n = Math.max(r.getLength(), 0);
+			for(int i = 0; i < n; i++) louds.set(pos++);
+			louds.unset(pos++);
+			nodeSize += n;
+		}
+
+		// tails
+		CharSequence tails;
+		int[] tailOffsets = new int[nodeSize];
+		if(tailArray instanceof AbstractTailArray){
+			tails = ((AbstractTailArray)tailArray).getTails();
+			for(int i = 0; i < nodeSize; i++){
+				tailOffsets[i] = tailArray.getIteratorOffset(i);
+			}
+		} else{
+			StringBuilder b = new StringBuilder();
+			TailCharIterator it = tailArray.newIterator();
+			for(int i = 0; i < nodeSize; i++){
+				int offset = tailArray.getIteratorOffset(i);
+				if(offset == -1){
+					tailOffsets[i] = -1;
+					continue;
+				}
+				tailOffsets[i] = b.length();
+				it.setOffset(offset);
+				while(it.hasNext()) b.append(it.next());
+				b.append('\0');
+			}
+			tails = b;
+		}
+
+		DataOutputStream dos = new DataOutputStream(os);
+		writeInt(dos, MAGIC);
+		writeInt(dos, VERSION);
+		writeInt(dos, trie.size());
+		writeInt(dos, nodeSize);
+		writeInt(dos, tails.length());
+		writeInt(dos, 0);
+		ByteBufferSuccinctBitVector.write(louds, dos);
+		for(int i = 0; i < nodeSize; i++){
+			writeChar(dos, labels[i]);
+		}
+		ByteBufferSuccinctBitVector.pad(nodeSize * 2, dos);
+		for(int i = 0; i < nodeSize; i++){
+			writeInt(dos, tailOffsets[i]);
+		}
+		ByteBufferSuccinctBitVector.pad(nodeSize * 4, dos);
+		int n = tails.length();
+		for(int i = 0; i < n; i++){
+			writeChar(dos, tails.charAt(i));
+		}
+		ByteBufferSuccinctBitVector.pad(n * 2, dos);
+		ByteBufferSuccinctBitVector.write(trie.getTerm(), dos);
+		dos.flush();
+	}
+
+	/**
+	 * Maps the file read-only and creates trie on it.
+	 */
+	public static MemoryMappedTailLOUDSTrie map(File file) throws IOException{
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try{
+			FileChannel ch = raf.getChannel();
+			long size = ch.size();
+			if(size > Integer.MAX_VALUE){
+				throw new IOException("image too large to map: " + size + " bytes.");
+			}
+			// mapping stays valid after the channel is closed.
+			return new MemoryMappedTailLOUDSTrie(ch.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		} finally{
+			raf.close();
+		}
+	}
+
+	/**
+	 * Creates trie on the image starting at buffer's current position.
+	 */
+	public MemoryMappedTailLOUDSTrie(ByteBuffer buffer) throws IOException{
+		ByteBuffer b = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int start = b.position();
+		if(b.getInt(start) != MAGIC){
+			throw new IOException("not a LOUDS trie image.");
+		}
+		int version = b.getInt(start + 4);
+		if(version != VERSION){
+			throw new IOException("unsupported LOUDS trie image version: " + version);
+		}
+		size = b.getInt(start + 8);
+		nodeSize = b.getInt(start + 12);
+		int tailsLength = b.getInt(start + 16);
+		b.position(start + HEADER_SIZE);
+		louds = new ByteBufferSuccinctBitVector(b);
+		int p = b.position();
+		labels = slice(b, p, nodeSize * 2).asCharBuffer();
+		p += align(nodeSize * 2);
+		tailOffsets = slice(b, p, nodeSize * 4).asIntBuffer();
+		p += align(nodeSize * 4);
+		tails = slice(b, p, tailsLength * 2).asCharBuffer();
+		p += align(tailsLength * 2);
+		b.position(p);
+		term = new ByteBufferSuccinctBitVector(b);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public int getNodeSize(){
+		return nodeSize;
+	}
+
+	@Override
+	public TermIdNode getRoot() {
+		return new MappedNode(0);
+	}
+
+	private class MappedNode implements TermIdNode{
+		public MappedNode(int nodeId){
+			this.nodeId = nodeId;
+		}
+
+		@Override
+		public char[] getLetters() {
+			StringBuilder b = new StringBuilder();
+			appendLetters(nodeId, b);
+			return b.toString().toCharArray();
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return term.get(nodeId);
+		}
+
+		@Override
+		public int getTermId() {
+			return term.get(nodeId) ? term.rank1(nodeId) - 1 : -1;
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			int nid = getChildNode(nodeId, c);
+			return nid == -1 ? null : new MappedNode(nid);
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			int s = firstChildBit(nodeId);
+			int e = louds.next0(s);
+			TermIdNode[] ret = new TermIdNode[e - s];
+			int first = s - nodeId + 1;
+			for(int i = 0; i < ret.length; i++){
+				ret[i] = new MappedNode(first + i);
+			}
+			return ret;
+		}
+
+		private int nodeId;
+	}
+
+	@Override
+	public boolean contains(String text) {
+		int nid = getNodeId(text);
+		return nid != -1 && term.get(nid);
+	}
+
+	@Override
+	public int getTermId(String text) {
+		int nid = getNodeId(text);
+		if(nid == -1) return -1;
+		return term.get(nid) ? term.rank1(nid) - 1 : -1;
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		// collect node ids from the node to root, then append letters from root.
+		int[] path = new int[16];
+		int n = 0;
+		for(int nid = term.select1(termId + 1); ; nid = louds.rank0(louds.select1(nid))){
+			if(n == path.length) path = Arrays.copyOf(path, n * 2);
+			path[n++] = nid;
+			if(nid == 0) break;
+		}
+		while(n > 0){
+			appendLetters(path[--n], buffer);
+		}
+		return true;
+	}
+
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new AbstractLookupCursor(){
+			@Override
+			public void reset() {
+				nodeId = 0;
+				ti = -1;
+			}
+
+			@Override
+			public boolean next(char c) {
+				if(nodeId == -1) return false;
+				if(ti != -1){
+					if(tailChar(ti) != c){
+						nodeId = -1;
+						return false;
+					}
+					nextTail(nextTailIndex(ti));
+					return true;
+				}
+				nodeId = getChildNode(nodeId, c);
+				if(nodeId == -1) return false;
+				nextTail(tailOffsets.get(nodeId));
+				return true;
+			}
+
+			@Override
+			public boolean isTerminate() {
+				return nodeId != -1 && ti == -1 && term.get(nodeId);
+			}
+
+			@Override
+			public int getTermId() {
+				return isTerminate() ? term.rank1(nodeId) - 1 : -1;
+			}
+
+			private void nextTail(int index){
+				ti = (index == -1 || tailChar(index) == '\0') ? -1 : index;
+			}
+
+			private int nodeId;
+			private int ti = -1;
+		};
+	}
+
+	public int getNodeId(String text){
+		int nodeId = 0; // root
+		int n = text.length();
+		for(int i = 0; i < n; i++){
+			nodeId = getChildNode(nodeId, text.charAt(i));
+			if(nodeId == -1) return -1;
+			i = matchTail(nodeId, text, i + 1, n);
+			if(i < 0) return -1;
+			i--;
+		}
+		return nodeId;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(
+			String query) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int nodeId = 0;
+		int n = query.length();
+		for(int i = 0; i < n; i++){
+			nodeId = getChildNode(nodeId, query.charAt(i));
+			if(nodeId == -1) break;
+			i = matchTail(nodeId, query, i + 1, n);
+			if(i < 0) break;
+			if(term.get(nodeId)){
+				ret.add(Pair.create(query.substring(0, i), term.rank1(nodeId) - 1));
+			}
+			i--;
+		}
+		return ret;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(
+			String prefix) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int nodeId = 0;
+		int nodeStart = 0;
+		int n = prefix.length();
+		for(int i = 0; i < n; ){
+			int child = getChildNode(nodeId, prefix.charAt(i));
+			if(child == -1) return ret;
+			nodeStart = i++;
+			int ti = tailOffsets.get(child);
+			if(ti != -1){
+				// prefix may end inside the tail.
+				for(char c; i < n && (c = tailChar(ti)) != '\0'; ti = nextTailIndex(ti)){
+					if(prefix.charAt(i++) != c) return ret;
+				}
+			}
+			nodeId = child;
+		}
+		StringBuilder b = new StringBuilder(prefix.substring(0, nodeStart));
+		// stack of (node id, length of b before letters of node)
+		int[] stack = new int[32];
+		int sp = 0;
+		stack[sp++] = nodeId; stack[sp++] = b.length();
+		while(sp > 0){
+			int len = stack[--sp];
+			int nid = stack[--sp];
+			b.setLength(len);
+			appendLetters(nid, b);
+			if(term.get(nid)) ret.add(Pair.create(b.toString(), term.rank1(nid) - 1));
+			int s = firstChildBit(nid);
+			int e = louds.next0(s);
+			int first = s - nid + 1;
+			// push children in descending order to pop them in ascending order.
+			for(int c = first + e - s - 1; c >= first; c--){
+				if(sp + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+				stack[sp++] = c; stack[sp++] = b.length();
+			}
+		}
+		return ret;
+	}
+
+	private int firstChildBit(int nodeId){
+		return nodeId == 0 ? 0 : louds.select0(nodeId) + 1;
+	}
+
+	private int getChildNode(int nodeId, char c){
+		int s = firstChildBit(nodeId);
+		int e = louds.next0(s);
+		if(e <= s) return -1;
+		// node ids of children are [s - nodeId + 1, e - nodeId + 1)
+		int start = s - nodeId + 1;
+		int end = e - nodeId + 1;
+		if(end - start <= 16){
+			for(int i = start; i < end; i++){
+				if(labels.get(i) == c) return i;
+			}
+			return -1;
+		}
+		end--;
+		while(start <= end){
+			int m = (start + end) >>> 1;
+			char l = labels.get(m);
+			if(l < c) start = m + 1;
+			else if(l > c) end = m - 1;
+			else return m;
+		}
+		return -1;
+	}
+
+	/**
+	 * Matches tail of nodeId against text from index i.
+	 * @return index after the tail or -1 if unmatched.
+	 */
+	private int matchTail(int nodeId, CharSequence text, int i, int end){
+		int ti = tailOffsets.get(nodeId);
+		if(ti == -1) return i;
+		for(char c; (c = tailChar(ti)) != '\0'; ti = nextTailIndex(ti)){
+			if(i == end || text.charAt(i) != c) return -1;
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the char at tail index ti resolving jump.
+	 */
+	private char tailChar(int ti){
+		char c = tails.get(ti);
+		if(c == '\1') return tails.get(jump(ti));
+		return c;
+	}
+
+	private int nextTailIndex(int ti){
+		if(tails.get(ti) == '\1') ti = jump(ti);
+		return ti + 1;
+	}
+
+	private int jump(int ti){
+		return tails.get(ti + 1) + (tails.get(ti + 2) << 16);
+	}
+
+	private void appendLetters(int nodeId, StringBuilder b){
+		char l = labels.get(nodeId);
+		if(l != 0xffff) b.append(l);
+		int ti = tailOffsets.get(nodeId);
+		if(ti == -1) return;
+		for(char c; (c = tailChar(ti)) != '\0'; ti = nextTailIndex(ti)){
+			b.append(c);
+		}
+	}
+
+	private static void writeInt(DataOutputStream out, int v) throws IOException{
+		out.writeInt(Integer.reverseBytes(v));
+	}
+
+	private static void writeChar(DataOutputStream out, int v) throws IOException{
+		out.writeChar(Character.reverseBytes((char)v));
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int offset, int length){
+		ByteBuffer b = buffer.duplicate();
+		b.limit(offset + length);
+		b.position(offset);
+		return b.slice().order(buffer.order());
+	}
+
+	private static int align(int bytes){
+		return (bytes + 7) & ~7;
+	}
+
+	private int size;
+	private int nodeSize;
+	private ByteBufferSuccinctBitVector louds;
+	private CharBuffer labels;
+	private IntBuffer tailOffsets;
+	private CharBuffer tails;
+	private ByteBufferSuccinctBitVector term;
+	private static final int MAGIC = 0x54344c4f; // "T4LO"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 24;
+}
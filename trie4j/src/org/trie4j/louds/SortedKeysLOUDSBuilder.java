@@ -0,0 +1,301 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.louds;
+
+import java.util.Arrays;
+
+/**
+ * Collects the nodes of the patricia trie of keys sorted in ascending
+ * order (String.compareTo order) in level order for LOUDS, without
+ * building the trie. Only the last key is kept as open state. A node is
+ * written to the buffer of its depth when the next key leaves it, in
+ * three chars plus its tail.
+ * <p>
+ * The depth of a written node grows when a later key branches in the
+ * middle of the letters of an open node above it. The nodes written since
+ * that point of the path entered it are always the ends of the level
+ * buffers, so they are moved down one level. Each node is moved at most
+ * its depth times.
+ * </p>
+ * @author agent
+ */
+class SortedKeysLOUDSBuilder {
+	/**
+	 * Adds key. Keys must be added in ascending order. Duplicated keys are
+	 * ignored.
+	 * @throws IllegalArgumentException if keys are not sorted.
+	 */
+	public void add(CharSequence key){
+		int len = key.length();
+		int pl = path.length();
+		int n = Math.min(len, pl);
+		int lcp = 0;
+		while(lcp < n && key.charAt(lcp) == path.charAt(lcp)) lcp++;
+		if(lcp == len){
+			if(lcp < pl){
+				throw new IllegalArgumentException("keys must be sorted: " + key);
+			}
+			if(!pathTerms[len]){
+				// only the empty key at first.
+				pathTerms[len] = true;
+				size++;
+			}
+			return;
+		}
+		if(lcp < pl){
+			if(key.charAt(lcp) < path.charAt(lcp)){
+				throw new IllegalArgumentException("keys must be sorted: " + key);
+			}
+			if(lcp > 0 && !pathTerms[lcp] && pathChildCounts[lcp] == 0){
+				// lcp becomes the end of a node.
+				deepen(lcp);
+				for(int i = lcp; i <= pl; i++) pathDepths[i]++;
+			}
+			close(lcp);
+		}
+		while(groupsSize > 0 && groupStarts[groupsSize - 1] > lcp) groupsSize--;
+		pushGroup(lcp + 1);
+		path.setLength(lcp);
+		path.append(key, lcp, len);
+		if(len >= pathTerms.length){
+			int sz = Math.max(len + 1, pathTerms.length * 2);
+			pathTerms = Arrays.copyOf(pathTerms, sz);
+			pathChildCounts = Arrays.copyOf(pathChildCounts, sz);
+			pathDepths = Arrays.copyOf(pathDepths, sz);
+		}
+		for(int i = lcp + 1; i <= len; i++){
+			pathTerms[i] = false;
+			pathChildCounts[i] = 0;
+			pathDepths[i] = pathDepths[lcp];
+		}
+		pathTerms[len] = true;
+		pathDepths[len]++;
+		size++;
+	}
+
+	/**
+	 * Writes remaining nodes. No keys can be added after this.
+	 */
+	public void finish(){
+		close(0);
+		write(0, 0xffff, 0, 0, pathChildCounts[0], pathTerms[0]);
+		path = null;
+		pathTerms = null;
+		pathChildCounts = null;
+		pathDepths = null;
+		groupStarts = null;
+		groupSnapshots = null;
+		groupSnapshotSizes = null;
+	}
+
+	/**
+	 * Returns the count of keys.
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * Moves to the next node in level order from root. Buffers of the
+	 * levels passed are released.
+	 * @return false if no more nodes.
+	 */
+	public boolean next(){
+		while(readPos == levelSizes[readLevel]){
+			levels[readLevel] = null;
+			if(++readLevel == levelCount) return false;
+			readPos = 0;
+		}
+		char[] buf = levels[readLevel];
+		childrenCount = readInt(buf);
+		int v = readInt(buf);
+		terminate = (v & 1) != 0;
+		tailLength = v >>> 1;
+		label = buf[readPos++];
+		tailStart = readPos;
+		readPos += tailLength;
+		return true;
+	}
+
+	public char getLabel(){
+		return label;
+	}
+
+	public boolean isTerminate(){
+		return terminate;
+	}
+
+	public int getChildrenCount(){
+		return childrenCount;
+	}
+
+	/**
+	 * Returns the buffer which has the letters of the node after the label
+	 * at [getTailStart(), getTailStart() + getTailLength()).
+	 */
+	public char[] getTailChars(){
+		return levels[readLevel];
+	}
+
+	public int getTailStart(){
+		return tailStart;
+	}
+
+	public int getTailLength(){
+		return tailLength;
+	}
+
+	/**
+	 * Writes the nodes on the path deeper than lcp. Position i of the path
+	 * is the node reached by the first i chars of the last key.
+	 */
+	private void close(int lcp){
+		int e = path.length();
+		while(e > lcp){
+			int s = e;
+			// merge the positions that have just one child into one node.
+			while(s - 1 > lcp && !pathTerms[s - 1] && pathChildCounts[s - 1] == 0){
+				s--;
+			}
+			write(pathDepths[e], path.charAt(s - 1), s, e, pathChildCounts[e], pathTerms[e]);
+			pathChildCounts[s - 1]++;
+			e = s - 1;
+		}
+	}
+
+	/**
+	 * Moves the nodes written since pos entered the path one level down.
+	 */
+	private void deepen(int pos){
+		int g = groupsSize - 1;
+		while(groupStarts[g] > pos) g--;
+		int[] snapshot = groupSnapshots[g];
+		int n = groupSnapshotSizes[g];
+		for(int l = levelCount - 1; l >= 0; l--){
+			int from = l < n ? snapshot[l] : 0;
+			int len = levelSizes[l] - from;
+			if(len == 0) continue;
+			char[] dest = ensureLevel(l + 1, len);
+			System.arraycopy(levels[l], from, dest, levelSizes[l + 1], len);
+			levelSizes[l + 1] += len;
+			levelSizes[l] = from;
+		}
+	}
+
+	/**
+	 * Records the sizes of levels for the positions from start.
+	 */
+	private void pushGroup(int start){
+		if(groupsSize == groupStarts.length){
+			int sz = groupsSize * 2;
+			groupStarts = Arrays.copyOf(groupStarts, sz);
+			groupSnapshots = Arrays.copyOf(groupSnapshots, sz);
+			groupSnapshotSizes = Arrays.copyOf(groupSnapshotSizes, sz);
+		}
+		int[] snapshot = groupSnapshots[groupsSize];
+		if(snapshot == null || snapshot.length < levelCount){
+			snapshot = new int[Math.max(16, levelCount * 2)];
+			groupSnapshots[groupsSize] = snapshot;
+		}
+		System.arraycopy(levelSizes, 0, snapshot, 0, levelCount);
+		groupStarts[groupsSize] = start;
+		groupSnapshotSizes[groupsSize] = levelCount;
+		groupsSize++;
+	}
+
+	/**
+	 * Writes node which has label, path chars [tailFrom, tailTo) as tail,
+	 * childrenCount children and terminal flag term to the level.
+	 */
+	private void write(int level, int label, int tailFrom, int tailTo,
+			int childrenCount, boolean term){
+		int tl = tailTo - tailFrom;
+		char[] buf = ensureLevel(level, tl + 7);
+		int p = levelSizes[level];
+		p = writeInt(buf, p, childrenCount);
+		p = writeInt(buf, p, tl << 1 | (term ? 1 : 0));
+		buf[p++] = (char)label;
+		path.getChars(tailFrom, tailTo, buf, p);
+		levelSizes[level] = p + tl;
+	}
+
+	private char[] ensureLevel(int level, int n){
+		if(level >= levelCount){
+			if(level >= levels.length){
+				int sz = Math.max(level + 1, levels.length * 2);
+				levels = Arrays.copyOf(levels, sz);
+				levelSizes = Arrays.copyOf(levelSizes, sz);
+			}
+			for(int i = levelCount; i <= level; i++){
+				levels[i] = new char[256];
+			}
+			levelCount = level + 1;
+		}
+		char[] buf = levels[level];
+		int sz = levelSizes[level] + n;
+		if(sz > buf.length){
+			buf = Arrays.copyOf(buf, Math.max(sz, (int)(buf.length * 1.5)));
+			levels[level] = buf;
+		}
+		return buf;
+	}
+
+	private static int writeInt(char[] buf, int p, int v){
+		while((v & ~0x7fff) != 0){
+			buf[p++] = (char)(v & 0x7fff | 0x8000);
+			v >>>= 15;
+		}
+		buf[p++] = (char)v;
+		return p;
+	}
+
+	private int readInt(char[] buf){
+		int ret = 0;
+		for(int shift = 0; ; shift += 15){
+			char c = buf[readPos++];
+			ret |= (c & 0x7fff) << shift;
+			if(c < 0x8000) return ret;
+		}
+	}
+
+	private int size;
+	// nodes of each level. a node is the count of children, the tail
+	// length and terminal flag, the label and the tail.
+	private char[][] levels = new char[16][];
+	private int[] levelSizes = new int[16];
+	private int levelCount;
+
+	// the last key and the state of each position of it.
+	private StringBuilder path = new StringBuilder();
+	private boolean[] pathTerms = new boolean[16];
+	private int[] pathChildCounts = new int[16];
+	// count of node ends in [1, i] (depth of the node which ends at i).
+	private int[] pathDepths = new int[16];
+	// positions added by each key and the sizes of levels at that time.
+	private int[] groupStarts = new int[16];
+	private int[][] groupSnapshots = new int[16][];
+	private int[] groupSnapshotSizes = new int[16];
+	private int groupsSize;
+
+	// the node read by next().
+	private int readLevel;
+	private int readPos;
+	private char label;
+	private boolean terminate;
+	private int childrenCount;
+	private int tailStart;
+	private int tailLength;
+}
@@ -37,4 +37,16 @@ implements Serializable, Trie {
 	public TailLOUDSPPTrie(Trie orig, TailArray tailArray){
 		super(orig, new LOUDSPPBvTree(orig.size()), tailArray);
 	}
+
+	/**
+	 * Assigns term ids in lexicographic order of keys if
+	 * lexicographicTermIds is true. See {@link AbstractTailLOUDSTrie#rank(String)}.
+	 */
+	public TailLOUDSPPTrie(Trie orig, boolean lexicographicTermIds){
+		this(orig, new ConcatTailArray(orig.size()), lexicographicTermIds);
+	}
+
+	public TailLOUDSPPTrie(Trie orig, TailArray tailArray, boolean lexicographicTermIds){
+		super(orig, new LOUDSPPBvTree(orig.size()), tailArray, lexicographicTermIds);
+	}
 }
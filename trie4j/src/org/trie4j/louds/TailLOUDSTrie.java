@@ -16,6 +16,7 @@
 package org.trie4j.louds;
 
 import java.io.Serializable;
+import java.util.Iterator;
 
 import org.trie4j.Node;
 import org.trie4j.Trie;
@@ -40,6 +41,32 @@ implements Serializable, Trie {
 		this(orig, new LOUDSBvTree(orig.size() * 2), tailArray);
 	}
 
+	/**
+	 * Assigns term ids in lexicographic order of keys if
+	 * lexicographicTermIds is true. See {@link AbstractTailLOUDSTrie#rank(String)}.
+	 */
+	public TailLOUDSTrie(Trie orig, boolean lexicographicTermIds){
+		this(orig, new ConcatTailArray(orig.size()), lexicographicTermIds);
+	}
+
+	public TailLOUDSTrie(Trie orig, TailArray tailArray, boolean lexicographicTermIds){
+		super(orig, new LOUDSBvTree(orig.size() * 2), tailArray, lexicographicTermIds);
+	}
+
+	/**
+	 * Builds trie from keys sorted in ascending order (String.compareTo
+	 * order) without a source trie such as PatriciaTrie. Duplicated keys
+	 * are ignored.
+	 * @throws IllegalArgumentException if keys are not sorted.
+	 */
+	public TailLOUDSTrie(Iterator<? extends CharSequence> sortedKeys){
+		this(sortedKeys, false);
+	}
+
+	public TailLOUDSTrie(Iterator<? extends CharSequence> sortedKeys, boolean lexicographicTermIds){
+		super(sortedKeys, new LOUDSBvTree(), new ConcatTailArray(), lexicographicTermIds);
+	}
+
 	public TailLOUDSTrie(Trie orig, BvTree bvtree, TailArray tailArray){
 		this(orig, bvtree, tailArray, new NodeListener(){
 			@Override
@@ -21,5 +21,9 @@ public interface BvTree{
 	void appendChild();
 	void appendSelf();
 	void getChildNodeIds(int selfNodeId, Range range);
+	/**
+	 * Returns the parent node id of nodeId or -1 if nodeId is root.
+	 */
+	int getParentNodeId(int nodeId);
 	void trimToSize();
 }
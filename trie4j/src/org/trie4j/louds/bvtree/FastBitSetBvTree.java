@@ -46,6 +46,11 @@ public class FastBitSetBvTree implements BvTree{
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public int getParentNodeId(int nodeId) {
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	public void trimToSize() {
 	}
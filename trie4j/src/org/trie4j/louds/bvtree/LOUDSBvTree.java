@@ -21,6 +21,8 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
 import org.trie4j.bv.BytesSuccinctBitVector;
+import org.trie4j.bv.LongsSuccinctBitVector;
+import org.trie4j.bv.SuccinctBitVector;
 import org.trie4j.util.Range;
 
 public class LOUDSBvTree implements Externalizable, BvTree{
@@ -29,10 +31,10 @@ public class LOUDSBvTree implements Externalizable, BvTree{
 	}
 
 	public LOUDSBvTree(int initialCapacity) {
-		vector = new BytesSuccinctBitVector(initialCapacity);
+		vector = new LongsSuccinctBitVector(initialCapacity);
 	}
 
-	public LOUDSBvTree(BytesSuccinctBitVector vector) {
+	public LOUDSBvTree(SuccinctBitVector vector) {
 		this.vector = vector;
 	}
 
@@ -60,21 +62,52 @@ public class LOUDSBvTree implements Externalizable, BvTree{
 		range.set(startNodeId, startNodeId + e - s);
 	}
 	
+	@Override
+	public int getParentNodeId(int nodeId) {
+		if(nodeId == 0) return -1;
+		// nodeId-th 1 is the edge to the node. count of 0s before it is
+		// the count of nodes whose children are listed before.
+		return vector.rank0(vector.select1(nodeId));
+	}
+
 	@Override
 	public void trimToSize() {
 		vector.trimToSize();
 	}
 
+	/**
+	 * Reads both formats: the vector object after FORMAT_OBJECT, or the
+	 * fields of BytesSuccinctBitVector written inline by earlier versions,
+	 * which start with the bit count.
+	 */
 	@Override
 	public void readExternal(ObjectInput in) throws IOException,
 			ClassNotFoundException {
-		vector.readExternal(in);
+		int head = in.readInt();
+		if(head == FORMAT_OBJECT){
+			vector = (SuccinctBitVector)in.readObject();
+			return;
+		}
+		BytesSuccinctBitVector bv = new BytesSuccinctBitVector();
+		bv.readExternal(head, in);
+		vector = bv;
 	}
 
+	/**
+	 * Writes BytesSuccinctBitVector inline as earlier versions did, so they
+	 * can read it. Other vectors are written as objects after FORMAT_OBJECT.
+	 */
 	@Override
 	public void writeExternal(ObjectOutput out) throws IOException {
-		vector.writeExternal(out);
+		if(vector instanceof BytesSuccinctBitVector){
+			((BytesSuccinctBitVector)vector).writeExternal(out);
+			return;
+		}
+		out.writeInt(FORMAT_OBJECT);
+		out.writeObject(vector);
 	}
 
-	private BytesSuccinctBitVector vector;
+	private SuccinctBitVector vector;
+	// never a bit count, which is not negative.
+	private static final int FORMAT_OBJECT = -1;
 }
@@ -62,6 +62,22 @@ implements Externalizable, BvTree{
 		range.set(-1, -1);
 	}
 	
+	@Override
+	public int getParentNodeId(int nodeId) {
+		if(nodeId == 0) return -1;
+		// the run of 1s in r1 which contains nodeId.
+		int run = r1.rank0(nodeId - 1);
+		// r0 has no select, so find the run-th node that has children.
+		int lo = 0;
+		int hi = r0.size() - 1;
+		while(lo < hi){
+			int m = (lo + hi) >>> 1;
+			if(r0.rank0(m) < run) lo = m + 1;
+			else hi = m;
+		}
+		return lo;
+	}
+
 	@Override
 	public void trimToSize() {
 		r0.trimToSize();
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.patricia.concurrent;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.trie4j.AbstractTrie;
+import org.trie4j.Trie;
+
+/**
+ * Patricia trie which can be read and updated by multiple threads.
+ * Readers never lock: letters of nodes never change and children arrays
+ * are copied on write and published through volatile fields, so a
+ * reader sees each node either before or after an update. Writers lock
+ * one of the stripes chosen by the first letter of the key. Nodes under
+ * a child of the root are updated only by the writers of the same first
+ * letter, so writers of different first letters run in parallel and
+ * only the children of the root are updated by CAS.
+ * Searches during updates may or may not see the keys being inserted.
+ * @author agent
+ */
+public class ConcurrentPatriciaTrie
+extends AbstractTrie
+implements Serializable, Trie{
+	public ConcurrentPatriciaTrie(){
+		this(DEFAULT_STRIPE_COUNT);
+	}
+
+	/**
+	 * @param stripeCount count of the locks for writers. Rounded up to a
+	 * power of 2.
+	 */
+	public ConcurrentPatriciaTrie(int stripeCount){
+		int n = Integer.highestOneBit(Math.max(stripeCount - 1, 1)) << 1;
+		locks = new ReentrantLock[n];
+		for(int i = 0; i < n; i++){
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return size.get();
+	}
+
+	@Override
+	public Node getRoot() {
+		return root;
+	}
+
+	@Override
+	public boolean contains(String text) {
+		Node node = root;
+		int n = text.length();
+		for(int i = 0; i < n; i++){
+			node = node.getChild(text.charAt(i));
+			if(node == null) return false;
+			char[] letters = node.getLetters();
+			int lettersLen = letters.length;
+			for(int j = 1; j < lettersLen; j++){
+				i++;
+				if(i == n) return false;
+				if(text.charAt(i) != letters[j]) return false;
+			}
+		}
+		return node.isTerminate();
+	}
+
+	@Override
+	public Iterable<String> commonPrefixSearch(String query) {
+		List<String> ret = new ArrayList<String>();
+		int n = query.length();
+		int cur = 0;
+		Node node = root;
+		while(node != null){
+			char[] letters = node.getLetters();
+			if(letters.length > n - cur) return ret;
+			for(int i = 0; i < letters.length; i++){
+				if(letters[i] != query.charAt(cur + i)) return ret;
+			}
+			cur += letters.length;
+			if(node.isTerminate()) ret.add(query.substring(0, cur));
+			if(cur == n) return ret;
+			node = node.getChild(query.charAt(cur));
+		}
+		return ret;
+	}
+
+	@Override
+	public Iterable<String> predictiveSearch(String prefix) {
+		int n = prefix.length();
+		int cur = 0;
+		Node node = root;
+		while(node != null){
+			char[] letters = node.getLetters();
+			int m = Math.min(letters.length, n - cur);
+			for(int i = 0; i < m; i++){
+				if(letters[i] != prefix.charAt(cur + i)) return Collections.emptyList();
+			}
+			cur += m;
+			if(cur == n){
+				StringBuilder b = new StringBuilder(prefix);
+				b.append(letters, m, letters.length - m);
+				List<String> ret = new ArrayList<String>();
+				enumLetters(node, b, ret);
+				return ret;
+			}
+			node = node.getChild(prefix.charAt(cur));
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void insert(String text) {
+		ReentrantLock lock = locks[text.length() == 0 ? 0 : text.charAt(0) & (locks.length - 1)];
+		lock.lock();
+		try{
+			if(insert(root, text)) size.incrementAndGet();
+		} finally{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Inserts text. The caller must hold the lock of the first letter of
+	 * text. Nodes whose letters change are replaced by new nodes in their
+	 * parents.
+	 * @return true if text is newly added.
+	 */
+	private static boolean insert(Node root, String text){
+		Node parent = null;
+		Node node = root;
+		int offset = 0;
+		while(true){
+			char[] letters = node.getLetters();
+			int rest = text.length() - offset;
+			int n = Math.min(rest, letters.length);
+			int i = 0;
+			while(i < n && text.charAt(offset + i) == letters[i]) i++;
+			if(i != n){
+				Node child1 = new Node(Arrays.copyOfRange(letters, i, letters.length),
+						node.isTerminate(), node.getChildren());
+				Node child2 = new Node(text.substring(offset + i).toCharArray(),
+						true, Node.EMPTY_CHILDREN);
+				Node[] children = child1.getLetters()[0] < child2.getLetters()[0] ?
+						new Node[]{child1, child2} : new Node[]{child2, child1};
+				parent.replaceChild(node, new Node(
+						Arrays.copyOfRange(letters, 0, i), false, children));
+				return true;
+			} else if(rest == letters.length){
+				if(node.isTerminate()) return false;
+				node.setTerminate();
+				return true;
+			} else if(rest < letters.length){
+				Node child = new Node(Arrays.copyOfRange(letters, rest, letters.length),
+						node.isTerminate(), node.getChildren());
+				parent.replaceChild(node, new Node(
+						Arrays.copyOfRange(letters, 0, rest), true, new Node[]{child}));
+				return true;
+			}
+			offset += letters.length;
+			Node child = node.getChild(text.charAt(offset));
+			if(child == null){
+				node.addChild(new Node(text.substring(offset).toCharArray(),
+						true, Node.EMPTY_CHILDREN));
+				return true;
+			}
+			parent = node;
+			node = child;
+		}
+	}
+
+	private static void enumLetters(Node node, StringBuilder prefix, List<String> ret){
+		if(node.isTerminate()) ret.add(prefix.toString());
+		int len = prefix.length();
+		for(Node child : node.getChildren()){
+			prefix.append(child.getLetters());
+			enumLetters(child, prefix, ret);
+			prefix.setLength(len);
+		}
+	}
+
+	private final Node root = new Node(new char[]{}, false, Node.EMPTY_CHILDREN);
+	private final AtomicInteger size = new AtomicInteger();
+	private final ReentrantLock[] locks;
+	private static final int DEFAULT_STRIPE_COUNT = 64;
+	private static final long serialVersionUID = -3182957718239512093L;
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.patricia.concurrent;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Node of {@link ConcurrentPatriciaTrie}. Letters never change. Children
+ * array is never modified after published, but replaced by a new array.
+ * So readers see a consistent node without locks.
+ * @author agent
+ */
+public class Node
+implements Serializable, org.trie4j.Node{
+	Node(char[] letters, boolean terminate, Node[] children){
+		this.letters = letters;
+		this.terminate = terminate;
+		this.children = children;
+	}
+
+	@Override
+	public char[] getLetters() {
+		return letters;
+	}
+
+	@Override
+	public boolean isTerminate() {
+		return terminate;
+	}
+
+	/**
+	 * Returns the children sorted by their first letters. The array is
+	 * shared with other readers and must not be modified.
+	 */
+	@Override
+	public Node[] getChildren() {
+		return children;
+	}
+
+	@Override
+	public Node getChild(char c){
+		Node[] cs = children;
+		int end = cs.length;
+		if(end > 16){
+			int start = 0;
+			while(start < end){
+				int i = (start + end) >>> 1;
+				Node n = cs[i];
+				int d = c - n.letters[0];
+				if(d == 0) return n;
+				if(d < 0){
+					end = i;
+				} else{
+					start = i + 1;
+				}
+			}
+		} else{
+			for(int i = 0; i < end; i++){
+				Node n = cs[i];
+				if(n.letters[0] == c) return n;
+			}
+		}
+		return null;
+	}
+
+	void setTerminate(){
+		terminate = true;
+	}
+
+	/**
+	 * Adds child. Writers of other subtrees may add children to the
+	 * root at the same time, so the array is replaced by CAS.
+	 */
+	void addChild(Node child){
+		char c = child.letters[0];
+		while(true){
+			Node[] cs = children;
+			int index = 0;
+			while(index < cs.length && cs[index].letters[0] < c) index++;
+			Node[] newc = new Node[cs.length + 1];
+			System.arraycopy(cs, 0, newc, 0, index);
+			newc[index] = child;
+			System.arraycopy(cs, index, newc, index + 1, cs.length - index);
+			if(CHILDREN.compareAndSet(this, cs, newc)) return;
+		}
+	}
+
+	/**
+	 * Replaces the child oldChild by newChild having the same first letter.
+	 */
+	void replaceChild(Node oldChild, Node newChild){
+		while(true){
+			Node[] cs = children;
+			int index = 0;
+			while(cs[index] != oldChild) index++;
+			Node[] newc = cs.clone();
+			newc[index] = newChild;
+			if(CHILDREN.compareAndSet(this, cs, newc)) return;
+		}
+	}
+
+	private final char[] letters;
+	private volatile boolean terminate;
+	private volatile Node[] children;
+	static final Node[] EMPTY_CHILDREN = {};
+	private static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+			AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class, "children");
+	private static final long serialVersionUID = 2853417093518268871L;
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.trie4j.AbstractTrie;
+import org.trie4j.TermIdVisitor;
 import org.trie4j.Trie;
 import org.trie4j.tail.FastTailCharIterator;
 import org.trie4j.tail.TailBuilder;
@@ -269,6 +270,72 @@ implements Serializable, Trie{
 		};
 	}
 
+	@Override
+	public void commonPrefixSearch(CharSequence chars, int start, int end,
+			TermIdVisitor visitor) {
+		Node node = root;
+		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+		for(int i = start; i < end; i++){
+			node = node.getChild(chars.charAt(i));
+			if(node == null) return;
+			int ti = node.getTailIndex();
+			if(ti != -1){
+				it.setIndex(ti);
+				char c;
+				while((c = it.getNext()) != '\0'){
+					i++;
+					if(i == end || chars.charAt(i) != c) return;
+				}
+			}
+			if(node.isTerminate() && !visitor.visit(chars, start, i + 1, -1)) return;
+		}
+	}
+
+	@Override
+	public void predictiveSearch(CharSequence prefix, TermIdVisitor visitor) {
+		Node node = root;
+		int labelIndex = 0;
+		int n = prefix.length();
+		FastTailCharIterator it = new FastTailCharIterator(tails, -1);
+		for(int i = 0; i < n; i++){
+			node = node.getChild(prefix.charAt(i));
+			if(node == null) return;
+			labelIndex = i;
+			int ti = node.getTailIndex();
+			if(ti == -1) continue;
+			// prefix may end inside the tail.
+			it.setIndex(ti);
+			char c;
+			while(i + 1 < n && (c = it.getNext()) != '\0'){
+				if(prefix.charAt(++i) != c) return;
+			}
+		}
+		StringBuilder b = new StringBuilder(prefix.subSequence(0, labelIndex));
+		predictiveSearch(node, b, it, visitor);
+	}
+
+	private boolean predictiveSearch(Node node, StringBuilder b,
+			FastTailCharIterator it, TermIdVisitor visitor){
+		int len = b.length();
+		char fc = node.getFirstLetter();
+		if(fc != 0xffff) b.append(fc);
+		int ti = node.getTailIndex();
+		if(ti != -1){
+			it.setIndex(ti);
+			char c;
+			while((c = it.getNext()) != '\0') b.append(c);
+		}
+		if(node.isTerminate() && !visitor.visit(b, 0, b.length(), -1)) return false;
+		Node[] children = node.getChildren();
+		if(children != null){
+			for(Node child : children){
+				if(!predictiveSearch(child, b, it, visitor)) return false;
+			}
+		}
+		b.setLength(len);
+		return true;
+	}
+
 	@Override
 	public Iterable<String> predictiveSearch(String prefix) {
 		char[] queryChars = prefix.toCharArray();
@@ -0,0 +1,618 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.sorted;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.trie4j.AbstractLookupCursor;
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.TermIdVisitor;
+import org.trie4j.Trie;
+import org.trie4j.automaton.Automaton;
+import org.trie4j.util.LevenshteinAutomaton;
+import org.trie4j.util.Pair;
+
+/**
+ * Sorted keys stored by bucketed front coding. Keys are split into
+ * buckets of bucketSize keys. The first key of a bucket is stored as is
+ * and the others as the length of the common prefix with the previous key
+ * and the rest of the key. Lookups binary search the first keys of the
+ * buckets and decode one bucket, so there is no per node overhead as in
+ * tries. Term ids are the order of keys.
+ * <p>
+ * Lengths are written as variable length integers. If compactChars is
+ * true, chars are also variable length (1 byte for ASCII, 2 bytes up to
+ * U+3FFF and 3 bytes for the rest), otherwise they take 2 bytes each.
+ * </p>
+ * Nodes returned by {@link #getRoot()} are views of key ranges and their
+ * children are found by binary search, so they can be used as the source
+ * of other tries.
+ * @author agent
+ */
+public class FrontCodedDictionary
+extends AbstractTermIdTrie
+implements Serializable, TermIdTrie{
+	/**
+	 * Builds dictionary from the keys of orig.
+	 */
+	public FrontCodedDictionary(Trie orig){
+		this(sortedKeys(orig), DEFAULT_BUCKET_SIZE, true);
+	}
+
+	public FrontCodedDictionary(Iterator<? extends CharSequence> keys){
+		this(keys, DEFAULT_BUCKET_SIZE, true);
+	}
+
+	/**
+	 * Builds dictionary from keys. Duplicated keys are ignored.
+	 * @param keys keys sorted in ascending order
+	 * @param bucketSize count of keys in a bucket
+	 * @param compactChars write chars in variable length
+	 * @throws IllegalArgumentException if keys are not sorted.
+	 */
+	public FrontCodedDictionary(Iterator<? extends CharSequence> keys, int bucketSize, boolean compactChars){
+		if(bucketSize < 1) throw new IllegalArgumentException("bucketSize must be positive.");
+		this.bucketSize = bucketSize;
+		this.compactChars = compactChars;
+		StringBuilder prev = new StringBuilder();
+		while(keys.hasNext()){
+			CharSequence key = keys.next();
+			int n = Math.min(key.length(), prev.length());
+			int lcp = 0;
+			while(lcp < n && key.charAt(lcp) == prev.charAt(lcp)) lcp++;
+			if(size > 0){
+				if(lcp == key.length() && lcp == prev.length()) continue;
+				if(lcp == key.length() || (lcp < prev.length() && key.charAt(lcp) < prev.charAt(lcp))){
+					throw new IllegalArgumentException("keys must be sorted: " + key);
+				}
+			}
+			if(size % bucketSize == 0){
+				int b = size / bucketSize;
+				if(b == bucketOffsets.length) bucketOffsets = Arrays.copyOf(bucketOffsets, b * 2);
+				bucketOffsets[b] = dataSize;
+				lcp = 0;
+			} else{
+				writeInt(lcp);
+			}
+			writeInt(key.length() - lcp);
+			for(int i = lcp; i < key.length(); i++){
+				writeChar(key.charAt(i));
+			}
+			prev.setLength(lcp);
+			prev.append(key, lcp, key.length());
+			size++;
+		}
+		data = Arrays.copyOf(data, dataSize);
+		bucketOffsets = Arrays.copyOf(bucketOffsets, (size + bucketSize - 1) / bucketSize);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public int getBucketSize(){
+		return bucketSize;
+	}
+
+	/**
+	 * Returns the size of front coded keys in bytes.
+	 */
+	public int getDataSize(){
+		return data.length;
+	}
+
+	/**
+	 * Returns the root of the patricia trie view of keys. A node is the range
+	 * of ids of the keys which start with the path to the node.
+	 */
+	@Override
+	public TermIdNode getRoot() {
+		return new FrontCodedNode(0, size, 0, 0);
+	}
+
+	@Override
+	public int getTermId(String text) {
+		Reader r = new Reader();
+		int id = lowerBound(text, text.length(), r);
+		return id < size && r.equalTo(text, text.length()) ? id : -1;
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		Reader r = new Reader();
+		r.seek(termId);
+		buffer.append(r.key, 0, r.length);
+		return true;
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(String query) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		Reader r = new Reader();
+		int n = query.length();
+		for(int i = 0; i <= n; i++){
+			// the first key which is not less than query[0, i) starts with it if any.
+			int id = lowerBound(query, i, r);
+			if(id == size || !r.startsWith(query, i)) break;
+			if(r.length == i) ret.add(Pair.create(query.substring(0, i), id));
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns lazy Iterable which decodes keys from the first key that
+	 * starts with prefix.
+	 */
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(final String prefix) {
+		return new Iterable<Pair<String, Integer>>(){
+			@Override
+			public Iterator<Pair<String, Integer>> iterator() {
+				final Reader r = new Reader();
+				final int start = lowerBound(prefix, prefix.length(), r);
+				return new Iterator<Pair<String, Integer>>(){
+					@Override
+					public boolean hasNext() {
+						return id < size && r.startsWith(prefix, prefix.length());
+					}
+
+					@Override
+					public Pair<String, Integer> next() {
+						if(!hasNext()) throw new NoSuchElementException();
+						Pair<String, Integer> ret = Pair.create(new String(r.key, 0, r.length), id);
+						if(++id < size) r.next();
+						return ret;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+
+					private int id = start;
+				};
+			}
+		};
+	}
+
+	/**
+	 * Decodes all keys. The Levenshtein automaton is stepped only from the
+	 * common prefix with the previous key.
+	 */
+	@Override
+	public void fuzzySearch(CharSequence query, int maxEdits, TermIdVisitor visitor) {
+		if(size == 0) return;
+		LevenshteinAutomaton la = new LevenshteinAutomaton(query, maxEdits);
+		Reader r = new Reader();
+		r.seek(0);
+		// depth of the valid rows and depth of the char rejected.
+		int valid = 0;
+		int dead = Integer.MAX_VALUE;
+		for(int id = 0; id < size; id++){
+			if(id > 0) r.next();
+			int lcp = r.lcp;
+			if(lcp > dead) continue;
+			dead = Integer.MAX_VALUE;
+			if(valid > lcp) valid = lcp;
+			while(valid < r.length){
+				if(!la.step(valid, r.key[valid])){
+					dead = valid;
+					break;
+				}
+				valid++;
+			}
+			if(dead == Integer.MAX_VALUE && la.isMatch(r.length) &&
+					!visitor.visit(new String(r.key, 0, r.length), 0, r.length, id)){
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns lazy Iterable which decodes keys in order. The automaton is
+	 * stepped only from the common prefix with the previous key and keys
+	 * which share the prefix the automaton rejected are skipped.
+	 */
+	@Override
+	public Iterable<String> automatonSearch(final Automaton automaton) {
+		return new Iterable<String>(){
+			@Override
+			public Iterator<String> iterator() {
+				return new AutomatonSearchIterator(automaton);
+			}
+		};
+	}
+
+	private class AutomatonSearchIterator implements Iterator<String>{
+		public AutomatonSearchIterator(Automaton automaton){
+			this.automaton = automaton;
+			states[0] = automaton.getInitialState();
+			if(size > 0) r.seek(0);
+			findNext();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public String next() {
+			String ret = next;
+			if(ret == null) throw new NoSuchElementException();
+			findNext();
+			return ret;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		private void findNext(){
+			next = null;
+			while(id < size){
+				if(id++ > 0) r.next();
+				int lcp = r.lcp;
+				if(lcp > dead) continue;
+				dead = Integer.MAX_VALUE;
+				if(valid > lcp) valid = lcp;
+				if(r.length >= states.length){
+					states = Arrays.copyOf(states, Math.max(r.length + 1, states.length * 2));
+				}
+				while(valid < r.length){
+					int s = automaton.step(states[valid], r.key[valid]);
+					if(s == -1){
+						dead = valid;
+						break;
+					}
+					states[++valid] = s;
+				}
+				if(dead == Integer.MAX_VALUE && automaton.isAccept(states[r.length])){
+					next = new String(r.key, 0, r.length);
+					return;
+				}
+			}
+		}
+
+		private Automaton automaton;
+		private String next;
+		private Reader r = new Reader();
+		private int id;
+		// states[d] is the state after the first d chars of the key. valid
+		// states are [0, valid] and dead is the depth of the char rejected.
+		private int[] states = new int[16];
+		private int valid;
+		private int dead = Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Narrows the key range for each char by binary search.
+	 */
+	@Override
+	public LookupCursor newLookupCursor() {
+		return new FrontCodedLookupCursor();
+	}
+
+	private class FrontCodedLookupCursor extends AbstractLookupCursor{
+		@Override
+		public void reset() {
+			prefix.setLength(0);
+			id = size > 0 ? lowerBound(prefix, 0, r) : 0;
+		}
+
+		@Override
+		public boolean next(char c) {
+			if(id == size) return false;
+			prefix.append(c);
+			id = lowerBound(prefix, prefix.length(), r);
+			if(id < size && r.startsWith(prefix, prefix.length())) return true;
+			id = size;
+			return false;
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return id < size && r.length == prefix.length();
+		}
+
+		@Override
+		public int getTermId() {
+			return isTerminate() ? id : -1;
+		}
+
+		private StringBuilder prefix = new StringBuilder();
+		private Reader r = new Reader();
+		private int id = size;
+	}
+
+	private class FrontCodedNode implements TermIdNode{
+		/**
+		 * Creates node of the keys [lo, hi) which share the first depth
+		 * chars. The letters of the node are the chars [depth, end) of the
+		 * keys. If end is -1, the rest of their common prefix is used.
+		 */
+		public FrontCodedNode(int lo, int hi, int depth, int end){
+			this.lo = lo;
+			this.hi = hi;
+			Reader r = new Reader();
+			if(end == -1 && hi - lo > 1){
+				r.seek(hi - 1);
+				char[] last = Arrays.copyOf(r.key, r.length);
+				r.seek(lo);
+				int n = Math.min(r.length, last.length);
+				end = depth;
+				while(end < n && r.key[end] == last[end]) end++;
+			} else if(end == -1){
+				r.seek(lo);
+				end = r.length;
+			} else if(lo < hi){
+				r.seek(lo);
+			}
+			this.letters = Arrays.copyOfRange(r.key, depth, end);
+			this.end = end;
+			this.terminate = lo < hi && r.length == end;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return letters.clone();
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return terminate;
+		}
+
+		@Override
+		public int getTermId() {
+			return terminate ? lo : -1;
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			Reader r = new Reader();
+			int s = terminate ? lo + 1 : lo;
+			int e = hi;
+			// the first key whose char at end is not less than c.
+			while(s < e){
+				int m = (s + e) >>> 1;
+				r.seek(m);
+				if(r.key[end] < c) s = m + 1;
+				else e = m;
+			}
+			if(s == hi) return null;
+			r.seek(s);
+			if(r.key[end] != c) return null;
+			return new FrontCodedNode(s, upperBound(s, hi, end, c, r), end, -1);
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			List<TermIdNode> ret = new ArrayList<TermIdNode>();
+			Reader r = new Reader();
+			int s = terminate ? lo + 1 : lo;
+			while(s < hi){
+				r.seek(s);
+				int e = upperBound(s, hi, end, r.key[end], r);
+				ret.add(new FrontCodedNode(s, e, end, -1));
+				s = e;
+			}
+			return ret.toArray(new TermIdNode[ret.size()]);
+		}
+
+		private int lo;
+		private int hi;
+		private int end;
+		private char[] letters;
+		private boolean terminate;
+	}
+
+	@Override
+	public void trimToSize() {
+	}
+
+	/**
+	 * Decodes keys sequentially.
+	 */
+	private class Reader{
+		/**
+		 * Decodes the first key of bucket.
+		 */
+		void seekBucket(int bucket){
+			pos = bucketOffsets[bucket];
+			index = 0;
+			decode(0);
+		}
+
+		/**
+		 * Decodes the key of id.
+		 */
+		void seek(int id){
+			seekBucket(id / bucketSize);
+			for(int i = id % bucketSize; i > 0; i--) next();
+		}
+
+		/**
+		 * Decodes the next key. Must not be called at the last key.
+		 */
+		void next(){
+			if(++index == bucketSize){
+				index = 0;
+				decode(0);
+			} else{
+				decode(readInt());
+			}
+		}
+
+		boolean equalTo(CharSequence s, int n){
+			return length == n && startsWith(s, n);
+		}
+
+		boolean startsWith(CharSequence s, int n){
+			if(length < n) return false;
+			for(int i = 0; i < n; i++){
+				if(key[i] != s.charAt(i)) return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Compares the key with s[0, n).
+		 */
+		int compareTo(CharSequence s, int n){
+			int m = Math.min(length, n);
+			for(int i = 0; i < m; i++){
+				int d = key[i] - s.charAt(i);
+				if(d != 0) return d;
+			}
+			return length - n;
+		}
+
+		/**
+		 * Reads the rest of the key after its common prefix of length
+		 * prefixLength. lcp is set to the common prefix with the previous key.
+		 */
+		private void decode(int prefixLength){
+			int n = readInt();
+			int len = prefixLength + n;
+			if(len > key.length) key = Arrays.copyOf(key, Math.max(len, key.length * 2));
+			int lcp = prefixLength;
+			for(int i = prefixLength; i < len; i++){
+				char c = readChar();
+				// the first key of bucket may share prefix with the previous key.
+				if(lcp == i && i < length && key[i] == c) lcp++;
+				key[i] = c;
+			}
+			this.lcp = lcp;
+			length = len;
+		}
+
+		private int readInt(){
+			int ret = 0;
+			for(int shift = 0; ; shift += 7){
+				int b = data[pos++];
+				ret |= (b & 0x7f) << shift;
+				if(b >= 0) return ret;
+			}
+		}
+
+		private char readChar(){
+			if(compactChars) return (char)readInt();
+			int hi = data[pos++] & 0xff;
+			return (char)(hi << 8 | data[pos++] & 0xff);
+		}
+
+		private int pos;
+		private int index;
+		private char[] key = new char[32];
+		private int length;
+		private int lcp;
+	}
+
+	/**
+	 * Returns the smallest id whose key is not less than s[0, n) or size.
+	 * r is left at the key of the id if it is less than size.
+	 */
+	private int lowerBound(CharSequence s, int n, Reader r){
+		if(size == 0) return 0;
+		// the last bucket whose first key is less than s.
+		int lo = 0;
+		int hi = bucketOffsets.length - 1;
+		while(lo < hi){
+			int m = (lo + hi + 1) >>> 1;
+			r.seekBucket(m);
+			if(r.compareTo(s, n) < 0) lo = m;
+			else hi = m - 1;
+		}
+		r.seekBucket(lo);
+		int id = lo * bucketSize;
+		while(r.compareTo(s, n) < 0){
+			if(++id == size) return size;
+			r.next();
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the first id in [lo, hi) whose char at depth is greater than
+	 * c or hi. Keys in [lo, hi) must be longer than depth and share the
+	 * first depth chars.
+	 */
+	private int upperBound(int lo, int hi, int depth, char c, Reader r){
+		while(lo < hi){
+			int m = (lo + hi) >>> 1;
+			r.seek(m);
+			if(r.key[depth] <= c) lo = m + 1;
+			else hi = m;
+		}
+		return lo;
+	}
+
+	private void writeInt(int v){
+		ensureData(5);
+		while((v & ~0x7f) != 0){
+			data[dataSize++] = (byte)(v & 0x7f | 0x80);
+			v >>>= 7;
+		}
+		data[dataSize++] = (byte)v;
+	}
+
+	private void writeChar(char c){
+		if(compactChars){
+			writeInt(c);
+		} else{
+			ensureData(2);
+			data[dataSize++] = (byte)(c >> 8);
+			data[dataSize++] = (byte)c;
+		}
+	}
+
+	private void ensureData(int n){
+		if(dataSize + n > data.length){
+			data = Arrays.copyOf(data, Math.max(dataSize + n, data.length * 2));
+		}
+	}
+
+	private static Iterator<String> sortedKeys(Trie orig){
+		List<String> keys = new ArrayList<String>(orig.size());
+		for(String k : orig.predictiveSearch("")){
+			keys.add(k);
+		}
+		Collections.sort(keys);
+		return keys.iterator();
+	}
+
+	private int size;
+	private int bucketSize;
+	private boolean compactChars;
+	private byte[] data = new byte[1024];
+	private int dataSize;
+	private int[] bucketOffsets = new int[16];
+	private static final int DEFAULT_BUCKET_SIZE = 16;
+	private static final long serialVersionUID = -5121780093591893042L;
+}
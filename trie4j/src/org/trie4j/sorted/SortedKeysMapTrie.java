@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.sorted;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.trie4j.AbstractTermIdMapTrie;
+import org.trie4j.MapTrie;
+
+/**
+ * Read-only map trie built in one pass from entries sorted by key.
+ * See {@link SortedKeysTrie}. Intended to be the source trie of
+ * MapDoubleArray, MapTailLOUDSTrie and so on.
+ * @author agent
+ */
+public class SortedKeysMapTrie<T>
+extends AbstractTermIdMapTrie<T>
+implements MapTrie<T>{
+	public SortedKeysMapTrie(){
+	}
+
+	/**
+	 * Builds trie from entries. The value of the last entry is used for
+	 * duplicated keys.
+	 * @param entries entries sorted by key in ascending order
+	 * @throws IllegalArgumentException if entries are not sorted.
+	 */
+	public SortedKeysMapTrie(Iterator<? extends Map.Entry<? extends CharSequence, ? extends T>> entries){
+		SortedKeysTrie trie = new SortedKeysTrie(true);
+		while(entries.hasNext()){
+			Map.Entry<? extends CharSequence, ? extends T> e = entries.next();
+			trie.add(e.getKey(), e.getValue());
+		}
+		trie.finish();
+		setTrie(trie);
+		setValues(trie.takeValues());
+	}
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.sorted;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.trie4j.AbstractTermIdTrie;
+import org.trie4j.TermIdNode;
+import org.trie4j.TermIdTrie;
+import org.trie4j.bv.LongsSuccinctBitVector;
+import org.trie4j.util.Pair;
+
+/**
+ * Read-only patricia trie built in one pass from keys sorted in ascending
+ * order (String.compareTo order). Each node is written to flat arrays
+ * when the next key leaves it. The whole trie is kept: three ints per node
+ * and the letters, about 20 bytes per key for 3M synthetic keys against
+ * about 63 bytes of PatriciaTrie. Intended to be the source trie of
+ * DoubleArray, TailDoubleArray and so on:
+ * <pre>
+ * DoubleArray trie = new DoubleArray(new SortedKeysTrie(sortedKeys.iterator()));
+ * </pre>
+ * TailLOUDSTrie can be built from sorted keys without a source trie by
+ * {@link org.trie4j.louds.TailLOUDSTrie#TailLOUDSTrie(Iterator)}.
+ * Nodes are numbered in post order and term ids are the order of the
+ * terminal nodes.
+ * @author agent
+ */
+public class SortedKeysTrie
+extends AbstractTermIdTrie
+implements Serializable, TermIdTrie{
+	/**
+	 * Builds trie from keys. Duplicated keys are ignored.
+	 * @param keys keys sorted in ascending order
+	 * @throws IllegalArgumentException if keys are not sorted.
+	 */
+	public SortedKeysTrie(Iterator<? extends CharSequence> keys){
+		this(false);
+		while(keys.hasNext()){
+			add(keys.next(), null);
+		}
+		finish();
+	}
+
+	SortedKeysTrie(boolean withValues){
+		if(withValues) values = new ArrayList<Object>();
+	}
+
+	/**
+	 * Adds key. Keys must be added in ascending order.
+	 */
+	void add(CharSequence key, Object value){
+		int len = key.length();
+		int pl = path.length();
+		int n = Math.min(len, pl);
+		int lcp = 0;
+		while(lcp < n && key.charAt(lcp) == path.charAt(lcp)) lcp++;
+		if(lcp == len){
+			if(lcp < pl){
+				throw new IllegalArgumentException("keys must be sorted: " + key);
+			}
+			if(!pathTerms[len]){
+				// only the empty key at first.
+				pathTerms[len] = true;
+				pathValues[len] = value;
+				size++;
+			} else if(values != null){
+				pathValues[len] = value;
+			}
+			return;
+		}
+		if(lcp < pl && key.charAt(lcp) < path.charAt(lcp)){
+			throw new IllegalArgumentException("keys must be sorted: " + key);
+		}
+		close(lcp);
+		path.setLength(lcp);
+		path.append(key, lcp, len);
+		if(len >= pathTerms.length){
+			int sz = Math.max(len + 1, pathTerms.length * 2);
+			pathTerms = Arrays.copyOf(pathTerms, sz);
+			pathChildCounts = Arrays.copyOf(pathChildCounts, sz);
+			pathValues = Arrays.copyOf(pathValues, sz);
+		}
+		for(int i = lcp + 1; i <= len; i++){
+			pathTerms[i] = false;
+			pathChildCounts[i] = 0;
+			pathValues[i] = null;
+		}
+		pathTerms[len] = true;
+		pathValues[len] = value;
+		size++;
+	}
+
+	/**
+	 * Writes remaining nodes. No keys can be added after this.
+	 */
+	void finish(){
+		close(0);
+		emit(0, 0, 0);
+		lettersStarts[nodeCount] = lettersSize;
+		childrenStarts[nodeCount] = childrenSize;
+		letters = Arrays.copyOf(letters, lettersSize);
+		lettersStarts = Arrays.copyOf(lettersStarts, nodeCount + 1);
+		childrenStarts = Arrays.copyOf(childrenStarts, nodeCount + 1);
+		children = Arrays.copyOf(children, childrenSize);
+		term.trimToSize();
+		root = nodeCount - 1;
+		path = null;
+		pathTerms = null;
+		pathChildCounts = null;
+		pathValues = null;
+		pendings = null;
+	}
+
+	/**
+	 * Returns values of terminal nodes in term id order and releases them.
+	 */
+	Object[] takeValues(){
+		Object[] ret = values.toArray();
+		values = null;
+		return ret;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public TermIdNode getRoot() {
+		return new SortedKeysNode(root);
+	}
+
+	@Override
+	public int getTermId(String text) {
+		int node = root;
+		int n = text.length();
+		int i = 0;
+		while(true){
+			int ls = lettersStarts[node];
+			int le = lettersStarts[node + 1];
+			if(n - i < le - ls) return -1;
+			for(int j = ls; j < le; j++){
+				if(letters[j] != text.charAt(i++)) return -1;
+			}
+			if(i == n) return term.isOne(node) ? term.rank1(node) - 1 : -1;
+			node = getChild(node, text.charAt(i));
+			if(node == -1) return -1;
+		}
+	}
+
+	@Override
+	public boolean appendKey(int termId, StringBuilder buffer) {
+		if(termId < 0 || termId >= size) return false;
+		// nodes are in post order, so the last term id in the subtree of
+		// node is term.rank1(node) - 1. descend to the child which covers termId.
+		int node = root;
+		while(true){
+			buffer.append(letters, lettersStarts[node], lettersStarts[node + 1] - lettersStarts[node]);
+			if(term.isOne(node) && term.rank1(node) - 1 == termId) return true;
+			int lo = childrenStarts[node];
+			int hi = childrenStarts[node + 1] - 1;
+			while(lo < hi){
+				int m = (lo + hi) >>> 1;
+				if(term.rank1(children[m]) - 1 < termId) lo = m + 1;
+				else hi = m;
+			}
+			node = children[lo];
+		}
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> commonPrefixSearchWithTermId(String query) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int node = root;
+		int n = query.length();
+		int i = 0;
+		while(true){
+			int ls = lettersStarts[node];
+			int le = lettersStarts[node + 1];
+			if(n - i < le - ls) return ret;
+			for(int j = ls; j < le; j++){
+				if(letters[j] != query.charAt(i++)) return ret;
+			}
+			if(term.isOne(node)){
+				ret.add(Pair.create(query.substring(0, i), term.rank1(node) - 1));
+			}
+			if(i == n) return ret;
+			node = getChild(node, query.charAt(i));
+			if(node == -1) return ret;
+		}
+	}
+
+	@Override
+	public Iterable<Pair<String, Integer>> predictiveSearchWithTermId(String prefix) {
+		List<Pair<String, Integer>> ret = new ArrayList<Pair<String, Integer>>();
+		int node = root;
+		int n = prefix.length();
+		int i = 0;
+		while(true){
+			int ls = lettersStarts[node];
+			int le = lettersStarts[node + 1];
+			for(int j = ls; j < le; j++, i++){
+				if(i == n){
+					// prefix ends in the middle of letters.
+					enumerate(node, new StringBuilder(prefix.substring(0, i - (j - ls))), ret);
+					return ret;
+				}
+				if(letters[j] != prefix.charAt(i)) return ret;
+			}
+			if(i == n){
+				enumerate(node, new StringBuilder(prefix.substring(0, i - (le - ls))), ret);
+				return ret;
+			}
+			node = getChild(node, prefix.charAt(i));
+			if(node == -1) return ret;
+		}
+	}
+
+	@Override
+	public void trimToSize() {
+	}
+
+	private class SortedKeysNode implements TermIdNode{
+		public SortedKeysNode(int index){
+			this.index = index;
+		}
+
+		@Override
+		public char[] getLetters() {
+			return Arrays.copyOfRange(letters, lettersStarts[index], lettersStarts[index + 1]);
+		}
+
+		@Override
+		public boolean isTerminate() {
+			return term.isOne(index);
+		}
+
+		@Override
+		public int getTermId() {
+			return term.isOne(index) ? term.rank1(index) - 1 : -1;
+		}
+
+		@Override
+		public TermIdNode getChild(char c) {
+			int ret = SortedKeysTrie.this.getChild(index, c);
+			return ret == -1 ? null : new SortedKeysNode(ret);
+		}
+
+		@Override
+		public TermIdNode[] getChildren() {
+			int s = childrenStarts[index];
+			int e = childrenStarts[index + 1];
+			TermIdNode[] ret = new TermIdNode[e - s];
+			for(int i = s; i < e; i++){
+				ret[i - s] = new SortedKeysNode(children[i]);
+			}
+			return ret;
+		}
+
+		private int index;
+	}
+
+	/**
+	 * Writes the nodes on the path deeper than lcp. Position i of the path
+	 * is the node reached by the first i chars of the last key.
+	 */
+	private void close(int lcp){
+		int e = path.length();
+		while(e > lcp){
+			int s = e;
+			// merge the positions that have just one child into one node.
+			while(s - 1 > lcp && !pathTerms[s - 1] && pathChildCounts[s - 1] == 0){
+				s--;
+			}
+			emit(s - 1, e, e);
+			pathChildCounts[s - 1]++;
+			e = s - 1;
+		}
+	}
+
+	/**
+	 * Writes node which has path chars [lettersFrom, lettersTo) and the
+	 * terminal flag, value and children of path position pos.
+	 * The index of the node is pushed to pendings as the child of its parent.
+	 */
+	private void emit(int lettersFrom, int lettersTo, int pos){
+		int index = nodeCount++;
+		if(nodeCount >= lettersStarts.length){
+			int sz = lettersStarts.length * 2;
+			lettersStarts = Arrays.copyOf(lettersStarts, sz);
+			childrenStarts = Arrays.copyOf(childrenStarts, sz);
+		}
+		int ln = lettersTo - lettersFrom;
+		if(lettersSize + ln > letters.length){
+			letters = Arrays.copyOf(letters, Math.max(lettersSize + ln, letters.length * 2));
+		}
+		lettersStarts[index] = lettersSize;
+		path.getChars(lettersFrom, lettersTo, letters, lettersSize);
+		lettersSize += ln;
+
+		int cn = pathChildCounts[pos];
+		if(childrenSize + cn > children.length){
+			children = Arrays.copyOf(children, Math.max(childrenSize + cn, children.length * 2));
+		}
+		childrenStarts[index] = childrenSize;
+		System.arraycopy(pendings, pendingsSize - cn, children, childrenSize, cn);
+		childrenSize += cn;
+		pendingsSize -= cn;
+
+		if(pathTerms[pos]){
+			term.append1();
+			if(values != null) values.add(pathValues[pos]);
+		} else{
+			term.append0();
+		}
+		if(pendingsSize == pendings.length){
+			pendings = Arrays.copyOf(pendings, pendingsSize * 2);
+		}
+		pendings[pendingsSize++] = index;
+	}
+
+	private int getChild(int node, char c){
+		int lo = childrenStarts[node];
+		int hi = childrenStarts[node + 1] - 1;
+		while(lo <= hi){
+			int m = (lo + hi) >>> 1;
+			char v = letters[lettersStarts[children[m]]];
+			if(v < c) lo = m + 1;
+			else if(v > c) hi = m - 1;
+			else return children[m];
+		}
+		return -1;
+	}
+
+	private void enumerate(int node, StringBuilder b, List<Pair<String, Integer>> ret){
+		int len = b.length();
+		b.append(letters, lettersStarts[node], lettersStarts[node + 1] - lettersStarts[node]);
+		if(term.isOne(node)){
+			ret.add(Pair.create(b.toString(), term.rank1(node) - 1));
+		}
+		for(int i = childrenStarts[node]; i < childrenStarts[node + 1]; i++){
+			enumerate(children[i], b, ret);
+		}
+		b.setLength(len);
+	}
+
+	private int size;
+	private int root;
+	private int nodeCount;
+	private char[] letters = new char[1024];
+	private int lettersSize;
+	private int[] lettersStarts = new int[256];
+	private int[] childrenStarts = new int[256];
+	private int[] children = new int[256];
+	private int childrenSize;
+	private LongsSuccinctBitVector term = new LongsSuccinctBitVector();
+	private transient List<Object> values;
+
+	// the last key and the state of each position of it while building.
+	private transient StringBuilder path = new StringBuilder();
+	private transient boolean[] pathTerms = new boolean[16];
+	private transient int[] pathChildCounts = new int[16];
+	private transient Object[] pathValues = new Object[16];
+	// written nodes whose parent is not written yet.
+	private transient int[] pendings = new int[16];
+	private transient int pendingsSize;
+	private static final long serialVersionUID = -3592781226232339578L;
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.tokenizer;
+
+/**
+ * Costs for {@link Tokenizer#tokenize(CharSequence, CostFunction)}.
+ * The path of edges with the minimum total cost is chosen.
+ * @author agent
+ */
+public interface CostFunction {
+	/**
+	 * Returns the cost of word.
+	 * @param termId term id of word or {@link Lattice#UNKNOWN}.
+	 */
+	int getWordCost(int termId);
+
+	/**
+	 * Returns the cost of connecting words.
+	 * @param leftTermId term id of left word or {@link Tokenizer#BOS}
+	 * @param rightTermId term id of right word or {@link Tokenizer#EOS}
+	 */
+	int getConnectionCost(int leftTermId, int rightTermId);
+}
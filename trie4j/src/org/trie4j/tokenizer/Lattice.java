@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.tokenizer;
+
+import java.util.Arrays;
+
+import org.trie4j.TermIdTrie;
+import org.trie4j.TermIdVisitor;
+
+/**
+ * Word lattice of a text. Each edge is a range [start, end) of the text
+ * and the term id of the word. Edges are held in primitive arrays sorted
+ * by start and then by end, and the buffers are reused by the next
+ * {@link #build(TermIdTrie, CharSequence)}.
+ * Positions where no word starts get an edge of one char
+ * (one code point) whose term id is {@link #UNKNOWN}, so the text is
+ * always covered by a path of edges.
+ * @author agent
+ */
+public class Lattice {
+	/**
+	 * Builds lattice of text from all the words of trie found in it.
+	 */
+	public void build(TermIdTrie trie, CharSequence text){
+		int n = text.length();
+		size = 0;
+		textLength = n;
+		if(firstEdges.length < n + 1) firstEdges = new int[n + 1];
+		for(int i = 0; i < n; i++){
+			firstEdges[i] = size;
+			trie.commonPrefixSearch(text, i, n, adder);
+			if(firstEdges[i] == size){
+				add(i, i + Character.charCount(Character.codePointAt(text, i)), UNKNOWN);
+			}
+		}
+		firstEdges[n] = size;
+	}
+
+	public int getTextLength(){
+		return textLength;
+	}
+
+	/**
+	 * Returns the count of edges.
+	 */
+	public int size(){
+		return size;
+	}
+
+	public int getStart(int edge){
+		return starts[edge];
+	}
+
+	public int getEnd(int edge){
+		return ends[edge];
+	}
+
+	public int getTermId(int edge){
+		return termIds[edge];
+	}
+
+	/**
+	 * Returns the first edge that starts at pos. The edges that start at
+	 * pos are [getFirstEdge(pos), getFirstEdge(pos + 1)).
+	 */
+	public int getFirstEdge(int pos){
+		return firstEdges[pos];
+	}
+
+	private void add(int start, int end, int termId){
+		if(size == starts.length){
+			int sz = size * 2;
+			starts = Arrays.copyOf(starts, sz);
+			ends = Arrays.copyOf(ends, sz);
+			termIds = Arrays.copyOf(termIds, sz);
+		}
+		starts[size] = start;
+		ends[size] = end;
+		termIds[size] = termId;
+		size++;
+	}
+
+	private TermIdVisitor adder = new TermIdVisitor(){
+		@Override
+		public boolean visit(CharSequence chars, int start, int end, int termId) {
+			add(start, end, termId);
+			return true;
+		}
+	};
+	private int textLength;
+	private int size;
+	private int[] starts = new int[64];
+	private int[] ends = new int[64];
+	private int[] termIds = new int[64];
+	private int[] firstEdges = new int[64];
+	/** term id of the edges of unknown words. */
+	public static final int UNKNOWN = -1;
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.tokenizer;
+
+import java.util.Arrays;
+
+import org.trie4j.TermIdTrie;
+
+/**
+ * Dictionary based tokenizer. The words of text are found by
+ * {@link Lattice} and the text is segmented by longest match or by
+ * minimum cost path (Viterbi). Buffers are reused across calls, so an
+ * instance must not be shared between threads. Create one for each
+ * thread on the same trie.
+ * @author agent
+ */
+public class Tokenizer {
+	public Tokenizer(TermIdTrie trie){
+		this.trie = trie;
+	}
+
+	public TermIdTrie getTrie(){
+		return trie;
+	}
+
+	/**
+	 * Builds lattice of text. The returned lattice is reused by the next
+	 * call.
+	 */
+	public Lattice buildLattice(CharSequence text){
+		lattice.build(trie, text);
+		return lattice;
+	}
+
+	/**
+	 * Segments text by leftmost longest match.
+	 */
+	public Tokens tokenizeLongest(CharSequence text){
+		buildLattice(text);
+		tokens.clear();
+		int n = lattice.getTextLength();
+		for(int pos = 0; pos < n; ){
+			// edges that start at pos are sorted by end.
+			int e = lattice.getFirstEdge(pos + 1) - 1;
+			tokens.add(pos, lattice.getEnd(e), lattice.getTermId(e));
+			pos = lattice.getEnd(e);
+		}
+		return tokens;
+	}
+
+	/**
+	 * Segments text into the path of the minimum total cost.
+	 */
+	public Tokens tokenize(CharSequence text, CostFunction costs){
+		buildLattice(text);
+		int n = lattice.getTextLength();
+		int edgeCount = lattice.size();
+		indexEnds(n, edgeCount);
+		if(bestCosts.length < edgeCount){
+			bestCosts = new long[edgeCount];
+			bestPrevs = new int[edgeCount];
+		}
+		for(int e = 0; e < edgeCount; e++){
+			int start = lattice.getStart(e);
+			int termId = lattice.getTermId(e);
+			long best = Long.MAX_VALUE;
+			int prev = -1;
+			if(start == 0){
+				best = costs.getConnectionCost(BOS, termId);
+			} else{
+				for(int i = endOffsets[start]; i < endOffsets[start + 1]; i++){
+					int l = endEdges[i];
+					if(bestCosts[l] == Long.MAX_VALUE) continue;
+					long c = bestCosts[l] + costs.getConnectionCost(lattice.getTermId(l), termId);
+					if(c < best){
+						best = c;
+						prev = l;
+					}
+				}
+			}
+			if(best != Long.MAX_VALUE) best += costs.getWordCost(termId);
+			bestCosts[e] = best;
+			bestPrevs[e] = prev;
+		}
+		long best = Long.MAX_VALUE;
+		int last = -1;
+		for(int i = endOffsets[n]; i < endOffsets[n + 1]; i++){
+			int l = endEdges[i];
+			if(bestCosts[l] == Long.MAX_VALUE) continue;
+			long c = bestCosts[l] + costs.getConnectionCost(lattice.getTermId(l), EOS);
+			if(c < best){
+				best = c;
+				last = l;
+			}
+		}
+		tokens.clear();
+		for(int e = last; e != -1; e = bestPrevs[e]){
+			tokens.add(lattice.getStart(e), lattice.getEnd(e), lattice.getTermId(e));
+		}
+		tokens.reverse();
+		return tokens;
+	}
+
+	/**
+	 * Lists edges by end position. Edges that end at pos are
+	 * endEdges[endOffsets[pos], endOffsets[pos + 1]).
+	 */
+	private void indexEnds(int textLength, int edgeCount){
+		if(endOffsets.length < textLength + 2) endOffsets = new int[textLength + 2];
+		if(endEdges.length < edgeCount) endEdges = new int[edgeCount];
+		Arrays.fill(endOffsets, 0, textLength + 2, 0);
+		for(int e = 0; e < edgeCount; e++){
+			endOffsets[lattice.getEnd(e)]++;
+		}
+		// count of edges that end at or before pos.
+		for(int i = 1; i <= textLength; i++){
+			endOffsets[i] += endOffsets[i - 1];
+		}
+		endOffsets[textLength + 1] = edgeCount;
+		// decrement back to the count of edges that end before pos.
+		for(int e = edgeCount - 1; e >= 0; e--){
+			endEdges[--endOffsets[lattice.getEnd(e)]] = e;
+		}
+	}
+
+	private TermIdTrie trie;
+	private Lattice lattice = new Lattice();
+	private Tokens tokens = new Tokens();
+	private int[] endOffsets = new int[64];
+	private int[] endEdges = new int[64];
+	private long[] bestCosts = new long[64];
+	private int[] bestPrevs = new int[64];
+	/** term id of the beginning of text passed to {@link CostFunction}. */
+	public static final int BOS = -2;
+	/** term id of the end of text passed to {@link CostFunction}. */
+	public static final int EOS = -3;
+}
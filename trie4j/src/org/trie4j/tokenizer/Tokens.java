@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.tokenizer;
+
+import java.util.Arrays;
+
+/**
+ * Tokens of a text, in the order of appearance. Instances are reused by
+ * {@link Tokenizer}, so the contents are valid until the next call.
+ * @author agent
+ */
+public class Tokens {
+	public int size(){
+		return size;
+	}
+
+	public int getStart(int index){
+		return starts[index];
+	}
+
+	public int getEnd(int index){
+		return ends[index];
+	}
+
+	/**
+	 * Returns term id of token or {@link Lattice#UNKNOWN}.
+	 */
+	public int getTermId(int index){
+		return termIds[index];
+	}
+
+	void clear(){
+		size = 0;
+	}
+
+	void add(int start, int end, int termId){
+		if(size == starts.length){
+			int sz = size * 2;
+			starts = Arrays.copyOf(starts, sz);
+			ends = Arrays.copyOf(ends, sz);
+			termIds = Arrays.copyOf(termIds, sz);
+		}
+		starts[size] = start;
+		ends[size] = end;
+		termIds[size] = termId;
+		size++;
+	}
+
+	/**
+	 * Reverses the order of tokens, used after adding from the end.
+	 */
+	void reverse(){
+		for(int i = 0, j = size - 1; i < j; i++, j--){
+			swap(starts, i, j);
+			swap(ends, i, j);
+			swap(termIds, i, j);
+		}
+	}
+
+	private static void swap(int[] array, int i, int j){
+		int v = array[i];
+		array[i] = array[j];
+		array[j] = v;
+	}
+
+	private int size;
+	private int[] starts = new int[16];
+	private int[] ends = new int[16];
+	private int[] termIds = new int[16];
+}
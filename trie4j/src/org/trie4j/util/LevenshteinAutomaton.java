@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.util;
+
+import java.util.Arrays;
+
+/**
+ * Levenshtein automaton of query, simulated by the rows of the edit
+ * distance table. The state after reading the input of length depth is
+ * the row of depth, and only the 2 * maxEdits + 1 cells around the
+ * diagonal are computed for each row. The rows of all depths are kept,
+ * so trie walks can go back to any shallower depth and step again.
+ * @author agent
+ */
+public class LevenshteinAutomaton {
+	public LevenshteinAutomaton(CharSequence query, int maxEdits){
+		if(maxEdits < 0) throw new IllegalArgumentException("maxEdits must not be negative.");
+		this.query = query.toString().toCharArray();
+		this.maxEdits = maxEdits;
+		this.width = this.query.length + 1;
+		this.rows = new int[width * 16];
+		Arrays.fill(rows, maxEdits + 1);
+		for(int j = 0; j <= Math.min(this.query.length, maxEdits); j++){
+			rows[j] = j;
+		}
+	}
+
+	public int getMaxEdits(){
+		return maxEdits;
+	}
+
+	/**
+	 * Computes the state of depth + 1 by reading c at the state of depth.
+	 * @return false if no input that starts with the input read can match.
+	 */
+	public boolean step(int depth, char c){
+		int prev = depth * width;
+		int cur = prev + width;
+		if(cur + width > rows.length){
+			int sz = rows.length;
+			rows = Arrays.copyOf(rows, Math.max(sz * 2, cur + width));
+			Arrays.fill(rows, sz, rows.length, maxEdits + 1);
+		}
+		int d = depth + 1;
+		int over = maxEdits + 1;
+		int lo = Math.max(0, d - maxEdits);
+		int hi = Math.min(query.length, d + maxEdits);
+		int min = over;
+		for(int j = lo; j <= hi; j++){
+			int v;
+			if(j == 0){
+				v = d;
+			} else{
+				v = rows[prev + j - 1] + (query[j - 1] == c ? 0 : 1);
+				v = Math.min(v, rows[prev + j] + 1);
+				v = Math.min(v, rows[cur + j - 1] + 1);
+			}
+			if(v > over) v = over;
+			rows[cur + j] = v;
+			if(v < min) min = v;
+		}
+		return min <= maxEdits;
+	}
+
+	/**
+	 * Returns the edit distance between query and the input of depth,
+	 * or maxEdits + 1 if it exceeds maxEdits.
+	 */
+	public int getDistance(int depth){
+		return rows[depth * width + query.length];
+	}
+
+	public boolean isMatch(int depth){
+		return getDistance(depth) <= maxEdits;
+	}
+
+	private char[] query;
+	private int maxEdits;
+	private int width;
+	private int[] rows;
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.util;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterable that iterates at most limit elements of the original.
+ * @author agent
+ */
+public class LimitedIterable<T> implements Iterable<T>{
+	public LimitedIterable(Iterable<T> orig, int limit){
+		this.orig = orig;
+		this.limit = limit;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		final Iterator<T> it = orig.iterator();
+		return new Iterator<T>(){
+			@Override
+			public boolean hasNext() {
+				return count < limit && it.hasNext();
+			}
+			@Override
+			public T next() {
+				if(count >= limit) throw new NoSuchElementException();
+				T ret = it.next();
+				count++;
+				return ret;
+			}
+			@Override
+			public void remove() {
+				it.remove();
+			}
+			private int count;
+		};
+	}
+
+	private Iterable<T> orig;
+	private int limit;
+}
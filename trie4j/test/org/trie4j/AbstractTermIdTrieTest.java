@@ -15,11 +15,17 @@
  */
 package org.trie4j;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.trie4j.util.Pair;
 
 public abstract class AbstractTermIdTrieTest extends AbstractTrieTest{
 	@Override
@@ -39,4 +45,160 @@ public abstract class AbstractTermIdTrieTest extends AbstractTrieTest{
 		}
 		Assert.assertEquals(0, ids.size());
 	}
+
+	@Test
+	public void test_termId_notContained() throws Exception{
+		String[] words = {"hello", "world", "apple", "banana", "strawbelly"};
+		TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		Assert.assertEquals(-1, t.getTermId("hel"));
+		Assert.assertEquals(-1, t.getTermId("hellow"));
+		Assert.assertEquals(-1, t.getTermId("applepie"));
+		Assert.assertEquals(-1, t.getTermId("\u3042"));
+	}
+
+	@Test
+	public void test_predictiveSearchWithTermId() throws Exception{
+		String[] words = {"hello", "helloworld", "hi", "howsgoing", "hell", "helloworld2", "world"};
+		TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		Set<String> found = new HashSet<String>();
+		for(Pair<String, Integer> p : t.predictiveSearchWithTermId("h")){
+			Assert.assertEquals(p.getFirst(), t.getTermId(p.getFirst()), p.getSecond().intValue());
+			found.add(p.getFirst());
+		}
+		Assert.assertEquals(6, found.size());
+		Iterator<Pair<String, Integer>> it = t.predictiveSearchWithTermId("hell", 1).iterator();
+		Assert.assertTrue(it.hasNext());
+		Pair<String, Integer> p = it.next();
+		Assert.assertEquals(t.getTermId(p.getFirst()), p.getSecond().intValue());
+		Assert.assertFalse(it.hasNext());
+		Assert.assertFalse(t.predictiveSearchWithTermId("hex").iterator().hasNext());
+	}
+
+	@Test
+	public void test_commonPrefixSearchWithTermId() throws Exception{
+		String[] words = {"hello", "helloworld", "hi", "howsgoing", "hell", "helloworld2", "world"};
+		final TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		List<String> found = new ArrayList<String>();
+		for(Pair<String, Integer> p : t.commonPrefixSearchWithTermId("helloworld2x")){
+			Assert.assertEquals(p.getFirst(), t.getTermId(p.getFirst()), p.getSecond().intValue());
+			found.add(p.getFirst() + ":" + p.getSecond());
+		}
+		Assert.assertEquals(4, found.size());
+		final List<String> visited = new ArrayList<String>();
+		t.commonPrefixSearch("helloworld2x", 0, 12, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				visited.add(chars.subSequence(start, end) + ":" + termId);
+				return true;
+			}
+		});
+		Assert.assertEquals(found, visited);
+	}
+
+	@Test
+	public void test_getTermIds() throws Exception{
+		String[] words = {"he", "hello", "helloworld", "hi", "world", "apple", "\u3042\u3044"};
+		TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		Random r = new Random(1);
+		CharSequence[] keys = new CharSequence[10000];
+		for(int i = 0; i < keys.length; i++){
+			String w = words[r.nextInt(words.length)];
+			// misses which share prefixes with keys.
+			switch(r.nextInt(4)){
+				case 0: w = w.substring(0, r.nextInt(w.length() + 1)); break;
+				case 1: w = w + "x"; break;
+				default: break;
+			}
+			keys[i] = r.nextBoolean() ? w : new StringBuilder(w);
+		}
+		int[] out = new int[keys.length];
+		t.getTermIds(keys, out);
+		for(int i = 0; i < keys.length; i++){
+			Assert.assertEquals(keys[i].toString(), t.getTermId(keys[i].toString()), out[i]);
+		}
+		int[] parallelOut = new int[keys.length];
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try{
+			t.getTermIds(keys, parallelOut, pool);
+		} finally{
+			pool.shutdown();
+		}
+		Assert.assertArrayEquals(out, parallelOut);
+		t.getTermIds(new CharSequence[]{}, new int[]{});
+	}
+
+	@Test
+	public void test_getTermIds_sameLowByte() throws Exception{
+		// first chars share the low byte 0x42.
+		String[] words = {"B", "Bc", "\u0142a", "\u0142", "\u3042\u3044", "\u3042"};
+		TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		CharSequence[] keys = {"\u3042\u3044", "Bc", "", "\u0142a", "B", "\u3042", "\u3042\u3044x", "\u0142", "Bc"};
+		int[] out = new int[keys.length];
+		t.getTermIds(keys, out);
+		for(int i = 0; i < keys.length; i++){
+			Assert.assertEquals(keys[i].toString(), t.getTermId(keys[i].toString()), out[i]);
+		}
+	}
+
+	@Test
+	public void test_groupByFirstChar() throws Exception{
+		CharSequence[] keys = {"\u3042b", "Bc", "", "\u0142a", "B", "\u3042a", "\u0142", "Ba"};
+		int[] order = {7, 0, 1, 2, 3, 4, 5, 6};
+		AbstractTermIdTrie.groupByFirstChar(keys, order, 1, order.length);
+		Assert.assertArrayEquals(new int[]{7, 2, 1, 4, 3, 6, 0, 5}, order);
+	}
+
+	@Test
+	public void test_lookupCursor() throws Exception{
+		String[] words = {"hello", "helloworld", "world", "apple", "banana", "strawbelly"};
+		TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		LookupCursor c = t.newLookupCursor();
+		for(String w : words){
+			Assert.assertTrue(w, c.contains(w, 0, w.length()));
+			Assert.assertEquals(w, t.getTermId(w), c.getTermId(w, 0, w.length()));
+			char[] chars = ("[" + w + "]").toCharArray();
+			Assert.assertEquals(w, t.getTermId(w), c.getTermId(chars, 1, w.length()));
+		}
+		for(String w : new String[]{"", "hel", "hellow", "helloworlds", "applepie", "\u3042"}){
+			Assert.assertFalse(w, c.contains(w, 0, w.length()));
+			Assert.assertEquals(w, -1, c.getTermId(w.toCharArray(), 0, w.length()));
+		}
+	}
+
+	@Test
+	public void test_lookupCursor_prefixWalk() throws Exception{
+		String[] words = {"he", "hello", "helloworld", "world"};
+		TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		LookupCursor c = t.newLookupCursor();
+		String query = "helloworlds";
+		StringBuilder found = new StringBuilder();
+		c.reset();
+		for(int i = 0; i < query.length() && c.next(query.charAt(i)); i++){
+			int id = c.getTermId();
+			if(id == -1) continue;
+			String w = query.substring(0, i + 1);
+			Assert.assertEquals(w, t.getTermId(w), id);
+			found.append(w).append(",");
+		}
+		Assert.assertEquals("he,hello,helloworld,", found.toString());
+		Assert.assertFalse(c.next('x'));
+		Assert.assertFalse(c.isTerminate());
+	}
+
+	@Test
+	public void test_getKey() throws Exception{
+		String[] words = {"he", "hello", "helloworld", "hi", "howsgoing", "hell",
+				"helloworld2", "world", "apple", "applepie", "banana", "\u3042\u3044"};
+		TermIdTrie t = buildSecondTrie(trieWithWords(words));
+		for(String w : words){
+			int id = t.getTermId(w);
+			Assert.assertEquals(w, t.getKey(id));
+			StringBuilder b = new StringBuilder("[");
+			Assert.assertTrue(t.appendKey(id, b));
+			Assert.assertEquals("[" + w, b.toString());
+		}
+		Assert.assertNull(t.getKey(-1));
+		Assert.assertNull(t.getKey(words.length));
+		Assert.assertFalse(t.appendKey(words.length, new StringBuilder()));
+	}
 }
@@ -15,10 +15,15 @@
  */
 package org.trie4j;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.trie4j.automaton.DFA;
 import org.trie4j.patricia.tail.TailPatriciaTrie;
 import org.trie4j.tail.builder.ConcatTailBuilder;
 
@@ -185,6 +190,144 @@ public abstract class AbstractTrieTest {
 		Assert.assertFalse(it.hasNext());
 	}
 
+	@Test
+	public void test_predictiveSearch_limit() throws Exception{
+		Trie t = buildSecondTrie(trieWithWords("hello", "helloworld", "hi", "howsgoing", "hell", "helloworld2", "world"));
+		List<String> all = Arrays.asList("hell", "hello", "helloworld", "helloworld2");
+		List<String> found = new ArrayList<String>();
+		for(String w : t.predictiveSearch("he", 2)) found.add(w);
+		Assert.assertEquals(2, found.size());
+		Assert.assertTrue(all.containsAll(found));
+		Assert.assertFalse(t.predictiveSearch("he", 0).iterator().hasNext());
+		found.clear();
+		for(String w : t.predictiveSearch("he", 100)) found.add(w);
+		Collections.sort(found);
+		Assert.assertEquals(all, found);
+	}
+
+	@Test
+	public void test_commonPrefixSearch_visitor() throws Exception{
+		final Trie t = buildSecondTrie(trieWithWords("hello", "helloworld", "hi", "hell", "helloworld2", "world"));
+		final List<String> found = new ArrayList<String>();
+		t.commonPrefixSearch("[helloworld]", 1, 11, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				String w = chars.subSequence(start, end).toString();
+				Assert.assertEquals(1, start);
+				if(t instanceof TermIdTrie){
+					Assert.assertEquals(((TermIdTrie)t).getTermId(w), termId);
+				}
+				found.add(w);
+				return true;
+			}
+		});
+		Assert.assertEquals(Arrays.asList("hell", "hello", "helloworld"), found);
+		found.clear();
+		t.commonPrefixSearch("helloworld", 0, 10, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				found.add(chars.subSequence(start, end).toString());
+				return found.size() < 2;
+			}
+		});
+		Assert.assertEquals(Arrays.asList("hell", "hello"), found);
+	}
+
+	@Test
+	public void test_predictiveSearch_visitor() throws Exception{
+		final Trie t = buildSecondTrie(trieWithWords("hello", "helloworld", "hi", "howsgoing", "hell", "helloworld2", "world"));
+		final List<String> found = new ArrayList<String>();
+		TermIdVisitor v = new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				String w = chars.subSequence(start, end).toString();
+				if(t instanceof TermIdTrie){
+					Assert.assertEquals(((TermIdTrie)t).getTermId(w), termId);
+				}
+				found.add(w);
+				return true;
+			}
+		};
+		t.predictiveSearch("he", v);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("hell", "hello", "helloworld", "helloworld2"), found);
+		found.clear();
+		t.predictiveSearch("hellow", v);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("helloworld", "helloworld2"), found);
+		found.clear();
+		t.predictiveSearch("hex", v);
+		Assert.assertEquals(0, found.size());
+		t.predictiveSearch("", new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				found.add(chars.subSequence(start, end).toString());
+				return found.size() < 3;
+			}
+		});
+		Assert.assertEquals(3, found.size());
+	}
+
+	@Test
+	public void test_fuzzySearch() throws Exception{
+		final Trie t = buildSecondTrie(trieWithWords("hello", "helloworld", "hi", "howsgoing", "hell", "help", "yellow", "world"));
+		List<String> found = new ArrayList<String>();
+		for(String w : t.fuzzySearch("hello", 0)) found.add(w);
+		Assert.assertEquals(Arrays.asList("hello"), found);
+		found.clear();
+		for(String w : t.fuzzySearch("hallo", 1)) found.add(w);
+		Assert.assertEquals(Arrays.asList("hello"), found);
+		found.clear();
+		for(String w : t.fuzzySearch("helo", 1)) found.add(w);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("hell", "hello", "help"), found);
+		found.clear();
+		for(String w : t.fuzzySearch("hello", 2)) found.add(w);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("hell", "hello", "help", "yellow"), found);
+		found.clear();
+		for(String w : t.fuzzySearch("h", 1)) found.add(w);
+		Assert.assertEquals(Arrays.asList("hi"), found);
+		final List<String> visited = new ArrayList<String>();
+		t.fuzzySearch("wrld", 1, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				String w = chars.subSequence(start, end).toString();
+				if(t instanceof TermIdTrie){
+					Assert.assertEquals(((TermIdTrie)t).getTermId(w), termId);
+				}
+				visited.add(w);
+				return false;
+			}
+		});
+		Assert.assertEquals(Arrays.asList("world"), visited);
+	}
+
+	@Test
+	public void test_automatonSearch() throws Exception{
+		Trie t = buildSecondTrie(trieWithWords("hello", "helloworld", "hi", "howsgoing", "hell", "help", "yellow", "world"));
+		List<String> found = new ArrayList<String>();
+		for(String w : t.automatonSearch(DFA.compileGlob("hel*"))) found.add(w);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("hell", "hello", "helloworld", "help"), found);
+		found.clear();
+		for(String w : t.automatonSearch(DFA.compileGlob("h?"))) found.add(w);
+		Assert.assertEquals(Arrays.asList("hi"), found);
+		found.clear();
+		for(String w : t.automatonSearch(DFA.compileGlob("*o[rw]*"))) found.add(w);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("helloworld", "howsgoing", "world", "yellow"), found);
+		found.clear();
+		for(String w : t.automatonSearch(DFA.compileRegex("(he|ye)l+(o|ow)?"))) found.add(w);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("hell", "hello", "yellow"), found);
+		found.clear();
+		for(String w : t.automatonSearch(DFA.compileRegex("[^h].*"))) found.add(w);
+		Collections.sort(found);
+		Assert.assertEquals(Arrays.asList("world", "yellow"), found);
+		Assert.assertFalse(t.automatonSearch(DFA.compileGlob("x*")).iterator().hasNext());
+	}
+
 	private void doTestContains(String... words) throws Exception{
 		Trie trie = trieWithWords(words);
 		for(String w : words){
@@ -17,17 +17,32 @@ package org.trie4j;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
+import org.trie4j.automaton.DFATest;
 import org.trie4j.bv.BitVectorUtilTest;
+import org.trie4j.bv.ByteBufferSuccinctBitVectorTest;
+import org.trie4j.bv.DynamicSuccinctBitVectorTest;
+import org.trie4j.bv.LongsSuccinctBitVectorTest;
 import org.trie4j.bv.Rank0OnlySuccinctBitVectorTest;
 import org.trie4j.bv.Rank1OnlySuccinctBitVectorTest;
+import org.trie4j.completion.TopKCompleterTest;
+import org.trie4j.dawg.DAWGTest;
+import org.trie4j.doublearray.AhoCorasickTest;
+import org.trie4j.doublearray.CompactDoubleArrayTest;
 import org.trie4j.doublearray.DoubleArrayTest;
+import org.trie4j.doublearray.DoubleArrayWithFrequencyCharCodesTest;
+import org.trie4j.doublearray.DynamicDoubleArrayTest;
+import org.trie4j.doublearray.EmptySlotListTest;
 import org.trie4j.doublearray.MapDoubleArrayTest;
 import org.trie4j.doublearray.MapTailDoubleArrayWithConcatTailBuilderTest;
 import org.trie4j.doublearray.MapTailDoubleArrayWithSuffixTrieTailBuilderTest;
+import org.trie4j.doublearray.MemoryMappedDoubleArrayTest;
 import org.trie4j.doublearray.OptimizedTailDoubleArrayWithConcatTailBuilderTest;
 import org.trie4j.doublearray.OptimizedTailDoubleArrayWithSuffixTrieTailBuilderTest;
+import org.trie4j.doublearray.ParallelDoubleArrayTest;
 import org.trie4j.doublearray.TailDoubleArrayWithConcatTailBuilderTest;
+import org.trie4j.doublearray.TailDoubleArrayWithFrequencyCharCodesTest;
 import org.trie4j.doublearray.TailDoubleArrayWithSuffixTrieTailBuilderTest;
+import org.trie4j.doublearray.Utf8DoubleArrayTest;
 import org.trie4j.louds.LOUDSTrieTest;
 import org.trie4j.louds.MapTailLOUDSPPTrieWithConcatTailArrayTest;
 import org.trie4j.louds.MapTailLOUDSPPTrieWithSBVConcatTailArrayTest;
@@ -35,24 +50,35 @@ import org.trie4j.louds.MapTailLOUDSPPTrieWithSuffixTrieTailArrayTest;
 import org.trie4j.louds.MapTailLOUDSTrieWithConcatTailArrayTest;
 import org.trie4j.louds.MapTailLOUDSTrieWithSBVConcatTailArrayTest;
 import org.trie4j.louds.MapTailLOUDSTrieWithSuffixTrieTailArrayTest;
+import org.trie4j.louds.MemoryMappedTailLOUDSTrieTest;
+import org.trie4j.louds.TailLOUDSPPTrieLexicographicTest;
 import org.trie4j.louds.TailLOUDSPPTrieWithConcatTailArrayTest;
 import org.trie4j.louds.TailLOUDSPPTrieWithSBVConcatTailArrayTest;
 import org.trie4j.louds.TailLOUDSPPTrieWithSuffixTrieTailArrayTest;
+import org.trie4j.louds.TailLOUDSTrieLexicographicTest;
+import org.trie4j.louds.TailLOUDSTrieSortedKeysTest;
 import org.trie4j.louds.TailLOUDSTrieWithConcatTailArrayTest;
 import org.trie4j.louds.TailLOUDSTrieWithSBVConcatTailArrayTest;
 import org.trie4j.louds.TailLOUDSTrieWithSuffixTrieTailArrayTest;
+import org.trie4j.louds.bvtree.LOUDSBvTreeTest;
+import org.trie4j.patricia.concurrent.ConcurrentPatriciaTrieTest;
 import org.trie4j.patricia.simple.MapPatriciaTrieTest;
 import org.trie4j.patricia.simple.PatriciaTrieTest;
 import org.trie4j.patricia.tail.MapTailPatriciaTrieWithConcatTailBuilderTest;
 import org.trie4j.patricia.tail.MapTailPatriciaTrieWithSuffixTrieTailBuilderTest;
 import org.trie4j.patricia.tail.TailPatriciaTrieWithConcatTailBuilderTest;
 import org.trie4j.patricia.tail.TailPatriciaTrieWithSuffixTrieTailBuilderTest;
+import org.trie4j.sorted.FrontCodedDictionaryTest;
+import org.trie4j.sorted.SortedKeysMapTrieTest;
+import org.trie4j.sorted.SortedKeysTrieTest;
 import org.trie4j.tail.ConcatTailArrayTest;
 import org.trie4j.tail.builder.SuffixTrieTailBuilderTest;
 import org.trie4j.tail.index.ArrayTailIndexTest;
 import org.trie4j.tail.index.SBVTailIndexTest;
+import org.trie4j.tokenizer.TokenizerTest;
 import org.trie4j.util.CharsCharSequenceTest;
 import org.trie4j.util.FastBitSetTest;
+import org.trie4j.util.LevenshteinAutomatonTest;
 import org.trie4j.util.SuccinctBitVectorTest;
 
 @RunWith(Suite.class)
@@ -95,6 +121,32 @@ import org.trie4j.util.SuccinctBitVectorTest;
 	MapTailLOUDSPPTrieWithConcatTailArrayTest.class,
 	MapTailLOUDSPPTrieWithSBVConcatTailArrayTest.class,
 	MapTailLOUDSPPTrieWithSuffixTrieTailArrayTest.class,
+	ByteBufferSuccinctBitVectorTest.class,
+	MemoryMappedDoubleArrayTest.class,
+	MemoryMappedTailLOUDSTrieTest.class,
+	LongsSuccinctBitVectorTest.class,
+	LOUDSBvTreeTest.class,
+	ParallelDoubleArrayTest.class,
+	EmptySlotListTest.class,
+	SortedKeysMapTrieTest.class,
+	SortedKeysTrieTest.class,
+	AhoCorasickTest.class,
+	TokenizerTest.class,
+	TopKCompleterTest.class,
+	LevenshteinAutomatonTest.class,
+	DFATest.class,
+	TailLOUDSPPTrieLexicographicTest.class,
+	TailLOUDSTrieLexicographicTest.class,
+	DAWGTest.class,
+	FrontCodedDictionaryTest.class,
+	DynamicSuccinctBitVectorTest.class,
+	DynamicDoubleArrayTest.class,
+	CompactDoubleArrayTest.class,
+	DoubleArrayWithFrequencyCharCodesTest.class,
+	TailDoubleArrayWithFrequencyCharCodesTest.class,
+	Utf8DoubleArrayTest.class,
+	ConcurrentPatriciaTrieTest.class,
+	TailLOUDSTrieSortedKeysTest.class,
 })
 public class AllTests {
 }
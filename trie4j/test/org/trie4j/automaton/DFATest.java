@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.automaton;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DFATest {
+	@Test
+	public void test_regex() throws Exception{
+		String[] patterns = {
+				"", "a", "abc", "a*", "a+b", "ab?c", "a|bc|", "(ab)*c", "(a|b)+",
+				"[a-c]x", "[^ab]*", "a.c", "\\.\\*", "((a|b)c)?d+", "(a*)*", "(a|)+b",
+				"[]a]", "[a-]b", "x(y|z)+y"
+		};
+		Random r = new Random(1);
+		for(String p : patterns){
+			DFA dfa = DFA.compileRegex(p);
+			Pattern expected = Pattern.compile(p);
+			for(int i = 0; i < 2000; i++){
+				String w = randomString(r);
+				Assert.assertEquals(p + " " + w, expected.matcher(w).matches(), accepts(dfa, w));
+			}
+		}
+	}
+
+	@Test
+	public void test_glob() throws Exception{
+		Assert.assertTrue(accepts(DFA.compileGlob("tok?o*"), "tokyo"));
+		Assert.assertTrue(accepts(DFA.compileGlob("tok?o*"), "tokyoto"));
+		Assert.assertFalse(accepts(DFA.compileGlob("tok?o*"), "toko"));
+		Assert.assertTrue(accepts(DFA.compileGlob("*"), ""));
+		Assert.assertTrue(accepts(DFA.compileGlob("a*b*c"), "aXbYbc"));
+		Assert.assertFalse(accepts(DFA.compileGlob("a*b*c"), "aXbYb"));
+		Assert.assertTrue(accepts(DFA.compileGlob("[a-c][!a-c]"), "bd"));
+		Assert.assertFalse(accepts(DFA.compileGlob("[a-c][!a-c]"), "bc"));
+		Assert.assertTrue(accepts(DFA.compileGlob("a\\*"), "a*"));
+		Assert.assertFalse(accepts(DFA.compileGlob("a\\*"), "ab"));
+		Assert.assertTrue(accepts(DFA.compileGlob("東?"), "東京"));
+	}
+
+	@Test
+	public void test_deadState() throws Exception{
+		DFA dfa = DFA.compileGlob("ab*");
+		Assert.assertEquals(-1, dfa.step(dfa.getInitialState(), 'b'));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_unbalanced() throws Exception{
+		DFA.compileRegex("(ab");
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_nothingToRepeat() throws Exception{
+		DFA.compileRegex("*a");
+	}
+
+	private static boolean accepts(DFA dfa, String w){
+		int s = dfa.getInitialState();
+		for(int i = 0; i < w.length() && s != -1; i++){
+			s = dfa.step(s, w.charAt(i));
+		}
+		return s != -1 && dfa.isAccept(s);
+	}
+
+	private static String randomString(Random r){
+		int n = r.nextInt(6);
+		StringBuilder b = new StringBuilder();
+		for(int i = 0; i < n; i++){
+			b.append("abcdxyz.*-]".charAt(r.nextInt(11)));
+		}
+		return b.toString();
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bv;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.util.FastBitSet;
+
+public class ByteBufferSuccinctBitVectorTest {
+	@Test
+	public void test_rank() throws Exception{
+		FastBitSet bs = new FastBitSet();
+		bs.set(11);
+		bs.set(22);
+		bs.set(28);
+		bs.set(34);
+		bs.set(67);
+		ByteBufferSuccinctBitVector bv = create(bs);
+		Assert.assertEquals(68, bv.size());
+		Assert.assertEquals(0, bv.rank1(10));
+		Assert.assertEquals(1, bv.rank1(11));
+		Assert.assertEquals(2, bv.rank1(22));
+		Assert.assertEquals(3, bv.rank1(28));
+		Assert.assertEquals(4, bv.rank1(34));
+		Assert.assertEquals(5, bv.rank1(67));
+		Assert.assertEquals(63, bv.rank0(67));
+		Assert.assertEquals(34, bv.select1(4));
+		Assert.assertEquals(12, bv.select0(12));
+		Assert.assertEquals(-1, bv.select1(6));
+		Assert.assertEquals(23, bv.next0(22));
+		Assert.assertEquals(-1, bv.next0(67));
+	}
+
+	@Test
+	public void test_random() throws Exception{
+		Random r = new Random(1);
+		for(int n : new int[]{1, 63, 64, 65, 511, 512, 513, 5000, 100000}){
+			for(double density : new double[]{0.01, 0.5, 0.99}){
+				FastBitSet bs = new FastBitSet();
+				for(int i = 0; i < n; i++){
+					if(r.nextDouble() < density) bs.set(i);
+					else bs.unset(i);
+				}
+				ByteBufferSuccinctBitVector bv = create(bs);
+				int ones = 0, zeros = 0;
+				for(int i = 0; i < n; i++){
+					if(bs.get(i)){
+						ones++;
+						Assert.assertTrue(bv.isOne(i));
+						Assert.assertEquals(i, bv.select1(ones));
+					} else{
+						zeros++;
+						Assert.assertTrue(bv.isZero(i));
+						Assert.assertEquals(i, bv.select0(zeros));
+					}
+					Assert.assertEquals(ones, bv.rank1(i));
+					Assert.assertEquals(zeros, bv.rank0(i));
+				}
+				Assert.assertEquals(-1, bv.select1(ones + 1));
+				Assert.assertEquals(-1, bv.select0(zeros + 1));
+				int next0 = -1;
+				for(int i = n - 1; i >= 0; i--){
+					if(!bs.get(i)) next0 = i;
+					Assert.assertEquals(next0, bv.next0(i));
+				}
+			}
+		}
+	}
+
+	private static ByteBufferSuccinctBitVector create(FastBitSet bs) throws Exception{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		int n = ByteBufferSuccinctBitVector.write(bs, new DataOutputStream(baos));
+		Assert.assertEquals(baos.size(), n);
+		Assert.assertEquals(0, n % 8);
+		ByteBuffer buf = ByteBuffer.wrap(baos.toByteArray());
+		ByteBufferSuccinctBitVector ret = new ByteBufferSuccinctBitVector(buf);
+		Assert.assertEquals(n, buf.position());
+		return ret;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bv;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DynamicSuccinctBitVectorTest {
+	@Test
+	public void test_append() throws Exception{
+		DynamicSuccinctBitVector bv = new DynamicSuccinctBitVector();
+		for(int i = 0; i < 1000; i++){
+			if(i % 3 == 0) bv.append1();
+			else bv.append0();
+		}
+		Assert.assertEquals(1000, bv.size());
+		Assert.assertEquals(1, bv.rank1(0));
+		Assert.assertEquals(334, bv.rank1(999));
+		Assert.assertEquals(666, bv.rank0(999));
+		Assert.assertEquals(300, bv.select1(101));
+		Assert.assertEquals(2, bv.select0(2));
+		Assert.assertEquals(1, bv.next0(0));
+		Assert.assertEquals(-1, bv.select1(335));
+	}
+
+	@Test
+	public void test_randomUpdates() throws Exception{
+		Random r = new Random(1);
+		DynamicSuccinctBitVector bv = new DynamicSuccinctBitVector();
+		boolean[] expected = new boolean[5000];
+		for(int i = 0; i < 20000; i++){
+			int pos = r.nextInt(expected.length);
+			boolean bit = r.nextBoolean();
+			expected[pos] = bit;
+			bv.set(pos, bit);
+		}
+		int n = bv.size();
+		int ones = 0;
+		for(int i = 0; i < n; i++){
+			Assert.assertEquals(expected[i], bv.get(i));
+			if(expected[i]){
+				ones++;
+				Assert.assertEquals(i, bv.select1(ones));
+			} else{
+				Assert.assertEquals(i, bv.select0(i + 1 - ones));
+			}
+			Assert.assertEquals(ones, bv.rank1(i));
+			Assert.assertEquals(i + 1 - ones, bv.rank0(i));
+		}
+		bv.trimToSize();
+		Assert.assertEquals(ones, bv.rank1(n - 1));
+		Assert.assertEquals(n - ones, bv.rank0(n - 1));
+	}
+}
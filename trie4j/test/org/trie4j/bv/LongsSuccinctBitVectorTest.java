@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.bv;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.util.FastBitSet;
+
+public class LongsSuccinctBitVectorTest {
+	@Test
+	public void test_rank() throws Exception{
+		FastBitSet bs = new FastBitSet();
+		bs.set(11);
+		bs.set(22);
+		bs.set(28);
+		bs.set(34);
+		bs.set(67);
+		LongsSuccinctBitVector bv = new LongsSuccinctBitVector(bs.getBytes(), bs.size());
+		Assert.assertEquals(68, bv.size());
+		Assert.assertEquals(0, bv.rank1(10));
+		Assert.assertEquals(1, bv.rank1(11));
+		Assert.assertEquals(5, bv.rank1(67));
+		Assert.assertEquals(63, bv.rank0(67));
+		Assert.assertEquals(34, bv.select1(4));
+		Assert.assertEquals(12, bv.select0(12));
+		Assert.assertEquals(-1, bv.select1(6));
+		Assert.assertEquals(23, bv.next0(22));
+		Assert.assertEquals(-1, bv.next0(67));
+	}
+
+	@Test
+	public void test_selectInWord() throws Exception{
+		Random r = new Random(1);
+		for(int i = 0; i < 10000; i++){
+			long w = r.nextLong();
+			if(i % 3 == 0) w &= r.nextLong();
+			int k = 0;
+			for(int j = 0; j < 64; j++){
+				if((w & (1L << j)) != 0){
+					Assert.assertEquals(j, LongsSuccinctBitVector.selectInWord(w, k++));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void test_random() throws Exception{
+		Random r = new Random(1);
+		for(int n : new int[]{1, 63, 64, 65, 511, 512, 513, 5000, 100000}){
+			for(double density : new double[]{0.01, 0.5, 0.99}){
+				boolean[] bits = new boolean[n];
+				LongsSuccinctBitVector bv = new LongsSuccinctBitVector();
+				for(int i = 0; i < n; i++){
+					bits[i] = r.nextDouble() < density;
+					bv.append(bits[i]);
+				}
+				assertVector(bits, bv);
+				bv.trimToSize();
+				assertVector(bits, bv);
+				assertVector(bits, serializeAndDeserialize(bv));
+			}
+		}
+	}
+
+	@Test
+	public void test_queryWhileAppending() throws Exception{
+		Random r = new Random(2);
+		LongsSuccinctBitVector bv = new LongsSuccinctBitVector();
+		int ones = 0, zeros = 0;
+		for(int i = 0; i < 3000; i++){
+			if(r.nextBoolean()){
+				bv.append1();
+				ones++;
+				Assert.assertEquals(i, bv.select1(ones));
+			} else{
+				bv.append0();
+				zeros++;
+				Assert.assertEquals(i, bv.select0(zeros));
+				Assert.assertEquals(i, bv.next0(i));
+			}
+			Assert.assertEquals(ones, bv.rank1(i));
+		}
+	}
+
+	private static void assertVector(boolean[] bits, SuccinctBitVector bv){
+		int n = bits.length;
+		Assert.assertEquals(n, bv.size());
+		int ones = 0, zeros = 0;
+		for(int i = 0; i < n; i++){
+			if(bits[i]){
+				ones++;
+				Assert.assertTrue(bv.isOne(i));
+				Assert.assertEquals(i, bv.select1(ones));
+			} else{
+				zeros++;
+				Assert.assertTrue(bv.isZero(i));
+				Assert.assertEquals(i, bv.select0(zeros));
+			}
+			Assert.assertEquals(ones, bv.rank1(i));
+			Assert.assertEquals(zeros, bv.rank0(i));
+		}
+		Assert.assertEquals(-1, bv.select1(ones + 1));
+		Assert.assertEquals(-1, bv.select0(zeros + 1));
+		int next0 = -1;
+		for(int i = n - 1; i >= 0; i--){
+			if(!bits[i]) next0 = i;
+			Assert.assertEquals(next0, bv.next0(i));
+		}
+	}
+
+	private static LongsSuccinctBitVector serializeAndDeserialize(LongsSuccinctBitVector bv) throws Exception{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(bv);
+		oos.flush();
+		return (LongsSuccinctBitVector)new ObjectInputStream(
+				new ByteArrayInputStream(baos.toByteArray())).readObject();
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.completion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.doublearray.DoubleArray;
+import org.trie4j.doublearray.TailDoubleArray;
+import org.trie4j.louds.TailLOUDSPPTrie;
+import org.trie4j.louds.TailLOUDSTrie;
+import org.trie4j.patricia.tail.TailPatriciaTrie;
+import org.trie4j.sorted.SortedKeysTrie;
+
+public class TopKCompleterTest {
+	private static Trie source(String... words){
+		Trie ret = new TailPatriciaTrie();
+		for(String w : words){
+			ret.insert(w);
+		}
+		ret.freeze();
+		return ret;
+	}
+
+	private static TermIdTrie[] tries(Trie src, List<String> sortedWords){
+		return new TermIdTrie[]{
+				new DoubleArray(src), new TailDoubleArray(src),
+				new TailLOUDSTrie(src), new TailLOUDSPPTrie(src),
+				new SortedKeysTrie(sortedWords.iterator())};
+	}
+
+	@Test
+	public void test_topK() throws Exception{
+		String[] words = {"apple", "application", "apply", "ape", "banana", "band", "bandana"};
+		int[] scores = {5, 9, 5, 1, 3, 8, 2};
+		List<String> sorted = new ArrayList<String>(Arrays.asList(words));
+		Collections.sort(sorted);
+		for(TermIdTrie t : tries(source(words), sorted)){
+			int[] weights = new int[t.size()];
+			for(int i = 0; i < words.length; i++){
+				weights[t.getTermId(words[i])] = scores[i];
+			}
+			TopKCompleter c = new TopKCompleter(t, weights);
+			String name = t.getClass().getSimpleName();
+			Assert.assertEquals(name, Arrays.asList("application", "band", "apple"), c.topK("", 3));
+			Assert.assertEquals(name, Arrays.asList("application", "apple", "apply"), c.topK("app", 3));
+			Assert.assertEquals(name, Arrays.asList("application", "apple", "apply"), c.topK("appl", 10));
+			Assert.assertEquals(name, Arrays.asList("band", "banana"), c.topK("ban", 2));
+			Assert.assertEquals(name, Arrays.asList("bandana"), c.topK("banda", 2));
+			Assert.assertEquals(name, Arrays.asList("bandana"), c.topK("bandana", 2));
+			Assert.assertEquals(name, 0, c.topK("bandanas", 2).size());
+			Assert.assertEquals(name, 0, c.topK("c", 2).size());
+			Assert.assertEquals(name, 8, c.getWeight(t.getTermId("band")));
+		}
+	}
+
+	@Test
+	public void test_random() throws Exception{
+		Random r = new Random(1);
+		List<String> words = new ArrayList<String>();
+		for(int i = 0; i < 3000; i++){
+			StringBuilder b = new StringBuilder();
+			int n = 1 + r.nextInt(6);
+			for(int j = 0; j < n; j++) b.append((char)('a' + r.nextInt(3)));
+			if(!words.contains(b.toString())) words.add(b.toString());
+		}
+		List<String> sorted = new ArrayList<String>(words);
+		Collections.sort(sorted);
+		for(TermIdTrie t : tries(source(words.toArray(new String[]{})), sorted)){
+			final int[] weights = new int[t.size()];
+			for(int i = 0; i < weights.length; i++){
+				weights[i] = r.nextInt(1000);
+			}
+			TopKCompleter c = new TopKCompleter(t, weights);
+			for(String prefix : new String[]{"", "a", "ab", "cab", "bbbb"}){
+				List<Integer> expected = new ArrayList<Integer>();
+				for(String w : words){
+					if(w.startsWith(prefix)) expected.add(t.getTermId(w));
+				}
+				Collections.sort(expected, new Comparator<Integer>(){
+					@Override
+					public int compare(Integer o1, Integer o2) {
+						return weights[o2] - weights[o1];
+					}
+				});
+				int[] actual = c.topKTermIds(prefix, 10);
+				Assert.assertEquals(Math.min(10, expected.size()), actual.length);
+				for(int i = 0; i < actual.length; i++){
+					Assert.assertEquals(weights[expected.get(i)], weights[actual[i]]);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.dawg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.Trie;
+
+public class DAWGTest extends AbstractTermIdTrieTest{
+	@Override
+	protected DAWG buildSecondTrie(Trie firstTrie) {
+		return new DAWG(firstTrie);
+	}
+
+	@Test
+	public void test_sharedSuffixes() throws Exception{
+		List<String> keys = new ArrayList<String>();
+		for(String stem : new String[]{"jump", "talk", "walk", "work"}){
+			for(String suffix : new String[]{"", "ed", "er", "ing", "s"}){
+				keys.add(stem + suffix);
+			}
+		}
+		Collections.sort(keys);
+		DAWG dawg = new DAWG(keys.iterator());
+		Assert.assertEquals(keys.size(), dawg.size());
+		// states of the suffixes are shared by all stems.
+		Assert.assertTrue(dawg.getStateCount() < 20);
+		for(int i = 0; i < keys.size(); i++){
+			Assert.assertEquals(i, dawg.getTermId(keys.get(i)));
+			Assert.assertEquals(keys.get(i), dawg.getKey(i));
+		}
+		Assert.assertFalse(dawg.contains("walke"));
+		Assert.assertFalse(dawg.contains("jumpe"));
+	}
+
+	@Test
+	public void test_random() throws Exception{
+		Random r = new Random(1);
+		TreeSet<String> keys = new TreeSet<String>();
+		for(int i = 0; i < 3000; i++){
+			StringBuilder b = new StringBuilder();
+			int n = r.nextInt(8);
+			for(int j = 0; j < n; j++) b.append((char)('a' + r.nextInt(4)));
+			keys.add(b.toString());
+		}
+		DAWG dawg = new DAWG(keys.iterator());
+		Assert.assertEquals(keys.size(), dawg.size());
+		int i = 0;
+		for(String k : keys){
+			Assert.assertEquals(k, i, dawg.getTermId(k));
+			Assert.assertEquals(k, dawg.getKey(i));
+			Assert.assertFalse(dawg.contains(k + "e"));
+			i++;
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_unsorted() throws Exception{
+		new DAWG(Arrays.asList("b", "a").iterator());
+	}
+
+	@Test
+	public void test_serialize() throws Exception{
+		DAWG dawg = new DAWG(Arrays.asList("hello", "helloworld", "world").iterator());
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(dawg);
+		oos.flush();
+		dawg = (DAWG)new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+		Assert.assertEquals(1, dawg.getTermId("helloworld"));
+		Assert.assertEquals("world", dawg.getKey(2));
+	}
+}
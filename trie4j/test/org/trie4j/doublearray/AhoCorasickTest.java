@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.TermIdVisitor;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+public class AhoCorasickTest {
+	@Test
+	public void test_scan() throws Exception{
+		PatriciaTrie src = new PatriciaTrie();
+		for(String w : new String[]{"he", "she", "his", "hers", "\u3042\u3044"}){
+			src.insert(w);
+		}
+		AhoCorasick ac = new AhoCorasick(src);
+		DoubleArray da = ac.getTrie();
+		List<String> found = new ArrayList<String>();
+		ac.scan("ushers \u3042\u3044his", collector(da, found));
+		Assert.assertEquals("[she@1, he@2, hers@2, \u3042\u3044@7, his@9]", found.toString());
+	}
+
+	@Test
+	public void test_scan_stop() throws Exception{
+		PatriciaTrie src = new PatriciaTrie();
+		src.insert("a");
+		AhoCorasick ac = new AhoCorasick(src);
+		final int[] count = {0};
+		ac.scan("aaaa".toCharArray(), 1, 4, new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				count[0]++;
+				return count[0] < 2;
+			}
+		});
+		Assert.assertEquals(2, count[0]);
+	}
+
+	@Test
+	public void test_sameAsCommonPrefixSearch() throws Exception{
+		Random r = new Random(1);
+		PatriciaTrie src = new PatriciaTrie();
+		for(int i = 0; i < 2000; i++){
+			src.insert(randomString(r, 1 + r.nextInt(6)));
+		}
+		AhoCorasick ac = new AhoCorasick(src);
+		final DoubleArray da = ac.getTrie();
+		String text = randomString(r, 10000);
+		List<String> expected = new ArrayList<String>();
+		for(int i = 0; i < text.length(); i++){
+			da.commonPrefixSearch(text, i, text.length(), collector(da, expected));
+		}
+		List<String> actual = new ArrayList<String>();
+		ac.scan(text, collector(da, actual));
+		Collections.sort(expected);
+		Collections.sort(actual);
+		Assert.assertEquals(expected, actual);
+	}
+
+	private static TermIdVisitor collector(final DoubleArray da, final List<String> found){
+		return new TermIdVisitor(){
+			@Override
+			public boolean visit(CharSequence chars, int start, int end, int termId) {
+				String w = chars.subSequence(start, end).toString();
+				Assert.assertEquals(da.getTermId(w), termId);
+				found.add(w + "@" + start);
+				return true;
+			}
+		};
+	}
+
+	private static String randomString(Random r, int length){
+		StringBuilder b = new StringBuilder();
+		for(int i = 0; i < length; i++){
+			b.append((char)('a' + r.nextInt(4)));
+		}
+		return b.toString();
+	}
+}
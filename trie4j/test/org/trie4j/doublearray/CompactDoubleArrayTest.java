@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.Trie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+public class CompactDoubleArrayTest extends AbstractTermIdTrieTest{
+	@Override
+	protected CompactDoubleArray buildSecondTrie(Trie firstTrie) {
+		return new CompactDoubleArray(firstTrie);
+	}
+
+	@Test
+	public void test_sameAsDoubleArray() throws Exception{
+		Random r = new Random(1);
+		Trie source = new PatriciaTrie();
+		for(int i = 0; i < 5000; i++){
+			source.insert(randomKey(r));
+		}
+		DoubleArray da = new DoubleArray(source);
+		CompactDoubleArray cda = new CompactDoubleArray(da);
+		Assert.assertEquals(da.size(), cda.size());
+		Assert.assertTrue(cda.getSlotCount() <= da.getBase().length);
+		for(int i = 0; i < 10000; i++){
+			String k = randomKey(r);
+			Assert.assertEquals(k, da.getTermId(k), cda.getTermId(k));
+		}
+		for(int i = 0; i < cda.size(); i++){
+			Assert.assertEquals(da.getKey(i), cda.getKey(i));
+		}
+	}
+
+	@Test
+	public void test_serialize() throws Exception{
+		CompactDoubleArray cda = buildSecondTrie(trieWithWords("apple", "apricot", "\u3042\u3044"));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(cda);
+		oos.flush();
+		CompactDoubleArray read = (CompactDoubleArray)new ObjectInputStream(
+				new ByteArrayInputStream(bos.toByteArray())).readObject();
+		Assert.assertEquals(3, read.size());
+		Assert.assertEquals(cda.getTermId("apricot"), read.getTermId("apricot"));
+		Assert.assertTrue(read.contains("\u3042\u3044"));
+		Assert.assertFalse(read.contains("apr"));
+	}
+
+	private static String randomKey(Random r){
+		StringBuilder b = new StringBuilder();
+		int n = 1 + r.nextInt(6);
+		for(int i = 0; i < n; i++){
+			b.append(r.nextInt(4) == 0 ? (char)(0x4e00 + r.nextInt(300)) : (char)('a' + r.nextInt(8)));
+		}
+		return b.toString();
+	}
+}
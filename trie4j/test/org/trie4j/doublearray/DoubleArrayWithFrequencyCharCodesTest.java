@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+
+public class DoubleArrayWithFrequencyCharCodesTest extends AbstractTermIdTrieTest{
+	@Override
+	protected DoubleArray buildSecondTrie(Trie firstTrie) {
+		return new DoubleArray(firstTrie, true);
+	}
+
+	@Test
+	public void test_codeOrder() throws Exception{
+		// 'x' labels 3 nodes and 'b' 1 while 'b' appears first.
+		DoubleArray da = buildSecondTrie(trieWithWords("bx", "x", "xx"));
+		char[] charToCode = da.getCharToCode();
+		Assert.assertEquals(1, charToCode['x']);
+		Assert.assertEquals(2, charToCode['b']);
+		Assert.assertEquals(0, charToCode['a']);
+	}
+
+	@Test
+	public void test_missingQueries() throws Exception{
+		// 'c' gets a smaller code than 'a' and base of "cb" goes below zero.
+		Trie source = trieWithWords("cb", "cba");
+		DoubleArray da = buildSecondTrie(source);
+		Assert.assertFalse(da.commonPrefixSearch("a").iterator().hasNext());
+		QueryAssert.assertSameResults(source, da, "a");
+		QueryAssert.assertRandomQueries(new QueryAssert.Builder(){
+			@Override
+			public TermIdTrie build(Trie source) {
+				return buildSecondTrie(source);
+			}
+		});
+	}
+}
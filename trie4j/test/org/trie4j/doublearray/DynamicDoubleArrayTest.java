@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.Trie;
+
+public class DynamicDoubleArrayTest extends AbstractTermIdTrieTest{
+	@Override
+	protected Trie createFirstTrie() {
+		return new DynamicDoubleArray();
+	}
+
+	@Override
+	protected DynamicDoubleArray buildSecondTrie(Trie firstTrie) {
+		return (DynamicDoubleArray)firstTrie;
+	}
+
+	@Test
+	public void test_remove() throws Exception{
+		DynamicDoubleArray da = new DynamicDoubleArray();
+		for(String w : new String[]{"he", "hello", "helloworld", "hi"}){
+			da.insert(w);
+		}
+		Assert.assertTrue(da.remove("hello"));
+		Assert.assertFalse(da.remove("hello"));
+		Assert.assertFalse(da.remove("hel"));
+		Assert.assertEquals(3, da.size());
+		Assert.assertFalse(da.contains("hello"));
+		Assert.assertTrue(da.contains("helloworld"));
+		Assert.assertTrue(da.remove("helloworld"));
+		Assert.assertTrue(da.remove("he"));
+		Assert.assertEquals(1, da.size());
+		Assert.assertTrue(da.contains("hi"));
+		Assert.assertFalse(da.predictiveSearch("hel").iterator().hasNext());
+		Assert.assertEquals(0, da.getTermId("hi"));
+		Assert.assertEquals("hi", da.getKey(0));
+		da.insert("hello");
+		Assert.assertTrue(da.contains("hello"));
+		Assert.assertEquals(2, da.size());
+	}
+
+	@Test
+	public void test_randomUpdates() throws Exception{
+		Random r = new Random(1);
+		DynamicDoubleArray da = new DynamicDoubleArray();
+		TreeSet<String> expected = new TreeSet<String>();
+		for(int i = 0; i < 20000; i++){
+			String k = randomKey(r);
+			if(r.nextInt(3) == 0){
+				Assert.assertEquals(k, expected.remove(k), da.remove(k));
+			} else{
+				expected.add(k);
+				da.insert(k);
+			}
+		}
+		Assert.assertEquals(expected.size(), da.size());
+		List<String> actual = new ArrayList<String>();
+		for(String k : da.predictiveSearch("")){
+			actual.add(k);
+		}
+		Assert.assertEquals(new ArrayList<String>(expected), actual);
+		for(String k : expected){
+			int id = da.getTermId(k);
+			Assert.assertTrue(k, id >= 0 && id < da.size());
+			Assert.assertEquals(k, da.getKey(id));
+		}
+		for(int i = 0; i < 1000; i++){
+			String k = randomKey(r);
+			Assert.assertEquals(k, expected.contains(k), da.contains(k));
+		}
+	}
+
+	@Test
+	public void test_serialize() throws Exception{
+		DynamicDoubleArray da = new DynamicDoubleArray();
+		for(String w : new String[]{"apple", "apricot", "banana", "\u3042\u3044"}){
+			da.insert(w);
+		}
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(da);
+		oos.flush();
+		DynamicDoubleArray read = (DynamicDoubleArray)new ObjectInputStream(
+				new ByteArrayInputStream(bos.toByteArray())).readObject();
+		Assert.assertEquals(4, read.size());
+		Assert.assertTrue(read.contains("apricot"));
+		// still updatable after deserialization.
+		read.insert("avocado");
+		Assert.assertTrue(read.remove("banana"));
+		Assert.assertTrue(read.contains("avocado"));
+		Assert.assertTrue(read.contains("\u3042\u3044"));
+		Assert.assertFalse(read.contains("banana"));
+	}
+
+	private static String randomKey(Random r){
+		StringBuilder b = new StringBuilder();
+		int n = 1 + r.nextInt(6);
+		for(int i = 0; i < n; i++){
+			// mix a small and a large alphabet to make parents collide.
+			b.append(r.nextInt(4) == 0 ? (char)(0x3041 + r.nextInt(80)) : (char)('a' + r.nextInt(6)));
+		}
+		return b.toString();
+	}
+}
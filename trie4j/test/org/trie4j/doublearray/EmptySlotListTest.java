@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EmptySlotListTest {
+	@Test
+	public void test_useAndNext() throws Exception{
+		int[] check = new int[EmptySlotList.BLOCK_SIZE * 2];
+		int[] base = new int[check.length];
+		Arrays.fill(check, -1);
+		check[0] = 0;
+		check[2] = 0;
+		EmptySlotList l = new EmptySlotList();
+		Assert.assertEquals(-1, l.first(1));
+		Assert.assertEquals(1, l.addBlock(check, base, 0));
+		Assert.assertEquals(1, l.first(1));
+		Assert.assertEquals(3, l.next(1, 1));
+		l.use(3);
+		Assert.assertEquals(4, l.next(1, 1));
+		// use every slot of first block
+		for(int i = 1; i < EmptySlotList.BLOCK_SIZE; i++){
+			l.use(i);
+		}
+		Assert.assertEquals(-1, l.first(1));
+		Assert.assertEquals(EmptySlotList.BLOCK_SIZE, l.addBlock(check, base, 0));
+		Assert.assertEquals(EmptySlotList.BLOCK_SIZE, l.first(1));
+	}
+
+	@Test
+	public void test_reject() throws Exception{
+		int[] check = new int[EmptySlotList.BLOCK_SIZE * 2];
+		int[] base = new int[check.length];
+		Arrays.fill(check, -1);
+		EmptySlotList l = new EmptySlotList();
+		l.addBlock(check, base, 0);
+		l.addBlock(check, base, 0);
+		// walk whole first block for node which has 10 children.
+		int s = l.first(10);
+		for(int i = 0; i < EmptySlotList.BLOCK_SIZE; i++){
+			s = l.next(s, 10);
+		}
+		Assert.assertEquals(EmptySlotList.BLOCK_SIZE, s);
+		// first block is skipped for 10 or more children.
+		Assert.assertEquals(EmptySlotList.BLOCK_SIZE, l.first(10));
+		Assert.assertEquals(0, l.first(9));
+	}
+
+	@Test
+	public void test_reject_wide() throws Exception{
+		int[] check = new int[EmptySlotList.BLOCK_SIZE * 2];
+		int[] base = new int[check.length];
+		Arrays.fill(check, -1);
+		EmptySlotList l = new EmptySlotList();
+		l.addBlock(check, base, 0);
+		l.addBlock(check, base, 0);
+		int n = EmptySlotList.EXACT_REJECT_LIMIT * 2;
+		int s = l.first(n);
+		for(int i = 0; i < EmptySlotList.BLOCK_SIZE; i++){
+			s = l.next(s, n);
+		}
+		Assert.assertEquals(EmptySlotList.BLOCK_SIZE, s);
+		// first block is skipped for n / 2 + 1 or more children.
+		Assert.assertEquals(EmptySlotList.BLOCK_SIZE, l.first(n / 2 + 1));
+		Assert.assertEquals(0, l.first(n / 2));
+	}
+}
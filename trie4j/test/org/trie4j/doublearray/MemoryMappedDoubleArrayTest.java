@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.util.Pair;
+
+public class MemoryMappedDoubleArrayTest extends AbstractTermIdTrieTest{
+	@Override
+	protected MemoryMappedDoubleArray buildSecondTrie(Trie firstTrie) {
+		try{
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			MemoryMappedDoubleArray.save(new DoubleArray(firstTrie), baos);
+			return new MemoryMappedDoubleArray(ByteBuffer.wrap(baos.toByteArray()));
+		} catch(IOException e){
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Test
+	public void test_map() throws Exception{
+		String[] words = {"hello", "hell", "helloworld", "hi", "world", "あいう", ""};
+		DoubleArray da = new DoubleArray(trieWithWords(words));
+		File f = File.createTempFile("trie4j", ".da");
+		try{
+			MemoryMappedDoubleArray.save(da, f);
+			MemoryMappedDoubleArray mda = MemoryMappedDoubleArray.map(f);
+			Assert.assertEquals(words.length, mda.size());
+			for(String w : words){
+				Assert.assertTrue(w, mda.contains(w));
+				Assert.assertEquals(w, da.getTermId(w), mda.getTermId(w));
+			}
+			Assert.assertFalse(mda.contains("hel"));
+			Iterator<Pair<String, Integer>> it = mda.commonPrefixSearchWithTermId("helloworld").iterator();
+			assertPair(da, "hell", it.next());
+			assertPair(da, "hello", it.next());
+			assertPair(da, "helloworld", it.next());
+			Assert.assertFalse(it.hasNext());
+			it = mda.predictiveSearchWithTermId("he").iterator();
+			assertPair(da, "hell", it.next());
+			assertPair(da, "hello", it.next());
+			assertPair(da, "helloworld", it.next());
+			Assert.assertFalse(it.hasNext());
+		} finally{
+			f.delete();
+		}
+	}
+
+	@Test
+	public void test_secondTrie() throws Exception{
+		TermIdTrie t = buildSecondTrie(trieWithWords("hello", "helloworld", "hi", "howsgoing", "hell", "helloworld2", "world"));
+		Iterator<String> it = t.predictiveSearch("hell").iterator();
+		Assert.assertEquals("hell", it.next());
+		Assert.assertEquals("hello", it.next());
+		Assert.assertEquals("helloworld", it.next());
+		Assert.assertEquals("helloworld2", it.next());
+		Assert.assertFalse(it.hasNext());
+		StringBuilder b = new StringBuilder();
+		Assert.assertEquals(4, t.findWord("say hi", 0, 6, b));
+		Assert.assertEquals("hi", b.toString());
+		Assert.assertFalse(t.contains("howsgoin"));
+	}
+
+	private static void assertPair(DoubleArray da, String expected, Pair<String, Integer> actual){
+		Assert.assertEquals(expected, actual.getFirst());
+		Assert.assertEquals(da.getTermId(expected), (int)actual.getSecond());
+	}
+}
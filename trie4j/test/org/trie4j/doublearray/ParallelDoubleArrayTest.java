@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+public class ParallelDoubleArrayTest extends AbstractTermIdTrieTest{
+	@Override
+	protected DoubleArray buildSecondTrie(Trie firstTrie) {
+		return new ParallelDoubleArrayBuilder(new ForkJoinPool(4)).build(firstTrie);
+	}
+
+	@Test
+	public void test_sameAsSequential() throws Exception{
+		Trie first = new PatriciaTrie();
+		for(int i = 0; i < 3000; i++){
+			first.insert(word(i));
+		}
+		DoubleArray seq = new DoubleArray(first);
+		DoubleArray par = buildSecondTrie(first);
+		Assert.assertEquals(seq.size(), par.size());
+		boolean[] ids = new boolean[par.size()];
+		for(int i = 0; i < 3000; i++){
+			String w = word(i);
+			Assert.assertTrue(w, par.contains(w));
+			String p = w.substring(0, w.length() - 1);
+			Assert.assertEquals(p, seq.contains(p), par.contains(p));
+			int id = par.getTermId(w);
+			Assert.assertFalse(w, ids[id]);
+			ids[id] = true;
+		}
+		Assert.assertFalse(par.contains("zzzzzzzz"));
+	}
+
+	@Test
+	public void test_missingQueries() throws Exception{
+		// stitched subtrees get negative bases.
+		Trie source = trieWithWords("a", "ahg", "c", "ce", "db", "df");
+		DoubleArray da = buildSecondTrie(source);
+		QueryAssert.assertSameResults(source, da, "aa");
+		QueryAssert.assertRandomQueries(new QueryAssert.Builder(){
+			@Override
+			public TermIdTrie build(Trie source) {
+				return buildSecondTrie(source);
+			}
+		});
+	}
+
+	private static String word(int i){
+		return Integer.toString(i * 7919, 36) + (char)('あ' + i % 80);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+import org.trie4j.util.Pair;
+
+/**
+ * Compares the searches of a trie with {@link PatriciaTrie} for queries
+ * including the ones not in the trie, which walk into slots of other
+ * nodes or out of the arrays.
+ */
+class QueryAssert {
+	interface Builder{
+		TermIdTrie build(Trie source);
+	}
+
+	/**
+	 * Builds tries from random key sets over a small alphabet and compares
+	 * the searches of random queries.
+	 */
+	static void assertRandomQueries(Builder builder){
+		Random r = new Random(1);
+		for(int t = 0; t < 90; t++){
+			Trie source = new PatriciaTrie();
+			int n = 1 + r.nextInt(30);
+			for(int i = 0; i < n; i++){
+				source.insert(randomKey(r));
+			}
+			TermIdTrie trie = builder.build(source);
+			for(int i = 0; i < 200; i++){
+				assertSameResults(source, trie, randomKey(r));
+			}
+		}
+	}
+
+	static void assertSameResults(Trie expected, TermIdTrie actual, String query){
+		Assert.assertEquals(query, expected.contains(query), actual.contains(query));
+		Assert.assertEquals(query, list(expected.commonPrefixSearch(query)),
+				list(actual.commonPrefixSearch(query)));
+		List<String> keys = new ArrayList<String>();
+		for(Pair<String, Integer> p : actual.commonPrefixSearchWithTermId(query)){
+			Assert.assertEquals(query, actual.getTermId(p.getFirst()), (int)p.getSecond());
+			keys.add(p.getFirst());
+		}
+		Assert.assertEquals(query, list(expected.commonPrefixSearch(query)), keys);
+		Assert.assertEquals(query, list(expected.predictiveSearch(query)),
+				list(actual.predictiveSearch(query)));
+		String text = "#" + query;
+		StringBuilder ew = new StringBuilder();
+		StringBuilder aw = new StringBuilder();
+		Assert.assertEquals(query, expected.findWord(text, 0, text.length(), ew),
+				actual.findWord(text, 0, text.length(), aw));
+		Assert.assertEquals(query, ew.toString(), aw.toString());
+	}
+
+	private static List<String> list(Iterable<String> values){
+		List<String> ret = new ArrayList<String>();
+		for(String v : values) ret.add(v);
+		return ret;
+	}
+
+	private static String randomKey(Random r){
+		StringBuilder b = new StringBuilder();
+		int n = 1 + r.nextInt(4);
+		for(int i = 0; i < n; i++){
+			b.append((char)('a' + r.nextInt(8)));
+		}
+		return b.toString();
+	}
+}
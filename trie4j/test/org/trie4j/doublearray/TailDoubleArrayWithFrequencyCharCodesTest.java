@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.tail.builder.SuffixTrieTailBuilder;
+
+public class TailDoubleArrayWithFrequencyCharCodesTest extends AbstractTermIdTrieTest{
+	@Override
+	protected TermIdTrie buildSecondTrie(Trie firstTrie) {
+		return new TailDoubleArray(firstTrie, new SuffixTrieTailBuilder(), true);
+	}
+
+	@Test
+	public void test_missingQueries() throws Exception{
+		QueryAssert.assertRandomQueries(new QueryAssert.Builder(){
+			@Override
+			public TermIdTrie build(Trie source) {
+				return buildSecondTrie(source);
+			}
+		});
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.doublearray;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.ByteTermIdVisitor;
+import org.trie4j.LookupCursor;
+import org.trie4j.TermIdNode;
+import org.trie4j.Trie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+public class Utf8DoubleArrayTest extends AbstractTermIdTrieTest{
+	@Override
+	protected Utf8DoubleArray buildSecondTrie(Trie firstTrie) {
+		return new Utf8DoubleArray(firstTrie);
+	}
+
+	@Test
+	public void test_termIds() throws Exception{
+		Random r = new Random(1);
+		Trie source = new PatriciaTrie();
+		for(int i = 0; i < 5000; i++){
+			source.insert(randomKey(r));
+		}
+		Utf8DoubleArray da = buildSecondTrie(source);
+		Assert.assertEquals(source.size(), da.size());
+		Set<Integer> ids = new HashSet<Integer>();
+		for(String k : source.predictiveSearch("")){
+			int id = da.getTermId(k);
+			Assert.assertTrue(k, id >= 0 && id < da.size());
+			Assert.assertTrue(ids.add(id));
+			Assert.assertEquals(k, da.getKey(id));
+			Assert.assertEquals(id, da.getTermId(k.getBytes(UTF8), 0, k.getBytes(UTF8).length));
+		}
+		for(int i = 0; i < 10000; i++){
+			String k = randomKey(r);
+			Assert.assertEquals(k, source.contains(k), da.contains(k));
+		}
+	}
+
+	@Test
+	public void test_bytes() throws Exception{
+		Utf8DoubleArray da = buildSecondTrie(trieWithWords("ab", "abc", "\u3042", "\u3042\u3044"));
+		byte[] q = "xabcd".getBytes(UTF8);
+		Assert.assertEquals(da.getTermId("abc"), da.getTermId(q, 1, 3));
+		Assert.assertEquals(-1, da.getTermId(q, 1, 4));
+		Assert.assertEquals(-1, da.getTermId(q, 1, 1));
+		Assert.assertArrayEquals("abc".getBytes(UTF8), da.getKeyBytes(da.getTermId("abc")));
+		Assert.assertNull(da.getKeyBytes(4));
+
+		final List<String> found = new ArrayList<String>();
+		ByteTermIdVisitor v = new ByteTermIdVisitor(){
+			@Override
+			public boolean visit(byte[] bytes, int start, int end, int termId) {
+				found.add(new String(bytes, start, end - start, UTF8) + ":" + termId);
+				return true;
+			}
+		};
+		da.commonPrefixSearch(q, 1, 4, v);
+		Assert.assertEquals(listOf("ab:" + da.getTermId("ab"), "abc:" + da.getTermId("abc")), found);
+		found.clear();
+		byte[] p = "\u3042".getBytes(UTF8);
+		da.predictiveSearch(p, 0, p.length, v);
+		Assert.assertEquals(listOf("\u3042:" + da.getTermId("\u3042"),
+				"\u3042\u3044:" + da.getTermId("\u3042\u3044")), found);
+		found.clear();
+		// first byte of \u3042 only.
+		da.predictiveSearch(p, 0, 1, v);
+		Assert.assertEquals(2, found.size());
+		found.clear();
+		da.predictiveSearch(q, 0, 1, v);
+		Assert.assertEquals(0, found.size());
+	}
+
+	@Test
+	public void test_byteBuffer() throws Exception{
+		Utf8DoubleArray da = buildSecondTrie(trieWithWords("ab", "abc", "\u3042", "\u3042\u3044"));
+		byte[] q = "xabcd".getBytes(UTF8);
+		for(ByteBuffer buf : new ByteBuffer[]{ByteBuffer.wrap(q), ByteBuffer.allocateDirect(q.length)}){
+			if(buf.isDirect()){
+				buf.put(q);
+			}
+			buf.position(1);
+			buf.limit(4);
+			Assert.assertEquals(da.getTermId("abc"), da.getTermId(buf));
+			Assert.assertEquals(1, buf.position());
+			final List<String> found = new ArrayList<String>();
+			ByteTermIdVisitor v = new ByteTermIdVisitor(){
+				@Override
+				public boolean visit(byte[] bytes, int start, int end, int termId) {
+					found.add(new String(bytes, start, end - start, UTF8));
+					return true;
+				}
+			};
+			da.commonPrefixSearch(buf, v);
+			Assert.assertEquals(listOf("ab", "abc"), found);
+			found.clear();
+			buf.limit(3);
+			da.predictiveSearch(buf, v);
+			Assert.assertEquals(listOf("ab", "abc"), found);
+			Assert.assertEquals(1, buf.position());
+			Assert.assertEquals(3, buf.limit());
+		}
+	}
+
+	@Test
+	public void test_supplementary() throws Exception{
+		// U+20BB7, U+20B9F, an unpaired high surrogate and U+FF21.
+		String s1 = "\ud842\udfb7";
+		String s2 = "\ud842\udf9f\u91ce";
+		String s3 = "a\ud842";
+		String s4 = "\uff21";
+		Utf8DoubleArray da = buildSecondTrie(trieWithWords(s1, s2, s3, s4));
+		for(String s : new String[]{s1, s2, s3, s4}){
+			int id = da.getTermId(s);
+			Assert.assertTrue(id != -1);
+			Assert.assertEquals(s, da.getKey(id));
+			LookupCursor c = da.newLookupCursor();
+			Assert.assertEquals(id, c.getTermId(s, 0, s.length()));
+		}
+		byte[] b = s1.getBytes(UTF8);
+		Assert.assertEquals(4, b.length);
+		Assert.assertEquals(da.getTermId(s1), da.getTermId(b, 0, b.length));
+		Assert.assertFalse(da.contains("\ud842"));
+		Assert.assertFalse(da.contains("a"));
+		// predictiveSearch is in the order of code points.
+		List<String> keys = new ArrayList<String>();
+		for(String s : da.predictiveSearch("")) keys.add(s);
+		Assert.assertEquals(listOf(s3, s4, s2, s1), keys);
+		Set<String> letters = new HashSet<String>();
+		for(TermIdNode n : da.getRoot().getChildren()){
+			letters.add(new String(n.getLetters()));
+		}
+		Assert.assertEquals(new HashSet<String>(listOf("a", s4, s1, s2.substring(0, 2))), letters);
+		Assert.assertEquals(2, da.getRoot().getChild(s1.charAt(0)).getLetters().length);
+	}
+
+	@Test
+	public void test_serialize() throws Exception{
+		Utf8DoubleArray da = buildSecondTrie(trieWithWords("apple", "apricot", "\u3042\u3044"));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(da);
+		oos.flush();
+		Utf8DoubleArray read = (Utf8DoubleArray)new ObjectInputStream(
+				new ByteArrayInputStream(bos.toByteArray())).readObject();
+		Assert.assertEquals(3, read.size());
+		Assert.assertEquals(da.getTermId("apricot"), read.getTermId("apricot"));
+		Assert.assertTrue(read.contains("\u3042\u3044"));
+		Assert.assertFalse(read.contains("apr"));
+	}
+
+	private static List<String> listOf(String... values){
+		List<String> ret = new ArrayList<String>();
+		for(String v : values) ret.add(v);
+		return ret;
+	}
+
+	private static String randomKey(Random r){
+		StringBuilder b = new StringBuilder();
+		int n = 1 + r.nextInt(6);
+		for(int i = 0; i < n; i++){
+			switch(r.nextInt(6)){
+				case 0:
+					b.append((char)(0x4e00 + r.nextInt(300)));
+					break;
+				case 1:
+					b.append((char)(0xe0 + r.nextInt(30)));
+					break;
+				case 2:
+					b.appendCodePoint(0x20000 + r.nextInt(30));
+					break;
+				default:
+					b.append((char)('a' + r.nextInt(8)));
+			}
+		}
+		return b.toString();
+	}
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+}
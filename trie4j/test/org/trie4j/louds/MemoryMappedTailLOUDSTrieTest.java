@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.louds;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.TermIdTrie;
+import org.trie4j.Trie;
+import org.trie4j.tail.SuffixTrieTailArray;
+import org.trie4j.util.Pair;
+
+public class MemoryMappedTailLOUDSTrieTest extends AbstractTermIdTrieTest{
+	@Override
+	protected MemoryMappedTailLOUDSTrie buildSecondTrie(Trie firstTrie) {
+		return mapped(new TailLOUDSTrie(firstTrie));
+	}
+
+	private static MemoryMappedTailLOUDSTrie mapped(AbstractTailLOUDSTrie trie){
+		try{
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			MemoryMappedTailLOUDSTrie.save(trie, baos);
+			return new MemoryMappedTailLOUDSTrie(ByteBuffer.wrap(baos.toByteArray()));
+		} catch(IOException e){
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Test
+	public void test_map() throws Exception{
+		String[] words = {"hello", "hell", "helloworld", "hi", "howsgoing", "world", "あいう", ""};
+		TailLOUDSTrie lt = new TailLOUDSTrie(trieWithWords(words));
+		File f = File.createTempFile("trie4j", ".louds");
+		try{
+			MemoryMappedTailLOUDSTrie.save(lt, f);
+			MemoryMappedTailLOUDSTrie mt = MemoryMappedTailLOUDSTrie.map(f);
+			Assert.assertEquals(words.length, mt.size());
+			for(String w : words){
+				Assert.assertTrue(w, mt.contains(w));
+				Assert.assertEquals(w, lt.getTermId(w), mt.getTermId(w));
+			}
+			Assert.assertFalse(mt.contains("hel"));
+			Assert.assertFalse(mt.contains("howsgoin"));
+			Iterator<Pair<String, Integer>> it = mt.commonPrefixSearchWithTermId("helloworld").iterator();
+			assertPair(lt, "hell", it.next());
+			assertPair(lt, "hello", it.next());
+			assertPair(lt, "helloworld", it.next());
+			Assert.assertFalse(it.hasNext());
+			it = mt.predictiveSearchWithTermId("hellow").iterator();
+			assertPair(lt, "helloworld", it.next());
+			Assert.assertFalse(it.hasNext());
+		} finally{
+			f.delete();
+		}
+	}
+
+	@Test
+	public void test_otherTrees() throws Exception{
+		String[] words = {"hello", "helloworld", "hi", "howsgoing", "hell", "helloworld2", "world"};
+		TermIdTrie[] tries = {
+				mapped(new TailLOUDSPPTrie(trieWithWords(words))),
+				mapped(new TailLOUDSTrie(trieWithWords(words), new SuffixTrieTailArray()))
+		};
+		for(TermIdTrie t : tries){
+			for(String w : words){
+				Assert.assertTrue(w, t.contains(w));
+			}
+			Iterator<String> it = t.predictiveSearch("he").iterator();
+			Assert.assertEquals("hell", it.next());
+			Assert.assertEquals("hello", it.next());
+			Assert.assertEquals("helloworld", it.next());
+			Assert.assertEquals("helloworld2", it.next());
+			Assert.assertFalse(it.hasNext());
+		}
+	}
+
+	private static void assertPair(TailLOUDSTrie t, String expected, Pair<String, Integer> actual){
+		Assert.assertEquals(expected, actual.getFirst());
+		Assert.assertEquals(t.getTermId(expected), (int)actual.getSecond());
+	}
+}
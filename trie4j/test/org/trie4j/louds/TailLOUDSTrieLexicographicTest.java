@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.louds;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.Trie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+public class TailLOUDSTrieLexicographicTest extends AbstractTermIdTrieTest{
+	@Override
+	protected AbstractTailLOUDSTrie buildSecondTrie(Trie firstTrie) {
+		return new TailLOUDSTrie(firstTrie, true);
+	}
+
+	@Test
+	public void test_lexicographicTermIds() throws Exception{
+		String[] words = {"hello", "helloworld", "hi", "howsgoing", "hell", "help", "yellow", "world", ""};
+		AbstractTailLOUDSTrie t = buildSecondTrie(trieWithWords(words));
+		String[] sorted = words.clone();
+		Arrays.sort(sorted);
+		for(int i = 0; i < sorted.length; i++){
+			Assert.assertEquals(i, t.getTermId(sorted[i]));
+			Assert.assertEquals(sorted[i], t.keyAt(i));
+		}
+		Assert.assertNull(t.keyAt(sorted.length));
+	}
+
+	@Test
+	public void test_range() throws Exception{
+		Random r = new Random(1);
+		TreeSet<String> keys = new TreeSet<String>();
+		PatriciaTrie orig = new PatriciaTrie();
+		for(int i = 0; i < 500; i++){
+			String k = randomString(r);
+			keys.add(k);
+			orig.insert(k);
+		}
+		AbstractTailLOUDSTrie t = buildSecondTrie(orig);
+		for(int i = 0; i < 1000; i++){
+			String from = randomString(r);
+			String to = randomString(r);
+			Assert.assertEquals(from, keys.headSet(from).size(), t.rank(from));
+			List<String> expected = from.compareTo(to) <= 0 ?
+					new ArrayList<String>(keys.subSet(from, to)) : new ArrayList<String>();
+			List<String> found = new ArrayList<String>();
+			for(String k : t.rangeSearch(from, to)) found.add(k);
+			Assert.assertEquals(from + " " + to, expected, found);
+			Assert.assertEquals(expected.size(), t.countRange(from, to));
+		}
+		Assert.assertEquals(keys.size(), t.countRange(null, null));
+		List<String> all = new ArrayList<String>();
+		for(String k : t.rangeSearch(null, null)) all.add(k);
+		Assert.assertEquals(new ArrayList<String>(keys), all);
+	}
+
+	@Test
+	public void test_readWithoutLexIds() throws Exception{
+		TailLOUDSTrie t = new TailLOUDSTrie(trieWithWords("hello", "hi", "world"));
+		t.trimToSize();
+		// the format of earlier versions, which ends with term.
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeInt(t.size());
+		oos.writeInt(t.getLabels().length);
+		oos.writeObject(t.getBvTree());
+		for(char c : t.getLabels()){
+			oos.writeChar(c);
+		}
+		oos.writeObject(t.getTailArray());
+		oos.writeObject(t.getTerm());
+		oos.flush();
+		TailLOUDSTrie read = new TailLOUDSTrie();
+		read.readExternal(new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		Assert.assertEquals(3, read.size());
+		Assert.assertEquals(t.getTermId("hi"), read.getTermId("hi"));
+		Assert.assertFalse(read.contains("hell"));
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_rank_notLexicographic() throws Exception{
+		new TailLOUDSTrie(trieWithWords("hello")).rank("hello");
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_countRange_notLexicographic() throws Exception{
+		new TailLOUDSTrie(trieWithWords("hello")).countRange(null, null);
+	}
+
+	@Test(expected=IllegalStateException.class)
+	public void test_rangeSearch_notLexicographic() throws Exception{
+		new TailLOUDSTrie(trieWithWords("hello")).rangeSearch(null, null);
+	}
+
+	private static String randomString(Random r){
+		int n = r.nextInt(7);
+		StringBuilder b = new StringBuilder();
+		for(int i = 0; i < n; i++){
+			b.append("abc\u3042\u3044".charAt(r.nextInt(5)));
+		}
+		return b.toString();
+	}
+}
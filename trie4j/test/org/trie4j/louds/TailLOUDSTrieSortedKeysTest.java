@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.louds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.Trie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+import org.trie4j.util.Range;
+
+public class TailLOUDSTrieSortedKeysTest extends AbstractTermIdTrieTest{
+	@Override
+	protected TailLOUDSTrie buildSecondTrie(Trie firstTrie) {
+		TreeSet<String> keys = new TreeSet<String>();
+		for(String w : firstTrie.predictiveSearch("")){
+			keys.add(w);
+		}
+		return new TailLOUDSTrie(keys.iterator());
+	}
+
+	@Test
+	public void test_sameAsTrieSource() throws Exception{
+		Random r = new Random(1);
+		for(String chars : new String[]{"ab", "abc\u3042", "abcdefghij"}){
+			TreeSet<String> keys = new TreeSet<String>();
+			PatriciaTrie pt = new PatriciaTrie();
+			for(int i = 0; i < 3000; i++){
+				StringBuilder b = new StringBuilder();
+				for(int n = r.nextInt(10); n > 0; n--){
+					b.append(chars.charAt(r.nextInt(chars.length())));
+				}
+				keys.add(b.toString());
+				pt.insert(b.toString());
+			}
+			TailLOUDSTrie expected = new TailLOUDSTrie(pt);
+			TailLOUDSTrie actual = new TailLOUDSTrie(keys.iterator());
+			expected.trimToSize();
+			actual.trimToSize();
+			Assert.assertEquals(keys.size(), actual.size());
+			Assert.assertArrayEquals(chars, expected.getLabels(), actual.getLabels());
+			Range er = new Range();
+			Range ar = new Range();
+			for(int i = 0; i < expected.getLabels().length; i++){
+				expected.getBvTree().getChildNodeIds(i, er);
+				actual.getBvTree().getChildNodeIds(i, ar);
+				Assert.assertEquals(chars, er.getStart(), ar.getStart());
+				Assert.assertEquals(chars, er.getEnd(), ar.getEnd());
+			}
+			for(int i = 0; i < keys.size(); i++){
+				Assert.assertEquals(chars, expected.getKey(i), actual.getKey(i));
+			}
+		}
+	}
+
+	@Test
+	public void test_lexicographicTermIds() throws Exception{
+		List<String> keys = Arrays.asList("", "a", "ab", "abc", "abd", "b", "ba");
+		TailLOUDSTrie t = new TailLOUDSTrie(keys.iterator(), true);
+		for(int i = 0; i < keys.size(); i++){
+			Assert.assertEquals(keys.get(i), t.keyAt(i));
+			Assert.assertEquals(i, t.getTermId(keys.get(i)));
+		}
+	}
+
+	@Test
+	public void test_duplicates() throws Exception{
+		TailLOUDSTrie t = new TailLOUDSTrie(Arrays.asList("a", "a", "b", "b").iterator());
+		Assert.assertEquals(2, t.size());
+		Assert.assertTrue(t.contains("a"));
+		Assert.assertTrue(t.contains("b"));
+	}
+
+	@Test
+	public void test_empty() throws Exception{
+		TailLOUDSTrie t = new TailLOUDSTrie(new ArrayList<String>().iterator());
+		Assert.assertEquals(0, t.size());
+		Assert.assertFalse(t.contains(""));
+		Assert.assertFalse(t.contains("a"));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_unsorted() throws Exception{
+		new TailLOUDSTrie(Arrays.asList("b", "a").iterator());
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.louds.bvtree;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.bv.BytesSuccinctBitVector;
+import org.trie4j.bv.LongsSuccinctBitVector;
+import org.trie4j.bv.SuccinctBitVector;
+import org.trie4j.util.Range;
+
+public class LOUDSBvTreeTest {
+	@Test
+	public void test_serialize() throws Exception{
+		for(SuccinctBitVector v : new SuccinctBitVector[]{
+				new LongsSuccinctBitVector(), new BytesSuccinctBitVector()}){
+			LOUDSBvTree tree = build(new LOUDSBvTree(v));
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			ObjectOutputStream oos = new ObjectOutputStream(bos);
+			oos.writeObject(tree);
+			oos.flush();
+			LOUDSBvTree read = (LOUDSBvTree)new ObjectInputStream(
+					new ByteArrayInputStream(bos.toByteArray())).readObject();
+			assertTree(read);
+		}
+	}
+
+	@Test
+	public void test_readInlineFormat() throws Exception{
+		// earlier versions wrote the fields of BytesSuccinctBitVector inline.
+		BytesSuccinctBitVector v = new BytesSuccinctBitVector();
+		build(new LOUDSBvTree(v));
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		v.writeExternal(oos);
+		oos.flush();
+		LOUDSBvTree read = new LOUDSBvTree();
+		read.readExternal(new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		assertTree(read);
+	}
+
+	/**
+	 * Builds the root having 3 children whose first child has 2 children.
+	 */
+	private static LOUDSBvTree build(LOUDSBvTree tree){
+		// root
+		tree.appendChild(); tree.appendChild(); tree.appendChild(); tree.appendSelf();
+		// node 1
+		tree.appendChild(); tree.appendChild(); tree.appendSelf();
+		// node 2 to 5
+		for(int i = 0; i < 4; i++) tree.appendSelf();
+		return tree;
+	}
+
+	private static void assertTree(LOUDSBvTree tree){
+		Range r = new Range();
+		tree.getChildNodeIds(0, r);
+		Assert.assertEquals(1, r.getStart());
+		Assert.assertEquals(4, r.getEnd());
+		tree.getChildNodeIds(1, r);
+		Assert.assertEquals(4, r.getStart());
+		Assert.assertEquals(6, r.getEnd());
+		tree.getChildNodeIds(2, r);
+		Assert.assertEquals(r.getStart(), r.getEnd());
+		Assert.assertEquals(0, tree.getParentNodeId(3));
+		Assert.assertEquals(1, tree.getParentNodeId(5));
+	}
+}
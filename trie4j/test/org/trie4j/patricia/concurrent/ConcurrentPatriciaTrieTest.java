@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.patricia.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTrieTest;
+import org.trie4j.Trie;
+
+public class ConcurrentPatriciaTrieTest extends AbstractTrieTest{
+	@Override
+	protected Trie createFirstTrie() {
+		return new ConcurrentPatriciaTrie();
+	}
+
+	@Test
+	public void test_concurrentInsertAndRead() throws Throwable{
+		final int writerCount = 4;
+		final int readerCount = 4;
+		final int keysPerWriter = 20000;
+		// keys of all writers share prefixes so that they split the same nodes.
+		final String[][] keys = new String[writerCount][keysPerWriter];
+		Random r = new Random(1);
+		for(int i = 0; i < writerCount; i++){
+			for(int j = 0; j < keysPerWriter; j++){
+				keys[i][j] = randomKey(r) + i;
+			}
+		}
+		// trie with few stripes to make writers of different first letters collide.
+		final ConcurrentPatriciaTrie trie = new ConcurrentPatriciaTrie(2);
+		// count of keys each writer has inserted.
+		final AtomicInteger[] inserted = new AtomicInteger[writerCount];
+		for(int i = 0; i < writerCount; i++) inserted[i] = new AtomicInteger();
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch writersDone = new CountDownLatch(writerCount);
+		List<Thread> threads = new ArrayList<Thread>();
+		for(int i = 0; i < writerCount; i++){
+			final int w = i;
+			threads.add(new Thread(){
+				@Override
+				public void run() {
+					try{
+						start.await();
+						for(String k : keys[w]){
+							trie.insert(k);
+							inserted[w].incrementAndGet();
+						}
+					} catch(Throwable e){
+						error.compareAndSet(null, e);
+					} finally{
+						writersDone.countDown();
+					}
+				}
+			});
+		}
+		for(int i = 0; i < readerCount; i++){
+			final Random rr = new Random(i);
+			threads.add(new Thread(){
+				@Override
+				public void run() {
+					try{
+						start.await();
+						while(writersDone.getCount() > 0 && error.get() == null){
+							int w = rr.nextInt(writerCount);
+							int n = inserted[w].get();
+							if(n == 0) continue;
+							// keys inserted before must be found during other inserts.
+							String k = keys[w][rr.nextInt(n)];
+							if(!trie.contains(k)){
+								throw new AssertionError("must contain " + k);
+							}
+							boolean found = false;
+							for(String s : trie.commonPrefixSearch(k)){
+								if(s.equals(k)) found = true;
+							}
+							if(!found) throw new AssertionError("commonPrefixSearch must find " + k);
+							found = false;
+							for(String s : trie.predictiveSearch(k)){
+								if(!s.startsWith(k)) throw new AssertionError(s + " must start with " + k);
+								if(s.equals(k)) found = true;
+							}
+							if(!found) throw new AssertionError("predictiveSearch must find " + k);
+						}
+					} catch(Throwable e){
+						error.compareAndSet(null, e);
+					}
+				}
+			});
+		}
+		for(Thread t : threads) t.start();
+		start.countDown();
+		for(Thread t : threads) t.join();
+		if(error.get() != null) throw error.get();
+
+		List<String> expected = new ArrayList<String>();
+		for(String[] ks : keys){
+			for(String k : ks) expected.add(k);
+		}
+		Collections.sort(expected);
+		for(int i = expected.size() - 1; i > 0; i--){
+			if(expected.get(i).equals(expected.get(i - 1))) expected.remove(i);
+		}
+		Assert.assertEquals(expected.size(), trie.size());
+		List<String> actual = new ArrayList<String>();
+		for(String s : trie.predictiveSearch("")) actual.add(s);
+		Assert.assertEquals(expected, actual);
+	}
+
+	private static String randomKey(Random r){
+		StringBuilder b = new StringBuilder();
+		int n = 1 + r.nextInt(8);
+		for(int i = 0; i < n; i++){
+			b.append((char)('a' + r.nextInt(6)));
+		}
+		return b.toString();
+	}
+}
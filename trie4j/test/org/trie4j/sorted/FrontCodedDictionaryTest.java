@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.sorted;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.LookupCursor;
+import org.trie4j.Node;
+import org.trie4j.TermIdNode;
+import org.trie4j.Trie;
+import org.trie4j.doublearray.DoubleArray;
+import org.trie4j.doublearray.TailDoubleArray;
+import org.trie4j.louds.TailLOUDSTrie;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+public class FrontCodedDictionaryTest extends AbstractTermIdTrieTest{
+	@Override
+	protected FrontCodedDictionary buildSecondTrie(Trie firstTrie) {
+		return new FrontCodedDictionary(firstTrie);
+	}
+
+	@Test
+	public void test_random() throws Exception{
+		Random r = new Random(1);
+		TreeSet<String> keys = new TreeSet<String>();
+		for(int i = 0; i < 2000; i++){
+			keys.add(randomString(r));
+		}
+		List<String> sorted = new ArrayList<String>(keys);
+		for(int bucketSize : new int[]{1, 3, 16}){
+			for(boolean compactChars : new boolean[]{true, false}){
+				FrontCodedDictionary d = new FrontCodedDictionary(sorted.iterator(), bucketSize, compactChars);
+				LookupCursor c = d.newLookupCursor();
+				Assert.assertEquals(sorted.size(), d.size());
+				for(int i = 0; i < sorted.size(); i++){
+					String k = sorted.get(i);
+					Assert.assertEquals(k, i, d.getTermId(k));
+					Assert.assertEquals(k, i, c.getTermId(k, 0, k.length()));
+					Assert.assertEquals(k, d.getKey(i));
+				}
+				for(int i = 0; i < 500; i++){
+					String q = randomString(r);
+					Assert.assertEquals(q, keys.contains(q), d.contains(q));
+					List<String> expected = new ArrayList<String>();
+					for(String k : keys.tailSet(q)){
+						if(!k.startsWith(q)) break;
+						expected.add(k);
+					}
+					List<String> found = new ArrayList<String>();
+					for(String k : d.predictiveSearch(q)) found.add(k);
+					Assert.assertEquals(q, expected, found);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void test_compactChars() throws Exception{
+		List<String> keys = Arrays.asList("abc", "abd", "\u3042\u3044");
+		Assert.assertTrue(new FrontCodedDictionary(keys.iterator(), 16, true).getDataSize() <
+				new FrontCodedDictionary(keys.iterator(), 16, false).getDataSize());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_unsorted() throws Exception{
+		new FrontCodedDictionary(Arrays.asList("b", "a").iterator());
+	}
+
+	@Test
+	public void test_getRoot() throws Exception{
+		Random r = new Random(2);
+		PatriciaTrie pt = new PatriciaTrie();
+		pt.insert("");
+		for(int i = 0; i < 1000; i++){
+			pt.insert(randomString(r, "abc\u3042"));
+		}
+		List<String> sorted = new ArrayList<String>();
+		for(String k : pt.predictiveSearch("")) sorted.add(k);
+		Collections.sort(sorted);
+		for(int bucketSize : new int[]{1, 3, 16}){
+			FrontCodedDictionary d = new FrontCodedDictionary(sorted.iterator(), bucketSize, true);
+			assertSameNode(pt.getRoot(), d.getRoot(), "", sorted);
+			for(Trie t : new Trie[]{new DoubleArray(d), new TailDoubleArray(d), new TailLOUDSTrie(d)}){
+				Assert.assertEquals(sorted.size(), t.size());
+				for(String k : sorted){
+					Assert.assertTrue(k, t.contains(k));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void test_getRoot_empty() throws Exception{
+		FrontCodedDictionary d = new FrontCodedDictionary(new ArrayList<String>().iterator());
+		TermIdNode root = d.getRoot();
+		Assert.assertEquals(0, root.getLetters().length);
+		Assert.assertFalse(root.isTerminate());
+		Assert.assertEquals(0, root.getChildren().length);
+		Assert.assertNull(root.getChild('a'));
+	}
+
+	private static void assertSameNode(Node expected, TermIdNode actual, String path, List<String> sorted){
+		path += new String(expected.getLetters());
+		Assert.assertEquals(path, new String(expected.getLetters()), new String(actual.getLetters()));
+		Assert.assertEquals(path, expected.isTerminate(), actual.isTerminate());
+		Assert.assertEquals(path, expected.isTerminate() ? sorted.indexOf(path) : -1, actual.getTermId());
+		Node[] ec = expected.getChildren();
+		TermIdNode[] ac = actual.getChildren();
+		if(ec == null) ec = new Node[]{};
+		Assert.assertEquals(path, ec.length, ac.length);
+		for(int i = 0; i < ec.length; i++){
+			char c = ec[i].getLetters()[0];
+			Assert.assertEquals(path, new String(ac[i].getLetters()),
+					new String(actual.getChild(c).getLetters()));
+			assertSameNode(ec[i], ac[i], path, sorted);
+		}
+		Assert.assertNull(path, actual.getChild('z'));
+	}
+
+	private static String randomString(Random r){
+		return randomString(r, "abc\u3042\uffff");
+	}
+
+	private static String randomString(Random r, String chars){
+		int n = r.nextInt(7);
+		StringBuilder b = new StringBuilder();
+		for(int i = 0; i < n; i++){
+			b.append(chars.charAt(r.nextInt(chars.length())));
+		}
+		return b.toString();
+	}
+}
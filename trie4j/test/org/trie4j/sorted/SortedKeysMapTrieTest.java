@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.sorted;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.trie4j.AbstractMapTrieTest;
+import org.trie4j.MapTrie;
+import org.trie4j.louds.MapTailLOUDSTrie;
+
+public class SortedKeysMapTrieTest extends AbstractMapTrieTest{
+	@Override
+	protected MapTrie<Integer> buildSecondTrie(MapTrie<Integer> firstTrie) {
+		Map<String, Integer> entries = new TreeMap<String, Integer>();
+		for(String w : firstTrie.predictiveSearch("")){
+			entries.put(w, firstTrie.get(w));
+		}
+		// convert once more to check that values are passed to the frozen trie.
+		return new MapTailLOUDSTrie<Integer>(
+				new SortedKeysMapTrie<Integer>(entries.entrySet().iterator()));
+	}
+}
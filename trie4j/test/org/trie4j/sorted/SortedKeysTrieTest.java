@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.sorted;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.AbstractTermIdTrieTest;
+import org.trie4j.Trie;
+import org.trie4j.doublearray.DoubleArray;
+import org.trie4j.louds.TailLOUDSTrie;
+
+public class SortedKeysTrieTest extends AbstractTermIdTrieTest{
+	@Override
+	protected SortedKeysTrie buildSecondTrie(Trie firstTrie) {
+		List<String> keys = new ArrayList<String>();
+		for(String w : firstTrie.predictiveSearch("")){
+			keys.add(w);
+		}
+		Collections.sort(keys);
+		return new SortedKeysTrie(keys.iterator());
+	}
+
+	@Test
+	public void test_convert() throws Exception{
+		List<String> keys = new ArrayList<String>();
+		for(int i = 0; i < 2000; i++){
+			keys.add(Integer.toString(i * 7919, 36));
+			keys.add(Integer.toString(i * 7919, 36) + "あい");
+		}
+		Collections.sort(keys);
+		SortedKeysTrie trie = new SortedKeysTrie(keys.iterator());
+		Trie[] tries = {new DoubleArray(trie), new TailLOUDSTrie(trie)};
+		for(Trie t : tries){
+			Assert.assertEquals(keys.size(), t.size());
+			for(String k : keys){
+				Assert.assertTrue(k, t.contains(k));
+				Assert.assertFalse(k, t.contains(k + "x"));
+			}
+		}
+	}
+
+	@Test
+	public void test_duplicated() throws Exception{
+		SortedKeysTrie trie = new SortedKeysTrie(
+				Arrays.asList("", "", "a", "a", "ab").iterator());
+		Assert.assertEquals(3, trie.size());
+		Assert.assertTrue(trie.contains(""));
+		Assert.assertTrue(trie.contains("ab"));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_notSorted_1() throws Exception{
+		new SortedKeysTrie(Arrays.asList("abc", "abb").iterator());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void test_notSorted_2() throws Exception{
+		new SortedKeysTrie(Arrays.asList("abc", "ab").iterator());
+	}
+}
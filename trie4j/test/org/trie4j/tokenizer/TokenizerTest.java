@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.tokenizer;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.trie4j.TermIdTrie;
+import org.trie4j.doublearray.DoubleArray;
+import org.trie4j.patricia.simple.PatriciaTrie;
+
+public class TokenizerTest {
+	private static TermIdTrie trie(String... words){
+		PatriciaTrie src = new PatriciaTrie();
+		for(String w : words){
+			src.insert(w);
+		}
+		return new DoubleArray(src);
+	}
+
+	private static String toString(CharSequence text, Tokens tokens){
+		StringBuilder b = new StringBuilder();
+		for(int i = 0; i < tokens.size(); i++){
+			if(i > 0) b.append("/");
+			b.append(text.subSequence(tokens.getStart(i), tokens.getEnd(i)));
+			if(tokens.getTermId(i) == Lattice.UNKNOWN) b.append("?");
+		}
+		return b.toString();
+	}
+
+	@Test
+	public void test_lattice() throws Exception{
+		TermIdTrie t = trie("a", "ab", "abc", "bc", "c");
+		Tokenizer tk = new Tokenizer(t);
+		Lattice l = tk.buildLattice("abcx");
+		Assert.assertEquals(6, l.size());
+		Assert.assertEquals(0, l.getFirstEdge(0));
+		Assert.assertEquals(3, l.getFirstEdge(1));
+		Assert.assertEquals(3, l.getEnd(2));
+		Assert.assertEquals(t.getTermId("abc"), l.getTermId(2));
+		Assert.assertEquals(5, l.getFirstEdge(3));
+		Assert.assertEquals(Lattice.UNKNOWN, l.getTermId(5));
+		Assert.assertEquals(6, l.getFirstEdge(4));
+	}
+
+	@Test
+	public void test_tokenizeLongest() throws Exception{
+		Tokenizer tk = new Tokenizer(trie("a", "ab", "abc", "bcd", "d", "\uD842\uDFB7\u91CE"));
+		String text = "abcdxab\uD842\uDFB7\u91CE";
+		Assert.assertEquals("abc/d/x?/ab/\uD842\uDFB7\u91CE", toString(text, tk.tokenizeLongest(text)));
+		Assert.assertEquals("\uD842\uDFB7?", toString("\uD842\uDFB7", tk.tokenizeLongest("\uD842\uDFB7")));
+		Assert.assertEquals(0, tk.tokenizeLongest("").size());
+	}
+
+	@Test
+	public void test_tokenize() throws Exception{
+		final TermIdTrie t = trie("a", "ab", "abc", "bcd", "d");
+		Tokenizer tk = new Tokenizer(t);
+		final int a = t.getTermId("a");
+		final int bcd = t.getTermId("bcd");
+		// a + bcd is cheaper than abc + d by word cost.
+		CostFunction costs = new CostFunction(){
+			@Override
+			public int getWordCost(int termId) {
+				return termId == a || termId == bcd ? 1 : 10;
+			}
+			@Override
+			public int getConnectionCost(int leftTermId, int rightTermId) {
+				return 0;
+			}
+		};
+		Assert.assertEquals("a/bcd", toString("abcd", tk.tokenize("abcd", costs)));
+		Assert.assertEquals("a/bcd/x?", toString("abcdx", tk.tokenize("abcdx", costs)));
+		// connection cost makes abc + d cheaper.
+		costs = new CostFunction(){
+			@Override
+			public int getWordCost(int termId) {
+				return termId == a || termId == bcd ? 1 : 10;
+			}
+			@Override
+			public int getConnectionCost(int leftTermId, int rightTermId) {
+				return leftTermId == a && rightTermId == bcd ? 100 : 0;
+			}
+		};
+		Assert.assertEquals("abc/d", toString("abcd", tk.tokenize("abcd", costs)));
+		Assert.assertEquals(0, tk.tokenize("", costs).size());
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 agent
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.trie4j.util;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LevenshteinAutomatonTest {
+	@Test
+	public void test_distance() throws Exception{
+		Random r = new Random(1);
+		for(int i = 0; i < 2000; i++){
+			String q = randomString(r);
+			String w = randomString(r);
+			int maxEdits = r.nextInt(4);
+			LevenshteinAutomaton la = new LevenshteinAutomaton(q, maxEdits);
+			int expected = distance(q, w);
+			boolean alive = true;
+			for(int d = 0; d < w.length() && alive; d++){
+				alive = la.step(d, w.charAt(d));
+			}
+			if(expected <= maxEdits){
+				Assert.assertTrue(q + " " + w, alive);
+				Assert.assertEquals(q + " " + w, expected, la.getDistance(w.length()));
+			} else{
+				Assert.assertFalse(q + " " + w, alive && la.isMatch(w.length()));
+			}
+		}
+	}
+
+	private static String randomString(Random r){
+		StringBuilder b = new StringBuilder();
+		int n = r.nextInt(8);
+		for(int i = 0; i < n; i++){
+			b.append((char)('a' + r.nextInt(3)));
+		}
+		return b.toString();
+	}
+
+	private static int distance(String a, String b){
+		int[][] d = new int[a.length() + 1][b.length() + 1];
+		for(int i = 0; i <= a.length(); i++) d[i][0] = i;
+		for(int j = 0; j <= b.length(); j++) d[0][j] = j;
+		for(int i = 1; i <= a.length(); i++){
+			for(int j = 1; j <= b.length(); j++){
+				d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1),
+						d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+			}
+		}
+		return d[a.length()][b.length()];
+	}
+}